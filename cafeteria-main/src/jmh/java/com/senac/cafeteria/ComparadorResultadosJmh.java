@@ -0,0 +1,84 @@
+package com.senac.cafeteria;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Compara dois resultados JSON do JMH (ex.: versão anterior e atual) benchmark a benchmark.
+ * Uma diferença só é marcada como MELHOR/PIOR quando passa da soma das margens de erro das duas medições.
+ * Uso: ./mvnw -Pbenchmark exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.senac.cafeteria.ComparadorResultadosJmh -Dexec.args="anterior.json atual.json"
+ */
+public class ComparadorResultadosJmh {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: ComparadorResultadosJmh <anterior.json> <atual.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> anterior = ler(new File(args[0]));
+        Map<String, JsonNode> atual = ler(new File(args[1]));
+
+        int piores = 0;
+        System.out.printf("%-110s %14s %14s %9s  %s%n", "Benchmark", "Anterior", "Atual", "Variação", "Unidade");
+        for (Map.Entry<String, JsonNode> entrada : atual.entrySet()) {
+            JsonNode novo = entrada.getValue().get("primaryMetric");
+            JsonNode velho = anterior.containsKey(entrada.getKey()) ? anterior.get(entrada.getKey()).get("primaryMetric") : null;
+            if (velho == null) {
+                System.out.printf("%-110s %14s %14.3f %9s  %s%n", entrada.getKey(), "-", novo.get("score").asDouble(), "novo",
+                        novo.get("scoreUnit").asText());
+                continue;
+            }
+
+            double antes = velho.get("score").asDouble();
+            double depois = novo.get("score").asDouble();
+            double margem = erro(velho) + erro(novo);
+            // Vazão (ops/tempo): maior é melhor; tempo médio (tempo/op): menor é melhor
+            boolean maiorEhMelhor = "thrpt".equals(entrada.getValue().get("mode").asText());
+            String situacao = "";
+            if (Math.abs(depois - antes) > margem) {
+                boolean melhorou = maiorEhMelhor ? depois > antes : depois < antes;
+                situacao = melhorou ? "  MELHOR" : "  PIOR";
+                piores += melhorou ? 0 : 1;
+            }
+            System.out.printf("%-110s %14.3f %14.3f %+8.1f%%  %s%s%n", entrada.getKey(), antes, depois,
+                    antes == 0 ? 0 : (depois - antes) * 100 / antes, novo.get("scoreUnit").asText(), situacao);
+        }
+        for (String removido : anterior.keySet()) {
+            if (!atual.containsKey(removido)) {
+                System.out.printf("%-110s %14s%n", removido, "removido");
+            }
+        }
+        System.out.printf("%n%d benchmark(s) pior(es) além da margem de erro%n", piores);
+    }
+
+    // Chave = nome do benchmark + parâmetros (o mesmo método aparece uma vez por combinação de @Param)
+    private static Map<String, JsonNode> ler(File arquivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo)) {
+            StringBuilder chave = new StringBuilder(resultado.get("benchmark").asText());
+            JsonNode params = resultado.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> campos = params.fields();
+                while (campos.hasNext()) {
+                    Map.Entry<String, JsonNode> campo = campos.next();
+                    chave.append(' ').append(campo.getKey()).append('=').append(campo.getValue().asText());
+                }
+            }
+            resultados.put(chave.toString(), resultado);
+        }
+        return resultados;
+    }
+
+    // scoreError é NaN quando há uma única medição
+    private static double erro(JsonNode metrica) {
+        double erro = metrica.path("scoreError").asDouble(0);
+        return Double.isNaN(erro) ? 0 : erro;
+    }
+}
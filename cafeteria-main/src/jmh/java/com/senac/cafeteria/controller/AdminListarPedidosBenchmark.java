@@ -0,0 +1,144 @@
+package com.senac.cafeteria.controller;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.services.PedidoEventoBus;
+import com.senac.cafeteria.services.PedidoService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * Custo do log na listagem de pedidos do admin (serviços simulados, sem banco nem template):
+ * - system-out: as linhas por pedido impressas com System.out, como o controller fazia antes;
+ * - sincrono: o log por pedido (TRACE ligado) escrito direto no arquivo pela thread da requisição;
+ * - assincrono: o mesmo log pelo AsyncAppender do logback-spring.xml (fila limitada, descarte);
+ * - padrao: nível INFO, como em produção: o detalhe por pedido nem é montado.
+ * Todos os modos escrevem no mesmo arquivo em target/jmh-log.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AdminListarPedidosBenchmark {
+
+    @Param({"system-out", "sincrono", "assincrono", "padrao"})
+    public String modo;
+
+    @Param({"100", "2000"})
+    public int quantidade;
+
+    private AdminController controller;
+    private List<Pedido> pedidos;
+    private PrintStream saidaOriginal;
+    private PrintStream saidaArquivo;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup
+    public void preparar() throws IOException {
+        pedidos = new ArrayList<>(quantidade);
+        StatusPedido[] status = StatusPedido.values();
+        for (int i = 0; i < quantidade; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setId((long) i + 1);
+            pedido.setStatus(status[i % status.length]);
+            pedidos.add(pedido);
+        }
+        PedidoService pedidoService = mock(PedidoService.class);
+        when(pedidoService.listarTodosPedidos()).thenReturn(pedidos);
+        PedidoEventoBus eventoBus = mock(PedidoEventoBus.class);
+        controller = new AdminController();
+        ReflectionTestUtils.setField(controller, "pedidoService", pedidoService);
+        ReflectionTestUtils.setField(controller, "pedidoEventoBus", eventoBus);
+
+        File arquivo = new File("target/jmh-log/admin-" + modo + ".log");
+        arquivo.getParentFile().mkdirs();
+        arquivo.delete();
+        configurarLog(arquivo);
+        if (modo.equals("system-out")) {
+            saidaOriginal = System.out;
+            saidaArquivo = new PrintStream(new FileOutputStream(arquivo, true), true);
+            System.setOut(saidaArquivo);
+        }
+    }
+
+    private void configurarLog(File arquivo) {
+        LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = contexto.getLogger(AdminController.class);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(modo.equals("sincrono") || modo.equals("assincrono") ? Level.TRACE : Level.INFO);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> arquivoAppender = new FileAppender<>();
+        arquivoAppender.setContext(contexto);
+        arquivoAppender.setFile(arquivo.getPath());
+        arquivoAppender.setEncoder(encoder);
+        arquivoAppender.start();
+        appender = arquivoAppender;
+
+        if (modo.equals("assincrono")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(contexto);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(arquivoAppender);
+            async.start();
+            appender = async;
+        }
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void encerrar() {
+        appender.stop();
+        if (saidaOriginal != null) {
+            System.setOut(saidaOriginal);
+            saidaArquivo.close();
+        }
+    }
+
+    @Benchmark
+    public String listar() {
+        if (modo.equals("system-out")) {
+            return listarComoAntes();
+        }
+        return controller.listarPedidos(null, new ExtendedModelMap());
+    }
+
+    // O que o controller imprimia a cada chamada antes do log estruturado
+    private String listarComoAntes() {
+        System.out.println("=== LISTAR PEDIDOS CHAMADO ===");
+        System.out.println("Status filtro: " + null);
+        String view = controller.listarPedidos(null, new ExtendedModelMap());
+        System.out.println("Todos os pedidos: " + pedidos.size());
+        pedidos.forEach(p -> System.out.println("Pedido " + p.getId() + " - Status: " + p.getStatus()));
+        return view;
+    }
+}
@@ -0,0 +1,33 @@
+package com.senac.cafeteria.controller;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Conversão da imagem do produto para Base64, feita pelo MenuController para cada produto a cada /menu
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImagemBase64Benchmark {
+
+    @Param({"16", "128", "512"})
+    public int tamanhoKb;
+
+    private byte[] imagem;
+
+    @Setup
+    public void preparar() {
+        imagem = new byte[tamanhoKb * 1024];
+        ThreadLocalRandom.current().nextBytes(imagem);
+    }
+
+    @Benchmark
+    public String codificar() {
+        return Base64.getEncoder().encodeToString(imagem);
+    }
+}
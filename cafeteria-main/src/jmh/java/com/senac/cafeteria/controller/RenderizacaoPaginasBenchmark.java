@@ -0,0 +1,91 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.CafeteriaApplication;
+import com.senac.cafeteria.services.MyUserDetailsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/*
+ * Tempo de uma página HTML inteira (controller + Thymeleaf) com a aplicação de verdade e o H2 do perfil padrão:
+ * - sem-cache: templates relidos e analisados a cada página, como em desenvolvimento;
+ * - templates: spring.thymeleaf.cache=true, como o perfil prod antes do cache de fragmentos;
+ * - templates-e-fragmentos: também cabeçalho e rodapé em cache (FragmentosEmCache), como o perfil prod.
+ * Páginas de /admin são pedidas como o funcionário da carga inicial; as outras, sem login.
+ * Aquecimento mais longo que o dos outros benchmarks: é a aplicação inteira que precisa ser compilada pelo JIT.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderizacaoPaginasBenchmark {
+
+    @Param({"sem-cache", "templates", "templates-e-fragmentos"})
+    public String modo;
+
+    @Param({"/about", "/menu", "/admin/produtos", "/admin/dashboard"})
+    public String pagina;
+
+    private ConfigurableApplicationContext contexto;
+    private MockMvc mockMvc;
+    // O dashboard mostra o nome do Usuario logado, então o principal precisa ser o do banco
+    private UserDetails funcionario;
+
+    @Setup
+    public void preparar() {
+        // Como argumentos de linha de comando, para valerem sobre o application.properties.
+        // Coletor JFR e tracing desligados: disputariam a CPU com a renderização que está sendo medida
+        contexto = new SpringApplicationBuilder(CafeteriaApplication.class)
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--cafeteria.jfr.coletor.enabled=false",
+                        "--management.tracing.enabled=false",
+                        "--spring.thymeleaf.cache=" + !modo.equals("sem-cache"),
+                        "--cafeteria.fragmentos.cache=" + modo.equals("templates-e-fragmentos"));
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) contexto)
+                .apply(SecurityMockMvcConfigurers.springSecurity())
+                .build();
+        funcionario = contexto.getBean(MyUserDetailsService.class).loadUserByUsername("funcionario@cafe.com");
+        // Confere a página antes de medir: um redirecionamento para o login mediria a página errada
+        int status = renderizar().getResponse().getStatus();
+        if (status != 200) {
+            throw new IllegalStateException(pagina + " respondeu " + status);
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public String renderizarPagina() throws Exception {
+        return renderizar().getResponse().getContentAsString();
+    }
+
+    private MvcResult renderizar() {
+        MockHttpServletRequestBuilder requisicao = get(pagina);
+        if (pagina.startsWith("/admin")) {
+            requisicao.with(user(funcionario));
+        }
+        try {
+            return mockMvc.perform(requisicao).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
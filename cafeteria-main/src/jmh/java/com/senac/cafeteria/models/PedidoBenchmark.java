@@ -0,0 +1,38 @@
+package com.senac.cafeteria.models;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Pedido.calcularTotal: soma dos subtotais (BigDecimal) chamada a cada item adicionado ou removido
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itens;
+
+    private Pedido pedido;
+
+    @Setup
+    public void preparar() {
+        pedido = new Pedido();
+        for (int i = 1; i <= itens; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i);
+            produto.setPreco(BigDecimal.valueOf(390 + i * 25L, 2));
+            pedido.adicionarItem(new ItemPedido(produto, 1 + i % 3));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        pedido.calcularTotal();
+        return pedido.getTotal();
+    }
+}
@@ -0,0 +1,41 @@
+package com.senac.cafeteria.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Custo do JWT por requisição da API: o filtro valida e extrai o usuário; o login gera
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SEGREDO = "ChaveDeBenchmarkComPeloMenos32Bytes_0123456789abcdef";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = new JwtUtil(SEGREDO, 3_600_000);
+        token = jwtUtil.generateToken("cliente@teste.com");
+    }
+
+    @Benchmark
+    public String gerar() {
+        return jwtUtil.generateToken("cliente@teste.com");
+    }
+
+    @Benchmark
+    public boolean validar() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extrairUsuario() {
+        return jwtUtil.extractUsername(token);
+    }
+}
@@ -0,0 +1,87 @@
+package com.senac.cafeteria.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Alterações simultâneas de carrinho com 1, 4, 16 e 64 threads (uma subclasse por quantidade).
+ * - mesmoCarrinho: todas as threads no carrinho do mesmo usuário (disputa no mesmo mapa);
+ * - carrinhosDistintos / atualizarQuantidade: cada thread no seu carrinho, todos com os mesmos
+ *   produtos; com 'comEstoque' a disputa passa a ser no contador de estoque do produto.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class CarrinhoConcorrenteBenchmark {
+
+    private static final Long USUARIO_COMPARTILHADO = 0L;
+    private static final AtomicLong USUARIOS = new AtomicLong();
+
+    @Param({"false", "true"})
+    public boolean comEstoque;
+
+    private CarrinhoService carrinhoService;
+
+    @State(Scope.Thread)
+    public static class Cliente {
+        long usuarioId;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            usuarioId = USUARIOS.incrementAndGet();
+        }
+    }
+
+    // Serviço novo a cada iteração: carrinhos e reservas não crescem sem limite
+    @Setup(Level.Iteration)
+    public void preparar() {
+        carrinhoService = CatalogoBenchmark.carrinhoService(CatalogoBenchmark.produtos(), comEstoque);
+    }
+
+    @Benchmark
+    public void mesmoCarrinho() {
+        carrinhoService.adicionarAoCarrinho(USUARIO_COMPARTILHADO, produtoAleatorio(), 1);
+    }
+
+    @Benchmark
+    public void carrinhosDistintos(Cliente cliente) {
+        carrinhoService.adicionarAoCarrinho(cliente.usuarioId, produtoAleatorio(), 1);
+    }
+
+    @Benchmark
+    public void atualizarQuantidade(Cliente cliente) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long produto = 1 + aleatorio.nextInt(CatalogoBenchmark.PRODUTOS);
+        if (aleatorio.nextBoolean()) {
+            carrinhoService.adicionarAoCarrinho(cliente.usuarioId, produto, 1);
+        } else {
+            carrinhoService.atualizarQuantidade(cliente.usuarioId, produto, 1 + aleatorio.nextInt(3));
+        }
+    }
+
+    private static long produtoAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(CatalogoBenchmark.PRODUTOS);
+    }
+
+    @Threads(1)
+    public static class Threads01 extends CarrinhoConcorrenteBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads04 extends CarrinhoConcorrenteBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends CarrinhoConcorrenteBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends CarrinhoConcorrenteBenchmark {
+    }
+}
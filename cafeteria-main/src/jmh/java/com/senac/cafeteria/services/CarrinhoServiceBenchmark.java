@@ -0,0 +1,65 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.models.Produto;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Operações do carrinho de um único cliente, com 'itens' produtos diferentes no carrinho.
+ * getCarrinho e calcularTotal buscam cada produto no catálogo e montam o mapa Produto -> quantidade.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CarrinhoServiceBenchmark {
+
+    private static final Long USUARIO = 1L;
+
+    @Param({"1", "5", "20"})
+    public int itens;
+
+    private CarrinhoService carrinhoService;
+    private long proximoProduto;
+
+    // Carrinho novo a cada iteração: as quantidades não crescem sem limite ao longo da medição
+    @Setup(Level.Iteration)
+    public void preparar() {
+        carrinhoService = CatalogoBenchmark.carrinhoService(CatalogoBenchmark.produtos(), false);
+        for (long id = 1; id <= itens; id++) {
+            carrinhoService.adicionarAoCarrinho(USUARIO, id, 1);
+        }
+    }
+
+    @Benchmark
+    public void adicionar() {
+        carrinhoService.adicionarAoCarrinho(USUARIO, proximoProduto(), 1);
+    }
+
+    @Benchmark
+    public void atualizarQuantidade() {
+        carrinhoService.atualizarQuantidade(USUARIO, proximoProduto(), 2);
+    }
+
+    @Benchmark
+    public Map<Produto, Integer> getCarrinho() {
+        return carrinhoService.getCarrinho(USUARIO);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        return carrinhoService.calcularTotal(USUARIO);
+    }
+
+    // Percorre só os produtos que já estão no carrinho, para o tamanho dele não mudar
+    private long proximoProduto() {
+        proximoProduto = proximoProduto % itens + 1;
+        return proximoProduto;
+    }
+}
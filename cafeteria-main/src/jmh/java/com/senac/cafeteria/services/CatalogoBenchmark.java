@@ -0,0 +1,65 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * Catálogo em memória para os benchmarks do carrinho: o ProdutoRepository só responde findById,
+ * sem banco, para medir apenas o código do serviço.
+ */
+final class CatalogoBenchmark {
+
+    // Produtos do cardápio com imagem de 32 KB, como os cadastrados pelo painel
+    static final int PRODUTOS = 20;
+    private static final int TAMANHO_IMAGEM = 32 * 1024;
+
+    private CatalogoBenchmark() {
+    }
+
+    static Map<Long, Produto> produtos() {
+        Map<Long, Produto> produtos = new HashMap<>();
+        for (long id = 1; id <= PRODUTOS; id++) {
+            Produto produto = new Produto();
+            produto.setId(id);
+            produto.setNome("Produto " + id);
+            produto.setDescricao("Descrição do produto " + id);
+            produto.setPreco(BigDecimal.valueOf(500 + id * 37, 2));
+            byte[] imagem = new byte[TAMANHO_IMAGEM];
+            imagem[(int) id] = (byte) id;
+            produto.setImagem(imagem);
+            produtos.put(id, produto);
+        }
+        return produtos;
+    }
+
+    /*
+     * CarrinhoService ligado ao catálogo em memória. Com 'comEstoque', todos os produtos têm
+     * controle de estoque (com unidades de sobra), e cada alteração do carrinho passa pela reserva.
+     */
+    static CarrinhoService carrinhoService(Map<Long, Produto> produtos, boolean comEstoque) {
+        ProdutoRepository repositorio = (ProdutoRepository) Proxy.newProxyInstance(
+                ProdutoRepository.class.getClassLoader(), new Class<?>[]{ProdutoRepository.class},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "findById" -> Optional.ofNullable(produtos.get((Long) args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "ProdutoRepository em memória";
+                    default -> throw new UnsupportedOperationException(metodo.getName());
+                });
+
+        EstoqueService estoqueService = new EstoqueService(repositorio, null, 8, 15);
+        if (comEstoque) {
+            produtos.keySet().forEach(id -> estoqueService.registrar(id, 1_000_000_000));
+        }
+        ProdutoService produtoService = new ProdutoService(repositorio, null, null, estoqueService);
+        return new CarrinhoService(null, produtoService, null, estoqueService,
+                new CarrinhoMetricas(new SimpleMeterRegistry()));
+    }
+}
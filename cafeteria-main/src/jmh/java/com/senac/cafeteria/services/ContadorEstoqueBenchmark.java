@@ -0,0 +1,64 @@
+package com.senac.cafeteria.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Reserva e devolução de uma unidade no ContadorEstoque com 1, 4, 16 e 64 threads (uma subclasse por quantidade),
+ * comparando o contador único (1 faixa) com o contador em faixas usado pelo EstoqueService.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public abstract class ContadorEstoqueBenchmark {
+
+    // Estoque folgado: as retiradas falham só se as devoluções atrasarem muito
+    private static final int ESTOQUE = 256;
+
+    @Param({"1", "16"})
+    public int faixas;
+
+    private ContadorEstoque contador;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        contador = new ContadorEstoque(faixas, ESTOQUE);
+    }
+
+    // Toda unidade retirada foi devolvida: o estoque tem que terminar como começou
+    @TearDown(Level.Iteration)
+    public void conferir() {
+        if (contador.disponivel() != ESTOQUE) {
+            throw new IllegalStateException("Estoque terminou com " + contador.disponivel() + " de " + ESTOQUE);
+        }
+    }
+
+    @Benchmark
+    public boolean reservarEDevolver() {
+        boolean retirou = contador.retirar(1);
+        if (retirou) {
+            contador.devolver(1);
+        }
+        return retirou;
+    }
+
+    @Threads(1)
+    public static class Threads01 extends ContadorEstoqueBenchmark {
+    }
+
+    @Threads(4)
+    public static class Threads04 extends ContadorEstoqueBenchmark {
+    }
+
+    @Threads(16)
+    public static class Threads16 extends ContadorEstoqueBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends ContadorEstoqueBenchmark {
+    }
+}
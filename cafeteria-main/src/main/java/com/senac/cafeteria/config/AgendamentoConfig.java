@@ -0,0 +1,16 @@
+package com.senac.cafeteria.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * Habilita as tarefas agendadas (@Scheduled), como o arquivamento noturno de pedidos.
+ * Pode ser desligado com cafeteria.agendamento.enabled=false (ex.: em réplicas extras).
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "cafeteria.agendamento.enabled",
+        havingValue = "true", matchIfMissing = true)
+public class AgendamentoConfig {
+}
@@ -0,0 +1,66 @@
+package com.senac.cafeteria.config;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Amostragem de traces por orçamento: até 'tracesPorSegundo' traces novos por segundo são gravados,
+ * o restante é descartado. Com pouco tráfego toda requisição é rastreada; sob carga a fração
+ * amostrada cai sozinha e o custo fica limitado. Usado atrás do Sampler.parentBased, então só
+ * decide na raiz do trace (os spans filhos seguem a decisão do pai).
+ */
+public class AmostradorAdaptativo implements Sampler {
+
+    // Segundo atual nos bits altos e traces já amostrados nele nos 20 bits baixos, num único CAS
+    private static final int BITS_CONTAGEM = 20;
+    private static final long MASCARA_CONTAGEM = (1L << BITS_CONTAGEM) - 1;
+
+    private final int tracesPorSegundo;
+    private final AtomicLong estado = new AtomicLong();
+    // Segundos contados a partir daqui (nanoTime pode ser negativo)
+    private final long origem = System.nanoTime();
+
+    public AmostradorAdaptativo(int tracesPorSegundo) {
+        this.tracesPorSegundo = Math.min(tracesPorSegundo, (int) MASCARA_CONTAGEM);
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                       Attributes attributes, List<LinkData> parentLinks) {
+        return tentarAmostrar((System.nanoTime() - origem) / 1_000_000_000L) ? SamplingResult.recordAndSample() : SamplingResult.drop();
+    }
+
+    /*
+     * Só um segundo mais novo zera a contagem. Uma thread que leu o relógio pouco antes de outra virar
+     * o segundo chega com um segundo já passado: não amostra, em vez de gravar o segundo antigo de volta
+     * e zerar o orçamento do segundo corrente.
+     */
+    boolean tentarAmostrar(long segundo) {
+        while (true) {
+            long atual = estado.get();
+            long segundoAtual = atual >>> BITS_CONTAGEM;
+            if (segundo < segundoAtual) {
+                return false;
+            }
+            long contagem = segundo > segundoAtual ? 0 : atual & MASCARA_CONTAGEM;
+            if (contagem >= tracesPorSegundo) {
+                return false;
+            }
+            if (estado.compareAndSet(atual, (segundo << BITS_CONTAGEM) | (contagem + 1))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "AmostradorAdaptativo{tracesPorSegundo=" + tracesPorSegundo + "}";
+    }
+}
@@ -0,0 +1,315 @@
+package com.senac.cafeteria.config;
+
+import com.senac.cafeteria.dtos.DiagnosticoJfr;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Consumidor JFR dentro do próprio processo, sempre ligado (cafeteria.jfr.coletor.enabled=false desliga).
+ * Começa com a aplicação pronta, para a inicialização não dominar as alocações.
+ * Assina só eventos baratos e agrega os piores casos para o dashboard do admin:
+ * - cafeteria.Requisicao acima de cafeteria.jfr.requisicao-lenta-ms;
+ * - jdk.ObjectAllocationSample, limitado a cafeteria.jfr.alocacoes-por-segundo amostras;
+ * - jdk.JavaMonitorEnter (synchronized, inclusive os compute() do ConcurrentHashMap do carrinho e do estoque)
+ *   e jdk.ThreadPark em locks (ReentrantLock), acima de cafeteria.jfr.contencao-ms.
+ * Os agregados valem para a janela atual (cafeteria.jfr.janela-minutos) e recomeçam quando ela vence.
+ * Os demais eventos da aplicação ficam desligados aqui; eles entram nas gravações do GravacoesJfr.
+ */
+@Component
+public class ColetorJfr {
+
+    private static final Logger log = LoggerFactory.getLogger(ColetorJfr.class);
+
+    private static final String PACOTE_APLICACAO = "com.senac.cafeteria.";
+    // Filtros (doFilter*) e coletores da própria observabilidade aparecem em toda pilha; não são o "local" de nada
+    private static final String PACOTE_CONFIG = "com.senac.cafeteria.config.";
+    private static final String PREFIXO_FILTRO = "doFilter";
+    private static final int MAX_REQUISICOES = 1000;
+    private static final int MAX_LOCAIS = 500;
+    private static final int TOP = 10;
+
+    private final boolean habilitado;
+    private final long requisicaoLentaMs;
+    private final long contencaoMs;
+    private final int alocacoesPorSegundo;
+    private final Duration janela;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<DiagnosticoJfr.RequisicaoLenta> requisicoes = new ArrayDeque<>();
+    // local + classe -> {amostras, bytes}
+    private final Map<ChaveAlocacao, long[]> alocacoes = new HashMap<>();
+    // local + lock -> {eventos, nanos, maior nanos}
+    private final Map<ChaveContencao, long[]> contencoes = new HashMap<>();
+    private Instant inicioJanela = Instant.now();
+
+    // Criado na thread do evento de aplicação pronta, lido pelas requisições do dashboard
+    private volatile RecordingStream stream;
+    // Thread que publicou a aplicação pronta: a primeira amostra dela carrega o peso de toda a inicialização
+    private volatile long threadInicializacao = -1;
+
+    private record ChaveAlocacao(String local, String classe) {
+    }
+
+    private record ChaveContencao(String local, String lock) {
+    }
+
+    public ColetorJfr(@Value("${cafeteria.jfr.coletor.enabled:true}") boolean habilitado,
+                      @Value("${cafeteria.jfr.requisicao-lenta-ms:200}") long requisicaoLentaMs,
+                      @Value("${cafeteria.jfr.contencao-ms:10}") long contencaoMs,
+                      @Value("${cafeteria.jfr.alocacoes-por-segundo:50}") int alocacoesPorSegundo,
+                      @Value("${cafeteria.jfr.janela-minutos:15}") long janelaMinutos) {
+        this.habilitado = habilitado;
+        this.requisicaoLentaMs = requisicaoLentaMs;
+        this.contencaoMs = contencaoMs;
+        this.alocacoesPorSegundo = alocacoesPorSegundo;
+        this.janela = Duration.ofMinutes(janelaMinutos);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado || stream != null) {
+            return;
+        }
+        threadInicializacao = Thread.currentThread().threadId();
+        lock.lock();
+        try {
+            inicioJanela = Instant.now();
+        } finally {
+            lock.unlock();
+        }
+        stream = new RecordingStream();
+        // Só o necessário para o consumo contínuo; o repositório em disco não cresce
+        stream.setMaxAge(Duration.ofMinutes(1));
+        stream.enable(EventosJfr.Requisicao.class).withThreshold(Duration.ofMillis(requisicaoLentaMs));
+        stream.disable(EventosJfr.Checkout.class);
+        stream.disable(EventosJfr.AlteracaoCarrinho.class);
+        stream.disable(EventosJfr.CodificacaoImagem.class);
+        stream.disable(EventosJfr.ValidacaoJwt.class);
+        stream.disable(EventosJfr.AgregacaoDashboard.class);
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", alocacoesPorSegundo + "/s").withStackTrace();
+        stream.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(contencaoMs)).withStackTrace();
+        stream.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(contencaoMs)).withStackTrace();
+
+        stream.onEvent("cafeteria.Requisicao", this::registrarRequisicao);
+        stream.onEvent("jdk.ObjectAllocationSample", this::registrarAlocacao);
+        stream.onEvent("jdk.JavaMonitorEnter", evento -> registrarContencao(evento, evento.getClass("monitorClass")));
+        stream.onEvent("jdk.ThreadPark", evento -> registrarContencao(evento, evento.getClass("parkedClass")));
+        stream.startAsync();
+        log.info("Coletor JFR ativo (requisição lenta {} ms, contenção {} ms, {} amostras de alocação/s)",
+                requisicaoLentaMs, contencaoMs, alocacoesPorSegundo);
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrarRequisicao(RecordedEvent evento) {
+        // Durante uma gravação do GravacoesJfr o limite fica zerado e chegam também as rápidas
+        if (evento.getDuration().toMillis() < requisicaoLentaMs) {
+            return;
+        }
+        DiagnosticoJfr.RequisicaoLenta requisicao = new DiagnosticoJfr.RequisicaoLenta(evento.getStartTime(),
+                evento.getString("metodo"), evento.getString("uri"), evento.getInt("status"),
+                milis(evento.getDuration().toNanos()), evento.getString("requestId"));
+        lock.lock();
+        try {
+            renovarJanela();
+            if (requisicoes.size() == MAX_REQUISICOES) {
+                requisicoes.removeFirst();
+            }
+            requisicoes.addLast(requisicao);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarAlocacao(RecordedEvent evento) {
+        // As alocações do próprio consumo (leitura dos eventos, nesta thread) e da inicialização não interessam
+        long thread = evento.getThread() != null ? evento.getThread().getJavaThreadId() : -1;
+        if (thread == Thread.currentThread().threadId() || thread == threadInicializacao) {
+            return;
+        }
+        RecordedClass classe = evento.getClass("objectClass");
+        String local = local(evento.getStackTrace());
+        ChaveAlocacao chave = new ChaveAlocacao(local != null ? local : topo(evento.getStackTrace()),
+                classe != null ? nomeTipo(classe.getName()) : "?");
+        long bytes = evento.getLong("weight");
+        lock.lock();
+        try {
+            renovarJanela();
+            long[] total = obter(alocacoes, chave, 2);
+            if (total != null) {
+                total[0]++;
+                total[1] += bytes;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarContencao(RecordedEvent evento, RecordedClass classe) {
+        String nomeClasse = classe != null ? classe.getName() : null;
+        // Só park em lock (AQS, StampedLock): Condition, ForkJoinPool e FutureTask são espera por trabalho
+        if (nomeClasse == null || !(nomeClasse.endsWith("Sync") || nomeClasse.endsWith("StampedLock")
+                || evento.getEventType().getName().equals("jdk.JavaMonitorEnter"))) {
+            return;
+        }
+        // Threads só do JDK ou de bibliotecas sem código da aplicação na pilha ficam de fora
+        String local = local(evento.getStackTrace());
+        if (local == null) {
+            return;
+        }
+        ChaveContencao chave = new ChaveContencao(local, nomeTipo(nomeClasse));
+        long nanos = evento.getDuration().toNanos();
+        lock.lock();
+        try {
+            renovarJanela();
+            long[] total = obter(contencoes, chave, 3);
+            if (total != null) {
+                total[0]++;
+                total[1] += nanos;
+                total[2] = Math.max(total[2], nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entrada do agregado; locais novos além do limite são descartados em vez de crescer o mapa
+    private static <K> long[] obter(Map<K, long[]> mapa, K chave, int campos) {
+        long[] total = mapa.get(chave);
+        if (total == null && mapa.size() < MAX_LOCAIS) {
+            total = new long[campos];
+            mapa.put(chave, total);
+        }
+        return total;
+    }
+
+    // Chamado com o lock: ao vencer a janela, os agregados recomeçam
+    private void renovarJanela() {
+        Instant agora = Instant.now();
+        if (agora.isAfter(inicioJanela.plus(janela))) {
+            requisicoes.clear();
+            alocacoes.clear();
+            contencoes.clear();
+            inicioJanela = agora;
+        }
+    }
+
+    // Piores casos da janela atual, até TOP de cada tipo
+    public DiagnosticoJfr resumo() {
+        lock.lock();
+        try {
+            renovarJanela();
+            List<DiagnosticoJfr.RequisicaoLenta> lentas = requisicoes.stream()
+                    .sorted(Comparator.comparingDouble(DiagnosticoJfr.RequisicaoLenta::duracaoMs).reversed())
+                    .limit(TOP)
+                    .toList();
+            List<DiagnosticoJfr.Alocacao> maioresAlocacoes = alocacoes.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<ChaveAlocacao, long[]> e) -> e.getValue()[1]).reversed())
+                    .limit(TOP)
+                    .map(e -> new DiagnosticoJfr.Alocacao(e.getKey().local(), e.getKey().classe(),
+                            e.getValue()[0], e.getValue()[1]))
+                    .toList();
+            List<DiagnosticoJfr.Contencao> maioresContencoes = contencoes.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<ChaveContencao, long[]> e) -> e.getValue()[1]).reversed())
+                    .limit(TOP)
+                    .map(e -> new DiagnosticoJfr.Contencao(e.getKey().local(), e.getKey().lock(),
+                            e.getValue()[0], milis(e.getValue()[1]), milis(e.getValue()[2])))
+                    .toList();
+            return new DiagnosticoJfr(stream != null, inicioJanela, lentas, maioresAlocacoes, maioresContencoes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Método mais próximo do topo da pilha que pertence à aplicação (fora de config e dos filtros);
+     * sem nenhum, o primeiro fora do JDK (ex.: Thymeleaf renderizando); só com JDK, null.
+     */
+    static String local(RecordedStackTrace pilha) {
+        if (pilha == null) {
+            return null;
+        }
+        RecordedFrame primeiroForaDoJdk = null;
+        for (RecordedFrame frame : pilha.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String classe = frame.getMethod().getType().getName();
+            // Proxies gerados (CGLIB) só repassam a chamada
+            if (classe.startsWith(PACOTE_APLICACAO) && !classe.startsWith(PACOTE_CONFIG) && !classe.contains("$$")
+                    && !frame.getMethod().getName().startsWith(PREFIXO_FILTRO)) {
+                return formatar(frame);
+            }
+            if (primeiroForaDoJdk == null && !classe.startsWith("java.") && !classe.startsWith("jdk.")
+                    && !classe.startsWith("sun.") && !classe.startsWith(PACOTE_APLICACAO)) {
+                primeiroForaDoJdk = frame;
+            }
+        }
+        return primeiroForaDoJdk != null ? formatar(primeiroForaDoJdk) : null;
+    }
+
+    private static String topo(RecordedStackTrace pilha) {
+        return pilha == null || pilha.getFrames().isEmpty() ? "?" : formatar(pilha.getFrames().get(0));
+    }
+
+    private static String formatar(RecordedFrame frame) {
+        return nomeSimples(frame.getMethod().getType().getName()) + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    static String nomeSimples(String classe) {
+        return classe.substring(classe.lastIndexOf('.') + 1);
+    }
+
+    // Nome como no código: "[B" vira "byte[]" e "[Ljava.lang.String;" vira "String[]"
+    static String nomeTipo(String classe) {
+        int dimensoes = 0;
+        while (dimensoes < classe.length() && classe.charAt(dimensoes) == '[') {
+            dimensoes++;
+        }
+        if (dimensoes == 0) {
+            return nomeSimples(classe);
+        }
+        String elemento = switch (classe.charAt(dimensoes)) {
+            case 'B' -> "byte";
+            case 'C' -> "char";
+            case 'D' -> "double";
+            case 'F' -> "float";
+            case 'I' -> "int";
+            case 'J' -> "long";
+            case 'S' -> "short";
+            case 'Z' -> "boolean";
+            default -> nomeSimples(classe.substring(dimensoes + 1, classe.length() - 1));
+        };
+        return elemento + "[]".repeat(dimensoes);
+    }
+
+    private static double milis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,196 @@
+package com.senac.cafeteria.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.SpanResumo;
+import com.senac.cafeteria.dtos.TraceResumo;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Destino dos spans do tracing, sem serviço externo: os últimos traces ficam em memória
+ * (consultados em /api/admin/traces) e, com cafeteria.tracing.arquivo definido, cada span também
+ * vai para um arquivo JSON Lines. O SDK chama export() na thread do BatchSpanProcessor,
+ * então nada disso pesa na requisição.
+ */
+@Component
+public class ColetorTraces implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ColetorTraces.class);
+    private static final String SEM_PAI = "0000000000000000";
+
+    private final int maximoTraces;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock lock = new ReentrantLock();
+    // traceId -> spans já exportados; os filhos terminam antes da raiz e podem chegar em lotes diferentes
+    private final LinkedHashMap<String, List<SpanData>> traces;
+    private final BufferedWriter arquivo;
+
+    public ColetorTraces(@Value("${cafeteria.tracing.traces-guardados:200}") int maximoTraces,
+                         @Value("${cafeteria.tracing.arquivo:}") String caminhoArquivo,
+                         ObjectMapper objectMapper) throws IOException {
+        this.maximoTraces = maximoTraces;
+        this.objectMapper = objectMapper;
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanData>> maisAntigo) {
+                return size() > ColetorTraces.this.maximoTraces;
+            }
+        };
+        if (caminhoArquivo.isBlank()) {
+            this.arquivo = null;
+        } else {
+            Path caminho = Path.of(caminhoArquivo);
+            if (caminho.getParent() != null) {
+                Files.createDirectories(caminho.getParent());
+            }
+            this.arquivo = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            log.info("Spans gravados em {}", caminho.toAbsolutePath());
+        }
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        lock.lock();
+        try {
+            for (SpanData span : spans) {
+                traces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (arquivo != null) {
+            return gravar(spans);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private CompletableResultCode gravar(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                Map<String, Object> linha = new LinkedHashMap<>();
+                linha.put("traceId", span.getTraceId());
+                linha.put("spanId", span.getSpanId());
+                linha.put("paiId", span.getParentSpanId());
+                linha.put("nome", span.getName());
+                linha.put("inicio", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+                linha.put("duracaoMs", duracaoMs(span));
+                linha.put("erro", span.getStatus().getStatusCode() == StatusCode.ERROR);
+                linha.put("atributos", atributos(span));
+                arquivo.write(objectMapper.writeValueAsString(linha));
+                arquivo.newLine();
+            }
+            arquivo.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Falha ao gravar spans no arquivo: {}", e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    /*
+     * Traces guardados, do mais recente para o mais antigo. Só entram os que já têm a raiz exportada,
+     * com duração mínima e, se informado, com o nome da raiz contendo 'nome' (ex.: "finalizar").
+     */
+    public List<TraceResumo> listar(double minimoMs, String nome, int limite) {
+        List<List<SpanData>> copia;
+        lock.lock();
+        try {
+            copia = new ArrayList<>(traces.size());
+            traces.values().forEach(spans -> copia.add(List.copyOf(spans)));
+        } finally {
+            lock.unlock();
+        }
+        List<TraceResumo> resultado = new ArrayList<>();
+        for (int i = copia.size() - 1; i >= 0 && resultado.size() < limite; i--) {
+            TraceResumo trace = resumir(copia.get(i));
+            if (trace != null && trace.duracaoMs() >= minimoMs
+                    && (nome == null || nome.isBlank() || trace.nome().contains(nome))) {
+                resultado.add(trace);
+            }
+        }
+        return resultado;
+    }
+
+    static TraceResumo resumir(List<SpanData> spans) {
+        SpanData raiz = spans.stream()
+                .filter(span -> !span.getParentSpanContext().isValid() || SEM_PAI.equals(span.getParentSpanId()))
+                .findFirst()
+                .orElse(null);
+        if (raiz == null) {
+            return null;
+        }
+        Map<String, SpanData> porId = new HashMap<>();
+        spans.forEach(span -> porId.put(span.getSpanId(), span));
+        long inicioTrace = raiz.getStartEpochNanos();
+
+        List<SpanResumo> resumos = spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(span -> new SpanResumo(span.getName(), profundidade(span, porId),
+                        (span.getStartEpochNanos() - inicioTrace) / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                        duracaoMs(span), span.getStatus().getStatusCode() == StatusCode.ERROR, atributos(span)))
+                .toList();
+        return new TraceResumo(raiz.getTraceId(), raiz.getName(), Instant.ofEpochSecond(0, inicioTrace),
+                duracaoMs(raiz), resumos);
+    }
+
+    private static int profundidade(SpanData span, Map<String, SpanData> porId) {
+        int profundidade = 0;
+        SpanData pai = porId.get(span.getParentSpanId());
+        while (pai != null && profundidade < porId.size()) {
+            profundidade++;
+            pai = porId.get(pai.getParentSpanId());
+        }
+        return profundidade;
+    }
+
+    private static double duracaoMs(SpanData span) {
+        return (span.getEndEpochNanos() - span.getStartEpochNanos()) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static Map<String, String> atributos(SpanData span) {
+        Map<String, String> atributos = new LinkedHashMap<>();
+        span.getAttributes().forEach((chave, valor) -> atributos.put(chave.getKey(), String.valueOf(valor)));
+        return atributos;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        if (arquivo != null) {
+            try {
+                arquivo.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
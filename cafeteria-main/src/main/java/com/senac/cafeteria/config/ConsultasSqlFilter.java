@@ -0,0 +1,116 @@
+package com.senac.cafeteria.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Quantidade e tempo de SQL por requisição HTTP (contados pelo ConsultasSqlListener).
+ * - Métricas por rota: cafeteria.sql.requisicao.consultas e cafeteria.sql.requisicao.tempo.
+ * - Com cafeteria.sql.cabecalhos=true (desenvolvimento e testes), os cabeçalhos X-Sql-Consultas e
+ *   X-Sql-Tempo-Ms na resposta, com o que foi executado até a resposta começar a ser enviada.
+ * - Requisições acima de cafeteria.sql.alerta-consultas vão para o log (sinal típico de N+1).
+ * Roda logo depois do RequisicaoIdFilter, então o log já sai com o id da requisição.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConsultasSqlFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_CONSULTAS = "X-Sql-Consultas";
+    public static final String HEADER_TEMPO = "X-Sql-Tempo-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasSqlFilter.class);
+
+    private final ConsultasSqlListener listener;
+    private final MeterRegistry registry;
+    private final boolean cabecalhos;
+    private final int alertaConsultas;
+
+    public ConsultasSqlFilter(ConsultasSqlListener listener,
+                              MeterRegistry registry,
+                              @Value("${cafeteria.sql.cabecalhos:false}") boolean cabecalhos,
+                              @Value("${cafeteria.sql.alerta-consultas:30}") int alertaConsultas) {
+        this.listener = listener;
+        this.registry = registry;
+        this.cabecalhos = cabecalhos;
+        this.alertaConsultas = alertaConsultas;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConsultasSqlListener.Contagem contagem = new ConsultasSqlListener.Contagem();
+        ConsultasSqlListener.Contagem anterior = listener.iniciarContagem(contagem);
+        HttpServletResponse saida = cabecalhos ? new RespostaComContagem(response, contagem) : response;
+        try {
+            filterChain.doFilter(request, saida);
+        } finally {
+            listener.encerrarContagem(anterior);
+            if (cabecalhos && !response.isCommitted()) {
+                escreverCabecalhos(response, contagem);
+            }
+            registrar(request, contagem);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ConsultasSqlListener.Contagem contagem) {
+        // Só rotas de controller: recursos estáticos e erros não consultam o banco
+        Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (rota == null) {
+            return;
+        }
+        String uri = rota.toString();
+        DistributionSummary.builder("cafeteria.sql.requisicao.consultas")
+                .description("Execuções de SQL por requisição")
+                .tag("uri", uri)
+                .register(registry)
+                .record(contagem.getConsultas());
+        Timer.builder("cafeteria.sql.requisicao.tempo")
+                .description("Tempo somado das execuções de SQL por requisição")
+                .tag("uri", uri)
+                .register(registry)
+                .record(contagem.getNanos(), TimeUnit.NANOSECONDS);
+        if (contagem.getConsultas() > alertaConsultas) {
+            log.warn("{} {} executou {} consultas SQL ({} ms); possível N+1", request.getMethod(), uri,
+                    contagem.getConsultas(), TimeUnit.NANOSECONDS.toMillis(contagem.getNanos()));
+        }
+    }
+
+    private static void escreverCabecalhos(HttpServletResponse response, ConsultasSqlListener.Contagem contagem) {
+        response.setIntHeader(HEADER_CONSULTAS, contagem.getConsultas());
+        response.setHeader(HEADER_TEMPO, String.valueOf(TimeUnit.NANOSECONDS.toMillis(contagem.getNanos())));
+    }
+
+    // Cabeçalhos só podem ser escritos antes do commit; páginas grandes fazem o commit no meio da renderização
+    private static final class RespostaComContagem extends OnCommittedResponseWrapper {
+
+        private final ConsultasSqlListener.Contagem contagem;
+
+        RespostaComContagem(HttpServletResponse response, ConsultasSqlListener.Contagem contagem) {
+            super(response);
+            this.contagem = contagem;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            escreverCabecalhos((HttpServletResponse) getResponse(), contagem);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.senac.cafeteria.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Recebe cada execução de SQL do proxy JDBC (ver PersistenceConfig).
+ * - Dentro de uma contagem aberta na thread (uma requisição HTTP, pelo ConsultasSqlFilter),
+ *   soma execuções e tempo. Um executeBatch conta como uma execução (uma ida ao banco).
+ * - Em qualquer thread, execuções acima de cafeteria.sql.lenta-ms vão para o log com os parâmetros.
+ * - Dentro de um trace amostrado, cada execução vira um span "jdbc" filho do span atual,
+ *   e commit/rollback viram spans "jdbc.commit"/"jdbc.rollback".
+ */
+@Component
+public class ConsultasSqlListener implements QueryExecutionListener, MethodExecutionListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasSqlListener.class);
+
+    // Limites do log de consulta lenta: lotes e imagens não podem virar linhas gigantes
+    private static final int MAX_PARAMETROS_LOG = 20;
+    private static final int MAX_TEXTO_PARAMETRO = 100;
+    private static final int MAX_SQL_SPAN = 300;
+    private static final String CHAVE_SPAN = "span";
+
+    // Consultas e tempo de uma requisição; só a thread da requisição altera
+    public static final class Contagem {
+        private int consultas;
+        private long nanos;
+        private long inicioConsulta;
+
+        public int getConsultas() {
+            return consultas;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final ThreadLocal<Contagem> contagemAtual = new ThreadLocal<>();
+    private final long lentaMs;
+    private final LongAdder lentas = new LongAdder();
+    // Ligado só com a aplicação pronta: o listener nasce junto com o DataSource, antes do tracing
+    private volatile Tracer tracer;
+
+    public ConsultasSqlListener(@Value("${cafeteria.sql.lenta-ms:200}") long lentaMs) {
+        this.lentaMs = lentaMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ligarTracing(ApplicationReadyEvent event) {
+        tracer = event.getApplicationContext().getBeanProvider(Tracer.class).getIfAvailable();
+    }
+
+    // Abre a contagem da thread atual; devolve a anterior (normalmente null) para ser restaurada no fim
+    public Contagem iniciarContagem(Contagem nova) {
+        Contagem anterior = contagemAtual.get();
+        contagemAtual.set(nova);
+        return anterior;
+    }
+
+    public void encerrarContagem(Contagem anterior) {
+        if (anterior == null) {
+            contagemAtual.remove();
+        } else {
+            contagemAtual.set(anterior);
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Contagem contagem = contagemAtual.get();
+        if (contagem != null) {
+            contagem.inicioConsulta = System.nanoTime();
+        }
+        Span span = novoSpan("jdbc");
+        if (span != null) {
+            execInfo.addCustomValue(CHAVE_SPAN, span);
+        }
+    }
+
+    // Filho do span atual, só se o trace foi amostrado (fora disso, nem o span vazio é criado)
+    private Span novoSpan(String nome) {
+        Tracer t = tracer;
+        Span atual = t != null ? t.currentSpan() : null;
+        if (atual == null || !Boolean.TRUE.equals(atual.context().sampled())) {
+            return null;
+        }
+        return t.nextSpan(atual).name(nome).start();
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext contexto) {
+        if (contexto.getTarget() instanceof Connection) {
+            String metodo = contexto.getMethod().getName();
+            if (metodo.equals("commit") || metodo.equals("rollback")) {
+                Span span = novoSpan("jdbc." + metodo);
+                if (span != null) {
+                    contexto.addCustomValue(CHAVE_SPAN, span);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext contexto) {
+        Span span = contexto.getCustomValue(CHAVE_SPAN, Span.class);
+        if (span != null) {
+            if (contexto.getThrown() != null) {
+                span.error(contexto.getThrown());
+            }
+            span.end();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Contagem contagem = contagemAtual.get();
+        if (contagem != null) {
+            contagem.consultas++;
+            contagem.nanos += System.nanoTime() - contagem.inicioConsulta;
+        }
+        Span span = execInfo.getCustomValue(CHAVE_SPAN, Span.class);
+        if (span != null) {
+            String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+            span.tag("sql", sql.length() > MAX_SQL_SPAN ? sql.substring(0, MAX_SQL_SPAN) + "..." : sql);
+            if (execInfo.isBatch()) {
+                span.tag("lote", String.valueOf(execInfo.getBatchSize()));
+            }
+            if (execInfo.getThrowable() != null) {
+                span.error(execInfo.getThrowable());
+            }
+            span.end();
+        }
+        if (execInfo.getElapsedTime() >= lentaMs) {
+            lentas.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("Consulta lenta ({} ms{}): {}", execInfo.getElapsedTime(),
+                        execInfo.isBatch() ? ", lote de " + execInfo.getBatchSize() : "", descrever(queryInfoList));
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cafeteria.sql.lentas", lentas, LongAdder::sum)
+                .description("Execuções de SQL acima de cafeteria.sql.lenta-ms")
+                .register(registry);
+    }
+
+    // SQL com os parâmetros do primeiro conjunto (em lotes, os demais só entram na contagem)
+    static String descrever(List<QueryInfo> queryInfoList) {
+        StringBuilder texto = new StringBuilder();
+        for (QueryInfo query : queryInfoList) {
+            if (!texto.isEmpty()) {
+                texto.append(" ; ");
+            }
+            texto.append(query.getQuery());
+            List<List<ParameterSetOperation>> conjuntos = query.getParametersList();
+            if (conjuntos.isEmpty() || conjuntos.get(0).isEmpty()) {
+                continue;
+            }
+            List<ParameterSetOperation> parametros = conjuntos.get(0);
+            texto.append(" | parâmetros: [");
+            for (int i = 0; i < parametros.size() && i < MAX_PARAMETROS_LOG; i++) {
+                ParameterSetOperation parametro = parametros.get(i);
+                Object[] args = parametro.getArgs();
+                texto.append(i > 0 ? ", " : "").append(ParameterSetOperation.isSetNullParameterOperation(parametro) ? "null"
+                        : args.length > 1 ? valor(args[1]) : "?");
+            }
+            if (parametros.size() > MAX_PARAMETROS_LOG) {
+                texto.append(", ... (").append(parametros.size()).append(" no total)");
+            }
+            texto.append(']');
+        }
+        return texto.toString();
+    }
+
+    private static String valor(Object valor) {
+        if (valor instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String texto = String.valueOf(valor);
+        return texto.length() > MAX_TEXTO_PARAMETRO ? texto.substring(0, MAX_TEXTO_PARAMETRO) + "..." : texto;
+    }
+}
@@ -5,25 +5,32 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import com.senac.cafeteria.models.Produto;
+import org.springframework.core.io.ClassPathResource;
+
+import com.senac.cafeteria.dtos.ImportacaoResultado;
 import com.senac.cafeteria.models.Usuario;
 import com.senac.cafeteria.models.enums.Role;
 import com.senac.cafeteria.repositories.ProdutoRepository;
 import com.senac.cafeteria.repositories.UsuarioRepository;
+import com.senac.cafeteria.services.CatalogoImportacaoService;
 
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @Configuration
 @RequiredArgsConstructor
 public class DataInitializer {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     private final UsuarioRepository usuarioRepository;
     private final ProdutoRepository produtoRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CatalogoImportacaoService catalogoImportacaoService;
 
     @PostConstruct
     public void init() {
@@ -40,7 +47,7 @@ public class DataInitializer {
             funcionario.setSenha(passwordEncoder.encode("123456"));
             funcionario.setRole(Role.FUNCIONARIO);
             usuarioRepository.save(funcionario);
-            System.out.println("Usuário funcionário criado: funcionario@cafe.com / 123456");
+            log.info("Usuário funcionário criado: funcionario@cafe.com / 123456");
         }
 
         // Criar usuário cliente de teste
@@ -51,37 +58,21 @@ public class DataInitializer {
             cliente.setSenha(passwordEncoder.encode("123456"));
             cliente.setRole(Role.CLIENTE);
             usuarioRepository.save(cliente);
-            System.out.println("Usuário cliente criado: cliente@teste.com / 123456");
+            log.info("Usuário cliente criado: cliente@teste.com / 123456");
         }
     }
 
+    // Carrega o cardápio inicial de seed/produtos.csv pela mesma importação em massa usada no admin
     private void criarProdutosIniciais() {
         if (produtoRepository.count() == 0) {
-            List<Produto> produtos = Arrays.asList(
-                criarProduto("Café Expresso", "Café forte e aromático, preparado na hora", new BigDecimal("5.90")),
-                criarProduto("Cappuccino", "Café com leite vaporizado e espuma cremosa", new BigDecimal("8.50")),
-                criarProduto("Latte", "Café com leite vaporizado e uma suave camada de espuma", new BigDecimal("9.00")),
-                criarProduto("Mocha", "Café com chocolate, leite vaporizado e chantilly", new BigDecimal("12.00")),
-            
-                criarProduto("Suco de Laranja Natural", "Suco fresco de laranja, feito na hora", new BigDecimal("8.00")),
-                criarProduto("Sanduíche Natural", "Pão integral com peito de peru e queijo branco", new BigDecimal("15.00")),
-                criarProduto("Bolo de Chocolate", "Fatia de bolo de chocolate com cobertura", new BigDecimal("9.90")),
-                criarProduto("Croissant", "Croissant folhado e crocante, perfeito para acompanhar", new BigDecimal("6.00"))
-            );
-
-            produtoRepository.saveAll(produtos);
-            System.out.println("10 produtos iniciais criados com sucesso!");
+            try (InputStream csv = new ClassPathResource("seed/produtos.csv").getInputStream()) {
+                ImportacaoResultado resultado = catalogoImportacaoService.importarCsv(csv);
+                log.info("{} produtos iniciais criados", resultado.criadas());
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível ler seed/produtos.csv", e);
+            }
         } else {
-            System.out.println("Produtos já existem no banco. Nenhum produto inicial criado.");
+            log.info("Produtos já existem no banco. Nenhum produto inicial criado.");
         }
     }
-
-    private Produto criarProduto(String nome, String descricao, BigDecimal preco) {
-        Produto produto = new Produto();
-        produto.setNome(nome);
-        produto.setDescricao(descricao);
-        produto.setPreco(preco);
-        // As imagens ficarão nulas inicialmente - você pode adicionar depois pelo admin
-        return produto;
-    }
 }
\ No newline at end of file
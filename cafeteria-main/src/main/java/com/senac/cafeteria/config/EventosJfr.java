@@ -0,0 +1,133 @@
+package com.senac.cafeteria.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * Eventos JFR próprios da aplicação, todos na categoria "Cafeteria" do JDK Mission Control.
+ * Uso: cria o evento no começo do trecho (o construtor chama begin()), preenche os campos e chama commit().
+ * Sem gravação ativa que habilite o evento, commit() não grava nada e o custo é só o do objeto.
+ * Nenhum guarda pilha: o local já é identificado pelo nome do evento.
+ */
+public final class EventosJfr {
+
+    public static final String CATEGORIA = "Cafeteria";
+
+    private EventosJfr() {
+    }
+
+    @Name("cafeteria.Requisicao")
+    @Label("Requisição HTTP")
+    @Description("Requisição inteira, do primeiro filtro à resposta")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Requisicao extends Event {
+        @Label("Método")
+        public String metodo;
+        @Label("URI")
+        public String uri;
+        @Label("Status")
+        public int status;
+        @Label("Id da requisição")
+        public String requestId;
+
+        public Requisicao() {
+            begin();
+        }
+    }
+
+    @Name("cafeteria.Checkout")
+    @Label("Checkout")
+    @Description("Finalização do carrinho em pedido (sem o commit da transação)")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class Checkout extends Event {
+        @Label("Usuário")
+        public long usuarioId;
+        @Label("Itens")
+        public int itens;
+        @Label("Pedido")
+        public long pedidoId;
+        @Label("Concluído")
+        public boolean concluido;
+
+        public Checkout(long usuarioId) {
+            this.usuarioId = usuarioId;
+            begin();
+        }
+    }
+
+    @Name("cafeteria.AlteracaoCarrinho")
+    @Label("Alteração do carrinho")
+    @Description("Adição, atualização, remoção ou limpeza do carrinho, com a reserva de estoque")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class AlteracaoCarrinho extends Event {
+        @Label("Operação")
+        public String operacao;
+        @Label("Usuário")
+        public long usuarioId;
+        @Label("Produto")
+        public long produtoId;
+        @Label("Quantidade")
+        public int quantidade;
+
+        public AlteracaoCarrinho(String operacao, long usuarioId) {
+            this.operacao = operacao;
+            this.usuarioId = usuarioId;
+            begin();
+        }
+    }
+
+    @Name("cafeteria.CodificacaoImagem")
+    @Label("Codificação de imagem")
+    @Description("Imagem de produto convertida para Base64 para ir embutida na página")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class CodificacaoImagem extends Event {
+        @Label("Produto")
+        public long produtoId;
+        @Label("Tamanho")
+        @DataAmount
+        public long bytes;
+
+        public CodificacaoImagem(long produtoId, long bytes) {
+            this.produtoId = produtoId;
+            this.bytes = bytes;
+            begin();
+        }
+    }
+
+    @Name("cafeteria.ValidacaoJwt")
+    @Label("Validação de JWT")
+    @Description("Validação do token e carga do usuário no filtro JWT")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class ValidacaoJwt extends Event {
+        @Label("Válido")
+        public boolean valido;
+
+        public ValidacaoJwt() {
+            begin();
+        }
+    }
+
+    @Name("cafeteria.AgregacaoDashboard")
+    @Label("Agregação do dashboard")
+    @Description("Consultas e somatórios da página de dashboard do admin")
+    @Category(CATEGORIA)
+    @StackTrace(false)
+    public static final class AgregacaoDashboard extends Event {
+        @Label("Pedidos agregados")
+        public int pedidos;
+
+        public AgregacaoDashboard() {
+            begin();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.senac.cafeteria.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.ServletContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+import org.unbescape.html.HtmlEscape;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/*
+ * Cache do HTML renderizado dos fragmentos fixos (cabeçalho e rodapé), usado pelos templates por
+ * fragments/em-cache.html: th:utext="${@fragmentosEmCache.html('fragments/header')}".
+ * O HTML desses fragmentos só muda com o papel do usuário (sec:authorize) e o idioma, então cada
+ * combinação é renderizada uma vez e reaproveitada por cafeteria.fragmentos.ttl-minutos.
+ * O nome do usuário logado é a única parte individual: o fragmento é renderizado com um marcador
+ * no lugar dele, e o nome (escapado) entra na hora de devolver.
+ * Com cafeteria.fragmentos.cache=false (desenvolvimento) renderiza a cada chamada, pegando edições nos templates.
+ */
+@Component("fragmentosEmCache")
+public class FragmentosEmCache implements MeterBinder {
+
+    // Variável do template com o nome do usuário (ver fragments/header.html)
+    private static final String VARIAVEL_USUARIO = "nomeUsuario";
+    private static final String MARCADOR_USUARIO = "@@cafeteria-usuario@@";
+    private static final String ANONIMO = "ANONIMO";
+    // O idioma vem do Accept-Language: sem limite, cada valor novo criaria uma entrada
+    private static final int MAX_ENTRADAS = 200;
+
+    private record Chave(String template, String seletor, String papel, Locale locale) {
+    }
+
+    // HTML antes e depois do nome do usuário (depois == null: fragmento sem o nome)
+    private record Renderizado(String antes, String depois, long expiraEm) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication aplicacaoWeb;
+    private final boolean ativo;
+    private final long ttlNanos;
+
+    private final Map<Chave, Renderizado> cache = new ConcurrentHashMap<>();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder renderizacoes = new LongAdder();
+
+    public FragmentosEmCache(ITemplateEngine templateEngine, ServletContext servletContext,
+                             @Value("${cafeteria.fragmentos.cache:true}") boolean ativo,
+                             @Value("${cafeteria.fragmentos.ttl-minutos:10}") long ttlMinutos) {
+        this.templateEngine = templateEngine;
+        this.aplicacaoWeb = JakartaServletWebApplication.buildApplication(servletContext);
+        this.ativo = ativo;
+        this.ttlNanos = Duration.ofMinutes(ttlMinutos).toNanos();
+    }
+
+    // Template inteiro (estilos, cabeçalho e scripts), como ~{fragments/header}
+    public String html(String template) {
+        return html(template, null);
+    }
+
+    // Só o fragmento 'seletor' do template, como ~{fragments/header :: header}
+    public String html(String template, String seletor) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        boolean logado = autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken);
+        Locale locale = LocaleContextHolder.getLocale();
+
+        Renderizado renderizado;
+        if (!ativo) {
+            renderizado = renderizar(template, seletor, locale, 0);
+        } else {
+            Chave chave = new Chave(template, seletor, logado ? papel(autenticacao) : ANONIMO, locale);
+            long agora = System.nanoTime();
+            renderizado = cache.get(chave);
+            if (renderizado == null || agora - renderizado.expiraEm() > 0) {
+                // Duas requisições podem renderizar ao mesmo tempo na primeira vez; a última fica
+                renderizado = renderizar(template, seletor, locale, agora + ttlNanos);
+                if (cache.size() < MAX_ENTRADAS || cache.containsKey(chave)) {
+                    cache.put(chave, renderizado);
+                }
+            } else {
+                acertos.increment();
+            }
+        }
+
+        if (renderizado.depois() == null) {
+            return renderizado.antes();
+        }
+        String nome = logado ? HtmlEscape.escapeHtml5(autenticacao.getName()) : "";
+        return renderizado.antes() + nome + renderizado.depois();
+    }
+
+    private Renderizado renderizar(String template, String seletor, Locale locale, long expiraEm) {
+        renderizacoes.increment();
+        ServletRequestAttributes atributos = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebContext contexto = new WebContext(aplicacaoWeb.buildExchange(atributos.getRequest(), atributos.getResponse()),
+                locale, Map.of(VARIAVEL_USUARIO, MARCADOR_USUARIO));
+        String html = templateEngine.process(template, seletor == null ? null : Set.of(seletor), contexto);
+
+        int posicao = html.indexOf(MARCADOR_USUARIO);
+        if (posicao < 0) {
+            return new Renderizado(html, null, expiraEm);
+        }
+        return new Renderizado(html.substring(0, posicao), html.substring(posicao + MARCADOR_USUARIO.length()), expiraEm);
+    }
+
+    // Papéis em ordem fixa: o mesmo conjunto sempre gera a mesma chave
+    private static String papel(Authentication autenticacao) {
+        return autenticacao.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cafeteria.fragmentos.renderizacoes", renderizacoes, LongAdder::sum)
+                .description("Fragmentos fixos renderizados pelo Thymeleaf (cache vazio, expirado ou desligado)")
+                .register(registry);
+        FunctionCounter.builder("cafeteria.fragmentos.acertos", acertos, LongAdder::sum)
+                .description("Fragmentos fixos servidos do cache")
+                .register(registry);
+    }
+}
@@ -0,0 +1,390 @@
+package com.senac.cafeteria.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/*
+ * Gerador de massa de dados para testes de desempenho em escala de produção.
+ * Ativado pelo perfil "gerador" ou por --cafeteria.gerador.enabled=true, roda antes do
+ * ApplicationReadyEvent: os índices em memória (busca, estoque, fila de preparo) já sobem com os dados.
+ *
+ * Cria clientes, produtos com imagem JPEG e pedidos finalizados espalhados pelos últimos meses,
+ * com popularidade de produtos e clientes concentrada (Zipf) e picos de movimento nos horários de refeição.
+ * Os pedidos são divididos em faixas gravadas em paralelo, cada thread com sua conexão e
+ * INSERTs em lote (um commit por lote). A semente fixa torna a massa reproduzível.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cafeteria.gerador.enabled", havingValue = "true")
+public class GeradorDadosSinteticos implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDadosSinteticos.class);
+
+    // Domínio dos e-mails gerados: marca a massa e impede gerar duas vezes no mesmo banco
+    static final String DOMINIO = "@gerado.cafe";
+    private static final String SENHA = "123456";
+    private static final String[] BASES = {"Café", "Cappuccino", "Latte", "Mocha", "Chá", "Suco", "Croissant",
+            "Pão de queijo", "Bolo", "Torta", "Sanduíche", "Cookie"};
+    private static final String[] VARIACOES = {"Tradicional", "Gelado", "Duplo", "com Canela", "de Chocolate",
+            "Especial", "Vegano", "Grande"};
+    // Peso de cada hora do dia: picos no café da manhã, almoço e fim de tarde
+    private static final int[] PESO_HORA = {0, 0, 0, 0, 0, 0, 2, 8, 10, 8, 4, 6, 10, 9, 5, 3, 4, 7, 8, 6, 3, 1, 0, 0};
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+    private final int usuarios;
+    private final int produtos;
+    private final long pedidos;
+    private final int meses;
+    private final int itensMaximo;
+    private final int imagemPx;
+    private final int threads;
+    // Pedidos por tarefa do pool: faixas menores equilibram melhor as threads
+    private final int pedidosPorFaixa;
+    private final int tamanhoLote;
+    private final double concentracao;
+    private final long semente;
+    private final boolean encerrar;
+
+    public GeradorDadosSinteticos(DataSource dataSource, JdbcTemplate jdbc, PasswordEncoder passwordEncoder,
+                                  ConfigurableApplicationContext context,
+                                  @Value("${cafeteria.gerador.usuarios:10000}") int usuarios,
+                                  @Value("${cafeteria.gerador.produtos:200}") int produtos,
+                                  @Value("${cafeteria.gerador.pedidos:3000000}") long pedidos,
+                                  @Value("${cafeteria.gerador.meses:12}") int meses,
+                                  @Value("${cafeteria.gerador.itens-maximo:10}") int itensMaximo,
+                                  @Value("${cafeteria.gerador.imagem-px:256}") int imagemPx,
+                                  @Value("${cafeteria.gerador.threads:4}") int threads,
+                                  @Value("${cafeteria.gerador.pedidos-por-faixa:20000}") int pedidosPorFaixa,
+                                  @Value("${cafeteria.gerador.tamanho-lote:1000}") int tamanhoLote,
+                                  @Value("${cafeteria.gerador.concentracao:1.0}") double concentracao,
+                                  @Value("${cafeteria.gerador.semente:42}") long semente,
+                                  @Value("${cafeteria.gerador.encerrar:false}") boolean encerrar) {
+        this.dataSource = dataSource;
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.usuarios = usuarios;
+        this.produtos = produtos;
+        this.pedidos = pedidos;
+        this.meses = meses;
+        this.itensMaximo = itensMaximo;
+        this.imagemPx = imagemPx;
+        this.threads = threads;
+        this.pedidosPorFaixa = pedidosPorFaixa;
+        this.tamanhoLote = tamanhoLote;
+        this.concentracao = concentracao;
+        this.semente = semente;
+        this.encerrar = encerrar;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Integer existentes = jdbc.queryForObject("select count(*) from usuario where email like ?", Integer.class, "%" + DOMINIO);
+        if (existentes != null && existentes > 0) {
+            log.info("Massa gerada já existe neste banco ({} clientes {}); geração ignorada", existentes, DOMINIO);
+        } else {
+            gerar();
+        }
+        if (encerrar) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void gerar() throws Exception {
+        long inicio = System.nanoTime();
+        long[] clientes = criarClientes();
+        Catalogo catalogo = criarProdutos();
+        long itens = criarPedidos(clientes, catalogo);
+        analisarTabelas();
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        log.info("Massa gerada em {}s: {} clientes, {} produtos, {} pedidos, {} itens ({} linhas/s)",
+                String.format("%.1f", segundos), clientes.length, catalogo.ids.length, pedidos, itens,
+                String.format("%.0f", (clientes.length + catalogo.ids.length + pedidos + itens) / segundos));
+    }
+
+    // Um único hash BCrypt para todos: calcular um por cliente dominaria o tempo de carga
+    private long[] criarClientes() {
+        String senha = passwordEncoder.encode(SENHA);
+        List<Object[]> lote = new ArrayList<>(tamanhoLote);
+        for (int i = 1; i <= usuarios; i++) {
+            lote.add(new Object[]{"Cliente " + i, "cliente" + i + DOMINIO, "Rua " + (i % 500 + 1) + ", " + (i % 2000 + 1), senha});
+            if (lote.size() == tamanhoLote || i == usuarios) {
+                jdbc.batchUpdate("insert into usuario (nome, email, endereco, senha, role) values (?, ?, ?, ?, 'CLIENTE')", lote);
+                lote.clear();
+            }
+        }
+        log.info("{} clientes criados", usuarios);
+        return jdbc.queryForList("select id from usuario where email like ? order by id", Long.class, "%" + DOMINIO)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Imagens geradas em paralelo (a codificação JPEG é o custo dominante desta etapa)
+    private Catalogo criarProdutos() {
+        List<Object[]> linhas = IntStream.rangeClosed(1, produtos).parallel().mapToObj(i -> {
+            SplittableRandom aleatorio = new SplittableRandom(semente * 31 + i);
+            String base = BASES[aleatorio.nextInt(BASES.length)];
+            BigDecimal preco = BigDecimal.valueOf(400 + aleatorio.nextInt(2600), 2);
+            return new Object[]{base + " " + VARIACOES[aleatorio.nextInt(VARIACOES.length)] + " #" + i,
+                    "Produto gerado " + i + " para testes de desempenho", preco, imagem(aleatorio),
+                    30 + aleatorio.nextInt(270)};
+        }).toList();
+        for (int i = 0; i < linhas.size(); i += tamanhoLote) {
+            jdbc.batchUpdate("insert into produto (nome, descricao, preco, imagem, tempo_preparo_segundos) values (?, ?, ?, ?, ?)",
+                    linhas.subList(i, Math.min(i + tamanhoLote, linhas.size())));
+        }
+        log.info("{} produtos criados com imagens de {}x{}", produtos, imagemPx, imagemPx);
+
+        List<Object[]> gravados = jdbc.query("select id, preco from produto where descricao like 'Produto gerado %' order by id",
+                (rs, n) -> new Object[]{rs.getLong(1), rs.getBigDecimal(2)});
+        Catalogo catalogo = new Catalogo(gravados.size());
+        for (int i = 0; i < gravados.size(); i++) {
+            catalogo.ids[i] = (Long) gravados.get(i)[0];
+            catalogo.precos[i] = (BigDecimal) gravados.get(i)[1];
+        }
+        return catalogo;
+    }
+
+    // Gradiente com ruído: comprime como uma foto, não como uma cor sólida
+    private byte[] imagem(SplittableRandom aleatorio) {
+        BufferedImage imagem = new BufferedImage(imagemPx, imagemPx, BufferedImage.TYPE_INT_RGB);
+        int r = aleatorio.nextInt(256), g = aleatorio.nextInt(256), b = aleatorio.nextInt(256);
+        for (int y = 0; y < imagemPx; y++) {
+            for (int x = 0; x < imagemPx; x++) {
+                int ruido = aleatorio.nextInt(48) - 24;
+                int tom = (x + y) * 128 / (2 * imagemPx);
+                imagem.setRGB(x, y, (limitar(r + tom + ruido) << 16) | (limitar(g + ruido) << 8) | limitar(b - tom + ruido));
+            }
+        }
+        try (ByteArrayOutputStream saida = new ByteArrayOutputStream()) {
+            ImageIO.write(imagem, "jpg", saida);
+            return saida.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int limitar(int componente) {
+        return Math.max(0, Math.min(255, componente));
+    }
+
+    /*
+     * Os ids dos pedidos são atribuídos aqui (a partir do maior existente) para que cada faixa
+     * grave pedidos e itens no mesmo lote sem consultar o id gerado. No H2 a identidade é
+     * reposicionada no fim; no MySQL o auto_increment já avança com os ids explícitos.
+     */
+    private long criarPedidos(long[] clientes, Catalogo catalogo) throws Exception {
+        long primeiroId = jdbc.queryForObject("select coalesce(max(id), 0) + 1 from pedido", Long.class);
+        Amostrador produtosPopulares = new Amostrador(catalogo.ids.length, concentracao);
+        Amostrador clientesFrequentes = new Amostrador(clientes.length, concentracao / 2);
+        Amostrador horas = new Amostrador(PESO_HORA);
+        Amostrador quantidadeItens = new Amostrador(IntStream.rangeClosed(1, itensMaximo).mapToDouble(k -> 1.0 / k).toArray());
+        LocalDate hoje = LocalDate.now();
+        int dias = (int) ChronoUnit.DAYS.between(hoje.minusMonths(meses), hoje);
+
+        AtomicLong pedidosGravados = new AtomicLong();
+        AtomicLong itensGravados = new AtomicLong();
+        AtomicLong tarefasConcluidas = new AtomicLong();
+        long inicio = System.nanoTime();
+        List<Future<?>> tarefas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (long faixa = 0; faixa < pedidos; faixa += pedidosPorFaixa) {
+                long de = faixa;
+                long ate = Math.min(faixa + pedidosPorFaixa, pedidos);
+                tarefas.add(executor.submit(() -> {
+                    SplittableRandom aleatorio = new SplittableRandom(semente ^ (de * 0x9E3779B97F4A7C15L));
+                    long itens = gravarFaixa(primeiroId + de, ate - de, aleatorio, clientes, catalogo, produtosPopulares,
+                            clientesFrequentes, horas, quantidadeItens, hoje, dias);
+                    long total = pedidosGravados.addAndGet(ate - de);
+                    long totalItens = itensGravados.addAndGet(itens);
+                    if (tarefasConcluidas.incrementAndGet() % 25 == 0 || total == pedidos) {
+                        double segundos = (System.nanoTime() - inicio) / 1e9;
+                        log.info("Pedidos: {}/{} ({} itens, {} itens/s)", total, pedidos, totalItens,
+                                String.format("%.0f", totalItens / segundos));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        if (ehH2()) {
+            jdbc.execute("alter table pedido alter column id restart with " + (primeiroId + pedidos));
+        }
+        return itensGravados.get();
+    }
+
+    private long gravarFaixa(long primeiroId, long quantidade, SplittableRandom aleatorio, long[] clientes, Catalogo catalogo,
+                             Amostrador produtosPopulares, Amostrador clientesFrequentes, Amostrador horas,
+                             Amostrador quantidadeItens, LocalDate hoje, int dias) throws SQLException {
+        long itens = 0;
+        int[] escolhidos = new int[itensMaximo];
+        try (Connection conexao = dataSource.getConnection()) {
+            conexao.setAutoCommit(false);
+            try (PreparedStatement pedido = conexao.prepareStatement(
+                    "insert into pedido (id, usuario_id, data_criacao, total, status, tipo_entrega, versao) values (?, ?, ?, ?, ?, ?, 0)");
+                 PreparedStatement item = conexao.prepareStatement(
+                         "insert into item_pedido (pedido_id, produto_id, quantidade, preco_unitario) values (?, ?, ?, ?)")) {
+                for (long i = 0; i < quantidade; i++) {
+                    long pedidoId = primeiroId + i;
+                    int totalItens = quantidadeItens.sortear(aleatorio) + 1;
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (int j = 0; j < totalItens; j++) {
+                        int produto = sortearSemRepetir(produtosPopulares, aleatorio, escolhidos, j);
+                        int unidades = aleatorio.nextInt(10) < 7 ? 1 : aleatorio.nextInt(10) < 7 ? 2 : 3;
+                        BigDecimal preco = catalogo.precos[produto];
+                        total = total.add(preco.multiply(BigDecimal.valueOf(unidades)));
+                        item.setLong(1, pedidoId);
+                        item.setLong(2, catalogo.ids[produto]);
+                        item.setInt(3, unidades);
+                        item.setBigDecimal(4, preco);
+                        item.addBatch();
+                    }
+                    itens += totalItens;
+
+                    LocalDateTime data = hoje.minusDays(aleatorio.nextInt(dias) + 1L)
+                            .atTime(horas.sortear(aleatorio), aleatorio.nextInt(60), aleatorio.nextInt(60));
+                    pedido.setLong(1, pedidoId);
+                    pedido.setLong(2, clientes[clientesFrequentes.sortear(aleatorio)]);
+                    pedido.setTimestamp(3, Timestamp.valueOf(data));
+                    pedido.setBigDecimal(4, total);
+                    pedido.setString(5, aleatorio.nextInt(100) < 8 ? "CANCELADO" : "ENTREGUE");
+                    pedido.setString(6, aleatorio.nextInt(100) < 30 ? "ENTREGA" : "RETIRADA_LOJA");
+                    pedido.addBatch();
+
+                    if ((i + 1) % tamanhoLote == 0 || i == quantidade - 1) {
+                        // Pedidos antes dos itens por causa da chave estrangeira
+                        pedido.executeBatch();
+                        item.executeBatch();
+                        conexao.commit();
+                    }
+                }
+            }
+        }
+        return itens;
+    }
+
+    // Produtos distintos dentro do mesmo pedido (poucos itens: a busca linear basta)
+    private static int sortearSemRepetir(Amostrador amostrador, SplittableRandom aleatorio, int[] escolhidos, int quantidade) {
+        while (true) {
+            int candidato = amostrador.sortear(aleatorio);
+            boolean repetido = false;
+            for (int k = 0; k < quantidade && !repetido; k++) {
+                repetido = escolhidos[k] == candidato;
+            }
+            if (!repetido || quantidade >= amostrador.tamanho()) {
+                escolhidos[quantidade] = candidato;
+                return candidato;
+            }
+        }
+    }
+
+    // Estatísticas atualizadas para o otimizador depois de milhões de linhas novas
+    private void analisarTabelas() {
+        if (ehH2()) {
+            jdbc.execute("analyze");
+        } else {
+            jdbc.execute("analyze table usuario, produto, pedido, item_pedido");
+        }
+    }
+
+    private boolean ehH2() {
+        try (Connection conexao = dataSource.getConnection()) {
+            return "H2".equals(conexao.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível identificar o banco", e);
+        }
+    }
+
+    private static final class Catalogo {
+        private final long[] ids;
+        private final BigDecimal[] precos;
+
+        private Catalogo(int tamanho) {
+            this.ids = new long[tamanho];
+            this.precos = new BigDecimal[tamanho];
+        }
+    }
+
+    /*
+     * Sorteio de índices 0..n-1 com pesos, por busca binária nas somas acumuladas.
+     * O construtor por concentração usa a lei de Zipf: o índice k tem peso 1/(k+1)^s.
+     */
+    static final class Amostrador {
+        private final double[] acumulado;
+
+        Amostrador(int tamanho, double concentracao) {
+            this(IntStream.range(0, tamanho).mapToDouble(k -> 1 / Math.pow(k + 1, concentracao)).toArray());
+        }
+
+        Amostrador(int[] pesos) {
+            this(Arrays.stream(pesos).asDoubleStream().toArray());
+        }
+
+        Amostrador(double[] pesos) {
+            acumulado = new double[pesos.length];
+            double soma = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                soma += pesos[i];
+                acumulado[i] = soma;
+            }
+        }
+
+        // Primeiro índice cuja soma acumulada passa do alvo (índices de peso zero nunca saem)
+        int sortear(SplittableRandom aleatorio) {
+            double alvo = aleatorio.nextDouble() * acumulado[acumulado.length - 1];
+            int inicio = 0;
+            int fim = acumulado.length - 1;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (acumulado[meio] > alvo) {
+                    fim = meio;
+                } else {
+                    inicio = meio + 1;
+                }
+            }
+            return inicio;
+        }
+
+        int tamanho() {
+            return acumulado.length;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.senac.cafeteria.config;
+
+import com.senac.cafeteria.dtos.GravacaoJfr;
+import com.senac.cafeteria.services.NaoEncontradoException;
+import com.senac.cafeteria.services.RegraNegocioException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/*
+ * Gravações JFR com duração limitada disparadas pelo admin (/api/admin/jfr/gravacoes).
+ * Usa a configuração "profile" do JDK (amostragem de CPU e alocação mais frequente) com todos os
+ * eventos da aplicação ligados; ao fim da duração o JDK grava o .jfr em cafeteria.jfr.diretorio.
+ * Uma gravação por vez, no máximo cafeteria.jfr.duracao-maxima-segundos; só as últimas
+ * cafeteria.jfr.arquivos-guardados ficam em disco.
+ */
+@Component
+public class GravacoesJfr {
+
+    private static final Logger log = LoggerFactory.getLogger(GravacoesJfr.class);
+
+    private static final String PREFIXO = "cafeteria-";
+    private static final String EXTENSAO = ".jfr";
+    private static final DateTimeFormatter FORMATO_NOME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    // O nome vem da URL no download: nada de caminhos
+    private static final Pattern NOME_VALIDO = Pattern.compile("cafeteria-\\d{8}-\\d{6}");
+
+    private final Path diretorio;
+    private final int duracaoMaximaSegundos;
+    private final int arquivosGuardados;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording atual;
+
+    public GravacoesJfr(@Value("${cafeteria.jfr.diretorio:${java.io.tmpdir}/cafeteria-jfr}") String diretorio,
+                        @Value("${cafeteria.jfr.duracao-maxima-segundos:300}") int duracaoMaximaSegundos,
+                        @Value("${cafeteria.jfr.arquivos-guardados:5}") int arquivosGuardados) {
+        this.diretorio = Path.of(diretorio);
+        this.duracaoMaximaSegundos = duracaoMaximaSegundos;
+        this.arquivosGuardados = arquivosGuardados;
+    }
+
+    // Inicia uma gravação de 'segundos' (limitado ao máximo); falha se outra ainda estiver gravando
+    public GravacaoJfr iniciar(int segundos) {
+        int duracao = Math.clamp(segundos, 1, duracaoMaximaSegundos);
+        lock.lock();
+        try {
+            if (gravando()) {
+                throw new RegraNegocioException("Já existe uma gravação em andamento: " + atual.getName());
+            }
+            fecharAtual();
+            Files.createDirectories(diretorio);
+            String nome = PREFIXO + LocalDateTime.now().format(FORMATO_NOME);
+            Path destino = diretorio.resolve(nome + EXTENSAO);
+            if (Files.exists(destino)) {
+                throw new RegraNegocioException("Gravação " + nome + " já existe; aguarde um segundo");
+            }
+
+            Recording gravacao = new Recording(Configuration.getConfiguration("profile"));
+            // Sem limite explícito valeria o do ColetorJfr (só requisições lentas)
+            gravacao.enable(EventosJfr.Requisicao.class).withoutThreshold();
+            gravacao.enable(EventosJfr.Checkout.class).withoutThreshold();
+            gravacao.enable(EventosJfr.AlteracaoCarrinho.class).withoutThreshold();
+            gravacao.enable(EventosJfr.CodificacaoImagem.class).withoutThreshold();
+            gravacao.enable(EventosJfr.ValidacaoJwt.class).withoutThreshold();
+            gravacao.enable(EventosJfr.AgregacaoDashboard.class).withoutThreshold();
+            gravacao.setName(nome);
+            gravacao.setToDisk(true);
+            gravacao.setDestination(destino);
+            gravacao.setDuration(Duration.ofSeconds(duracao));
+            gravacao.start();
+            atual = gravacao;
+            log.info("Gravação JFR {} iniciada por {} s", nome, duracao);
+
+            apagarAntigas();
+            return new GravacaoJfr(nome, gravacao.getStartTime(), fimPrevisto(gravacao), "gravando", 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao iniciar a gravação JFR", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Configuração JFR 'profile' inválida", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Gravações em disco, da mais recente para a mais antiga, incluindo a que ainda está gravando
+    public List<GravacaoJfr> listar() {
+        List<GravacaoJfr> gravacoes = new ArrayList<>();
+        lock.lock();
+        try {
+            if (gravando()) {
+                gravacoes.add(new GravacaoJfr(atual.getName(), atual.getStartTime(), fimPrevisto(atual), "gravando", 0));
+            }
+            // O .jfr só aparece no diretório quando a gravação termina
+            for (Path arquivo : arquivos()) {
+                gravacoes.add(new GravacaoJfr(nome(arquivo), null, Files.getLastModifiedTime(arquivo).toInstant(),
+                        "concluida", Files.size(arquivo)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        return gravacoes;
+    }
+
+    // Arquivo de uma gravação concluída, para download
+    public Path arquivo(String nome) {
+        if (!NOME_VALIDO.matcher(nome).matches()) {
+            throw new NaoEncontradoException("Gravação não encontrada: " + nome);
+        }
+        lock.lock();
+        try {
+            if (gravando() && atual.getName().equals(nome)) {
+                throw new RegraNegocioException("Gravação " + nome + " ainda em andamento");
+            }
+        } finally {
+            lock.unlock();
+        }
+        Path arquivo = diretorio.resolve(nome + EXTENSAO);
+        if (!Files.isRegularFile(arquivo)) {
+            throw new NaoEncontradoException("Gravação não encontrada: " + nome);
+        }
+        return arquivo;
+    }
+
+    // Encerrando a aplicação no meio de uma gravação: para antes, para o .jfr parcial ser gravado
+    @PreDestroy
+    public void encerrar() {
+        lock.lock();
+        try {
+            if (gravando()) {
+                atual.stop();
+            }
+            fecharAtual();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean gravando() {
+        return atual != null && (atual.getState() == RecordingState.RUNNING
+                || atual.getState() == RecordingState.DELAYED);
+    }
+
+    // A gravação para sozinha ao fim da duração, mas só libera os recursos no close()
+    private void fecharAtual() {
+        if (atual != null) {
+            atual.close();
+            atual = null;
+        }
+    }
+
+    private void apagarAntigas() throws IOException {
+        List<Path> arquivos = arquivos();
+        for (int i = arquivosGuardados; i < arquivos.size(); i++) {
+            Files.deleteIfExists(arquivos.get(i));
+        }
+    }
+
+    // Nomes contêm data e hora, então a ordem alfabética inversa é a mais recente primeiro
+    private List<Path> arquivos() throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(EXTENSAO)
+                            && NOME_VALIDO.matcher(nome(arquivo)).matches())
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+    }
+
+    private static String nome(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.endsWith(EXTENSAO) ? nome.substring(0, nome.length() - EXTENSAO.length()) : nome;
+    }
+
+    private static Instant fimPrevisto(Recording gravacao) {
+        return gravacao.getStartTime().plus(gravacao.getDuration());
+    }
+}
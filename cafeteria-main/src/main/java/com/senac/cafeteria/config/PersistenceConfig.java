@@ -0,0 +1,106 @@
+package com.senac.cafeteria.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Configuração de observabilidade da camada de persistência.
+ * Registra o coletor de métricas no pool Hikari, envolve o pool no proxy JDBC que conta as consultas
+ * e, ao final da inicialização, imprime um relatório com as configurações efetivas do pool, do driver e do Hibernate.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistenceConfig.class);
+
+    @Bean
+    public PoolMetricsTracker poolMetricsTracker() {
+        return new PoolMetricsTracker();
+    }
+
+    /*
+     * Associa o coletor ao HikariDataSource antes que o pool seja iniciado
+     * (o Hikari só aceita trocar o tracker enquanto o pool ainda não existe).
+     * Depois envolve o pool no proxy do datasource-proxy: cada execução de SQL passa pelo
+     * ConsultasSqlListener. Quem precisa do Hikari em si usa hikari(DataSource), que desembrulha o proxy.
+     */
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(ObjectProvider<PoolMetricsTracker> tracker,
+                                                               ObjectProvider<ConsultasSqlListener> consultas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                if (hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(tracker.getObject());
+                }
+                ConsultasSqlListener listener = consultas.getObject();
+                return ProxyDataSourceBuilder.create(beanName, hikari)
+                        .listener(listener)
+                        .methodListener(listener)
+                        .build();
+            }
+        };
+    }
+
+    // O HikariDataSource por trás do DataSource da aplicação (ou null se o pool for outro)
+    public static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    // Relatório de inicialização: configurações efetivas e estado atual do pool
+    @EventListener(ApplicationReadyEvent.class)
+    public void relatorioInicializacao(ApplicationReadyEvent event) {
+        DataSource dataSource = event.getApplicationContext().getBean(DataSource.class);
+        HikariDataSource hikari = hikari(dataSource);
+        if (hikari == null) {
+            log.info("DataSource {} não é Hikari; relatório de pool indisponível", dataSource.getClass().getName());
+            return;
+        }
+
+        log.info("Pool '{}': url={}, maximumPoolSize={}, minimumIdle={}, connectionTimeout={}ms, idleTimeout={}ms, maxLifetime={}ms",
+                hikari.getPoolName(), hikari.getJdbcUrl(), hikari.getMaximumPoolSize(), hikari.getMinimumIdle(),
+                hikari.getConnectionTimeout(), hikari.getIdleTimeout(), hikari.getMaxLifetime());
+
+        Map<String, String> hibernate = new TreeMap<>(event.getApplicationContext().getBean(JpaProperties.class).getProperties());
+        hibernate.entrySet().removeIf(e -> !e.getKey().startsWith("hibernate.jdbc") && !e.getKey().startsWith("hibernate.query")
+                && !e.getKey().startsWith("hibernate.order"));
+        log.info("Hibernate: {}", hibernate.isEmpty() ? "valores padrão (sem batch/fetch size configurados)" : hibernate);
+
+        log.info(resumoPool(hikari, event.getApplicationContext().getBean(PoolMetricsTracker.class)));
+    }
+
+    // Linha com o estado do pool (ativas, ociosas, aguardando) e o tempo de espera por conexão
+    public static String resumoPool(HikariDataSource hikari, PoolMetricsTracker tracker) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return "Pool '" + hikari.getPoolName() + "' ainda não iniciado";
+        }
+        return String.format("Pool '%s': ativas=%d, ociosas=%d, total=%d, aguardando=%d, aquisicoes=%d, esperaMedia=%.3fms, esperaMax=%.3fms, timeouts=%d",
+                hikari.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(), pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(), tracker.getAquisicoes(), tracker.getEsperaMediaMillis(),
+                tracker.getEsperaMaximaMillis(), tracker.getTimeouts());
+    }
+}
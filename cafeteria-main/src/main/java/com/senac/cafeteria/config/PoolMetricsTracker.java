@@ -0,0 +1,136 @@
+package com.senac.cafeteria.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Coletor simples de métricas do pool Hikari.
+ * Acumula o tempo de espera por conexão (aquisição), tempo de uso e timeouts para o relatório
+ * administrativo e repassa cada evento ao tracker Micrometer do próprio Hikari (métricas hikaricp.*).
+ * O pool nasce antes do MeterRegistry, então o repasse começa quando os dois existem.
+ */
+public class PoolMetricsTracker implements IMetricsTracker, MetricsTrackerFactory, MeterBinder {
+
+    private final LongAdder aquisicoes = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usoTotalMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private String poolName;
+    private PoolStats poolStats;
+    private MeterRegistry registry;
+    // Tracker Micrometer do Hikari; nulo até pool e registry existirem
+    private volatile IMetricsTracker micrometer;
+
+    // Hikari cria um tracker por pool; aqui o próprio objeto é reaproveitado
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        lock.lock();
+        try {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+            ligarMicrometer();
+        } finally {
+            lock.unlock();
+        }
+        return this;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lock.lock();
+        try {
+            this.registry = registry;
+            ligarMicrometer();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ligarMicrometer() {
+        if (micrometer == null && poolStats != null && registry != null) {
+            micrometer = new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats);
+        }
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        IMetricsTracker delegado = micrometer;
+        if (delegado != null) {
+            delegado.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        aquisicoes.increment();
+        esperaTotalNanos.add(elapsedAcquiredNanos);
+        esperaMaximaNanos.accumulate(elapsedAcquiredNanos);
+        IMetricsTracker delegado = micrometer;
+        if (delegado != null) {
+            delegado.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usoTotalMillis.add(elapsedBorrowedMillis);
+        IMetricsTracker delegado = micrometer;
+        if (delegado != null) {
+            delegado.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+        IMetricsTracker delegado = micrometer;
+        if (delegado != null) {
+            delegado.recordConnectionTimeout();
+        }
+    }
+
+    @Override
+    public void close() {
+        IMetricsTracker delegado = micrometer;
+        if (delegado != null) {
+            delegado.close();
+        }
+    }
+
+    public long getAquisicoes() {
+        return aquisicoes.sum();
+    }
+
+    // Espera média por conexão em milissegundos
+    public double getEsperaMediaMillis() {
+        long total = aquisicoes.sum();
+        return total == 0 ? 0 : esperaTotalNanos.sum() / (double) total / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getEsperaMaximaMillis() {
+        return esperaMaximaNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    // Tempo médio que a conexão fica emprestada à aplicação
+    public double getUsoMedioMillis() {
+        long total = aquisicoes.sum();
+        return total == 0 ? 0 : usoTotalMillis.sum() / (double) total;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
@@ -0,0 +1,50 @@
+package com.senac.cafeteria.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cache dos recursos estáticos (css, js, imagens da home).
+ * Os links gerados com @{...} nos templates saem com o hash do conteúdo no nome
+ * (ex.: /css/style-<md5>.css, pela estratégia de conteúdo em application.properties).
+ * - URL com hash: o conteúdo nunca muda, então vai com cache de um ano e "immutable";
+ *   hash que não confere com o arquivo atual dá 404 (sem cache).
+ * - URL sem hash (links antigos, acesso direto): no-cache, o navegador revalida pelo Last-Modified.
+ * Nos dois casos, se o navegador aceita gzip e existe a variante .gz gerada no empacotamento
+ * (src/scripts/PrecomprimirRecursos.java), ela é enviada no lugar do original.
+ * Substitui o mapeamento padrão /** do Spring Boot (spring.web.resources.add-mappings=false): com ele,
+ * cada link @{...} das páginas (/menu, /login...) passava pela cadeia de resolvers e procurava o arquivo
+ * no classpath sem achar, a cada renderização. Só os diretórios abaixo têm recursos.
+ */
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    // Diretórios de static/ com versionamento; o nome com hash é <nome>-<md5 hex>.<extensão>
+    private static final String[] DIRETORIOS = {"css", "js", "images_homapage"};
+    private static final String NOME_VERSIONADO = "{arquivo:.+-[0-9a-f]{32}\\.[A-Za-z0-9]+}";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String diretorio : DIRETORIOS) {
+            registry.addResourceHandler("/" + diretorio + "/" + NOME_VERSIONADO)
+                    .addResourceLocations("classpath:/static/" + diretorio + "/")
+                    .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+            // Mesmo diretório sem hash; também é o que gera o link versionado nos templates
+            registry.addResourceHandler("/" + diretorio + "/**")
+                    .addResourceLocations("classpath:/static/" + diretorio + "/")
+                    .setCacheControl(CacheControl.noCache())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+}
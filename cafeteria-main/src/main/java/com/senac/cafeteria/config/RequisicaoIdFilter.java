@@ -0,0 +1,65 @@
+package com.senac.cafeteria.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/*
+ * Identificador da requisição no MDC ("requestId"), para todas as linhas de log da mesma requisição
+ * poderem ser agrupadas. Reaproveita o X-Request-Id do proxy quando ele é seguro; senão gera um novo.
+ * Roda antes da segurança, então também cobre login e filtro JWT. O id volta no header da resposta.
+ * Também emite o evento JFR cafeteria.Requisicao com o mesmo id, para cruzar gravações com o log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequisicaoIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String CHAVE_MDC = "requestId";
+
+    // Ids vindos de fora vão para o log: só caracteres simples e tamanho limitado
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String id = request.getHeader(HEADER);
+        if (id == null || !ID_VALIDO.matcher(id).matches()) {
+            id = novoId();
+        }
+        response.setHeader(HEADER, id);
+        MDC.put(CHAVE_MDC, id);
+        EventosJfr.Requisicao evento = new EventosJfr.Requisicao();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CHAVE_MDC);
+            // Campos só montados se alguma gravação vai guardar o evento (shouldCommit já olha o limite de duração)
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.metodo = request.getMethod();
+                evento.uri = request.getRequestURI();
+                evento.status = response.getStatus();
+                evento.requestId = id;
+                evento.commit();
+            }
+        }
+    }
+
+    // 16 dígitos hexadecimais; ThreadLocalRandom evita a disputa do SecureRandom do UUID
+    static String novoId() {
+        String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+}
@@ -1,6 +1,8 @@
 package com.senac.cafeteria.config;
 
+import com.senac.cafeteria.security.AutenticacaoMetricas;
 import com.senac.cafeteria.security.JwtAuthenticationFilter;
+import com.senac.cafeteria.security.PasswordEncoderMedido;
 import com.senac.cafeteria.services.MyUserDetailsService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,10 +31,15 @@ public class SecurityConfig {
     // Serviço que carrega detalhes do usuário (implementação do UserDetailsService)
     private final MyUserDetailsService userDetailsService;
 
+    // Métricas de autenticação (tempo das operações BCrypt)
+    private final AutenticacaoMetricas autenticacaoMetricas;
+
     // Construtor com injeção de dependências
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, MyUserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, MyUserDetailsService userDetailsService,
+                          AutenticacaoMetricas autenticacaoMetricas) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter; // inicializa o filtro JWT
         this.userDetailsService = userDetailsService; // inicializa o serviço de usuários
+        this.autenticacaoMetricas = autenticacaoMetricas; // inicializa as métricas de autenticação
     }
 
     /*
@@ -65,8 +72,8 @@ public class SecurityConfig {
     @Order(1)
     public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
         http
-                // Aplica esta chain apenas para caminhos que combinam com /api/**
-                .securityMatcher("/api/**")
+                // Aplica esta chain para /api/** e para o actuator (coletores como o Prometheus usam token, não sessão)
+                .securityMatcher("/api/**", "/actuator/**")
                 // Desabilita CSRF para a API (quando se usa JWT geralmente se desabilita)
                 .csrf().disable()
                 // Autorizações específicas para endpoints da API
@@ -75,6 +82,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         // Permite acesso livre aos endpoints do Swagger/OpenAPI
                         .requestMatchers(SWAGGER_MATCHERS).permitAll()
+                        // Carrinho da API restrito a clientes, como na parte web
+                        .requestMatchers("/api/carrinho/**").hasAuthority("ROLE_CLIENTE")
+                        // Operações administrativas da API restritas a funcionários
+                        .requestMatchers("/api/admin/**").hasAuthority("ROLE_FUNCIONARIO")
+                        // Health check livre (balanceador); métricas só para funcionários
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_FUNCIONARIO")
                         // Demais requisições da API exigem autenticação
                         .anyRequest().authenticated()
                 )
@@ -104,7 +118,7 @@ public class SecurityConfig {
                         // Permite acesso ao Swagger UI
                         .requestMatchers(SWAGGER_MATCHERS).permitAll()
                         // Páginas públicas (home, menu, cadastro, login, about)
-                        .requestMatchers("/", "/menu", "/cadastro", "/login", "/about").permitAll()
+                        .requestMatchers("/", "/menu", "/menu/busca", "/menu/sugestoes", "/cadastro", "/login", "/about").permitAll()
                         // Rotas do carrinho e perfil restritas a clientes (ROLE_CLIENTE)
                         .requestMatchers("/carrinho/**", "/perfil").hasAuthority("ROLE_CLIENTE")
                         // Rotas administrativas restritas a funcionários (ROLE_FUNCIONARIO)
@@ -146,11 +160,11 @@ public class SecurityConfig {
 
     /*
      * Bean que fornece o PasswordEncoder usado para armazenar e verificar senhas.
-     * BCrypt é seguro e recomendado por padrão.
+     * BCrypt é seguro e recomendado por padrão; o invólucro registra o tempo de cada operação.
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // instancia o encoder BCrypt
+        return new PasswordEncoderMedido(new BCryptPasswordEncoder(), autenticacaoMetricas); // BCrypt com tempo medido
     }
 
     /*
@@ -0,0 +1,20 @@
+package com.senac.cafeteria.config;
+
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * Tracing local: spans HTTP (Spring), @Observed nos controllers e serviços e JDBC (ConsultasSqlListener),
+ * exportados para o ColetorTraces. Substitui a amostragem fixa do Spring Boot (management.tracing.sampling.probability)
+ * pelo AmostradorAdaptativo.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public Sampler amostrador(@Value("${cafeteria.tracing.traces-por-segundo:5}") int tracesPorSegundo) {
+        return Sampler.parentBased(new AmostradorAdaptativo(tracesPorSegundo));
+    }
+}
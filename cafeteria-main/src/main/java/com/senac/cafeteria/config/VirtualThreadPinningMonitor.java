@@ -0,0 +1,83 @@
+package com.senac.cafeteria.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Diagnóstico de pinning para o modo virtual threads.
+ * Escuta o evento JFR jdk.VirtualThreadPinned (ex.: bloco synchronized envolvendo JDBC)
+ * e registra no log a pilha da aplicação que segurou a thread carrier.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cafeteria.virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    // Quantidade de frames da pilha exibidos no log
+    private static final int MAX_FRAMES = 8;
+
+    // Duração mínima do pinning para gerar evento
+    private final long thresholdMs;
+
+    // Total de eventos de pinning observados desde a inicialização
+    private final AtomicLong eventosPinning = new AtomicLong();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${cafeteria.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limite {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getEventosPinning() {
+        return eventosPinning.get();
+    }
+
+    // Registra o evento com os primeiros frames da pilha (onde o synchronized foi tomado)
+    private void registrar(RecordedEvent evento) {
+        eventosPinning.incrementAndGet();
+
+        StringBuilder pilha = new StringBuilder();
+        if (evento.getStackTrace() != null) {
+            evento.getStackTrace().getFrames().stream()
+                    .limit(MAX_FRAMES)
+                    .forEach(frame -> pilha.append("\n\tat ").append(formatar(frame)));
+        }
+        log.warn("Virtual thread presa à carrier por {} ms{}", evento.getDuration().toMillis(), pilha);
+    }
+
+    private String formatar(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
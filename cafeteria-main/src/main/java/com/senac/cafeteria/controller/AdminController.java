@@ -1,12 +1,19 @@
 package com.senac.cafeteria.controller;
 
+import com.senac.cafeteria.config.ColetorJfr;
+import com.senac.cafeteria.config.EventosJfr;
+import com.senac.cafeteria.dtos.TransicaoStatusLoteResultado;
 import com.senac.cafeteria.models.ItemPedido;
 import com.senac.cafeteria.models.Pedido;
 import com.senac.cafeteria.models.Produto;
 import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.services.PedidoEventoBus;
 import com.senac.cafeteria.services.PedidoService;
 import com.senac.cafeteria.services.ProdutoService;
 
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.propertyeditors.CustomNumberEditor;
 import org.springframework.stereotype.Controller;
@@ -19,8 +26,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-
-import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,9 +34,12 @@ import java.util.stream.Collectors;
  * Contém handlers para CRUD de produtos, listagem/alteração de pedidos e geração de dados do dashboard.
  */
 @Controller
+@Observed(name = "cafeteria.controller")
 @RequestMapping("/admin")
 public class AdminController {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
     // Serviço para operações relacionadas a produtos (salvar, listar, atualizar, excluir)
     @Autowired
     private ProdutoService produtoService;
@@ -40,6 +48,14 @@ public class AdminController {
     @Autowired
     private PedidoService pedidoService;
 
+    // Barramento de eventos de pedido (ponto de partida da transmissão SSE do painel)
+    @Autowired
+    private PedidoEventoBus pedidoEventoBus;
+
+    // Piores casos observados pelo JFR (requisições lentas, alocação, contenção) exibidos no dashboard
+    @Autowired
+    private ColetorJfr coletorJfr;
+
     /*
      * Configurações do binder para conversão de tipos vindos do formulário.
      * Aqui é registrado um editor para BigDecimal e é proibida a binding direta do campo 'imagem'
@@ -82,12 +98,7 @@ public class AdminController {
     public String listarProdutos(Model model) {
         List<Produto> produtos = produtoService.listarTodos();
 
-        for (Produto produto : produtos) {
-            if (produto.getImagem() != null) {
-                String base64Image = Base64.getEncoder().encodeToString(produto.getImagem());
-                produto.setImagemBase64(base64Image); // seta campo transitório para view
-            }
-        }
+        produtos.forEach(ImagensBase64::preencher); // seta campo transitório para view
 
         model.addAttribute("produtos", produtos);
         return "admin/listar-produtos";
@@ -98,10 +109,7 @@ public class AdminController {
     public String editarProdutoForm(@PathVariable Long id, Model model) {
         Produto produto = produtoService.buscarPorId(id);
 
-        if (produto.getImagem() != null) {
-            String base64Image = Base64.getEncoder().encodeToString(produto.getImagem());
-            produto.setImagemBase64(base64Image);
-        }
+        ImagensBase64.preencher(produto);
 
         model.addAttribute("produto", produto);
         return "admin/editar-produto";
@@ -127,26 +135,26 @@ public class AdminController {
 
     /*
      * Lista pedidos filtrando por status opcional.
-     * Adiciona logs simples para auxiliar debug local.
+     * O detalhe por pedido só é montado com TRACE ligado (logging.level.com.senac.cafeteria.controller.AdminController).
      */
     @GetMapping("/pedidos")
     public String listarPedidos(@RequestParam(required = false) StatusPedido status, Model model) {
-        System.out.println("=== LISTAR PEDIDOS CHAMADO ===");
-        System.out.println("Status filtro: " + status);
+        // Lido antes da consulta: eventos publicados depois dela chegam pela transmissão SSE
+        model.addAttribute("ultimoEventoPedido", pedidoEventoBus.ultimoEventoId());
 
         List<Pedido> pedidos;
 
         if (status != null) {
             pedidos = pedidoService.listarPedidosPorStatus(status);
             model.addAttribute("filtroAtivo", status);
-            System.out.println("Pedidos filtrados por " + status + ": " + pedidos.size());
         } else {
             pedidos = pedidoService.listarTodosPedidos();
-            System.out.println("Todos os pedidos: " + pedidos.size());
         }
 
-        // Log para debug
-        pedidos.forEach(p -> System.out.println("Pedido " + p.getId() + " - Status: " + p.getStatus()));
+        log.debug("Listagem de pedidos: filtro={}, quantidade={}", status, pedidos.size());
+        if (log.isTraceEnabled()) {
+            pedidos.forEach(p -> log.trace("Pedido {} - Status: {}", p.getId(), p.getStatus()));
+        }
 
         model.addAttribute("pedidos", pedidos);
         return "admin/listar-pedidos";
@@ -166,21 +174,44 @@ public class AdminController {
                                   @RequestParam StatusPedido status,
                                   RedirectAttributes redirectAttributes) {
         try {
-            System.out.println("=== ATUALIZANDO STATUS DO PEDIDO ===");
-            System.out.println("Pedido ID: " + id);
-            System.out.println("Novo Status: " + status);
-
             pedidoService.atualizarStatus(id, status);
+            log.info("Status do pedido {} alterado para {}", id, status);
 
             redirectAttributes.addFlashAttribute("sucesso", "Status do pedido #" + id + " atualizado para " + status + "!");
         } catch (Exception e) {
-            System.err.println("ERRO ao atualizar status: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Falha ao alterar o status do pedido {} para {}", id, status, e);
             redirectAttributes.addFlashAttribute("erro", "Erro ao atualizar status do pedido: " + e.getMessage());
         }
         return "redirect:/admin/pedidos";
     }
 
+    /*
+     * Altera o status de vários pedidos selecionados na lista de uma vez (um único UPDATE).
+     * Pedidos que não puderam mudar são listados na mensagem de erro com o motivo.
+     */
+    @PostMapping("/pedidos/status-lote")
+    public String atualizarStatusEmLote(@RequestParam(name = "ids", required = false) List<Long> ids,
+                                        @RequestParam StatusPedido status,
+                                        RedirectAttributes redirectAttributes) {
+        try {
+            TransicaoStatusLoteResultado resultado = pedidoService.transicionarStatusEmLote(ids, status);
+            if (resultado.aplicadas() > 0) {
+                redirectAttributes.addFlashAttribute("sucesso",
+                        resultado.aplicadas() + " pedido(s) atualizado(s) para " + status + "!");
+            }
+            if (resultado.falhas() > 0) {
+                String falhas = resultado.resultados().stream()
+                        .filter(r -> !r.aplicada())
+                        .map(r -> PedidoService.mensagemFalha(r, status))
+                        .collect(Collectors.joining("; "));
+                redirectAttributes.addFlashAttribute("erro", "Não alterados: " + falhas);
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("erro", "Erro ao atualizar status dos pedidos: " + e.getMessage());
+        }
+        return "redirect:/admin/pedidos";
+    }
+
     // Exclui um pedido e informa resultado via flash attributes
     @GetMapping("/pedidos/excluir/{id}")
     public String excluirPedido(@PathVariable Long id, RedirectAttributes redirectAttributes) {
@@ -198,17 +229,19 @@ public class AdminController {
     // Página do dashboard que agrega métricas (total produtos, pedidos, faturamento, etc.)
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
+        EventosJfr.AgregacaoDashboard evento = new EventosJfr.AgregacaoDashboard();
         long totalProdutos = produtoService.contarProdutos();
+        // Pedidos em andamento e recentes; os finalizados antigos estão no arquivo e entram só nos totais
         List<Pedido> todosPedidos = pedidoService.listarTodosPedidos();
-        long totalPedidos = todosPedidos.size();
+        long totalPedidos = todosPedidos.size() + pedidoService.contarArquivados();
         long pedidosPendentes = pedidoService.listarPedidosPorStatus(StatusPedido.PENDENTE).size();
 
-        System.out.println("Total produtos: " + totalProdutos);
-        System.out.println("Total pedidos: " + totalPedidos);
-        System.out.println("Pedidos pendentes: " + pedidosPendentes);
+        log.debug("Dashboard: {} produtos, {} pedidos, {} pendentes", totalProdutos, totalPedidos, pedidosPendentes);
 
-        BigDecimal faturamentoTotal = calcularFaturamentoTotal(todosPedidos);
-        BigDecimal faturamentoMes = calcularFaturamentoMes(todosPedidos);
+        BigDecimal faturamentoTotal = calcularFaturamentoTotal(todosPedidos)
+                .add(pedidoService.faturamentoArquivado(null));
+        BigDecimal faturamentoMes = calcularFaturamentoMes(todosPedidos)
+                .add(pedidoService.faturamentoArquivado(LocalDate.now().withDayOfMonth(1).atStartOfDay()));
 
         List<Pedido> pedidosRecentes = todosPedidos.stream()
                 .limit(10)
@@ -222,7 +255,10 @@ public class AdminController {
         model.addAttribute("pedidosRecentes", pedidosRecentes);
         model.addAttribute("pedidosHoje", calcularPedidosHoje(todosPedidos));
         model.addAttribute("produtosVendidosHoje", calcularProdutosVendidosHoje(todosPedidos));
+        evento.pedidos = todosPedidos.size();
+        evento.commit();
 
+        model.addAttribute("diagnostico", coletorJfr.resumo());
         return "admin/dashboard";
     }
 
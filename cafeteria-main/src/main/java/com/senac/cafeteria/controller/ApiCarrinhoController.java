@@ -0,0 +1,92 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.CarrinhoItemRequest;
+import com.senac.cafeteria.dtos.CarrinhoItemResponse;
+import com.senac.cafeteria.dtos.CarrinhoResponse;
+import com.senac.cafeteria.dtos.PedidoResponse;
+import com.senac.cafeteria.dtos.QuantidadeItemRequest;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+import com.senac.cafeteria.services.CarrinhoService;
+import com.senac.cafeteria.services.NaoEncontradoException;
+import com.senac.cafeteria.services.ProdutoService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * API JSON do carrinho do cliente autenticado via JWT.
+ * Mesmas operações do CarrinhoController, respondendo com CarrinhoResponse.
+ */
+@RestController
+@Observed(name = "cafeteria.controller")
+@RequestMapping("/api/carrinho")
+@RequiredArgsConstructor
+public class ApiCarrinhoController {
+
+    private final CarrinhoService carrinhoService;
+    private final ProdutoService produtoService;
+
+    @GetMapping
+    public CarrinhoResponse ver(@AuthenticationPrincipal Usuario usuario) {
+        return montarResposta(usuario.getId());
+    }
+
+    // O id vem do cliente: um produto inexistente no carrinho faria todas as leituras seguintes falharem
+    @PostMapping("/itens")
+    public CarrinhoResponse adicionar(@AuthenticationPrincipal Usuario usuario, @Valid @RequestBody CarrinhoItemRequest body) {
+        if (!produtoService.existeProduto(body.produtoId())) {
+            throw new NaoEncontradoException("Produto não encontrado com ID: " + body.produtoId());
+        }
+        int quantidade = body.quantidade() != null ? body.quantidade() : 1;
+        carrinhoService.adicionarAoCarrinho(usuario.getId(), body.produtoId(), quantidade);
+        return montarResposta(usuario.getId());
+    }
+
+    @PutMapping("/itens/{produtoId}")
+    public CarrinhoResponse atualizar(@AuthenticationPrincipal Usuario usuario,
+                                      @PathVariable Long produtoId,
+                                      @Valid @RequestBody QuantidadeItemRequest body) {
+        carrinhoService.atualizarQuantidade(usuario.getId(), produtoId, body.quantidade());
+        return montarResposta(usuario.getId());
+    }
+
+    @DeleteMapping("/itens/{produtoId}")
+    public CarrinhoResponse remover(@AuthenticationPrincipal Usuario usuario, @PathVariable Long produtoId) {
+        carrinhoService.removerDoCarrinho(usuario.getId(), produtoId);
+        return montarResposta(usuario.getId());
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void limpar(@AuthenticationPrincipal Usuario usuario) {
+        carrinhoService.limparCarrinho(usuario.getId());
+    }
+
+    @PostMapping("/finalizar")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PedidoResponse finalizar(@AuthenticationPrincipal Usuario usuario,
+                                    @RequestParam(required = false) TipoEntrega tipoEntrega) {
+        return PedidoResponse.de(carrinhoService.finalizarPedido(usuario, tipoEntrega));
+    }
+
+    // Converte o carrinho (Produto -> quantidade) em DTO, calculando subtotais e total em uma passada
+    private CarrinhoResponse montarResposta(Long usuarioId) {
+        Map<Produto, Integer> carrinho = carrinhoService.getCarrinho(usuarioId);
+        List<CarrinhoItemResponse> itens = carrinho.entrySet().stream()
+                .map(e -> new CarrinhoItemResponse(e.getKey().getId(), e.getKey().getNome(), e.getKey().getPreco(),
+                        e.getValue(), e.getKey().getPreco().multiply(BigDecimal.valueOf(e.getValue()))))
+                .toList();
+        BigDecimal total = itens.stream().map(CarrinhoItemResponse::subtotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        int quantidade = itens.stream().mapToInt(CarrinhoItemResponse::quantidade).sum();
+        return new CarrinhoResponse(itens, quantidade, total);
+    }
+}
@@ -0,0 +1,51 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.ImportacaoResultado;
+import com.senac.cafeteria.services.CatalogoImportacaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * Importação e exportação em massa do catálogo (somente funcionários, via /api/admin).
+ * O corpo da importação é lido em streaming: CSV (text/csv) ou array JSON (application/json).
+ */
+@RestController
+@RequestMapping("/api/admin/produtos")
+@RequiredArgsConstructor
+public class ApiCatalogoController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CatalogoImportacaoService catalogoImportacaoService;
+
+    @PostMapping(value = "/importar", consumes = TEXT_CSV)
+    public ImportacaoResultado importarCsv(InputStream corpo) throws IOException {
+        return catalogoImportacaoService.importarCsv(corpo);
+    }
+
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportacaoResultado importarJson(InputStream corpo) throws IOException {
+        return catalogoImportacaoService.importarJson(corpo);
+    }
+
+    // Ex.: GET /api/admin/produtos/exportar?formato=csv
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "json") String formato) {
+        if ("csv".equalsIgnoreCase(formato)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(TEXT_CSV + ";charset=UTF-8"))
+                    .header("Content-Disposition", "attachment; filename=produtos.csv")
+                    .body(catalogoImportacaoService::exportarCsv);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Content-Disposition", "attachment; filename=produtos.json")
+                .body(catalogoImportacaoService::exportarJson);
+    }
+}
@@ -0,0 +1,43 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.EstoqueRequest;
+import com.senac.cafeteria.dtos.EstoqueSituacao;
+import com.senac.cafeteria.services.EstoqueService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/*
+ * API de estoque para os funcionários: situação em memória (disponível, reservado em carrinhos,
+ * vendido ainda não gravado) e nova contagem após reposição.
+ */
+@RestController
+@RequestMapping("/api/admin/estoque")
+@RequiredArgsConstructor
+public class ApiEstoqueController {
+
+    private final EstoqueService estoqueService;
+
+    @GetMapping
+    public List<EstoqueSituacao> listar() {
+        return estoqueService.situacao();
+    }
+
+    // Ex.: PUT /api/admin/estoque/3 {"quantidade": 24}; quantidade null remove o controle (204)
+    @PutMapping("/{produtoId}")
+    public ResponseEntity<EstoqueSituacao> definir(@PathVariable Long produtoId, @Valid @RequestBody EstoqueRequest body) {
+        estoqueService.definirEstoque(produtoId, body.quantidade());
+        EstoqueSituacao situacao = estoqueService.situacao(produtoId);
+        return situacao != null ? ResponseEntity.ok(situacao) : ResponseEntity.noContent().build();
+    }
+
+    // Grava agora as vendas acumuladas (normalmente feito a cada cafeteria.estoque.gravacao-ms)
+    @PostMapping("/gravar")
+    public List<EstoqueSituacao> gravar() {
+        estoqueService.gravarPendentes();
+        return estoqueService.situacao();
+    }
+}
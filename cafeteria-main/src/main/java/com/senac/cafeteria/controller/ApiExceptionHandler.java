@@ -0,0 +1,84 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.services.NaoEncontradoException;
+import com.senac.cafeteria.services.RegraNegocioException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/*
+ * Tratamento de erros dos controllers da API JSON.
+ * Devolve o mesmo formato usado pelo ApiAuthController: { "error": "mensagem" }.
+ * - NaoEncontradoException: 404; RegraNegocioException e corpo/parâmetro inválido: 400, com a mensagem;
+ * - erros do próprio Spring MVC (método não suportado, parâmetro faltando...): o status que eles definem;
+ * - qualquer outra exceção é falha do servidor: 500 sem detalhes para o cliente, com a pilha no log.
+ */
+@RestControllerAdvice(assignableTypes = {
+        ApiProdutoController.class,
+        ApiCarrinhoController.class,
+        ApiPedidoController.class,
+        ApiCatalogoController.class,
+        ApiEstoqueController.class,
+        ApiJfrController.class
+})
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, String>> acessoNegado(AccessDeniedException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(NaoEncontradoException.class)
+    public ResponseEntity<Map<String, String>> naoEncontrado(NaoEncontradoException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(RegraNegocioException.class)
+    public ResponseEntity<Map<String, String>> erroNegocio(RegraNegocioException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    // @Valid nos DTOs: as mensagens de todos os campos inválidos, separadas por "; "
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, String>> corpoInvalido(MethodArgumentNotValidException e) {
+        String mensagem = e.getBindingResult().getFieldErrors().stream()
+                .map(FieldError::getDefaultMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return ResponseEntity.badRequest().body(Map.of("error", mensagem));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, String>> jsonInvalido(HttpMessageNotReadableException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Corpo da requisição inválido"));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> parametroInvalido(MethodArgumentTypeMismatchException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Valor inválido para " + e.getName() + ": " + e.getValue()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, String>> erroInterno(Exception e) throws Exception {
+        if (e instanceof ErrorResponse) {
+            // Relançada, segue para os resolvers padrão do Spring MVC, que já sabem o status
+            throw e;
+        }
+        log.error("Erro não tratado na API", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", "Erro interno"));
+    }
+}
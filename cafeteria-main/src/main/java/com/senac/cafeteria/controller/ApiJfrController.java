@@ -0,0 +1,58 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.config.ColetorJfr;
+import com.senac.cafeteria.config.GravacoesJfr;
+import com.senac.cafeteria.dtos.DiagnosticoJfr;
+import com.senac.cafeteria.dtos.GravacaoJfr;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ * Diagnóstico pelo JDK Flight Recorder (somente funcionários, via /api/admin).
+ * - diagnostico: piores casos agregados pelo ColetorJfr (o mesmo resumo do dashboard);
+ * - gravacoes: gravação com duração limitada e download do .jfr para abrir no JDK Mission Control.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+public class ApiJfrController {
+
+    private final ColetorJfr coletorJfr;
+    private final GravacoesJfr gravacoesJfr;
+
+    @GetMapping("/diagnostico")
+    public DiagnosticoJfr diagnostico() {
+        return coletorJfr.resumo();
+    }
+
+    // Ex.: POST /api/admin/jfr/gravacoes?segundos=60
+    @PostMapping("/gravacoes")
+    public ResponseEntity<GravacaoJfr> iniciar(@RequestParam(defaultValue = "60") int segundos) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(gravacoesJfr.iniciar(segundos));
+    }
+
+    @GetMapping("/gravacoes")
+    public List<GravacaoJfr> listar() {
+        return gravacoesJfr.listar();
+    }
+
+    @GetMapping("/gravacoes/{nome}")
+    public ResponseEntity<Resource> baixar(@PathVariable String nome) {
+        Path arquivo = gravacoesJfr.arquivo(nome);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(arquivo.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(arquivo));
+    }
+}
@@ -0,0 +1,173 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.ArquivamentoResultado;
+import com.senac.cafeteria.dtos.PedidoResponse;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.dtos.TransicaoStatusLoteRequest;
+import com.senac.cafeteria.dtos.TransicaoStatusLoteResultado;
+import com.senac.cafeteria.dtos.TransicaoStatusRequest;
+import com.senac.cafeteria.dtos.TransicaoStatusResultado;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.Role;
+import com.senac.cafeteria.services.ArquivamentoPedidoService;
+import com.senac.cafeteria.services.ExportacaoContabilService;
+import com.senac.cafeteria.services.PedidoService;
+import com.senac.cafeteria.services.RegraNegocioException;
+import com.senac.cafeteria.services.TransicaoStatusMetricas;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * API JSON de pedidos.
+ * Clientes consultam os próprios pedidos; funcionários podem exportar todos em streaming.
+ */
+@RestController
+@Observed(name = "cafeteria.controller")
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ApiPedidoController {
+
+    private final PedidoService pedidoService;
+    private final ExportacaoContabilService exportacaoContabilService;
+    private final TransmissorSse transmissorSse;
+    private final TransicaoStatusMetricas transicaoStatusMetricas;
+    private final ArquivamentoPedidoService arquivamentoPedidoService;
+
+    // Pedidos do usuário autenticado (sem itens)
+    @GetMapping("/pedidos")
+    public List<PedidoResumoResponse> meusPedidos(@AuthenticationPrincipal Usuario usuario) {
+        return pedidoService.listarPedidosPorUsuario(usuario).stream()
+                .map(p -> new PedidoResumoResponse(p.getId(), usuario.getId(), p.getDataCriacao(), p.getStatus(), p.getTotal()))
+                .toList();
+    }
+
+    // Pedidos antigos do usuário já movidos para o arquivo (com itens), lidos só sob demanda
+    @GetMapping("/pedidos/arquivados")
+    public List<PedidoResponse> meusPedidosArquivados(@AuthenticationPrincipal Usuario usuario) {
+        return pedidoService.listarArquivadosPorUsuario(usuario.getId());
+    }
+
+    // Mudanças de status dos pedidos do usuário (SSE, com agrupamento de transições rápidas)
+    @GetMapping(value = "/pedidos/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@AuthenticationPrincipal Usuario usuario,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return transmissorSse.abrirAcompanhamentoCliente(usuario.getId(), lastEventId);
+    }
+
+    // Detalhe com itens; somente o dono do pedido ou um funcionário
+    @GetMapping("/pedidos/{id}")
+    public PedidoResponse detalhes(@AuthenticationPrincipal Usuario usuario, @PathVariable Long id) {
+        Pedido pedido = pedidoService.buscarPorId(id);
+        if (!pedido.getUsuario().getId().equals(usuario.getId()) && usuario.getRole() != Role.FUNCIONARIO) {
+            throw new AccessDeniedException("Acesso negado");
+        }
+        return PedidoResponse.de(pedido);
+    }
+
+    /*
+     * Mudança de status pelo console dos baristas. Com statusEsperado + versao (de um GET anterior)
+     * a alteração é otimista e falha com 409 se outra pessoa mudou o pedido nesse meio tempo.
+     * 422 indica transição não permitida pela tabela de status.
+     */
+    @PatchMapping("/admin/pedidos/{id}/status")
+    public ResponseEntity<TransicaoStatusResultado> transicionarStatus(@PathVariable Long id,
+                                                                       @Valid @RequestBody TransicaoStatusRequest request) {
+        TransicaoStatusResultado resultado = pedidoService.transicionarStatus(id, request.status(),
+                request.statusEsperado(), request.versao());
+        HttpStatus status = switch (resultado.resultado()) {
+            case APLICADA -> HttpStatus.OK;
+            case NAO_ENCONTRADO -> HttpStatus.NOT_FOUND;
+            case CONFLITO -> HttpStatus.CONFLICT;
+            case TRANSICAO_INVALIDA -> HttpStatus.UNPROCESSABLE_ENTITY;
+        };
+        return ResponseEntity.status(status).body(resultado);
+    }
+
+    /*
+     * Mudança de status de vários pedidos de uma vez, num único UPDATE e numa única transação.
+     * Responde 200 mesmo com falhas parciais: o resultado de cada id vem na lista 'resultados'.
+     */
+    @PatchMapping("/admin/pedidos/status")
+    public TransicaoStatusLoteResultado transicionarStatusEmLote(@Valid @RequestBody TransicaoStatusLoteRequest request) {
+        return pedidoService.transicionarStatusEmLote(request.ids(), request.status());
+    }
+
+    // Contagem por resultado e latência das mudanças de status
+    @GetMapping("/admin/pedidos/transicoes/metricas")
+    public Map<String, Object> metricasTransicoes() {
+        return transicaoStatusMetricas.resumo();
+    }
+
+    // Roda o arquivamento agora (o agendado usa cafeteria.arquivamento.cron), respeitando os horários de pico
+    @PostMapping("/admin/pedidos/arquivamento")
+    public ArquivamentoResultado arquivar() {
+        return arquivamentoPedidoService.arquivar();
+    }
+
+    // Situação do arquivamento: marca d'água da passada atual, total arquivado e última execução
+    @GetMapping("/admin/pedidos/arquivamento")
+    public Map<String, Object> situacaoArquivamento() {
+        Map<String, Object> situacao = new LinkedHashMap<>();
+        situacao.put("marcaDagua", arquivamentoPedidoService.marcaDagua());
+        situacao.put("pedidosArquivados", pedidoService.contarArquivados());
+        situacao.put("ultimaExecucao", arquivamentoPedidoService.getUltimoResultado());
+        return situacao;
+    }
+
+    // Exportação completa de pedidos e itens em JSON, escrita em streaming por lotes
+    @GetMapping("/admin/pedidos/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = pedidoService::exportarPedidosJson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Content-Disposition", "attachment; filename=pedidos.json")
+                .body(corpo);
+    }
+
+    /*
+     * Extração contábil de um período (datas inclusivas), em CSV ou JSON Lines.
+     * Ex.: /api/admin/pedidos/exportar-periodo?inicio=2025-01-01&fim=2025-01-31&formato=jsonl
+     */
+    @GetMapping("/admin/pedidos/exportar-periodo")
+    public ResponseEntity<StreamingResponseBody> exportarPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "csv") String formato) {
+        if (fim.isBefore(inicio)) {
+            throw new RegraNegocioException("Data final anterior à data inicial");
+        }
+        String nomeArquivo = "pedidos-" + inicio + "-a-" + fim;
+
+        if ("jsonl".equalsIgnoreCase(formato)) {
+            StreamingResponseBody corpo = saida -> exportacaoContabilService.exportarJsonLines(inicio, fim, saida);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header("Content-Disposition", "attachment; filename=" + nomeArquivo + ".jsonl")
+                    .body(corpo);
+        }
+        if ("csv".equalsIgnoreCase(formato)) {
+            StreamingResponseBody corpo = saida -> exportacaoContabilService.exportarCsv(inicio, fim, saida);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .header("Content-Disposition", "attachment; filename=" + nomeArquivo + ".csv")
+                    .body(corpo);
+        }
+        throw new RegraNegocioException("Formato não suportado: " + formato);
+    }
+}
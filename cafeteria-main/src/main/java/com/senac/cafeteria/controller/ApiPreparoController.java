@@ -0,0 +1,53 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.AtribuicaoPreparo;
+import com.senac.cafeteria.dtos.FilaPreparoItem;
+import com.senac.cafeteria.services.FilaPreparoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/*
+ * API da fila de preparo para as estações de barista.
+ * A estação chama /proximo quando fica livre e recebe o pedido de maior prioridade, já em PREPARANDO.
+ */
+@RestController
+@RequestMapping("/api/admin/preparo")
+@RequiredArgsConstructor
+public class ApiPreparoController {
+
+    private static final int LIMITE_MAXIMO = 200;
+
+    private final FilaPreparoService filaPreparoService;
+
+    // Pedidos aguardando, na ordem em que serão atribuídos
+    @GetMapping("/fila")
+    public List<FilaPreparoItem> fila(@RequestParam(defaultValue = "50") int limite) {
+        return filaPreparoService.listar(Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+    }
+
+    /*
+     * Próximo pedido para a estação informada; sem 'estacao', vai para a estação menos carregada.
+     * 204 quando a fila está vazia ou todas as estações estão ocupadas.
+     */
+    @PostMapping("/proximo")
+    public ResponseEntity<AtribuicaoPreparo> proximo(@RequestParam(required = false) Integer estacao) {
+        AtribuicaoPreparo atribuicao = filaPreparoService.atribuirProximo(estacao);
+        return atribuicao != null ? ResponseEntity.ok(atribuicao) : ResponseEntity.noContent().build();
+    }
+
+    // Profundidade da fila, tempo até PRONTO (percentis) e carga de cada estação
+    @GetMapping("/metricas")
+    public Map<String, Object> metricas() {
+        return filaPreparoService.resumo();
+    }
+
+    @PostMapping("/reconstruir")
+    public Map<String, Object> reconstruir() {
+        filaPreparoService.reconstruir();
+        return filaPreparoService.resumo();
+    }
+}
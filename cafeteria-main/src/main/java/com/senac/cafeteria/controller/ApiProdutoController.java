@@ -0,0 +1,115 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.services.CatalogoMetricas;
+import com.senac.cafeteria.services.ProdutoService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/*
+ * API JSON do catálogo para app mobile e totem.
+ * Retorna ProdutoResumo (sem a imagem em bytes); a imagem tem endpoint próprio.
+ * As respostas levam ETag com a versão do catálogo: se o cliente enviar If-None-Match
+ * igual, a resposta é 304 sem consultar o banco.
+ */
+@RestController
+@Observed(name = "cafeteria.controller")
+@RequestMapping("/api/produtos")
+@RequiredArgsConstructor
+public class ApiProdutoController {
+
+    private final ProdutoService produtoService;
+    private final CatalogoMetricas catalogoMetricas;
+
+    // Lista o catálogo
+    @GetMapping
+    public ResponseEntity<List<ProdutoResumo>> listar(WebRequest request) {
+        String etag = produtoService.etagCatalogo();
+        if (naoModificado(request, etag)) {
+            return null; // 304 já preparado pelo WebRequest
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(produtoService.listarResumos());
+    }
+
+    // Detalhe de um produto
+    @GetMapping("/{id}")
+    public ResponseEntity<ProdutoResumo> buscar(@PathVariable Long id, WebRequest request) {
+        String etag = produtoService.etagCatalogo();
+        if (naoModificado(request, etag)) {
+            return null;
+        }
+        Produto produto = produtoService.buscarPorId(id);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco()));
+    }
+
+    // Imagem do produto em binário (evita Base64 dentro do JSON)
+    @GetMapping("/{id}/imagem")
+    public ResponseEntity<byte[]> imagem(@PathVariable Long id, WebRequest request) {
+        String etag = produtoService.etagCatalogo();
+        if (naoModificado(request, etag)) {
+            return null;
+        }
+        Produto produto = produtoService.buscarPorId(id);
+        if (produto.getImagem() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(tipoImagem(produto.getImagem()))
+                .body(produto.getImagem());
+    }
+
+    /*
+     * O upload aceita qualquer image/* e o tipo não é gravado: ele sai da assinatura no início do arquivo.
+     * Formato não reconhecido vai como binário genérico.
+     */
+    private static MediaType tipoImagem(byte[] imagem) {
+        if (comecaCom(imagem, 0, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (comecaCom(imagem, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (comecaCom(imagem, 0, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (comecaCom(imagem, 0, 'R', 'I', 'F', 'F') && comecaCom(imagem, 8, 'W', 'E', 'B', 'P')) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean comecaCom(byte[] dados, int inicio, int... assinatura) {
+        if (dados.length < inicio + assinatura.length) {
+            return false;
+        }
+        for (int i = 0; i < assinatura.length; i++) {
+            if ((dados[inicio + i] & 0xFF) != assinatura[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Conta se o cliente já tinha a versão atual do catálogo (304) ou precisou da resposta completa
+    private boolean naoModificado(WebRequest request, String etag) {
+        boolean naoModificado = request.checkNotModified(etag);
+        catalogoMetricas.registrarConsulta(naoModificado);
+        return naoModificado;
+    }
+}
@@ -0,0 +1,31 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.config.ColetorTraces;
+import com.senac.cafeteria.dtos.TraceResumo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/*
+ * Traces guardados em memória pelo ColetorTraces (somente funcionários, via /api/admin).
+ * Cada trace traz os spans em ordem de início, com profundidade, deslocamento e duração.
+ */
+@RestController
+@RequestMapping("/api/admin/traces")
+@RequiredArgsConstructor
+public class ApiTraceController {
+
+    private final ColetorTraces coletorTraces;
+
+    // Ex.: GET /api/admin/traces?nome=finalizar&minimoMs=100
+    @GetMapping
+    public List<TraceResumo> listar(@RequestParam(defaultValue = "0") double minimoMs,
+                                    @RequestParam(required = false) String nome,
+                                    @RequestParam(defaultValue = "20") int limite) {
+        return coletorTraces.listar(minimoMs, nome, Math.min(limite, 200));
+    }
+}
@@ -0,0 +1,44 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.ProdutoBuscaResultado;
+import com.senac.cafeteria.dtos.ProdutoSugestao;
+import com.senac.cafeteria.services.BuscaProdutoService;
+import com.senac.cafeteria.services.SugestaoProdutoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/*
+ * Endpoints JSON de busca e autocomplete do cardápio.
+ * Consultam apenas os índices em memória (BuscaProdutoService e SugestaoProdutoService),
+ * sem acessar o banco, para permitir busca enquanto o usuário digita.
+ */
+@RestController
+@RequestMapping("/menu")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    // Limite máximo de resultados por requisição
+    private static final int LIMITE_MAXIMO = 50;
+
+    private final BuscaProdutoService buscaProdutoService;
+    private final SugestaoProdutoService sugestaoProdutoService;
+
+    // Ex.: GET /menu/busca?q=cafe  -> produtos ordenados por relevância
+    @GetMapping("/busca")
+    public List<ProdutoBuscaResultado> buscar(@RequestParam("q") String consulta,
+                                              @RequestParam(defaultValue = "10") int limite) {
+        return buscaProdutoService.buscar(consulta, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    // Ex.: GET /menu/sugestoes?q=capu  -> [{"id":2,"nome":"Cappuccino"}]
+    @GetMapping("/sugestoes")
+    public List<ProdutoSugestao> sugerir(@RequestParam("q") String texto,
+                                         @RequestParam(defaultValue = "8") int limite) {
+        return sugestaoProdutoService.sugerir(texto, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
@@ -1,7 +1,9 @@
 package com.senac.cafeteria.controller;
 
 import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.TipoEntrega;
 import com.senac.cafeteria.services.CarrinhoService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -9,9 +11,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.Base64;
-
 @Controller
+@Observed(name = "cafeteria.controller")
 @RequestMapping("/carrinho")
 @RequiredArgsConstructor
 public class CarrinhoController {
@@ -23,12 +24,7 @@ public class CarrinhoController {
         var itensCarrinho = carrinhoService.getCarrinho(usuario.getId());
         
         // Converter imagens para Base64
-        itensCarrinho.keySet().forEach(produto -> {
-            if (produto.getImagem() != null) {
-                String base64Image = Base64.getEncoder().encodeToString(produto.getImagem());
-                produto.setImagemBase64(base64Image);
-            }
-        });
+        itensCarrinho.keySet().forEach(ImagensBase64::preencher);
 
         model.addAttribute("itensCarrinho", itensCarrinho);
         model.addAttribute("total", carrinhoService.calcularTotal(usuario.getId()));
@@ -80,9 +76,10 @@ public class CarrinhoController {
 
     @PostMapping("/finalizar")
     public String finalizarPedido(@AuthenticationPrincipal Usuario usuario,
+                                 @RequestParam(required = false) TipoEntrega tipoEntrega,
                                  RedirectAttributes redirectAttributes) {
         try {
-            var pedido = carrinhoService.finalizarPedido(usuario);
+            var pedido = carrinhoService.finalizarPedido(usuario, tipoEntrega);
             redirectAttributes.addFlashAttribute("sucesso", 
                 "Pedido #" + pedido.getId() + " realizado com sucesso!");
             return "redirect:/pedidos";
@@ -0,0 +1,27 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.config.EventosJfr;
+import com.senac.cafeteria.models.Produto;
+
+import java.util.Base64;
+
+/*
+ * Conversão da imagem do produto para Base64 (campo transitório imagemBase64) usada pelas páginas
+ * que embutem a imagem no HTML. Cada conversão emite o evento JFR cafeteria.CodificacaoImagem.
+ */
+final class ImagensBase64 {
+
+    private ImagensBase64() {
+    }
+
+    static void preencher(Produto produto) {
+        byte[] imagem = produto.getImagem();
+        if (imagem == null) {
+            return;
+        }
+        EventosJfr.CodificacaoImagem evento = new EventosJfr.CodificacaoImagem(
+                produto.getId() != null ? produto.getId() : 0, imagem.length);
+        produto.setImagemBase64(Base64.getEncoder().encodeToString(imagem));
+        evento.commit();
+    }
+}
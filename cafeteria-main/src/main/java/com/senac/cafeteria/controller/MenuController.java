@@ -1,32 +1,33 @@
 package com.senac.cafeteria.controller;
 
+import com.senac.cafeteria.services.EstoqueService;
 import com.senac.cafeteria.services.ProdutoService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.util.Base64;
-
 @Controller
+@Observed(name = "cafeteria.controller")
 public class MenuController {
 
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private EstoqueService estoqueService;
+
     @GetMapping("/menu")
     public String menu(Model model) {
         var produtos = produtoService.listarTodos();
         
         // Converter imagens para Base64
-        for (var produto : produtos) {
-            if (produto.getImagem() != null) {
-                String base64Image = Base64.getEncoder().encodeToString(produto.getImagem());
-                produto.setImagemBase64(base64Image);
-            }
-        }
+        produtos.forEach(ImagensBase64::preencher);
         
         model.addAttribute("produtos", produtos);
+        // Ids dos produtos sem unidades disponíveis (o botão de adicionar fica desabilitado)
+        model.addAttribute("esgotados", estoqueService.esgotados());
         return "public/menu";
     }
 }
\ No newline at end of file
@@ -1,33 +1,63 @@
 package com.senac.cafeteria.controller;
 
 import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.services.PedidoEventoBus;
 import com.senac.cafeteria.services.PedidoService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /*
  * Controller para endpoints relacionados aos pedidos do cliente.
  * Exibe a lista de pedidos do usuário autenticado e detalhes de um pedido.
  */
 @Controller
+@Observed(name = "cafeteria.controller")
 @RequestMapping("/pedidos")
 @RequiredArgsConstructor
 public class PedidoController {
 
     // Serviço que fornece operações sobre pedidos (listar, buscar por id)
     private final PedidoService pedidoService;
+    // Eventos de status para atualizar a página sem recarregar
+    private final PedidoEventoBus pedidoEventoBus;
+    private final TransmissorSse transmissorSse;
 
-    // Lista os pedidos do usuário autenticado e adiciona ao model para a view
+    /*
+     * Lista os pedidos do usuário autenticado e adiciona ao model para a view.
+     * Pedidos antigos já arquivados só são lidos quando o cliente pede (?arquivados=true).
+     */
     @GetMapping
-    public String meusPedidos(@AuthenticationPrincipal Usuario usuario, Model model) {
+    public String meusPedidos(@AuthenticationPrincipal Usuario usuario,
+                              @RequestParam(defaultValue = "false") boolean arquivados,
+                              Model model) {
+        // Lido antes da consulta: mudanças posteriores chegam pela transmissão SSE
+        model.addAttribute("ultimoEventoPedido", pedidoEventoBus.ultimoEventoId());
         var pedidos = pedidoService.listarPedidosPorUsuario(usuario);
         model.addAttribute("pedidos", pedidos);
+        if (arquivados) {
+            model.addAttribute("pedidosArquivados", pedidoService.listarArquivadosPorUsuario(usuario.getId()));
+        }
         return "cliente/pedidos";
     }
 
+    /*
+     * Transmissão (SSE) das mudanças de status dos pedidos do usuário autenticado.
+     * Retoma pelo Last-Event-ID na reconexão ou pelo parâmetro 'desde' na primeira conexão.
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter eventos(@AuthenticationPrincipal Usuario usuario,
+                              @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                              @RequestParam(required = false) Long desde) {
+        return transmissorSse.abrirAcompanhamentoCliente(usuario.getId(), lastEventId != null ? lastEventId : desde);
+    }
+
     // Exibe detalhes de um pedido verificando autorização (dono do pedido ou funcionário)
     @GetMapping("/{id}")
     public String detalhesPedido(@AuthenticationPrincipal Usuario usuario,
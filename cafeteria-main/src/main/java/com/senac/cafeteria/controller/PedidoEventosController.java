@@ -0,0 +1,38 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.services.PedidoEventoBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/*
+ * Painel de pedidos em tempo real para os baristas via Server-Sent Events.
+ * Recebe todos os eventos de pedido, sem agrupamento: cada mudança aparece no painel.
+ */
+@RestController
+@RequestMapping("/admin/pedidos")
+@RequiredArgsConstructor
+public class PedidoEventosController {
+
+    // Intervalo do comentário de keep-alive (evita que proxies derrubem a conexão ociosa)
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private final PedidoEventoBus pedidoEventoBus;
+    private final TransmissorSse transmissorSse;
+
+    /*
+     * Transmissão de eventos de pedido. O ponto de partida é o header Last-Event-ID
+     * (reconexão automática do navegador) ou, na primeira conexão, o parâmetro 'desde'
+     * com o id do último evento conhecido quando a página foi renderizada.
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                              @RequestParam(required = false) Long desde) {
+        Long ultimoEventoId = lastEventId != null ? lastEventId : desde;
+        PedidoEventoBus.Assinatura assinatura = pedidoEventoBus.assinar(ultimoEventoId, evento -> true);
+        return transmissorSse.abrir(assinatura, Duration.ZERO, HEARTBEAT, "sse-painel-pedidos");
+    }
+}
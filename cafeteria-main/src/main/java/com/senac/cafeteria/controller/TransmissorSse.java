@@ -0,0 +1,139 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.services.PedidoEventoBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Liga uma assinatura do PedidoEventoBus a um SseEmitter.
+ * Cada conexão é consumida por uma virtual thread própria, que fica estacionada na fila
+ * enquanto não há eventos: uma conexão ociosa custa só a fila e uma pilha pequena no heap,
+ * sem ocupar thread de plataforma.
+ */
+@Component
+public class TransmissorSse {
+
+    // A conexão é encerrada periodicamente; o EventSource reconecta sozinho enviando o Last-Event-ID
+    private static final long TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long RECONEXAO_MS = 3000;
+    // Clientes ociosos recebem keep-alive com menos frequência que o painel (são muito mais conexões)
+    private static final Duration HEARTBEAT_CLIENTE = Duration.ofSeconds(30);
+
+    private final PedidoEventoBus pedidoEventoBus;
+    private final Duration janelaAgrupamentoCliente;
+
+    public TransmissorSse(PedidoEventoBus pedidoEventoBus,
+                          @Value("${cafeteria.eventos.janela-agrupamento-ms:500}") long janelaAgrupamentoMs) {
+        this.pedidoEventoBus = pedidoEventoBus;
+        this.janelaAgrupamentoCliente = Duration.ofMillis(janelaAgrupamentoMs);
+    }
+
+    /*
+     * Acompanhamento de status pelo cliente: só os pedidos do usuário, com transições rápidas
+     * agrupadas (PENDENTE -> CONFIRMADO -> PREPARANDO em sequência vira uma única notificação).
+     */
+    public SseEmitter abrirAcompanhamentoCliente(Long usuarioId, Long ultimoEventoId) {
+        PedidoEventoBus.Assinatura assinatura = pedidoEventoBus.assinarUsuario(usuarioId, ultimoEventoId);
+        return abrir(assinatura, janelaAgrupamentoCliente, HEARTBEAT_CLIENTE, "sse-cliente-" + usuarioId);
+    }
+
+    /*
+     * Abre a transmissão. Com 'janelaAgrupamento' maior que zero, eventos do mesmo pedido que
+     * chegam dentro da janela são agrupados e só o estado mais recente é enviado.
+     * 'heartbeat' é o intervalo do comentário de keep-alive em conexões sem eventos.
+     */
+    public SseEmitter abrir(PedidoEventoBus.Assinatura assinatura, Duration janelaAgrupamento,
+                            Duration heartbeat, String nomeThread) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        Thread transmissor = Thread.ofVirtual()
+                .name(nomeThread)
+                .unstarted(() -> transmitir(assinatura, emitter, janelaAgrupamento, heartbeat));
+
+        // Encerramento pelo cliente, timeout ou erro: interrompe a espera na fila e libera a assinatura
+        Runnable encerrar = () -> {
+            assinatura.close();
+            transmissor.interrupt();
+        };
+        emitter.onCompletion(encerrar);
+        emitter.onTimeout(encerrar);
+        emitter.onError(e -> encerrar.run());
+
+        transmissor.start();
+        return emitter;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private void transmitir(PedidoEventoBus.Assinatura assinatura, SseEmitter emitter,
+                            Duration janelaAgrupamento, Duration heartbeat) {
+        try (assinatura) {
+            emitter.send(SseEmitter.event().reconnectTime(RECONEXAO_MS).comment("conectado"));
+            if (assinatura.historicoIncompleto()) {
+                // Eventos perdidos já saíram do histórico: a tela precisa recarregar o estado completo
+                emitter.send(SseEmitter.event().name("recarregar").data(""));
+            }
+
+            while (!Thread.currentThread().isInterrupted()) {
+                // Depois de transbordar, só esvazia o que já estava na fila, sem esperar
+                PedidoEvento evento = assinatura.transbordou() ? assinatura.proximo() : assinatura.proximo(heartbeat);
+                if (evento != null) {
+                    if (janelaAgrupamento.isZero()) {
+                        enviar(emitter, evento);
+                    } else {
+                        for (PedidoEvento agrupado : agrupar(assinatura, evento, janelaAgrupamento).values()) {
+                            enviar(emitter, agrupado);
+                        }
+                    }
+                } else if (assinatura.transbordou()) {
+                    // Cliente lento: fecha e deixa o navegador reconectar a partir do último id recebido
+                    break;
+                } else {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou o emitter já foi encerrado
+        }
+    }
+
+    /*
+     * Junta os eventos que chegarem até o fim da janela, mantendo um por pedido.
+     * A ordem do mapa é a do evento mais recente de cada pedido, então o último enviado
+     * tem o maior id e o Last-Event-ID de uma reconexão não pula nada.
+     */
+    private static Map<Long, PedidoEvento> agrupar(PedidoEventoBus.Assinatura assinatura, PedidoEvento primeiro,
+                                                   Duration janela) throws InterruptedException {
+        Map<Long, PedidoEvento> pendentes = new LinkedHashMap<>();
+        pendentes.put(primeiro.pedidoId(), primeiro);
+
+        long limite = System.nanoTime() + janela.toNanos();
+        long restante;
+        while ((restante = limite - System.nanoTime()) > 0) {
+            PedidoEvento evento = assinatura.proximo(Duration.ofNanos(restante));
+            if (evento == null) {
+                break;
+            }
+            PedidoEvento anterior = pendentes.remove(evento.pedidoId());
+            pendentes.put(evento.pedidoId(), anterior != null ? evento.agrupadoApos(anterior) : evento);
+        }
+        return pendentes;
+    }
+
+    private static void enviar(SseEmitter emitter, PedidoEvento evento) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(evento.id()))
+                .name(evento.tipo().getNomeEvento())
+                .data(evento, MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,11 @@
+package com.senac.cafeteria.dtos;
+
+import java.time.LocalDateTime;
+
+/*
+ * Resumo de uma execução do arquivamento. passadaConcluida indica que todos os pedidos elegíveis
+ * foram movidos (a marca d'água volta a 0); interrupcao diz por que a execução parou antes disso.
+ */
+public record ArquivamentoResultado(LocalDateTime inicio, int lotes, int pedidosArquivados, int itensArquivados,
+                                    long marcaDagua, boolean passadaConcluida, String interrupcao, long duracaoMs) {
+}
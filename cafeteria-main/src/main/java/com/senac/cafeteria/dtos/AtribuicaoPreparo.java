@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.TipoEntrega;
+
+import java.time.LocalDateTime;
+
+// Pedido entregue a uma estação de barista (já em PREPARANDO) e quantos continuam na fila
+public record AtribuicaoPreparo(Long pedidoId, int estacao, TipoEntrega tipoEntrega, LocalDateTime dataCriacao,
+                                long custoPreparoSegundos, int restantesNaFila) {
+}
@@ -0,0 +1,9 @@
+package com.senac.cafeteria.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// Corpo da inclusão de item no carrinho via API; sem quantidade, adiciona uma unidade
+public record CarrinhoItemRequest(@NotNull(message = "Informe o produto") Long produtoId,
+                                  @Positive(message = "A quantidade deve ser positiva") Integer quantidade) {
+}
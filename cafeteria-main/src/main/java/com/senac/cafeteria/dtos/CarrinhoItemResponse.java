@@ -0,0 +1,6 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+
+public record CarrinhoItemResponse(Long produtoId, String nome, BigDecimal precoUnitario, Integer quantidade, BigDecimal subtotal) {
+}
@@ -0,0 +1,7 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CarrinhoResponse(List<CarrinhoItemResponse> itens, Integer quantidadeItens, BigDecimal total) {
+}
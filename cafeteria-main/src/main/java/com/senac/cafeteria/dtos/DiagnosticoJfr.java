@@ -0,0 +1,25 @@
+package com.senac.cafeteria.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+/*
+ * Piores casos observados pelo coletor JFR desde 'desde' (início da janela atual).
+ * - requisicoesLentas: requisições acima do limite, da mais lenta para a mais rápida;
+ * - alocacoes: onde a aplicação mais aloca (amostragem do JFR, bytes estimados);
+ * - contencoes: onde threads esperaram por um lock ou monitor ocupado.
+ * local é o método da aplicação mais próximo do evento (ex.: "CarrinhoService.adicionarAoCarrinho:56").
+ */
+public record DiagnosticoJfr(boolean ativo, Instant desde, List<RequisicaoLenta> requisicoesLentas,
+                             List<Alocacao> alocacoes, List<Contencao> contencoes) {
+
+    public record RequisicaoLenta(Instant inicio, String metodo, String uri, int status, double duracaoMs,
+                                  String requestId) {
+    }
+
+    public record Alocacao(String local, String classe, long amostras, long bytes) {
+    }
+
+    public record Contencao(String local, String lock, long eventos, double totalMs, double maximoMs) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.senac.cafeteria.dtos;
+
+// Estoque gravado de um produto (projeção usada na carga do estoque em memória)
+public record EstoqueProduto(Long produtoId, Integer estoque) {
+}
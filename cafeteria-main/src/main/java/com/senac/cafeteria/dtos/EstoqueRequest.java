@@ -0,0 +1,7 @@
+package com.senac.cafeteria.dtos;
+
+import jakarta.validation.constraints.PositiveOrZero;
+
+// Quantidade em estoque após contagem/reposição; null remove o controle de estoque do produto
+public record EstoqueRequest(@PositiveOrZero(message = "Estoque não pode ser negativo") Integer quantidade) {
+}
@@ -0,0 +1,9 @@
+package com.senac.cafeteria.dtos;
+
+/*
+ * Situação do estoque de um produto em memória.
+ * disponivel: unidades que ainda podem ser reservadas; reservado: em carrinhos, ainda sem pedido;
+ * gravacaoPendente: vendidas e ainda não baixadas no banco.
+ */
+public record EstoqueSituacao(Long produtoId, int disponivel, long reservado, long gravacaoPendente) {
+}
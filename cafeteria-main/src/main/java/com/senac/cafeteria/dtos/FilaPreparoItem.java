@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.TipoEntrega;
+
+import java.time.LocalDateTime;
+
+// Posição de um pedido na fila de preparo (1 = próximo a ser atribuído)
+public record FilaPreparoItem(int posicao, Long pedidoId, TipoEntrega tipoEntrega, LocalDateTime dataCriacao,
+                              long custoPreparoSegundos, long esperaSegundos) {
+}
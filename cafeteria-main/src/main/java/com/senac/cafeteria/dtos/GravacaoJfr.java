@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import java.time.Instant;
+
+/*
+ * Gravação JFR disparada pelo admin. estado: "gravando" enquanto a duração não termina, depois "concluida".
+ * bytes só é conhecido com a gravação concluída (arquivo já escrito).
+ */
+public record GravacaoJfr(String nome, Instant inicio, Instant fim, String estado, long bytes) {
+}
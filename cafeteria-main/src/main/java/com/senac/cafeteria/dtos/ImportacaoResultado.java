@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import java.util.List;
+
+// Resumo da importação em massa: contadores e erros por linha
+public record ImportacaoResultado(int processadas, int criadas, int atualizadas, List<Erro> erros) {
+
+    public record Erro(int linha, String mensagem) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+
+public record ItemPedidoResponse(Long pedidoId, Long produtoId, String nome, Integer quantidade, BigDecimal precoUnitario, BigDecimal subtotal) {
+
+    public ItemPedidoResponse(Long pedidoId, Long produtoId, String nome, Integer quantidade, BigDecimal precoUnitario) {
+        this(pedidoId, produtoId, nome, quantidade, precoUnitario, precoUnitario.multiply(BigDecimal.valueOf(quantidade)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEventoPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/*
+ * Evento de pedido distribuído pelo PedidoEventoBus.
+ * O id é a sequência atribuída pelo barramento na publicação (0 enquanto não publicado)
+ * e é o valor usado como Last-Event-ID para retomar a transmissão.
+ */
+public record PedidoEvento(long id, TipoEventoPedido tipo, Long pedidoId, Long usuarioId, String cliente,
+                           StatusPedido statusAnterior, StatusPedido status, BigDecimal total,
+                           Integer quantidadeItens, LocalDateTime dataCriacao, Instant momento) {
+
+    public static PedidoEvento criado(Pedido pedido) {
+        return new PedidoEvento(0, TipoEventoPedido.CRIADO, pedido.getId(), usuarioId(pedido), cliente(pedido),
+                null, pedido.getStatus(), pedido.getTotal(), pedido.getItens().size(), pedido.getDataCriacao(), Instant.now());
+    }
+
+    // A partir da projeção lida após o UPDATE condicional (sem carregar a entidade)
+    public static PedidoEvento statusAlterado(PedidoResumoResponse pedido, StatusPedido statusAnterior) {
+        return new PedidoEvento(0, TipoEventoPedido.STATUS_ALTERADO, pedido.id(), pedido.usuarioId(), null,
+                statusAnterior, pedido.status(), pedido.total(), null, pedido.dataCriacao(), Instant.now());
+    }
+
+    public PedidoEvento comId(long novoId) {
+        return new PedidoEvento(novoId, tipo, pedidoId, usuarioId, cliente, statusAnterior, status, total,
+                quantidadeItens, dataCriacao, momento);
+    }
+
+    /*
+     * Resultado de agrupar este evento com um anterior do mesmo pedido: estado atual deste,
+     * status de partida do anterior (ex.: PENDENTE -> PRONTO em vez de PREPARANDO -> PRONTO).
+     */
+    public PedidoEvento agrupadoApos(PedidoEvento anterior) {
+        return new PedidoEvento(id, tipo, pedidoId, usuarioId, cliente, anterior.statusAnterior, status, total,
+                quantidadeItens != null ? quantidadeItens : anterior.quantidadeItens, dataCriacao, momento);
+    }
+
+    private static Long usuarioId(Pedido pedido) {
+        return pedido.getUsuario() != null ? pedido.getUsuario().getId() : null;
+    }
+
+    private static String cliente(Pedido pedido) {
+        return pedido.getUsuario() != null ? pedido.getUsuario().getNome() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Linha da exportação contábil: um item de pedido junto com os dados do pedido.
+ * Pedidos sem itens aparecem uma vez com os campos do item nulos.
+ */
+public record PedidoItemExportacao(Long pedidoId, LocalDateTime dataCriacao, StatusPedido status, BigDecimal total,
+                                   Long usuarioId, Long produtoId, String produtoNome, Integer quantidade,
+                                   BigDecimal precoUnitario) {
+}
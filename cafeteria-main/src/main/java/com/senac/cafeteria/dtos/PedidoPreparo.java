@@ -0,0 +1,11 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+
+import java.time.LocalDateTime;
+
+// Pedido aberto como a fila de preparo enxerga: custo é a soma de quantidade x tempo de preparo dos itens
+public record PedidoPreparo(Long pedidoId, LocalDateTime dataCriacao, TipoEntrega tipoEntrega, StatusPedido status,
+                            Long custoPreparoSegundos) {
+}
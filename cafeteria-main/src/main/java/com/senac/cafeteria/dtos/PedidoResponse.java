@@ -0,0 +1,24 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Pedido completo com os itens, sem expor entidades nem coleções lazy
+// versao permite enviar a mudança de status com verificação otimista (PATCH /api/admin/pedidos/{id}/status)
+public record PedidoResponse(Long id, LocalDateTime dataCriacao, StatusPedido status, Long versao, TipoEntrega tipoEntrega,
+                             BigDecimal total, List<ItemPedidoResponse> itens) {
+
+    public static PedidoResponse de(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens().stream()
+                .map(item -> new ItemPedidoResponse(pedido.getId(), item.getProduto().getId(), item.getProduto().getNome(),
+                        item.getQuantidade(), item.getPrecoUnitario()))
+                .toList();
+        return new PedidoResponse(pedido.getId(), pedido.getDataCriacao(), pedido.getStatus(), pedido.getVersao(),
+                pedido.getTipoEntrega(), pedido.getTotal(), itens);
+    }
+}
@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Pedido sem itens, usado em listagens e na exportação
+public record PedidoResumoResponse(Long id, Long usuarioId, LocalDateTime dataCriacao, StatusPedido status, BigDecimal total) {
+}
@@ -0,0 +1,7 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+
+// Item retornado pela busca de produtos, em ordem de relevância
+public record ProdutoBuscaResultado(Long id, String nome, String descricao, BigDecimal preco, double relevancia) {
+}
@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+
+/*
+ * Linha da importação em massa do catálogo (CSV ou JSON).
+ * Com id, atualiza o produto existente; sem id, faz upsert pelo nome.
+ */
+public record ProdutoImportacao(Long id, String nome, String descricao, BigDecimal preco) {
+}
@@ -0,0 +1,5 @@
+package com.senac.cafeteria.dtos;
+
+// Id e nome de um produto (projeção usada no upsert da importação em massa, sem a imagem)
+public record ProdutoNome(Long id, String nome) {
+}
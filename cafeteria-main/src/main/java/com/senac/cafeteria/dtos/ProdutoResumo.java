@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import java.math.BigDecimal;
+
+/*
+ * Visão enxuta de um produto (sem a imagem em bytes).
+ * Usada por consultas de projeção que não precisam carregar o @Lob.
+ */
+public record ProdutoResumo(Long id, String nome, String descricao, BigDecimal preco) {
+}
@@ -0,0 +1,5 @@
+package com.senac.cafeteria.dtos;
+
+// Sugestão do autocomplete do cardápio (id e nome do produto)
+public record ProdutoSugestao(Long id, String nome) {
+}
@@ -0,0 +1,9 @@
+package com.senac.cafeteria.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// Nova quantidade de um item do carrinho via API; para tirar o item, DELETE /api/carrinho/itens/{produtoId}
+public record QuantidadeItemRequest(@NotNull(message = "Informe a quantidade")
+                                    @Positive(message = "A quantidade deve ser positiva") Integer quantidade) {
+}
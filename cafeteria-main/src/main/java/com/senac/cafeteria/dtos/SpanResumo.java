@@ -0,0 +1,11 @@
+package com.senac.cafeteria.dtos;
+
+import java.util.Map;
+
+/*
+ * Um span de um trace guardado. profundidade: 0 para a raiz, 1 para os filhos diretos, etc.
+ * inicioMs é contado a partir do início do trace.
+ */
+public record SpanResumo(String nome, int profundidade, double inicioMs, double duracaoMs, boolean erro,
+                         Map<String, String> atributos) {
+}
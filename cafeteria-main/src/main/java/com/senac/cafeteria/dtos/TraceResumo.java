@@ -0,0 +1,8 @@
+package com.senac.cafeteria.dtos;
+
+import java.time.Instant;
+import java.util.List;
+
+// Trace guardado pelo coletor em memória, com os spans na ordem de início
+public record TraceResumo(String traceId, String nome, Instant inicio, double duracaoMs, List<SpanResumo> spans) {
+}
@@ -0,0 +1,12 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+// Mesmo status aplicado a vários pedidos de uma vez (ex.: barista finalizando vários pedidos)
+public record TransicaoStatusLoteRequest(@NotEmpty(message = "Informe ao menos um pedido") List<@NotNull Long> ids,
+                                         @NotNull(message = "Informe o novo status") StatusPedido status) {
+}
@@ -0,0 +1,10 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import java.util.List;
+
+// Resultado de uma alteração em lote: um TransicaoStatusResultado por id, na ordem pedida
+public record TransicaoStatusLoteResultado(StatusPedido status, int aplicadas, int falhas,
+                                           List<TransicaoStatusResultado> resultados) {
+}
@@ -0,0 +1,9 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+import jakarta.validation.constraints.NotNull;
+
+// statusEsperado e versao são opcionais: quando informados, a alteração falha se o pedido mudou desde a leitura
+public record TransicaoStatusRequest(@NotNull(message = "Informe o novo status") StatusPedido status,
+                                     StatusPedido statusEsperado, Long versao) {
+}
@@ -0,0 +1,12 @@
+package com.senac.cafeteria.dtos;
+
+import com.senac.cafeteria.models.enums.ResultadoTransicao;
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+// Resultado da mudança de status de um pedido; statusAtual é o status após a tentativa (null se não existe)
+public record TransicaoStatusResultado(Long pedidoId, ResultadoTransicao resultado, StatusPedido statusAtual) {
+
+    public boolean aplicada() {
+        return resultado == ResultadoTransicao.APLICADA;
+    }
+}
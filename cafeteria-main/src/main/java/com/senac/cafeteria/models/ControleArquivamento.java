@@ -0,0 +1,28 @@
+package com.senac.cafeteria.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Marca d'água de um processo em lotes: último id examinado na passada atual (0 = passada nova)
+@Entity
+@Table(name = "controle_arquivamento")
+@Data
+@NoArgsConstructor
+public class ControleArquivamento {
+
+    @Id
+    private String processo;
+
+    @Column(nullable = false)
+    private Long ultimoId;
+
+    private LocalDateTime atualizadoEm;
+
+    public ControleArquivamento(String processo) {
+        this.processo = processo;
+        this.ultimoId = 0L;
+    }
+}
@@ -16,7 +16,10 @@ import java.math.BigDecimal;
  * informações adicionais, como quantidade e preço unitário.
  */
 @Entity
-@Table(name = "item_pedido")
+@Table(name = "item_pedido", indexes = {
+    @Index(name = "idx_item_pedido_pedido", columnList = "pedido_id"),
+    @Index(name = "idx_item_pedido_produto", columnList = "produto_id")
+})
 public class ItemPedido {
 
     @Id
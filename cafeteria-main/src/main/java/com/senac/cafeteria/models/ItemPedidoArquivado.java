@@ -0,0 +1,25 @@
+package com.senac.cafeteria.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Item de um pedido arquivado (tabela item_pedido_arquivo), com o mesmo id do item original
+@Entity
+@Table(name = "item_pedido_arquivo")
+@Data
+public class ItemPedidoArquivado {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pedidoId;
+
+    @Column(nullable = false)
+    private Long produtoId;
+
+    private Integer quantidade;
+    private BigDecimal precoUnitario;
+}
@@ -7,9 +7,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
 
 @Entity
-@Table(name = "pedido")
+@Table(name = "pedido", indexes = {
+    // Índices criados pela migração V2 (ver db/migration) para as consultas do PedidoRepository
+    @Index(name = "idx_pedido_usuario_data", columnList = "usuario_id, data_criacao DESC"),
+    @Index(name = "idx_pedido_status_data", columnList = "status, data_criacao DESC"),
+    @Index(name = "idx_pedido_data_criacao", columnList = "data_criacao DESC")
+})
 public class Pedido {
 
     @Id
@@ -26,6 +32,15 @@ public class Pedido {
     @Enumerated(EnumType.STRING)
     private StatusPedido status;
 
+    // Usado na prioridade da fila de preparo (FilaPreparoService)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEntrega tipoEntrega;
+
+    // Controle de concorrência otimista: incrementada a cada alteração (inclusive nas mudanças de status via UPDATE condicional)
+    @Version
+    private Long versao;
+
     // Relação funcional (1:N) com ItemPedido
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ItemPedido> itens = new ArrayList<>();
@@ -46,6 +61,7 @@ public class Pedido {
         this.dataCriacao = LocalDateTime.now();
         this.total = BigDecimal.ZERO;
         this.status = StatusPedido.PENDENTE;
+        this.tipoEntrega = TipoEntrega.RETIRADA_LOJA;
     }
 
     // Getters e Setters
@@ -64,6 +80,12 @@ public class Pedido {
     public StatusPedido getStatus() { return status; }
     public void setStatus(StatusPedido status) { this.status = status; }
 
+    public TipoEntrega getTipoEntrega() { return tipoEntrega; }
+    public void setTipoEntrega(TipoEntrega tipoEntrega) { this.tipoEntrega = tipoEntrega; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
     public List<ItemPedido> getItens() { return itens; }
     public void setItens(List<ItemPedido> itens) { this.itens = itens; }
 
@@ -0,0 +1,39 @@
+package com.senac.cafeteria.models;
+
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/*
+ * Pedido finalizado movido para o arquivo (tabela pedido_arquivo) pelo ArquivamentoPedidoService.
+ * Mantém o mesmo id do pedido original; usuário e produtos são guardados só pelo id.
+ */
+@Entity
+@Table(name = "pedido_arquivo")
+@Data
+public class PedidoArquivado {
+
+    @Id
+    private Long id;
+
+    private Long usuarioId;
+    private LocalDateTime dataCriacao;
+    private BigDecimal total;
+
+    @Enumerated(EnumType.STRING)
+    private StatusPedido status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEntrega tipoEntrega;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataArquivamento;
+}
@@ -21,6 +21,14 @@ public class Produto {
     private String descricao;
     private BigDecimal preco;
 
+    // Tempo estimado de preparo de uma unidade; null usa o padrão da fila de preparo
+    private Integer tempoPreparoSegundos;
+
+    // Unidades em estoque; null = sem controle. Só muda por UPDATE do EstoqueService (vendas em lote e
+    // reposição): salvar a entidade não regrava o valor lido antes de uma baixa concorrente
+    @Column(updatable = false)
+    private Integer estoque;
+
     /**
      * Armazenamento binário da imagem no banco.
      * Mantido para não quebrar o sistema de imagens.
@@ -0,0 +1,11 @@
+package com.senac.cafeteria.models.enums;
+
+// Resultado de uma tentativa de mudança de status de pedido
+public enum ResultadoTransicao {
+    APLICADA,
+    // O status atual do pedido não permite ir para o status pedido
+    TRANSICAO_INVALIDA,
+    // O pedido mudou (status ou versão) desde que foi lido por quem pediu a alteração
+    CONFLITO,
+    NAO_ENCONTRADO
+}
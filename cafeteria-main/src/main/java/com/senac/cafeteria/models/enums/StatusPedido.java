@@ -1,10 +1,54 @@
 package com.senac.cafeteria.models.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     PENDENTE,
     CONFIRMADO,
     PREPARANDO,
     PRONTO,
     ENTREGUE,
-    CANCELADO
-}
\ No newline at end of file
+    CANCELADO;
+
+    /*
+     * Tabela de transições permitidas. O pedido só anda para frente no fluxo da cozinha
+     * (PENDENTE pode ir direto para PREPARANDO) e pode ser cancelado até ficar pronto.
+     * ENTREGUE e CANCELADO são estados finais.
+     */
+    private static final Map<StatusPedido, Set<StatusPedido>> TRANSICOES = new EnumMap<>(StatusPedido.class);
+    // Inverso da tabela: de quais status é possível chegar em cada status
+    private static final Map<StatusPedido, Set<StatusPedido>> ORIGENS = new EnumMap<>(StatusPedido.class);
+
+    static {
+        TRANSICOES.put(PENDENTE, EnumSet.of(CONFIRMADO, PREPARANDO, CANCELADO));
+        TRANSICOES.put(CONFIRMADO, EnumSet.of(PREPARANDO, CANCELADO));
+        TRANSICOES.put(PREPARANDO, EnumSet.of(PRONTO, CANCELADO));
+        TRANSICOES.put(PRONTO, EnumSet.of(ENTREGUE));
+        TRANSICOES.put(ENTREGUE, EnumSet.noneOf(StatusPedido.class));
+        TRANSICOES.put(CANCELADO, EnumSet.noneOf(StatusPedido.class));
+
+        for (StatusPedido status : values()) {
+            ORIGENS.put(status, EnumSet.noneOf(StatusPedido.class));
+        }
+        TRANSICOES.forEach((origem, destinos) -> destinos.forEach(destino -> ORIGENS.get(destino).add(origem)));
+    }
+
+    public boolean podeMudarPara(StatusPedido novo) {
+        return TRANSICOES.get(this).contains(novo);
+    }
+
+    public Set<StatusPedido> proximosPermitidos() {
+        return EnumSet.copyOf(TRANSICOES.get(this));
+    }
+
+    public Set<StatusPedido> origensPermitidas() {
+        return EnumSet.copyOf(ORIGENS.get(this));
+    }
+
+    public boolean isFinal() {
+        return TRANSICOES.get(this).isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.senac.cafeteria.models.enums;
+
+// Tipos de evento publicados no barramento de pedidos (o nome é usado como "event:" no SSE)
+public enum TipoEventoPedido {
+    CRIADO("pedido-criado"),
+    STATUS_ALTERADO("status-alterado");
+
+    private final String nomeEvento;
+
+    TipoEventoPedido(String nomeEvento) {
+        this.nomeEvento = nomeEvento;
+    }
+
+    public String getNomeEvento() {
+        return nomeEvento;
+    }
+}
@@ -0,0 +1,7 @@
+package com.senac.cafeteria.repositories;
+
+import com.senac.cafeteria.models.ControleArquivamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ControleArquivamentoRepository extends JpaRepository<ControleArquivamento, String> {
+}
@@ -1,7 +1,24 @@
 package com.senac.cafeteria.repositories;
 
+import com.senac.cafeteria.dtos.ItemPedidoResponse;
 import com.senac.cafeteria.models.ItemPedido;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    // Itens de um lote de pedidos em uma única consulta (evita N+1 ao percorrer pedido.itens)
+    @Query("SELECT new com.senac.cafeteria.dtos.ItemPedidoResponse(i.pedido.id, i.produto.id, i.produto.nome, i.quantidade, i.precoUnitario) " +
+           "FROM ItemPedido i WHERE i.pedido.id IN :pedidoIds ORDER BY i.pedido.id, i.id")
+    List<ItemPedidoResponse> listarPorPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    // Exclusão em massa dos itens de pedidos já copiados para o arquivo
+    @Modifying
+    @Query("DELETE FROM ItemPedido i WHERE i.pedido.id IN :pedidoIds")
+    int excluirPorPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.senac.cafeteria.repositories;
+
+import com.senac.cafeteria.dtos.ItemPedidoResponse;
+import com.senac.cafeteria.dtos.PedidoItemExportacao;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.models.PedidoArquivado;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PedidoArquivadoRepository extends JpaRepository<PedidoArquivado, Long> {
+
+    // Cópia dos pedidos para o arquivo num único INSERT ... SELECT (nada é carregado na aplicação)
+    @Modifying
+    @Query("INSERT INTO PedidoArquivado (id, usuarioId, dataCriacao, total, status, tipoEntrega, versao, dataArquivamento) " +
+           "SELECT p.id, p.usuario.id, p.dataCriacao, p.total, p.status, p.tipoEntrega, p.versao, :agora " +
+           "FROM Pedido p WHERE p.id IN :ids")
+    int copiarPedidos(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("INSERT INTO ItemPedidoArquivado (id, pedidoId, produtoId, quantidade, precoUnitario) " +
+           "SELECT i.id, i.pedido.id, i.produto.id, i.quantidade, i.precoUnitario " +
+           "FROM ItemPedido i WHERE i.pedido.id IN :ids")
+    int copiarItens(@Param("ids") Collection<Long> ids);
+
+    // Histórico arquivado do cliente, mais recentes primeiro
+    List<PedidoArquivado> findByUsuarioIdOrderByDataCriacaoDesc(Long usuarioId);
+
+    // Produto pode ter sido excluído depois do arquivamento: o nome vem nulo nesse caso
+    @Query("SELECT new com.senac.cafeteria.dtos.ItemPedidoResponse(i.pedidoId, i.produtoId, pr.nome, i.quantidade, i.precoUnitario) " +
+           "FROM ItemPedidoArquivado i LEFT JOIN Produto pr ON pr.id = i.produtoId " +
+           "WHERE i.pedidoId IN :pedidoIds ORDER BY i.pedidoId, i.id")
+    List<ItemPedidoResponse> listarItensPorPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    // Mesma paginação por chave de PedidoRepository.listarResumosApos, sobre o arquivo (exportação completa)
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoResumoResponse(p.id, p.usuarioId, p.dataCriacao, p.status, p.total) " +
+           "FROM PedidoArquivado p WHERE p.id > :ultimoId ORDER BY p.id")
+    List<PedidoResumoResponse> listarResumosApos(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    /*
+     * Mesma projeção e ordem de PedidoRepository.streamItensPorPeriodo, lida do arquivo, para a
+     * exportação contábil de períodos já arquivados. O id do produto vem do item; o nome fica
+     * nulo se o produto foi excluído depois do arquivamento.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoItemExportacao(p.id, p.dataCriacao, p.status, p.total, p.usuarioId, " +
+           "i.produtoId, pr.nome, i.quantidade, i.precoUnitario) " +
+           "FROM PedidoArquivado p LEFT JOIN ItemPedidoArquivado i ON i.pedidoId = p.id LEFT JOIN Produto pr ON pr.id = i.produtoId " +
+           "WHERE p.dataCriacao >= :inicio AND p.dataCriacao < :fim ORDER BY p.dataCriacao, p.id, i.id")
+    Stream<PedidoItemExportacao> streamItensPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    @Query("SELECT COALESCE(SUM(p.total), 0) FROM PedidoArquivado p WHERE p.dataCriacao >= :inicio")
+    BigDecimal somarTotalDesde(@Param("inicio") LocalDateTime inicio);
+
+    @Query("SELECT COALESCE(SUM(p.total), 0) FROM PedidoArquivado p")
+    BigDecimal somarTotal();
+}
@@ -1,14 +1,128 @@
 package com.senac.cafeteria.repositories;
 
+import com.senac.cafeteria.dtos.PedidoItemExportacao;
+import com.senac.cafeteria.dtos.PedidoPreparo;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
 import com.senac.cafeteria.models.Pedido;
 import com.senac.cafeteria.models.Usuario;
 import com.senac.cafeteria.models.enums.StatusPedido;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByUsuarioOrderByDataCriacaoDesc(Usuario usuario);
     List<Pedido> findByStatusOrderByDataCriacaoDesc(StatusPedido status); // Mude Asc para Desc
     List<Pedido> findAllByOrderByDataCriacaoDesc();
-}
\ No newline at end of file
+
+    // Página de pedidos (sem itens) após o último id lido — paginação por chave para exportação
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoResumoResponse(p.id, p.usuario.id, p.dataCriacao, p.status, p.total) " +
+           "FROM Pedido p WHERE p.id > :ultimoId ORDER BY p.id")
+    List<PedidoResumoResponse> listarResumosApos(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoResumoResponse(p.id, p.usuario.id, p.dataCriacao, p.status, p.total) " +
+           "FROM Pedido p WHERE p.id = :id")
+    Optional<PedidoResumoResponse> buscarResumo(@Param("id") Long id);
+
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoResumoResponse(p.id, p.usuario.id, p.dataCriacao, p.status, p.total) " +
+           "FROM Pedido p WHERE p.id IN :ids")
+    List<PedidoResumoResponse> listarResumos(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Mesma projeção com as linhas travadas (SELECT ... FOR UPDATE) até o fim da transação, em ordem de id
+     * para que dois lotes concorrentes travem na mesma ordem. Usada na alteração de status em lote:
+     * nenhum pedido lido muda de status entre a leitura e o UPDATE.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoResumoResponse(p.id, p.usuario.id, p.dataCriacao, p.status, p.total) " +
+           "FROM Pedido p WHERE p.id IN :ids ORDER BY p.id")
+    List<PedidoResumoResponse> travarResumos(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Mudança de status num único UPDATE condicional, sem carregar o pedido: só altera se o
+     * status atual estiver entre as origens permitidas (tabela de transições) e incrementa a
+     * versão. Retorna 1 se aplicou e 0 se o pedido não existe ou está em outro status.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 WHERE p.id = :id AND p.status IN :origens")
+    int transicionarStatus(@Param("id") Long id, @Param("novo") StatusPedido novo,
+                           @Param("origens") Collection<StatusPedido> origens);
+
+    // Mesma mudança com verificação otimista: falha se o status ou a versão mudaram desde a leitura
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 " +
+           "WHERE p.id = :id AND p.status = :esperado AND p.versao = :versao")
+    int transicionarStatusComVersao(@Param("id") Long id, @Param("novo") StatusPedido novo,
+                                    @Param("esperado") StatusPedido esperado, @Param("versao") Long versao);
+
+    // Mesma regra de transicionarStatus aplicada a vários pedidos num único UPDATE (alteração em lote)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 WHERE p.id IN :ids AND p.status IN :origens")
+    int transicionarStatusEmLote(@Param("ids") Collection<Long> ids, @Param("novo") StatusPedido novo,
+                                 @Param("origens") Collection<StatusPedido> origens);
+
+    /*
+     * Pedidos nos status informados com o custo de preparo somado no banco (uma linha por pedido),
+     * usado para reconstruir a fila de preparo. Produtos sem tempo cadastrado usam tempoPadrao.
+     */
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoPreparo(p.id, p.dataCriacao, p.tipoEntrega, p.status, " +
+           "COALESCE(SUM(i.quantidade * COALESCE(pr.tempoPreparoSegundos, :tempoPadrao)), 0L)) " +
+           "FROM Pedido p LEFT JOIN p.itens i LEFT JOIN i.produto pr " +
+           "WHERE p.status IN :status GROUP BY p.id, p.dataCriacao, p.tipoEntrega, p.status")
+    List<PedidoPreparo> listarParaPreparo(@Param("status") Collection<StatusPedido> status,
+                                          @Param("tempoPadrao") Integer tempoPadrao);
+
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoPreparo(p.id, p.dataCriacao, p.tipoEntrega, p.status, " +
+           "COALESCE(SUM(i.quantidade * COALESCE(pr.tempoPreparoSegundos, :tempoPadrao)), 0L)) " +
+           "FROM Pedido p LEFT JOIN p.itens i LEFT JOIN i.produto pr " +
+           "WHERE p.id = :id GROUP BY p.id, p.dataCriacao, p.tipoEntrega, p.status")
+    Optional<PedidoPreparo> buscarParaPreparo(@Param("id") Long id, @Param("tempoPadrao") Integer tempoPadrao);
+
+    /*
+     * Próximo lote a arquivar: pedidos finalizados criados antes do corte, em ordem de id a partir
+     * da marca d'água (paginação por chave, sem reler o que a passada já examinou).
+     */
+    @Query("SELECT p.id FROM Pedido p WHERE p.id > :ultimoId AND p.dataCriacao < :corte AND p.status IN :finais ORDER BY p.id")
+    List<Long> listarIdsParaArquivar(@Param("ultimoId") Long ultimoId, @Param("corte") LocalDateTime corte,
+                                     @Param("finais") Collection<StatusPedido> finais, Limit limite);
+
+    // Exclusão após a cópia para o arquivo; o filtro de status protege contra pedidos reabertos
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Pedido p WHERE p.id IN :ids AND p.status IN :finais")
+    int excluirArquivados(@Param("ids") Collection<Long> ids, @Param("finais") Collection<StatusPedido> finais);
+
+    // Tabela de junção sem entidade própria (relação simbólica Pedido <-> Produto)
+    @Modifying
+    @Query(value = "DELETE FROM pedido_produto_relacionado WHERE pedido_id IN (:ids)", nativeQuery = true)
+    int excluirProdutosRelacionados(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Pedidos e itens de um período como projeção, lidos por cursor (somente avanço) em lotes
+     * de 1000 linhas. Ordenado por pedido para que os itens de um mesmo pedido venham juntos.
+     * Precisa ser consumido dentro de uma transação e o Stream deve ser fechado ao final.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.senac.cafeteria.dtos.PedidoItemExportacao(p.id, p.dataCriacao, p.status, p.total, p.usuario.id, " +
+           "pr.id, pr.nome, i.quantidade, i.precoUnitario) " +
+           "FROM Pedido p LEFT JOIN p.itens i LEFT JOIN i.produto pr " +
+           "WHERE p.dataCriacao >= :inicio AND p.dataCriacao < :fim ORDER BY p.dataCriacao, p.id, i.id")
+    Stream<PedidoItemExportacao> streamItensPorPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+}
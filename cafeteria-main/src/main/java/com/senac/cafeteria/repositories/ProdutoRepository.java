@@ -1,10 +1,17 @@
 package com.senac.cafeteria.repositories;
 
+import com.senac.cafeteria.dtos.EstoqueProduto;
+import com.senac.cafeteria.dtos.ProdutoNome;
+import com.senac.cafeteria.dtos.ProdutoResumo;
 import com.senac.cafeteria.models.Produto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,4 +38,43 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     // Query personalizada com JPQL
     @Query("SELECT p FROM Produto p WHERE p.descricao LIKE %:termo%")
     List<Produto> buscarPorDescricao(@Param("termo") String termo);
-}
\ No newline at end of file
+
+    // Projeção sem a coluna de imagem, usada para montar o índice de busca
+    @Query("SELECT new com.senac.cafeteria.dtos.ProdutoResumo(p.id, p.nome, p.descricao, p.preco) FROM Produto p")
+    List<ProdutoResumo> listarResumos();
+
+    // Página do catálogo após o último id lido (paginação por chave para exportação em streaming)
+    @Query("SELECT new com.senac.cafeteria.dtos.ProdutoResumo(p.id, p.nome, p.descricao, p.preco) FROM Produto p " +
+           "WHERE p.id > :ultimoId ORDER BY p.id")
+    List<ProdutoResumo> listarResumosApos(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    // Id e nome dos produtos com os nomes informados, sem carregar a imagem (upsert da importação em massa)
+    @Query("SELECT new com.senac.cafeteria.dtos.ProdutoNome(p.id, p.nome) FROM Produto p WHERE p.nome IN :nomes")
+    List<ProdutoNome> buscarIdsPorNome(@Param("nomes") Collection<String> nomes);
+
+    // Quais dos ids informados existem (upsert da importação em massa)
+    @Query("SELECT p.id FROM Produto p WHERE p.id IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Atualiza os dados de catálogo sem ler a linha (imagem, estoque e tempo de preparo ficam como estão)
+    @Modifying
+    @Query("UPDATE Produto p SET p.nome = :nome, p.descricao = :descricao, p.preco = :preco WHERE p.id = :id")
+    int atualizarDados(@Param("id") Long id, @Param("nome") String nome, @Param("descricao") String descricao,
+                       @Param("preco") BigDecimal preco);
+
+    // Produtos com controle de estoque, sem carregar a imagem (carga inicial do EstoqueService)
+    @Query("SELECT new com.senac.cafeteria.dtos.EstoqueProduto(p.id, p.estoque) FROM Produto p WHERE p.estoque IS NOT NULL")
+    List<EstoqueProduto> listarEstoques();
+
+    @Query("SELECT p.estoque FROM Produto p WHERE p.id = :id")
+    Optional<Integer> buscarEstoque(@Param("id") Long id);
+
+    // Baixa das vendas acumuladas desde a última gravação
+    @Modifying
+    @Query("UPDATE Produto p SET p.estoque = p.estoque - :quantidade WHERE p.id = :id AND p.estoque IS NOT NULL")
+    int baixarEstoque(@Param("id") Long id, @Param("quantidade") int quantidade);
+
+    @Modifying
+    @Query("UPDATE Produto p SET p.estoque = :estoque WHERE p.id = :id")
+    int definirEstoque(@Param("id") Long id, @Param("estoque") Integer estoque);
+}
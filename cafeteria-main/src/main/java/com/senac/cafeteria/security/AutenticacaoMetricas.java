@@ -0,0 +1,54 @@
+package com.senac.cafeteria.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Tempos da autenticação: processamento do JWT no filtro (validação + carga do usuário)
+ * e operações BCrypt (cadastro e login). Timers criados uma vez, registro direto no caminho quente.
+ */
+@Component
+public class AutenticacaoMetricas {
+
+    private final Timer jwtValido;
+    private final Timer jwtInvalido;
+    private final Timer senhaCodificar;
+    private final Timer senhaVerificar;
+
+    public AutenticacaoMetricas(MeterRegistry registry) {
+        jwtValido = jwt(registry, "valido");
+        jwtInvalido = jwt(registry, "invalido");
+        senhaCodificar = senha(registry, "codificar");
+        senhaVerificar = senha(registry, "verificar");
+    }
+
+    private static Timer jwt(MeterRegistry registry, String resultado) {
+        return Timer.builder("cafeteria.jwt.filtro")
+                .description("Validação do token e carga do usuário no filtro JWT")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static Timer senha(MeterRegistry registry, String operacao) {
+        return Timer.builder("cafeteria.senha.bcrypt")
+                .description("Operações BCrypt do PasswordEncoder")
+                .tag("operacao", operacao)
+                .register(registry);
+    }
+
+    public void registrarJwt(boolean valido, long duracaoNanos) {
+        (valido ? jwtValido : jwtInvalido).record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void registrarCodificacao(long duracaoNanos) {
+        senhaCodificar.record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void registrarVerificacao(long duracaoNanos) {
+        senhaVerificar.record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,5 +1,6 @@
 package com.senac.cafeteria.security;
 
+import com.senac.cafeteria.config.EventosJfr;
 import com.senac.cafeteria.services.MyUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,11 +22,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     // Serviço que carrega os detalhes do usuário (implementação de UserDetailsService)
     private final MyUserDetailsService userDetailsService;
+    // Tempo gasto pelo filtro com o token (validação + carga do usuário)
+    private final AutenticacaoMetricas metricas;
 
-    // Construtor com injeção de dependências do utilitário JWT e do serviço de usuários
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, MyUserDetailsService userDetailsService) {
+    // Construtor com injeção de dependências do utilitário JWT, do serviço de usuários e das métricas
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MyUserDetailsService userDetailsService, AutenticacaoMetricas metricas) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.metricas = metricas;
     }
 
     /*
@@ -44,6 +48,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
         String token = null;
         String username = null;
+        long inicio = System.nanoTime();
+        EventosJfr.ValidacaoJwt evento = new EventosJfr.ValidacaoJwt();
 
         // Verifica se o header começa com "Bearer " e extrai o token
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -65,6 +71,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
+        // Só mede requisições com token; as demais não passam pelo trabalho do filtro
+        if (token != null) {
+            metricas.registrarJwt(username != null, System.nanoTime() - inicio);
+            evento.valido = username != null;
+            evento.commit();
+        }
+
         // Continua a cadeia de filtros (essencial para que a requisição prossiga)
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,43 @@
+package com.senac.cafeteria.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+ * PasswordEncoder que delega ao encoder real (BCrypt) e registra o tempo de cada operação.
+ * BCrypt é intencionalmente lento (dezenas de ms por login), então vale acompanhar separado.
+ */
+public class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final AutenticacaoMetricas metricas;
+
+    public PasswordEncoderMedido(PasswordEncoder delegado, AutenticacaoMetricas metricas) {
+        this.delegado = delegado;
+        this.metricas = metricas;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long inicio = System.nanoTime();
+        try {
+            return delegado.encode(rawPassword);
+        } finally {
+            metricas.registrarCodificacao(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long inicio = System.nanoTime();
+        try {
+            return delegado.matches(rawPassword, encodedPassword);
+        } finally {
+            metricas.registrarVerificacao(System.nanoTime() - inicio);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,259 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.config.PersistenceConfig;
+import com.senac.cafeteria.dtos.ArquivamentoResultado;
+import com.senac.cafeteria.models.ControleArquivamento;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.repositories.ControleArquivamentoRepository;
+import com.senac.cafeteria.repositories.ItemPedidoRepository;
+import com.senac.cafeteria.repositories.PedidoArquivadoRepository;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Arquivamento de pedidos finalizados: move pedidos ENTREGUE/CANCELADO mais antigos que a idade
+ * configurada de pedido/item_pedido para pedido_arquivo/item_pedido_arquivo, mantendo as tabelas
+ * quentes só com o movimento recente.
+ * - Em lotes, cada um na sua transação: INSERT ... SELECT no arquivo e DELETE no original, sem
+ *   carregar entidades. Se as contagens não baterem, o lote inteiro é desfeito.
+ * - A marca d'água (último id examinado) é gravada a cada lote: uma execução interrompida continua
+ *   de onde parou. Quando não há mais pedidos elegíveis a passada termina e a marca volta a 0, para
+ *   a próxima execução também pegar pedidos antigos que só foram finalizados depois.
+ * - Controle de carga: pausa entre lotes, espera enquanto o pool de conexões está disputado e não
+ *   roda (ou para) dentro dos horários de pico.
+ */
+@Service
+public class ArquivamentoPedidoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoPedidoService.class);
+
+    private static final String PROCESSO = "pedidos";
+    private static final Set<StatusPedido> FINAIS = EnumSet.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+    // Quantas vezes seguidas o lote espera o pool aliviar antes de desistir da execução
+    private static final int MAX_ESPERAS_POR_CARGA = 30;
+
+    private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final PedidoArquivadoRepository pedidoArquivadoRepository;
+    private final ControleArquivamentoRepository controleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+
+    private final Duration idadeMinima;
+    private final int tamanhoLote;
+    private final Duration pausaEntreLotes;
+    private final Duration pausaSobCarga;
+    private final List<LocalTime[]> horariosPico;
+
+    // Impede duas execuções ao mesmo tempo (agendada e manual)
+    private final ReentrantLock execucao = new ReentrantLock();
+    private volatile ArquivamentoResultado ultimoResultado;
+
+    public ArquivamentoPedidoService(PedidoRepository pedidoRepository,
+                                     ItemPedidoRepository itemPedidoRepository,
+                                     PedidoArquivadoRepository pedidoArquivadoRepository,
+                                     ControleArquivamentoRepository controleRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     DataSource dataSource,
+                                     @Value("${cafeteria.arquivamento.idade-dias:90}") long idadeDias,
+                                     @Value("${cafeteria.arquivamento.tamanho-lote:500}") int tamanhoLote,
+                                     @Value("${cafeteria.arquivamento.pausa-entre-lotes-ms:200}") long pausaEntreLotesMs,
+                                     @Value("${cafeteria.arquivamento.pausa-sob-carga-ms:2000}") long pausaSobCargaMs,
+                                     @Value("${cafeteria.arquivamento.horarios-pico:}") String horariosPico) {
+        this.pedidoRepository = pedidoRepository;
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.pedidoArquivadoRepository = pedidoArquivadoRepository;
+        this.controleRepository = controleRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSource = dataSource;
+        this.idadeMinima = Duration.ofDays(idadeDias);
+        this.tamanhoLote = tamanhoLote;
+        this.pausaEntreLotes = Duration.ofMillis(pausaEntreLotesMs);
+        this.pausaSobCarga = Duration.ofMillis(pausaSobCargaMs);
+        this.horariosPico = lerHorarios(horariosPico);
+    }
+
+    @Scheduled(cron = "${cafeteria.arquivamento.cron:0 30 3 * * *}")
+    public void executarAgendado() {
+        ArquivamentoResultado resultado = arquivar();
+        if (resultado.pedidosArquivados() > 0 || resultado.interrupcao() != null) {
+            log.info("Arquivamento: {} pedido(s) em {} lote(s), {} ms{}", resultado.pedidosArquivados(), resultado.lotes(),
+                    resultado.duracaoMs(), resultado.interrupcao() != null ? " - interrompido: " + resultado.interrupcao() : "");
+        }
+    }
+
+    // Executa uma rodada de arquivamento; retorna na hora se outra já está em andamento
+    public ArquivamentoResultado arquivar() {
+        LocalDateTime inicio = LocalDateTime.now();
+        if (!execucao.tryLock()) {
+            return new ArquivamentoResultado(inicio, 0, 0, 0, marcaDagua(), false, "já em execução", 0);
+        }
+        try {
+            ArquivamentoResultado resultado = executar(inicio);
+            ultimoResultado = resultado;
+            return resultado;
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    public ArquivamentoResultado getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    public long marcaDagua() {
+        return controleRepository.findById(PROCESSO).map(ControleArquivamento::getUltimoId).orElse(0L);
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private ArquivamentoResultado executar(LocalDateTime inicio) {
+        long nanos = System.nanoTime();
+        LocalDateTime corte = inicio.minus(idadeMinima);
+        long marca = marcaDagua();
+        int lotes = 0;
+        int pedidos = 0;
+        int itens = 0;
+        String interrupcao = null;
+        boolean concluida = false;
+
+        try {
+            while (true) {
+                interrupcao = aguardarJanela();
+                if (interrupcao != null) {
+                    break;
+                }
+
+                List<Long> ids = pedidoRepository.listarIdsParaArquivar(marca, corte, FINAIS, Limit.of(tamanhoLote));
+                if (ids.isEmpty()) {
+                    gravarMarca(0L);
+                    concluida = true;
+                    break;
+                }
+
+                int[] movidos = transactionTemplate.execute(tx -> moverLote(ids));
+                marca = ids.get(ids.size() - 1);
+                lotes++;
+                pedidos += movidos[0];
+                itens += movidos[1];
+
+                if (ids.size() < tamanhoLote) {
+                    gravarMarca(0L);
+                    concluida = true;
+                    break;
+                }
+                Thread.sleep(pausaEntreLotes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupcao = "execução interrompida";
+        } catch (RuntimeException e) {
+            log.error("Falha no arquivamento de pedidos (marca d'água {})", marca, e);
+            interrupcao = "erro: " + e.getMessage();
+        }
+
+        return new ArquivamentoResultado(inicio, lotes, pedidos, itens, concluida ? 0 : marca, concluida, interrupcao,
+                Duration.ofNanos(System.nanoTime() - nanos).toMillis());
+    }
+
+    /*
+     * Move um lote dentro da transação corrente. A marca d'água é gravada na mesma transação,
+     * então ela só avança se o lote foi de fato movido. Retorna {pedidos, itens}.
+     */
+    private int[] moverLote(List<Long> ids) {
+        int pedidos = pedidoArquivadoRepository.copiarPedidos(ids, LocalDateTime.now());
+        int itens = pedidoArquivadoRepository.copiarItens(ids);
+
+        pedidoRepository.excluirProdutosRelacionados(ids);
+        int itensExcluidos = itemPedidoRepository.excluirPorPedidos(ids);
+        int pedidosExcluidos = pedidoRepository.excluirArquivados(ids, FINAIS);
+        if (pedidosExcluidos != pedidos || itensExcluidos != itens) {
+            throw new IllegalStateException("Lote inconsistente: " + pedidos + " pedido(s) copiados e " + pedidosExcluidos
+                    + " excluídos, " + itens + " item(ns) copiados e " + itensExcluidos + " excluídos");
+        }
+
+        gravarMarca(ids.get(ids.size() - 1));
+        return new int[]{pedidos, itens};
+    }
+
+    private void gravarMarca(long ultimoId) {
+        ControleArquivamento controle = controleRepository.findById(PROCESSO).orElseGet(() -> new ControleArquivamento(PROCESSO));
+        controle.setUltimoId(ultimoId);
+        controle.setAtualizadoEm(LocalDateTime.now());
+        controleRepository.save(controle);
+    }
+
+    /*
+     * Controle de carga antes de cada lote: dentro do horário de pico a execução para (continua na
+     * próxima, pela marca d'água); com requisições esperando conexão ou mais da metade do pool em uso,
+     * espera o pool aliviar. Retorna o motivo da interrupção ou null para seguir.
+     */
+    private String aguardarJanela() throws InterruptedException {
+        for (int esperas = 0; ; esperas++) {
+            if (emHorarioPico(LocalTime.now())) {
+                return "horário de pico";
+            }
+            if (!poolSobCarga()) {
+                return null;
+            }
+            if (esperas == MAX_ESPERAS_POR_CARGA) {
+                return "pool de conexões sob carga";
+            }
+            Thread.sleep(pausaSobCarga);
+        }
+    }
+
+    private boolean poolSobCarga() {
+        HikariDataSource hikari = PersistenceConfig.hikari(dataSource);
+        if (hikari == null) {
+            return false;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool != null && (pool.getThreadsAwaitingConnection() > 0
+                || pool.getActiveConnections() * 2 > hikari.getMaximumPoolSize());
+    }
+
+    private boolean emHorarioPico(LocalTime agora) {
+        for (LocalTime[] faixa : horariosPico) {
+            if (!agora.isBefore(faixa[0]) && agora.isBefore(faixa[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "11:30-14:00,18:00-20:00" -> faixas [início, fim)
+    private static List<LocalTime[]> lerHorarios(String texto) {
+        List<LocalTime[]> faixas = new ArrayList<>();
+        for (String faixa : texto.split(",")) {
+            if (faixa.isBlank()) {
+                continue;
+            }
+            String[] partes = faixa.trim().split("-");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Horário de pico inválido: " + faixa);
+            }
+            faixas.add(new LocalTime[]{LocalTime.parse(partes[0].trim()), LocalTime.parse(partes[1].trim())});
+        }
+        return faixas;
+    }
+}
@@ -0,0 +1,227 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ProdutoBuscaResultado;
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/*
+ * Índice invertido em memória sobre nome e descrição dos produtos.
+ * Substitui as buscas LIKE '%termo%' (que varrem a tabela inteira) por:
+ * - tokenização sem acentos e em minúsculas ("Café" e "cafe" viram o mesmo termo);
+ * - casamento por prefixo ("cap" encontra "cappuccino") usando o dicionário ordenado de termos;
+ * - ranking por peso do campo (nome vale mais que descrição) e raridade do termo.
+ * O índice é montado na inicialização e atualizado a cada escrita feita pelo ProdutoService.
+ */
+@Service
+public class BuscaProdutoService {
+
+    // Peso de um termo encontrado no nome e na descrição
+    private static final float PESO_NOME = 3.0f;
+    private static final float PESO_DESCRICAO = 1.0f;
+
+    // Termos que não ajudam a diferenciar produtos
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "com", "em", "na", "no", "para", "por", "um", "uma");
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final ProdutoRepository produtoRepository;
+
+    // termo -> (produtoId -> peso do termo no produto)
+    private final NavigableMap<String, Map<Long, Float>> termos = new TreeMap<>();
+    // produtoId -> dados exibidos no resultado (evita ir ao banco na busca)
+    private final Map<Long, ProdutoResumo> documentos = new HashMap<>();
+    // produtoId -> termos indexados (para remover o produto sem varrer o dicionário)
+    private final Map<Long, Set<String>> termosPorProduto = new HashMap<>();
+
+    // Leitura concorrente; escrita exclusiva (sem synchronized para não prender virtual threads)
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BuscaProdutoService(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Monta o índice completo a partir do banco depois que os dados iniciais foram criados
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        List<ProdutoResumo> produtos = produtoRepository.listarResumos();
+        lock.writeLock().lock();
+        try {
+            termos.clear();
+            documentos.clear();
+            termosPorProduto.clear();
+            produtos.forEach(this::indexarSemLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Indexa (ou reindexa) um produto após ser salvo
+    public void indexar(Produto produto) {
+        indexar(new ProdutoResumo(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco()));
+    }
+
+    public void indexar(ProdutoResumo produto) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(produto.id());
+            indexarSemLock(produto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove um produto excluído do índice
+    public void remover(Long produtoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(produtoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Busca produtos que contenham todos os termos da consulta (exatos ou por prefixo),
+     * ordenados por relevância. Casamento exato pontua mais que casamento por prefixo.
+     */
+    public List<ProdutoBuscaResultado> buscar(String consulta, int limite) {
+        List<String> tokens = tokenizar(consulta);
+        if (tokens.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> pontuacao = null;
+
+            for (String token : tokens) {
+                Map<Long, Double> pontuacaoToken = pontuarToken(token);
+                if (pontuacao == null) {
+                    pontuacao = pontuacaoToken;
+                } else {
+                    // Semântica AND: mantém só produtos que também casaram com este token
+                    pontuacao.keySet().retainAll(pontuacaoToken.keySet());
+                    pontuacao.replaceAll((id, valor) -> valor + pontuacaoToken.get(id));
+                }
+                if (pontuacao.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<ProdutoBuscaResultado> resultados = new ArrayList<>(pontuacao.size());
+            pontuacao.forEach((id, valor) -> {
+                ProdutoResumo doc = documentos.get(id);
+                resultados.add(new ProdutoBuscaResultado(doc.id(), doc.nome(), doc.descricao(), doc.preco(), valor));
+            });
+            resultados.sort(Comparator.comparingDouble(ProdutoBuscaResultado::relevancia).reversed()
+                    .thenComparing(ProdutoBuscaResultado::nome, Comparator.nullsLast(String::compareTo)));
+            return resultados.size() > limite ? List.copyOf(resultados.subList(0, limite)) : resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids dos produtos encontrados, em ordem de relevância
+    public List<Long> buscarIds(String consulta, int limite) {
+        return buscar(consulta, limite).stream().map(ProdutoBuscaResultado::id).toList();
+    }
+
+    public int totalProdutosIndexados() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Normaliza um texto para comparação: remove acentos (NFD + marcas diacríticas)
+     * e converte para minúsculas. "Pão" -> "pao", "Café" -> "cafe".
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcento.toLowerCase();
+    }
+
+    // Quebra o texto normalizado em termos, descartando stopwords
+    public static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Pontua cada produto para um token: termo exato + termos que começam com o token
+    private Map<Long, Double> pontuarToken(String token) {
+        Map<Long, Double> pontuacao = new HashMap<>();
+        int totalDocs = Math.max(documentos.size(), 1);
+
+        for (Map.Entry<String, Map<Long, Float>> termo : termos.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            boolean exato = termo.getKey().length() == token.length();
+            // Casamento por prefixo vale proporcionalmente ao quanto do termo foi digitado
+            double fatorCasamento = exato ? 1.0 : 0.5 * token.length() / termo.getKey().length();
+            double idf = Math.log(1.0 + (double) totalDocs / termo.getValue().size());
+
+            termo.getValue().forEach((id, peso) ->
+                    pontuacao.merge(id, peso * idf * fatorCasamento, Math::max));
+        }
+        return pontuacao;
+    }
+
+    private void indexarSemLock(ProdutoResumo produto) {
+        Map<String, Float> pesos = new HashMap<>();
+        tokenizar(produto.nome()).forEach(t -> pesos.merge(t, PESO_NOME, Float::sum));
+        tokenizar(produto.descricao()).forEach(t -> pesos.merge(t, PESO_DESCRICAO, Float::sum));
+
+        pesos.forEach((termo, peso) -> termos.computeIfAbsent(termo, t -> new HashMap<>()).put(produto.id(), peso));
+        documentos.put(produto.id(), produto);
+        termosPorProduto.put(produto.id(), new HashSet<>(pesos.keySet()));
+    }
+
+    private void removerSemLock(Long produtoId) {
+        Set<String> termosAntigos = termosPorProduto.remove(produtoId);
+        documentos.remove(produtoId);
+        if (termosAntigos == null) {
+            return;
+        }
+        for (String termo : termosAntigos) {
+            Map<Long, Float> postings = termos.get(termo);
+            if (postings != null) {
+                postings.remove(produtoId);
+                if (postings.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+}
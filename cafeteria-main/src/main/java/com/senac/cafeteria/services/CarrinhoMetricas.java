@@ -0,0 +1,66 @@
+package com.senac.cafeteria.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Tempos das operações do carrinho e do checkout (Micrometer, com histograma de percentis).
+ * Os timers são criados uma vez aqui; no caminho quente fica só o registro da duração.
+ */
+@Component
+public class CarrinhoMetricas {
+
+    public enum Operacao { ADICIONAR, ATUALIZAR, REMOVER, LIMPAR }
+
+    private final Map<Operacao, Timer> operacoes = new EnumMap<>(Operacao.class);
+    private final Timer checkoutConfirmado;
+    private final Timer checkoutDesfeito;
+
+    public CarrinhoMetricas(MeterRegistry registry) {
+        for (Operacao operacao : Operacao.values()) {
+            operacoes.put(operacao, Timer.builder("cafeteria.carrinho.operacao")
+                    .description("Alterações no carrinho em memória, incluindo a reserva de estoque")
+                    .tag("operacao", operacao.name().toLowerCase())
+                    .register(registry));
+        }
+        checkoutConfirmado = checkout(registry, "confirmado");
+        checkoutDesfeito = checkout(registry, "desfeito");
+    }
+
+    private static Timer checkout(MeterRegistry registry, String resultado) {
+        return Timer.builder("cafeteria.checkout")
+                .description("Finalização do pedido, do início até o commit ou rollback da transação")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    public void registrar(Operacao operacao, long duracaoNanos) {
+        operacoes.get(operacao).record(duracaoNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /*
+     * O checkout só termina no commit (quando os itens são gravados), então a duração é registrada
+     * ao fim da transação em andamento; sem transação, no momento da chamada.
+     */
+    public void registrarCheckoutAoConcluir(long inicioNanos) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            checkoutConfirmado.record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Timer timer = status == STATUS_COMMITTED ? checkoutConfirmado : checkoutDesfeito;
+                timer.record(System.nanoTime() - inicioNanos, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+}
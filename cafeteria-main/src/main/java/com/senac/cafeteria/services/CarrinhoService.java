@@ -1,8 +1,12 @@
 package com.senac.cafeteria.services;
 
+import com.senac.cafeteria.config.EventosJfr;
+import com.senac.cafeteria.dtos.PedidoEvento;
 import com.senac.cafeteria.models.*;
 import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
 import com.senac.cafeteria.repositories.PedidoRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
  * Serviço que representa um carrinho simples em memória e provê operações:
@@ -17,6 +22,7 @@ import java.util.Map;
  * Em produção recomenda-se armazenar carrinho em Redis ou na sessão do usuário.
  */
 @Service
+@Observed(name = "cafeteria.servico")
 @RequiredArgsConstructor
 @Transactional
 public class CarrinhoService {
@@ -25,29 +31,69 @@ public class CarrinhoService {
     private final PedidoRepository pedidoRepository;
     // Serviço para carregar informações dos produtos (preço, imagem, etc.)
     private final ProdutoService produtoService;
+    // Barramento que avisa o painel dos baristas sobre novos pedidos
+    private final PedidoEventoBus pedidoEventoBus;
+    // Reserva as unidades dos produtos com controle de estoque enquanto estão no carrinho
+    private final EstoqueService estoqueService;
+    // Tempos das operações do carrinho e do checkout
+    private final CarrinhoMetricas metricas;
 
     // Estrutura em memória: mapa usuárioId -> (produtoId -> quantidade)
-    private final Map<Long, Map<Long, Integer>> carrinhos = new HashMap<>();
+    // Mapas concorrentes (sem synchronized) para não prender virtual threads à carrier
+    private final Map<Long, Map<Long, Integer>> carrinhos = new ConcurrentHashMap<>();
 
-    // Adiciona um produto ao carrinho do usuário (soma quantidade se já existir)
+    /*
+     * Adiciona um produto ao carrinho do usuário (soma quantidade se já existir).
+     * A reserva de estoque vem antes: sem unidades suficientes, lança exceção e o carrinho fica como estava.
+     */
     public void adicionarAoCarrinho(Long usuarioId, Long produtoId, Integer quantidade) {
-        carrinhos.putIfAbsent(usuarioId, new HashMap<>());
-        Map<Long, Integer> carrinhoUsuario = carrinhos.get(usuarioId);
-
-        carrinhoUsuario.merge(produtoId, quantidade, Integer::sum);
+        long inicio = System.nanoTime();
+        EventosJfr.AlteracaoCarrinho evento = new EventosJfr.AlteracaoCarrinho("adicionar", usuarioId);
+        try {
+            Map<Long, Integer> carrinhoUsuario = carrinhos.computeIfAbsent(usuarioId, id -> new ConcurrentHashMap<>());
+
+            carrinhoUsuario.compute(produtoId, (id, atual) -> {
+                int nova = (atual != null ? atual : 0) + quantidade;
+                estoqueService.reservar(usuarioId, produtoId, nova);
+                return nova;
+            });
+        } finally {
+            evento.produtoId = produtoId;
+            evento.quantidade = quantidade;
+            evento.commit();
+            metricas.registrar(CarrinhoMetricas.Operacao.ADICIONAR, System.nanoTime() - inicio);
+        }
     }
 
     // Remove um produto específico do carrinho do usuário
     public void removerDoCarrinho(Long usuarioId, Long produtoId) {
+        long inicio = System.nanoTime();
+        EventosJfr.AlteracaoCarrinho evento = new EventosJfr.AlteracaoCarrinho("remover", usuarioId);
         if (carrinhos.containsKey(usuarioId)) {
             carrinhos.get(usuarioId).remove(produtoId);
+            estoqueService.liberar(usuarioId, produtoId);
         }
+        evento.produtoId = produtoId;
+        evento.commit();
+        metricas.registrar(CarrinhoMetricas.Operacao.REMOVER, System.nanoTime() - inicio);
     }
 
-    // Atualiza a quantidade de um item no carrinho (somente se quantidade > 0)
+    // Atualiza a quantidade de um item no carrinho (somente se quantidade > 0), ajustando a reserva
     public void atualizarQuantidade(Long usuarioId, Long produtoId, Integer quantidade) {
-        if (carrinhos.containsKey(usuarioId) && quantidade > 0) {
-            carrinhos.get(usuarioId).put(produtoId, quantidade);
+        long inicio = System.nanoTime();
+        EventosJfr.AlteracaoCarrinho evento = new EventosJfr.AlteracaoCarrinho("atualizar", usuarioId);
+        try {
+            if (carrinhos.containsKey(usuarioId) && quantidade > 0) {
+                carrinhos.get(usuarioId).compute(produtoId, (id, atual) -> {
+                    estoqueService.reservar(usuarioId, produtoId, quantidade);
+                    return quantidade;
+                });
+            }
+        } finally {
+            evento.produtoId = produtoId;
+            evento.quantidade = quantidade;
+            evento.commit();
+            metricas.registrar(CarrinhoMetricas.Operacao.ATUALIZAR, System.nanoTime() - inicio);
         }
     }
 
@@ -75,9 +121,14 @@ public class CarrinhoService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    // Limpa o carrinho do usuário
+    // Limpa o carrinho do usuário e devolve as reservas ao estoque
     public void limparCarrinho(Long usuarioId) {
+        long inicio = System.nanoTime();
+        EventosJfr.AlteracaoCarrinho evento = new EventosJfr.AlteracaoCarrinho("limpar", usuarioId);
         carrinhos.remove(usuarioId);
+        estoqueService.liberarTodas(usuarioId);
+        evento.commit();
+        metricas.registrar(CarrinhoMetricas.Operacao.LIMPAR, System.nanoTime() - inicio);
     }
 
     // Retorna a quantidade total de itens no carrinho (soma das quantidades)
@@ -96,24 +147,53 @@ public class CarrinhoService {
      */
     @Transactional
     public Pedido finalizarPedido(Usuario usuario) {
+        return finalizarPedido(usuario, TipoEntrega.RETIRADA_LOJA);
+    }
+
+    // tipoEntrega nulo vale como retirada na loja
+    public Pedido finalizarPedido(Usuario usuario, TipoEntrega tipoEntrega) {
+        metricas.registrarCheckoutAoConcluir(System.nanoTime());
+        EventosJfr.Checkout evento = new EventosJfr.Checkout(usuario.getId());
+        try {
+            Pedido pedidoSalvo = criarPedido(usuario, tipoEntrega, evento);
+            evento.pedidoId = pedidoSalvo.getId();
+            evento.concluido = true;
+            return pedidoSalvo;
+        } finally {
+            evento.commit();
+        }
+    }
+
+    // Corpo do checkout; o evento JFR recebe a quantidade de itens assim que o carrinho é lido
+    private Pedido criarPedido(Usuario usuario, TipoEntrega tipoEntrega, EventosJfr.Checkout evento) {
         Map<Produto, Integer> itensCarrinho = getCarrinho(usuario.getId());
+        evento.itens = itensCarrinho.size();
 
         if (itensCarrinho.isEmpty()) {
-            throw new RuntimeException("Carrinho vazio");
+            throw new RegraNegocioException("Carrinho vazio");
         }
 
         Pedido pedido = new Pedido();
         pedido.setUsuario(usuario);
         pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setTipoEntrega(tipoEntrega != null ? tipoEntrega : TipoEntrega.RETIRADA_LOJA);
 
+        // Quantidades por produto do carrinho já lido: o carrinho pode ter sido limpo em outra aba desde então
+        Map<Long, Integer> quantidades = new HashMap<>();
         for (Map.Entry<Produto, Integer> entry : itensCarrinho.entrySet()) {
             ItemPedido item = new ItemPedido(entry.getKey(), entry.getValue());
             pedido.adicionarItem(item);
+            quantidades.put(entry.getKey().getId(), entry.getValue());
         }
 
         pedido.calcularTotal();
+        // Reservas viram venda no commit; se faltar estoque (reserva expirada), nada é gravado
+        estoqueService.confirmar(usuario.getId(), quantidades);
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        limparCarrinho(usuario.getId());
+        // Sem liberar as reservas: elas são convertidas em venda pelo EstoqueService após o commit
+        carrinhos.remove(usuario.getId());
+        // Distribuído só depois do commit
+        pedidoEventoBus.publicar(PedidoEvento.criado(pedidoSalvo));
 
         return pedidoSalvo;
     }
@@ -0,0 +1,472 @@
+package com.senac.cafeteria.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.ImportacaoResultado;
+import com.senac.cafeteria.dtos.ProdutoImportacao;
+import com.senac.cafeteria.dtos.ProdutoNome;
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import jakarta.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Importação e exportação em massa do catálogo.
+ * - Importação: lê CSV ou JSON direto do corpo da requisição, valida linha a linha e faz upsert
+ *   em lotes (uma transação por lote, tamanho configurável). Erros são reportados por linha e
+ *   não interrompem o restante da importação.
+ * - Exportação: percorre o catálogo por chave (id) em páginas e escreve direto no stream,
+ *   sem carregar o catálogo inteiro nem as imagens.
+ */
+@Service
+public class CatalogoImportacaoService {
+
+    // Colunas do CSV (a coluna id é opcional na importação)
+    private static final List<String> COLUNAS_CSV = List.of("id", "nome", "descricao", "preco");
+
+    // Limite de erros detalhados no resultado (os demais são apenas contados como processados)
+    private static final int MAXIMO_ERROS = 1000;
+
+    private final ProdutoRepository produtoRepository;
+    private final ProdutoService produtoService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public CatalogoImportacaoService(ProdutoRepository produtoRepository,
+                                     ProdutoService produtoService,
+                                     ObjectMapper objectMapper,
+                                     EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${cafeteria.catalogo.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.produtoRepository = produtoRepository;
+        this.produtoService = produtoService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // ========== IMPORTAÇÃO ==========
+
+    // Importa um CSV com cabeçalho (nome,descricao,preco e opcionalmente id), em UTF-8
+    public ImportacaoResultado importarCsv(InputStream entrada) throws IOException {
+        Importacao importacao = new Importacao();
+        CsvLeitor csv = new CsvLeitor(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)));
+
+        List<String> cabecalho = csv.proximoRegistro();
+        if (cabecalho == null) {
+            return importacao.resultado();
+        }
+        Map<String, Integer> posicoes = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            posicoes.put(cabecalho.get(i).strip().toLowerCase(), i);
+        }
+        if (!posicoes.containsKey("nome") || !posicoes.containsKey("preco")) {
+            importacao.erro(1, "Cabeçalho deve conter as colunas nome e preco");
+            return importacao.resultado();
+        }
+
+        List<String> campos;
+        while ((campos = csv.proximoRegistro()) != null) {
+            int linha = csv.linhaInicioRegistro();
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue; // linha em branco
+            }
+            try {
+                importacao.adicionar(linha, new ProdutoImportacao(
+                        parseId(campo(campos, posicoes, "id")),
+                        campo(campos, posicoes, "nome"),
+                        campo(campos, posicoes, "descricao"),
+                        parsePreco(campo(campos, posicoes, "preco"))));
+            } catch (IllegalArgumentException e) {
+                importacao.erro(linha, e.getMessage());
+            }
+        }
+        importacao.finalizar();
+        return importacao.resultado();
+    }
+
+    /*
+     * Importa um array JSON de objetos { id?, nome, descricao, preco }, lendo um objeto por vez.
+     * Erros são reportados pela posição do elemento no array (a partir de 1): um elemento que não
+     * é objeto (null, número, array) vira erro e a leitura segue até o fim do array.
+     */
+    public ImportacaoResultado importarJson(InputStream entrada) throws IOException {
+        Importacao importacao = new Importacao();
+
+        // Elemento sendo lido: se o JSON quebrar entre dois elementos, o erro fica com o seguinte
+        int posicao = 1;
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                importacao.erro(1, "O corpo deve ser um array JSON de produtos");
+                return importacao.resultado();
+            }
+            // Fim de arquivo antes do ']' lança JsonEOFException (um JsonParseException), tratado abaixo
+            for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY;
+                 posicao++, token = parser.nextToken()) {
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    importacao.erro(posicao, "Elemento não é um objeto de produto");
+                    continue;
+                }
+                // Lê o objeto inteiro como árvore; assim um campo de tipo errado não desalinha o parser
+                JsonNode objeto = parser.readValueAsTree();
+                try {
+                    importacao.adicionar(posicao, objectMapper.treeToValue(objeto, ProdutoImportacao.class));
+                } catch (JsonProcessingException e) {
+                    importacao.erro(posicao, "Objeto inválido: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonParseException e) {
+            // JSON malformado: o que já foi lido é gravado e o restante, a partir deste elemento, é descartado
+            importacao.erro(posicao, "JSON malformado: " + e.getOriginalMessage());
+        }
+        importacao.finalizar();
+        return importacao.resultado();
+    }
+
+    // ========== EXPORTAÇÃO ==========
+
+    public void exportarCsv(OutputStream saida) throws IOException {
+        Writer writer = new OutputStreamWriter(saida, StandardCharsets.UTF_8);
+        writer.write(String.join(",", COLUNAS_CSV));
+        writer.write("\n");
+        percorrerCatalogo(lote -> {
+            for (ProdutoResumo produto : lote) {
+                writer.write(produto.id() + "," + Csv.campo(produto.nome()) + "," + Csv.campo(produto.descricao())
+                        + "," + (produto.preco() != null ? produto.preco().toPlainString() : "") + "\n");
+            }
+            writer.flush();
+        });
+        writer.flush();
+    }
+
+    public void exportarJson(OutputStream saida) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+            json.writeStartArray();
+            percorrerCatalogo(lote -> {
+                for (ProdutoResumo produto : lote) {
+                    json.writePOJO(produto);
+                }
+                json.flush();
+            });
+            json.writeEndArray();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    @FunctionalInterface
+    private interface ConsumidorLote {
+        void aceitar(List<ProdutoResumo> lote) throws IOException;
+    }
+
+    // Lê o catálogo em páginas ordenadas por id (sem imagem) e entrega cada página ao consumidor
+    private void percorrerCatalogo(ConsumidorLote consumidor) throws IOException {
+        long ultimoId = 0;
+        List<ProdutoResumo> lote;
+        do {
+            lote = produtoRepository.listarResumosApos(ultimoId, Limit.of(tamanhoLote));
+            if (lote.isEmpty()) {
+                return;
+            }
+            consumidor.aceitar(lote);
+            ultimoId = lote.get(lote.size() - 1).id();
+        } while (lote.size() == tamanhoLote);
+    }
+
+    /*
+     * Estado de uma importação: acumula linhas válidas até completar um lote e grava o lote
+     * em uma transação própria. Se o lote falhar no banco, todas as suas linhas viram erro.
+     */
+    private class Importacao {
+        private final List<ProdutoImportacao> lote = new ArrayList<>();
+        private final List<Integer> linhasLote = new ArrayList<>();
+        private final List<ImportacaoResultado.Erro> erros = new ArrayList<>();
+        private int processadas;
+        private int criadas;
+        private int atualizadas;
+        private int novosNoLote;
+
+        void adicionar(int linha, ProdutoImportacao produto) {
+            processadas++;
+            String problema = validar(produto);
+            if (problema != null) {
+                registrarErro(linha, problema);
+                return;
+            }
+            lote.add(produto);
+            linhasLote.add(linha);
+            if (lote.size() >= tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        void erro(int linha, String mensagem) {
+            processadas++;
+            registrarErro(linha, mensagem);
+        }
+
+        void finalizar() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+        }
+
+        ImportacaoResultado resultado() {
+            return new ImportacaoResultado(processadas, criadas, atualizadas, List.copyOf(erros));
+        }
+
+        private void registrarErro(int linha, String mensagem) {
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(new ImportacaoResultado.Erro(linha, mensagem));
+            }
+        }
+
+        private void gravarLote() {
+            try {
+                List<Produto> salvos = transactionTemplate.execute(status -> upsert());
+                criadas += novosNoLote;
+                atualizadas += salvos.size() - novosNoLote;
+                produtoService.registrarAlteracoes(salvos);
+            } catch (RuntimeException e) {
+                linhasLote.forEach(linha -> registrarErro(linha, "Falha ao gravar lote: " + e.getMessage()));
+            } finally {
+                lote.clear();
+                linhasLote.clear();
+            }
+        }
+
+        /*
+         * Upsert do lote: busca só id e nome dos existentes (por id e por nome, duas consultas, sem as imagens),
+         * insere os novos de uma vez e atualiza os existentes por UPDATE, sem carregar as entidades.
+         */
+        private List<Produto> upsert() {
+            List<Long> ids = lote.stream().map(ProdutoImportacao::id).filter(id -> id != null).toList();
+            List<String> nomes = lote.stream().filter(p -> p.id() == null).map(ProdutoImportacao::nome).toList();
+
+            Set<Long> idsExistentes = ids.isEmpty() ? Set.of() : new HashSet<>(produtoRepository.buscarIdsExistentes(ids));
+            Map<Long, Produto> porId = new HashMap<>();
+            Map<String, Produto> porNome = new HashMap<>();
+            if (!nomes.isEmpty()) {
+                for (ProdutoNome existente : produtoRepository.buscarIdsPorNome(nomes)) {
+                    porNome.putIfAbsent(existente.nome(), produtoComId(existente.id()));
+                }
+            }
+
+            List<Produto> gravar = new ArrayList<>(lote.size());
+            Set<Produto> noLote = Collections.newSetFromMap(new IdentityHashMap<>());
+            novosNoLote = 0;
+            for (int i = 0; i < lote.size(); i++) {
+                ProdutoImportacao linha = lote.get(i);
+                Produto produto;
+                if (linha.id() != null) {
+                    if (!idsExistentes.contains(linha.id())) {
+                        registrarErro(linhasLote.get(i), "produto com id " + linha.id() + " não existe");
+                        continue;
+                    }
+                    produto = porId.computeIfAbsent(linha.id(), CatalogoImportacaoService::produtoComId);
+                } else {
+                    produto = porNome.get(linha.nome());
+                    if (produto == null) {
+                        produto = new Produto();
+                        porNome.put(linha.nome(), produto); // nome repetido no mesmo lote atualiza o mesmo registro
+                        novosNoLote++;
+                    }
+                }
+                produto.setNome(linha.nome());
+                produto.setDescricao(linha.descricao());
+                produto.setPreco(linha.preco());
+                // Produto repetido no mesmo lote: os campos já foram sobrescritos, grava uma vez só
+                if (noLote.add(produto)) {
+                    gravar.add(produto);
+                }
+            }
+
+            List<Produto> existentes = gravar.stream().filter(p -> p.getId() != null).toList();
+            List<Produto> salvos = new ArrayList<>(produtoRepository.saveAll(gravar.stream().filter(p -> p.getId() == null).toList()));
+            for (Produto produto : existentes) {
+                produtoRepository.atualizarDados(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco());
+            }
+            salvos.addAll(existentes);
+            entityManager.flush();
+            entityManager.clear(); // libera o contexto de persistência entre lotes
+            return salvos;
+        }
+    }
+
+    // Produto existente só com o id: recebe os campos da linha e vai para o UPDATE, nunca para o contexto JPA
+    private static Produto produtoComId(Long id) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        return produto;
+    }
+
+    private static String validar(ProdutoImportacao produto) {
+        if (produto.nome() == null || produto.nome().isBlank()) {
+            return "nome é obrigatório";
+        }
+        if (produto.nome().length() > 255) {
+            return "nome excede 255 caracteres";
+        }
+        if (produto.descricao() != null && produto.descricao().length() > 255) {
+            return "descricao excede 255 caracteres";
+        }
+        if (produto.preco() == null) {
+            return "preco é obrigatório";
+        }
+        if (produto.preco().signum() < 0) {
+            return "preco não pode ser negativo";
+        }
+        return null;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> posicoes, String coluna) {
+        Integer posicao = posicoes.get(coluna);
+        if (posicao == null || posicao >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(posicao).strip();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static Long parseId(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id inválido: " + valor);
+        }
+    }
+
+    // Aceita "8.50" e "8,50"
+    private static BigDecimal parsePreco(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(valor.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("preco inválido: " + valor);
+        }
+    }
+
+    /*
+     * Leitor de CSV (RFC 4180) que consome o Reader caractere a caractere:
+     * suporta campos entre aspas com vírgulas, aspas duplicadas e quebras de linha.
+     * Ignora o BOM (U+FEFF) que o Excel grava no início de CSVs em UTF-8; sem isso o cabeçalho
+     * começaria com o BOM grudado em "nome" e a coluna não seria reconhecida.
+     */
+    static class CsvLeitor {
+        private final Reader reader;
+        private int linhaAtual = 1;
+        private int linhaInicio;
+        private boolean inicioArquivo = true;
+        private boolean fim;
+
+        CsvLeitor(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Linha do arquivo onde começou o último registro lido
+        int linhaInicioRegistro() {
+            return linhaInicio;
+        }
+
+        // Próximo registro ou null no fim do arquivo
+        List<String> proximoRegistro() throws IOException {
+            if (fim) {
+                return null;
+            }
+            linhaInicio = linhaAtual;
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            boolean leuAlgo = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (inicioArquivo) {
+                    inicioArquivo = false;
+                    if (c == '\uFEFF') {
+                        continue;
+                    }
+                }
+                leuAlgo = true;
+                char ch = (char) c;
+                if (entreAspas) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int proximo = reader.read();
+                        if (proximo == '"') {
+                            campo.append('"');
+                        } else {
+                            entreAspas = false;
+                            if (proximo != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            linhaAtual++;
+                        }
+                        campo.append(ch);
+                    }
+                } else if (ch == '"' && campo.isEmpty()) {
+                    entreAspas = true;
+                } else if (ch == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (ch == '\n') {
+                    linhaAtual++;
+                    campos.add(campo.toString());
+                    return campos;
+                } else if (ch != '\r') {
+                    campo.append(ch);
+                }
+            }
+
+            fim = true;
+            if (!leuAlgo) {
+                return null;
+            }
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+}
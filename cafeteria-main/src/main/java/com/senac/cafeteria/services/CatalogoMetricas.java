@@ -0,0 +1,33 @@
+package com.senac.cafeteria.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Aproveitamento do cache HTTP do catálogo (ETag com a versão do catálogo):
+ * "valido" = o cliente já tinha a versão atual e recebeu 304 sem consulta ao banco.
+ */
+@Component
+public class CatalogoMetricas {
+
+    private final Counter valido;
+    private final Counter desatualizado;
+
+    public CatalogoMetricas(MeterRegistry registry) {
+        valido = consulta(registry, "valido");
+        desatualizado = consulta(registry, "desatualizado");
+    }
+
+    private static Counter consulta(MeterRegistry registry, String cache) {
+        return Counter.builder("cafeteria.catalogo.consultas")
+                .description("Consultas à API do catálogo pelo estado do cache do cliente")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    public void registrarConsulta(boolean cacheValido) {
+        (cacheValido ? valido : desatualizado).increment();
+    }
+}
@@ -0,0 +1,128 @@
+package com.senac.cafeteria.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Unidades disponíveis de um produto, divididas em faixas (um contador atômico por faixa).
+ * Cada thread começa pela sua faixa, então reservas simultâneas do mesmo produto quase nunca
+ * disputam o mesmo CAS.
+ * Nenhuma faixa fica negativa e cada unidade está em uma única faixa ou com quem a retirou:
+ * duas reservas nunca levam a mesma unidade, nem a última.
+ * Quando nenhuma faixa sozinha tem a quantidade pedida, o caminho lento junta as faixas sob trava
+ * e redistribui o que sobrar.
+ */
+final class ContadorEstoque {
+
+    // 16 ints = 64 bytes entre faixas vizinhas, para não dividirem a mesma linha de cache
+    private static final int ESPACAMENTO = 16;
+
+    private final int quantidadeFaixas;
+    private final AtomicIntegerArray faixas;
+    private final ReentrantLock consolidacao = new ReentrantLock();
+    // Ímpar enquanto uma consolidação move unidades entre faixas (a soma lida no meio dela não vale)
+    private final AtomicInteger versao = new AtomicInteger();
+
+    ContadorEstoque(int quantidadeFaixas, int inicial) {
+        if (quantidadeFaixas < 1) {
+            throw new IllegalArgumentException("Quantidade de faixas deve ser positiva");
+        }
+        this.quantidadeFaixas = quantidadeFaixas;
+        this.faixas = new AtomicIntegerArray(quantidadeFaixas * ESPACAMENTO);
+        distribuir(Math.max(0, inicial));
+    }
+
+    // Retira 'quantidade' unidades de uma vez; false (sem retirar nada) se não houver o suficiente
+    boolean retirar(int quantidade) {
+        if (quantidade <= 0) {
+            return true;
+        }
+        int inicio = faixaDaThread();
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            if (retirarDaFaixa((inicio + i) % quantidadeFaixas, quantidade)) {
+                return true;
+            }
+        }
+
+        // Produto esgotado: responde sem passar pela trava, desde que nenhuma consolidação tenha mexido nas faixas durante a soma
+        int versaoLida = versao.get();
+        if ((versaoLida & 1) == 0 && disponivel() < quantidade && versao.get() == versaoLida) {
+            return false;
+        }
+        return retirarConsolidando(quantidade, false) == quantidade;
+    }
+
+    // Retira até 'quantidade' unidades (o que houver); retorna quantas foram retiradas
+    int retirarAte(int quantidade) {
+        return quantidade <= 0 ? 0 : retirarConsolidando(quantidade, true);
+    }
+
+    void devolver(int quantidade) {
+        if (quantidade > 0) {
+            faixas.getAndAdd(faixaDaThread() * ESPACAMENTO, quantidade);
+        }
+    }
+
+    // Soma das faixas; aproximada sob concorrência
+    int disponivel() {
+        int total = 0;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            total += faixas.get(i * ESPACAMENTO);
+        }
+        return total;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private boolean retirarDaFaixa(int faixa, int quantidade) {
+        int indice = faixa * ESPACAMENTO;
+        while (true) {
+            int atual = faixas.get(indice);
+            if (atual < quantidade) {
+                return false;
+            }
+            if (faixas.compareAndSet(indice, atual, atual - quantidade)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * Esvazia todas as faixas, retira o pedido (tudo ou nada, ou parcial se 'parcial') e redistribui o resto.
+     * Retiradas concorrentes pelo caminho rápido continuam funcionando: cada unidade só sai de uma faixa uma vez.
+     */
+    private int retirarConsolidando(int quantidade, boolean parcial) {
+        consolidacao.lock();
+        versao.incrementAndGet();
+        try {
+            int total = 0;
+            for (int i = 0; i < quantidadeFaixas; i++) {
+                total += faixas.getAndSet(i * ESPACAMENTO, 0);
+            }
+            int retirado = total >= quantidade ? quantidade : (parcial ? total : 0);
+            distribuir(total - retirado);
+            return retirado;
+        } finally {
+            versao.incrementAndGet();
+            consolidacao.unlock();
+        }
+    }
+
+    private void distribuir(int quantidade) {
+        int porFaixa = quantidade / quantidadeFaixas;
+        int resto = quantidade % quantidadeFaixas;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            int parte = porFaixa + (i < resto ? 1 : 0);
+            if (parte > 0) {
+                faixas.getAndAdd(i * ESPACAMENTO, parte);
+            }
+        }
+    }
+
+    // Espalha os ids de thread (sequenciais) pelas faixas
+    private int faixaDaThread() {
+        long misturado = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) ((misturado >>> 32) % quantidadeFaixas);
+    }
+}
@@ -0,0 +1,21 @@
+package com.senac.cafeteria.services;
+
+/*
+ * Escrita de campos CSV (RFC 4180), compartilhada pelas exportações do catálogo e da contabilidade.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    // O campo vai entre aspas (com as aspas internas duplicadas) só quando tem vírgula, aspas ou quebra de linha
+    public static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return "\"" + valor.replace("\"", "\"\"") + "\"";
+    }
+}
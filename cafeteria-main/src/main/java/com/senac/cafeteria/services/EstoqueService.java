@@ -0,0 +1,322 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.EstoqueProduto;
+import com.senac.cafeteria.dtos.EstoqueSituacao;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/*
+ * Estoque por produto com reservas no carrinho.
+ * - As unidades disponíveis ficam em memória, em um ContadorEstoque por produto: reservar o último
+ *   croissant é um CAS, sem consulta nem lock no banco, e duas reservas simultâneas nunca levam a mesma unidade.
+ * - Adicionar ao carrinho reserva; a reserva expira se o carrinho ficar parado e as unidades voltam.
+ * - Ao finalizar o pedido a reserva é confirmada junto com a transação: depois do commit as unidades
+ *   viram venda pendente de gravação; num rollback continuam reservadas até expirar.
+ * - As vendas são baixadas no banco periodicamente, um UPDATE por produto com tudo o que foi vendido
+ *   no intervalo (e uma última vez no desligamento).
+ * Produtos com estoque nulo não têm controle e não passam por aqui.
+ */
+@Service
+public class EstoqueService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueService.class);
+
+    private final ProdutoRepository produtoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int faixas;
+    private final long validadeReservaNanos;
+
+    // produtoId -> estoque em memória; produto fora do mapa não tem controle de estoque
+    private final Map<Long, Estoque> estoques = new ConcurrentHashMap<>();
+    // (usuário, produto) -> reserva ativa
+    private final Map<ChaveReserva, Reserva> reservas = new ConcurrentHashMap<>();
+    // Serializa gravação e redefinição de estoque (operações periódicas/administrativas, fora do caminho da reserva)
+    private final ReentrantLock gravacao = new ReentrantLock();
+
+    public EstoqueService(ProdutoRepository produtoRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${cafeteria.estoque.faixas:8}") int faixas,
+                          @Value("${cafeteria.estoque.validade-reserva-minutos:15}") long validadeReservaMinutos) {
+        this.produtoRepository = produtoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.faixas = faixas;
+        this.validadeReservaNanos = Duration.ofMinutes(validadeReservaMinutos).toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        List<EstoqueProduto> gravados = produtoRepository.listarEstoques();
+        for (EstoqueProduto gravado : gravados) {
+            registrar(gravado.produtoId(), gravado.estoque());
+        }
+        log.info("Estoque carregado: {} produto(s) com controle", gravados.size());
+    }
+
+    /*
+     * Define a reserva do usuário para o produto em 'quantidade' unidades (a quantidade no carrinho),
+     * retirando ou devolvendo só a diferença, e renova a validade.
+     * Lança exceção, sem alterar a reserva, se não houver unidades suficientes.
+     */
+    public void reservar(Long usuarioId, Long produtoId, int quantidade) {
+        Estoque estoque = estoques.get(produtoId);
+        if (estoque == null) {
+            return;
+        }
+        long expiraEm = System.nanoTime() + validadeReservaNanos;
+        reservas.compute(new ChaveReserva(usuarioId, produtoId), (chave, atual) -> {
+            int anterior = atual != null ? atual.quantidade() : 0;
+            int diferenca = Math.max(quantidade, 0) - anterior;
+            if (diferenca > 0 && !estoque.disponivel.retirar(diferenca)) {
+                throw new RegraNegocioException("Estoque insuficiente: no máximo " + (anterior + estoque.disponivel.disponivel())
+                        + " unidade(s) deste produto");
+            }
+            estoque.disponivel.devolver(-diferenca);
+            estoque.reservado.add(diferenca);
+            return quantidade > 0 ? new Reserva(quantidade, expiraEm) : null;
+        });
+    }
+
+    // Devolve ao estoque a reserva do usuário para o produto (item removido do carrinho)
+    public void liberar(Long usuarioId, Long produtoId) {
+        Reserva reserva = reservas.remove(new ChaveReserva(usuarioId, produtoId));
+        if (reserva != null) {
+            devolver(produtoId, reserva.quantidade());
+        }
+    }
+
+    // Devolve todas as reservas do usuário (carrinho limpo)
+    public void liberarTodas(Long usuarioId) {
+        for (Map.Entry<ChaveReserva, Reserva> entrada : reservas.entrySet()) {
+            if (entrada.getKey().usuarioId().equals(usuarioId) && reservas.remove(entrada.getKey(), entrada.getValue())) {
+                devolver(entrada.getKey().produtoId(), entrada.getValue().quantidade());
+            }
+        }
+    }
+
+    /*
+     * Confirma a compra dos itens (produtoId -> quantidade) na transação corrente.
+     * Reservas expiradas são refeitas aqui; se faltar estoque, lança exceção e a transação é desfeita.
+     * As unidades só deixam de ser reserva depois do commit.
+     */
+    public void confirmar(Long usuarioId, Map<Long, Integer> itens) {
+        Map<Long, Integer> controlados = new LinkedHashMap<>();
+        itens.forEach((produtoId, quantidade) -> {
+            if (estoques.containsKey(produtoId)) {
+                reservar(usuarioId, produtoId, quantidade);
+                controlados.put(produtoId, quantidade);
+            }
+        });
+        if (controlados.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrarVendas(usuarioId, controlados);
+                }
+            });
+        } else {
+            registrarVendas(usuarioId, controlados);
+        }
+    }
+
+    // Devolve ao estoque as reservas vencidas
+    @Scheduled(fixedDelayString = "${cafeteria.estoque.varredura-reservas-ms:30000}")
+    public void expirarReservas() {
+        long agora = System.nanoTime();
+        for (Map.Entry<ChaveReserva, Reserva> entrada : reservas.entrySet()) {
+            Reserva reserva = entrada.getValue();
+            if (agora - reserva.expiraEm() >= 0 && reservas.remove(entrada.getKey(), reserva)) {
+                devolver(entrada.getKey().produtoId(), reserva.quantidade());
+            }
+        }
+    }
+
+    /*
+     * Baixa no banco as vendas acumuladas desde a última gravação, tudo em uma transação.
+     * Se a gravação falhar, as quantidades voltam para a próxima tentativa.
+     */
+    @Scheduled(fixedDelayString = "${cafeteria.estoque.gravacao-ms:5000}")
+    public void gravarPendentes() {
+        gravacao.lock();
+        try {
+            Map<Long, Integer> baixas = new LinkedHashMap<>();
+            estoques.forEach((produtoId, estoque) -> {
+                int vendidas = (int) estoque.vendasPendentes.sum();
+                if (vendidas > 0) {
+                    // Subtrai exatamente o que foi lido: vendas que chegarem agora ficam para a próxima
+                    estoque.vendasPendentes.add(-vendidas);
+                    baixas.put(produtoId, vendidas);
+                }
+            });
+            if (baixas.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(tx -> baixas.forEach(produtoRepository::baixarEstoque));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar baixas de estoque de {} produto(s); nova tentativa na próxima gravação",
+                        baixas.size(), e);
+                baixas.forEach((produtoId, vendidas) -> {
+                    Estoque estoque = estoques.get(produtoId);
+                    if (estoque != null) {
+                        estoque.vendasPendentes.add(vendidas);
+                    }
+                });
+            }
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravarPendentes();
+    }
+
+    /*
+     * Nova contagem do estoque de um produto (reposição ou inventário). O banco recebe 'quantidade' e
+     * as unidades disponíveis em memória passam a ser quantidade - reservadas - vendidas ainda não gravadas.
+     * null remove o controle de estoque do produto.
+     */
+    public void definirEstoque(Long produtoId, Integer quantidade) {
+        if (quantidade != null && quantidade < 0) {
+            throw new RegraNegocioException("Estoque não pode ser negativo");
+        }
+        gravacao.lock();
+        try {
+            gravarPendentes();
+            Integer anterior = transactionTemplate.execute(tx -> {
+                Integer gravado = produtoRepository.buscarEstoque(produtoId).orElse(null);
+                if (produtoRepository.definirEstoque(produtoId, quantidade) == 0) {
+                    throw new NaoEncontradoException("Produto não encontrado com ID: " + produtoId);
+                }
+                return gravado;
+            });
+
+            Estoque estoque = estoques.get(produtoId);
+            if (quantidade == null) {
+                remover(produtoId);
+            } else if (estoque == null || anterior == null) {
+                registrar(produtoId, quantidade);
+            } else if (quantidade > anterior) {
+                estoque.disponivel.devolver(quantidade - anterior);
+            } else {
+                // Unidades já reservadas não são tomadas de volta: o disponível só vai até zero
+                estoque.disponivel.retirarAte(anterior - quantidade);
+            }
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    // Produto excluído: tira do controle (reservas dele deixam de valer)
+    public void remover(Long produtoId) {
+        estoques.remove(produtoId);
+        reservas.keySet().removeIf(chave -> chave.produtoId().equals(produtoId));
+    }
+
+    // Produtos com controle de estoque e nenhuma unidade disponível
+    public Set<Long> esgotados() {
+        return estoques.entrySet().stream()
+                .filter(e -> e.getValue().disponivel.disponivel() == 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public List<EstoqueSituacao> situacao() {
+        List<EstoqueSituacao> situacoes = new ArrayList<>();
+        estoques.forEach((produtoId, estoque) -> situacoes.add(situacao(produtoId, estoque)));
+        situacoes.sort(Comparator.comparing(EstoqueSituacao::produtoId));
+        return situacoes;
+    }
+
+    // null se o produto não tem controle de estoque
+    public EstoqueSituacao situacao(Long produtoId) {
+        Estoque estoque = estoques.get(produtoId);
+        return estoque != null ? situacao(produtoId, estoque) : null;
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Inclui (ou substitui) o produto no controle com 'quantidade' unidades disponíveis
+    void registrar(Long produtoId, int quantidade) {
+        estoques.put(produtoId, new Estoque(new ContadorEstoque(faixas, quantidade)));
+    }
+
+    // Reserva convertida em venda: sai da reserva (só a quantidade comprada) e entra na próxima gravação
+    private void registrarVendas(Long usuarioId, Map<Long, Integer> vendidos) {
+        vendidos.forEach((produtoId, quantidade) -> {
+            Estoque estoque = estoques.get(produtoId);
+            if (estoque == null) {
+                return;
+            }
+            int[] convertida = new int[1];
+            reservas.computeIfPresent(new ChaveReserva(usuarioId, produtoId), (chave, reserva) -> {
+                convertida[0] = Math.min(reserva.quantidade(), quantidade);
+                estoque.reservado.add(-convertida[0]);
+                int restante = reserva.quantidade() - convertida[0];
+                return restante > 0 ? new Reserva(restante, reserva.expiraEm()) : null;
+            });
+            // Reserva liberada no meio da finalização (carrinho limpo em outra aba): a venda já foi gravada, tira do disponível
+            int faltante = quantidade - convertida[0];
+            if (faltante > 0 && estoque.disponivel.retirarAte(faltante) < faltante) {
+                log.warn("Venda do produto {} confirmada além do estoque disponível", produtoId);
+            }
+            estoque.vendasPendentes.add(quantidade);
+        });
+    }
+
+    private void devolver(Long produtoId, int quantidade) {
+        Estoque estoque = estoques.get(produtoId);
+        if (estoque != null) {
+            estoque.disponivel.devolver(quantidade);
+            estoque.reservado.add(-quantidade);
+        }
+    }
+
+    private static EstoqueSituacao situacao(Long produtoId, Estoque estoque) {
+        return new EstoqueSituacao(produtoId, estoque.disponivel.disponivel(), estoque.reservado.sum(),
+                estoque.vendasPendentes.sum());
+    }
+
+    private static final class Estoque {
+        private final ContadorEstoque disponivel;
+        private final LongAdder reservado = new LongAdder();
+        private final LongAdder vendasPendentes = new LongAdder();
+
+        private Estoque(ContadorEstoque disponivel) {
+            this.disponivel = disponivel;
+        }
+    }
+
+    private record ChaveReserva(Long usuarioId, Long produtoId) {
+    }
+
+    // expiraEm em System.nanoTime()
+    private record Reserva(int quantidade, long expiraEm) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.senac.cafeteria.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.PedidoItemExportacao;
+import com.senac.cafeteria.repositories.PedidoArquivadoRepository;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+ * Extração de pedidos e itens de um período para a contabilidade (CSV ou JSON Lines).
+ * Os dados são lidos por um cursor somente-avanço (Stream do repositório com fetch size fixo)
+ * e cada linha é escrita na saída assim que chega. A consulta devolve projeções, não entidades,
+ * então nada se acumula no contexto de persistência e a memória usada é a mesma para 100 ou
+ * 10 milhões de pedidos.
+ * Pedidos finalizados antigos podem já ter sido movidos para o arquivo (ArquivamentoPedidoService):
+ * cada período é lido das tabelas quentes e do arquivo por dois cursores na mesma ordem, intercalados
+ * linha a linha, então a extração de um mês antigo continua completa depois do arquivamento.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportacaoContabilService {
+
+    // Linhas escritas entre um flush e outro da saída
+    private static final int LINHAS_POR_FLUSH = 1000;
+
+    private static final String CABECALHO_CSV =
+            "pedido_id,data_criacao,status,total_pedido,usuario_id,produto_id,produto_nome,quantidade,preco_unitario,subtotal";
+
+    // Ordem dos dois cursores: data do pedido e id (os itens de um pedido vêm sempre juntos)
+    private static final Comparator<PedidoItemExportacao> ORDEM =
+            Comparator.comparing(PedidoItemExportacao::dataCriacao).thenComparing(PedidoItemExportacao::pedidoId);
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoArquivadoRepository pedidoArquivadoRepository;
+    private final ObjectMapper objectMapper;
+
+    // Uma linha por item de pedido, com os dados do pedido repetidos
+    @Transactional(readOnly = true)
+    public void exportarCsv(LocalDate inicio, LocalDate fim, OutputStream saida) throws IOException {
+        Writer writer = new OutputStreamWriter(saida, StandardCharsets.UTF_8);
+        writer.write(CABECALHO_CSV);
+        writer.write("\n");
+
+        try (Stream<PedidoItemExportacao> linhas = abrirCursor(inicio, fim)) {
+            int escritas = 0;
+            for (Iterator<PedidoItemExportacao> it = linhas.iterator(); it.hasNext(); ) {
+                PedidoItemExportacao linha = it.next();
+                writer.write(linha.pedidoId() + "," + linha.dataCriacao() + "," + linha.status() + ","
+                        + texto(linha.total()) + "," + texto(linha.usuarioId()) + "," + texto(linha.produtoId()) + ","
+                        + Csv.campo(linha.produtoNome()) + "," + texto(linha.quantidade()) + ","
+                        + texto(linha.precoUnitario()) + "," + texto(subtotal(linha)) + "\n");
+                if (++escritas % LINHAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /*
+     * Um objeto JSON por pedido e por linha, com os itens aninhados.
+     * Como o cursor vem ordenado por pedido, só os itens do pedido atual ficam em memória.
+     */
+    @Transactional(readOnly = true)
+    public void exportarJsonLines(LocalDate inicio, LocalDate fim, OutputStream saida) throws IOException {
+        try (Stream<PedidoItemExportacao> linhas = abrirCursor(inicio, fim);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+            // Separador padrão do Jackson entre valores raiz é espaço; JSON Lines usa quebra de linha
+            json.setRootValueSeparator(null);
+
+            Long pedidoAtual = null;
+            int escritas = 0;
+            for (Iterator<PedidoItemExportacao> it = linhas.iterator(); it.hasNext(); ) {
+                PedidoItemExportacao linha = it.next();
+                if (!linha.pedidoId().equals(pedidoAtual)) {
+                    if (pedidoAtual != null) {
+                        fecharPedido(json);
+                        if (++escritas % LINHAS_POR_FLUSH == 0) {
+                            json.flush();
+                        }
+                    }
+                    abrirPedido(json, linha);
+                    pedidoAtual = linha.pedidoId();
+                }
+                if (linha.produtoId() != null) {
+                    json.writeStartObject();
+                    json.writeNumberField("produtoId", linha.produtoId());
+                    json.writeStringField("nome", linha.produtoNome());
+                    json.writePOJOField("quantidade", linha.quantidade());
+                    json.writePOJOField("precoUnitario", linha.precoUnitario());
+                    json.writePOJOField("subtotal", subtotal(linha));
+                    json.writeEndObject();
+                }
+            }
+            if (pedidoAtual != null) {
+                fecharPedido(json);
+            }
+            json.flush();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /*
+     * Período fechado em dias: [inicio 00:00, fim + 1 dia 00:00), lido das tabelas quentes e do arquivo.
+     * O cursor quente é aberto primeiro: um lote arquivado entre as duas aberturas aparece nos dois
+     * (nunca em nenhum), e a intercalação descarta a cópia do arquivo.
+     */
+    private Stream<PedidoItemExportacao> abrirCursor(LocalDate inicio, LocalDate fim) {
+        Objects.requireNonNull(inicio, "inicio");
+        Objects.requireNonNull(fim, "fim");
+        if (fim.isBefore(inicio)) {
+            throw new RegraNegocioException("Data final anterior à data inicial");
+        }
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+        Stream<PedidoItemExportacao> quentes = pedidoRepository.streamItensPorPeriodo(de, ate);
+        Stream<PedidoItemExportacao> arquivados;
+        try {
+            arquivados = pedidoArquivadoRepository.streamItensPorPeriodo(de, ate);
+        } catch (RuntimeException e) {
+            quentes.close();
+            throw e;
+        }
+        Iterator<PedidoItemExportacao> intercalados = new Intercalacao(quentes.iterator(), arquivados.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(intercalados, Spliterator.ORDERED), false)
+                .onClose(quentes::close)
+                .onClose(arquivados::close);
+    }
+
+    /*
+     * Junta dois cursores já ordenados por ORDEM sem bufferizar: guarda só a próxima linha de cada um.
+     * Se o mesmo pedido vier dos dois lados, as linhas do arquivo desse pedido são puladas.
+     */
+    private static final class Intercalacao implements Iterator<PedidoItemExportacao> {
+
+        private final Iterator<PedidoItemExportacao> quentes;
+        private final Iterator<PedidoItemExportacao> arquivados;
+        private PedidoItemExportacao proximaQuente;
+        private PedidoItemExportacao proximaArquivada;
+
+        Intercalacao(Iterator<PedidoItemExportacao> quentes, Iterator<PedidoItemExportacao> arquivados) {
+            this.quentes = quentes;
+            this.arquivados = arquivados;
+            this.proximaQuente = avancar(quentes);
+            this.proximaArquivada = avancar(arquivados);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximaQuente != null || proximaArquivada != null;
+        }
+
+        @Override
+        public PedidoItemExportacao next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (proximaQuente != null && proximaArquivada != null
+                    && proximaQuente.pedidoId().equals(proximaArquivada.pedidoId())) {
+                proximaArquivada = avancar(arquivados);
+            }
+            PedidoItemExportacao linha;
+            if (proximaArquivada == null || (proximaQuente != null && ORDEM.compare(proximaQuente, proximaArquivada) <= 0)) {
+                linha = proximaQuente;
+                proximaQuente = avancar(quentes);
+            } else {
+                linha = proximaArquivada;
+                proximaArquivada = avancar(arquivados);
+            }
+            return linha;
+        }
+
+        private static PedidoItemExportacao avancar(Iterator<PedidoItemExportacao> cursor) {
+            return cursor.hasNext() ? cursor.next() : null;
+        }
+    }
+
+    private static void abrirPedido(JsonGenerator json, PedidoItemExportacao linha) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", linha.pedidoId());
+        json.writePOJOField("usuarioId", linha.usuarioId());
+        json.writePOJOField("dataCriacao", linha.dataCriacao());
+        json.writePOJOField("status", linha.status());
+        json.writePOJOField("total", linha.total());
+        json.writeArrayFieldStart("itens");
+    }
+
+    private static void fecharPedido(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static BigDecimal subtotal(PedidoItemExportacao linha) {
+        if (linha.precoUnitario() == null || linha.quantidade() == null) {
+            return null;
+        }
+        return linha.precoUnitario().multiply(BigDecimal.valueOf(linha.quantidade()));
+    }
+
+    private static String texto(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        return valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+    }
+}
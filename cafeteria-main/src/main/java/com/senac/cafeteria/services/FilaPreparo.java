@@ -0,0 +1,235 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.PedidoPreparo;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+ * Estrutura da fila de preparo da cozinha e das estações de barista.
+ * Não é thread-safe: o FilaPreparoService serializa o acesso com um lock.
+ *
+ * Prioridade: sai primeiro o pedido de menor chave, calculada uma única vez na entrada:
+ *   chave = criação - crédito do tipo de entrega + pesoCusto x custo de preparo
+ * Como a espera cresce igual para todos, ordenar por essa chave fixa equivale a ordenar por
+ * (espera + crédito - pesoCusto x custo) a qualquer momento, sem recalcular prioridades.
+ * Assim inserir, remover e retirar o próximo custam O(log n) (TreeSet + índice por id), e um
+ * pedido demorado só é ultrapassado por pedidos criados até pesoCusto x custo depois dele.
+ */
+final class FilaPreparo {
+
+    record Entrada(Long pedidoId, LocalDateTime dataCriacao, TipoEntrega tipoEntrega, long custoSegundos, long chave) {
+    }
+
+    // Pedido em preparo; estacao null quando foi para PREPARANDO por fora da fila (ex.: lista de pedidos)
+    record EmPreparo(Entrada entrada, Integer estacao) {
+    }
+
+    // Situação de uma estação: pedidos em preparo, segundos de preparo somados e total já atribuído
+    record SituacaoEstacao(int numero, List<Long> pedidos, long segundosEmPreparo, long atribuidos) {
+    }
+
+    private static final class Estacao {
+        final int numero;
+        final Set<Long> pedidos = new LinkedHashSet<>();
+        long segundosEmPreparo;
+        long atribuidos;
+
+        Estacao(int numero) {
+            this.numero = numero;
+        }
+    }
+
+    private static final Comparator<Entrada> ORDEM = Comparator.comparingLong(Entrada::chave)
+            .thenComparing(Entrada::pedidoId);
+
+    private final TreeSet<Entrada> fila = new TreeSet<>(ORDEM);
+    private final Map<Long, Entrada> aguardando = new HashMap<>();
+    private final Map<Long, EmPreparo> emPreparo = new HashMap<>();
+    private final List<Estacao> estacoes = new ArrayList<>();
+    private final int capacidadeEstacao;
+    private final Map<TipoEntrega, Long> creditoMillis = new EnumMap<>(TipoEntrega.class);
+    private final double pesoCusto;
+
+    FilaPreparo(int quantidadeEstacoes, int capacidadeEstacao, Map<TipoEntrega, Duration> credito, double pesoCusto) {
+        if (quantidadeEstacoes < 1 || capacidadeEstacao < 1) {
+            throw new IllegalArgumentException("É preciso ao menos uma estação com capacidade para um pedido");
+        }
+        for (int numero = 1; numero <= quantidadeEstacoes; numero++) {
+            estacoes.add(new Estacao(numero));
+        }
+        this.capacidadeEstacao = capacidadeEstacao;
+        for (TipoEntrega tipo : TipoEntrega.values()) {
+            creditoMillis.put(tipo, credito.getOrDefault(tipo, Duration.ZERO).toMillis());
+        }
+        this.pesoCusto = pesoCusto;
+    }
+
+    // Inclui um pedido aberto (PREPARANDO entra direto como em preparo); false se já era acompanhado
+    boolean adicionar(PedidoPreparo pedido) {
+        if (aguardando.containsKey(pedido.pedidoId()) || emPreparo.containsKey(pedido.pedidoId())) {
+            return false;
+        }
+        Entrada entrada = criarEntrada(pedido);
+        if (pedido.status() == StatusPedido.PREPARANDO) {
+            emPreparo.put(entrada.pedidoId(), new EmPreparo(entrada, null));
+        } else {
+            fila.add(entrada);
+            aguardando.put(entrada.pedidoId(), entrada);
+        }
+        return true;
+    }
+
+    /*
+     * Retira o próximo pedido da fila para uma estação. Sem estação informada, escolhe a menos
+     * carregada: menos segundos de preparo em andamento e, no empate, a que recebeu menos pedidos.
+     * Retorna null se a fila está vazia ou não há estação livre.
+     */
+    EmPreparo atribuir(Integer numeroEstacao) {
+        Estacao estacao;
+        if (numeroEstacao != null) {
+            estacao = estacao(numeroEstacao);
+            if (estacao.pedidos.size() >= capacidadeEstacao) {
+                throw new RegraNegocioException("Estação " + numeroEstacao + " já tem " + capacidadeEstacao + " pedido(s) em preparo");
+            }
+        } else {
+            estacao = estacaoMenosCarregada();
+        }
+        if (estacao == null || fila.isEmpty()) {
+            return null;
+        }
+
+        Entrada entrada = fila.pollFirst();
+        aguardando.remove(entrada.pedidoId());
+        estacao.pedidos.add(entrada.pedidoId());
+        estacao.segundosEmPreparo += entrada.custoSegundos();
+        estacao.atribuidos++;
+        EmPreparo atribuido = new EmPreparo(entrada, estacao.numero);
+        emPreparo.put(entrada.pedidoId(), atribuido);
+        return atribuido;
+    }
+
+    // Pedido foi para PREPARANDO por fora da fila: sai da espera, sem estação
+    void marcarEmPreparo(Long pedidoId) {
+        Entrada entrada = aguardando.remove(pedidoId);
+        if (entrada != null) {
+            fila.remove(entrada);
+            emPreparo.put(pedidoId, new EmPreparo(entrada, null));
+        }
+    }
+
+    // Tira o pedido da fila e das estações (pronto, entregue, cancelado ou atribuição que falhou no banco)
+    boolean remover(Long pedidoId) {
+        Entrada entrada = aguardando.remove(pedidoId);
+        if (entrada != null) {
+            fila.remove(entrada);
+            return true;
+        }
+        EmPreparo preparo = emPreparo.remove(pedidoId);
+        if (preparo == null) {
+            return false;
+        }
+        if (preparo.estacao() != null) {
+            Estacao estacao = estacao(preparo.estacao());
+            estacao.pedidos.remove(pedidoId);
+            estacao.segundosEmPreparo -= preparo.entrada().custoSegundos();
+        }
+        return true;
+    }
+
+    /*
+     * Substitui o conteúdo pelos pedidos abertos lidos do banco. Pedidos que continuam em
+     * PREPARANDO mantêm a estação a que já estavam atribuídos.
+     */
+    void reconstruir(List<PedidoPreparo> abertos) {
+        Map<Long, Integer> estacaoAnterior = new HashMap<>();
+        emPreparo.forEach((id, preparo) -> {
+            if (preparo.estacao() != null) {
+                estacaoAnterior.put(id, preparo.estacao());
+            }
+        });
+
+        fila.clear();
+        aguardando.clear();
+        emPreparo.clear();
+        for (Estacao estacao : estacoes) {
+            estacao.pedidos.clear();
+            estacao.segundosEmPreparo = 0;
+        }
+
+        for (PedidoPreparo pedido : abertos) {
+            Integer numero = pedido.status() == StatusPedido.PREPARANDO ? estacaoAnterior.get(pedido.pedidoId()) : null;
+            if (numero == null) {
+                adicionar(pedido);
+                continue;
+            }
+            Entrada entrada = criarEntrada(pedido);
+            Estacao estacao = estacao(numero);
+            estacao.pedidos.add(entrada.pedidoId());
+            estacao.segundosEmPreparo += entrada.custoSegundos();
+            emPreparo.put(entrada.pedidoId(), new EmPreparo(entrada, numero));
+        }
+    }
+
+    // Os primeiros 'limite' pedidos da fila, na ordem em que serão atribuídos
+    List<Entrada> primeiros(int limite) {
+        return fila.stream().limit(limite).toList();
+    }
+
+    int tamanho() {
+        return fila.size();
+    }
+
+    int quantidadeEmPreparo() {
+        return emPreparo.size();
+    }
+
+    List<SituacaoEstacao> situacaoEstacoes() {
+        return estacoes.stream()
+                .map(e -> new SituacaoEstacao(e.numero, List.copyOf(e.pedidos), e.segundosEmPreparo, e.atribuidos))
+                .toList();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Entrada criarEntrada(PedidoPreparo pedido) {
+        long custo = pedido.custoPreparoSegundos() != null ? pedido.custoPreparoSegundos() : 0;
+        long criacao = pedido.dataCriacao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long chave = criacao - creditoMillis.get(pedido.tipoEntrega()) + Math.round(pesoCusto * custo * 1000);
+        return new Entrada(pedido.pedidoId(), pedido.dataCriacao(), pedido.tipoEntrega(), custo, chave);
+    }
+
+    private Estacao estacao(int numero) {
+        if (numero < 1 || numero > estacoes.size()) {
+            throw new RegraNegocioException("Estação inexistente: " + numero);
+        }
+        return estacoes.get(numero - 1);
+    }
+
+    private Estacao estacaoMenosCarregada() {
+        Estacao escolhida = null;
+        for (Estacao estacao : estacoes) {
+            if (estacao.pedidos.size() >= capacidadeEstacao) {
+                continue;
+            }
+            if (escolhida == null
+                    || estacao.segundosEmPreparo < escolhida.segundosEmPreparo
+                    || (estacao.segundosEmPreparo == escolhida.segundosEmPreparo && estacao.atribuidos < escolhida.atribuidos)) {
+                escolhida = estacao;
+            }
+        }
+        return escolhida;
+    }
+}
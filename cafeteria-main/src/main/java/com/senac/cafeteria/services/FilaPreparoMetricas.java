@@ -0,0 +1,132 @@
+package com.senac.cafeteria.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Métricas da fila de preparo: profundidade (atual e máxima), atribuições e o tempo da criação
+ * do pedido até ficar PRONTO. Os percentis saem de uma janela com as últimas AMOSTRAS medições,
+ * então refletem o movimento recente da cozinha e não o histórico inteiro.
+ * No Micrometer (histórico completo, percentis pelo histograma) o tempo até PRONTO é um Timer
+ * e os contadores são lidos na coleta.
+ */
+@Component
+public class FilaPreparoMetricas implements MeterBinder {
+
+    private static final int AMOSTRAS = 1024;
+
+    private final LongAdder enfileirados = new LongAdder();
+    private final LongAdder atribuidos = new LongAdder();
+    // Atribuições desfeitas porque o pedido mudou de status antes do UPDATE (ex.: cancelado)
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder prontos = new LongAdder();
+    private final LongAccumulator profundidadeMaxima = new LongAccumulator(Math::max, 0);
+
+    // Janela circular dos tempos até PRONTO, em ms
+    private final long[] temposAtePronto = new long[AMOSTRAS];
+    private int proximaAmostra;
+    private int totalAmostras;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Nulo até o registry ser ligado (só na inicialização)
+    private volatile Timer tempoAteProntoTimer;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        contador(registry, "enfileirado", enfileirados);
+        contador(registry, "atribuido", atribuidos);
+        contador(registry, "descartado", descartados);
+        contador(registry, "pronto", prontos);
+        Gauge.builder("cafeteria.preparo.fila.profundidade.maxima", profundidadeMaxima, LongAccumulator::get)
+                .description("Maior profundidade da fila de preparo desde a inicialização")
+                .register(registry);
+        tempoAteProntoTimer = Timer.builder("cafeteria.preparo.tempo.ate.pronto")
+                .description("Tempo da criação do pedido até ficar PRONTO")
+                .register(registry);
+    }
+
+    private static void contador(MeterRegistry registry, String evento, LongAdder contador) {
+        FunctionCounter.builder("cafeteria.preparo.pedidos", contador, LongAdder::sum)
+                .description("Eventos da fila de preparo")
+                .tag("evento", evento)
+                .register(registry);
+    }
+
+    public void registrarEnfileirado(int profundidade) {
+        enfileirados.increment();
+        profundidadeMaxima.accumulate(profundidade);
+    }
+
+    public void registrarAtribuido() {
+        atribuidos.increment();
+    }
+
+    public void registrarDescartado() {
+        descartados.increment();
+    }
+
+    public void registrarPronto(Duration tempoAtePronto) {
+        prontos.increment();
+        Timer timer = tempoAteProntoTimer;
+        if (timer != null) {
+            timer.record(tempoAtePronto.isNegative() ? Duration.ZERO : tempoAtePronto);
+        }
+        lock.lock();
+        try {
+            temposAtePronto[proximaAmostra] = Math.max(0, tempoAtePronto.toMillis());
+            proximaAmostra = (proximaAmostra + 1) % AMOSTRAS;
+            totalAmostras = Math.min(totalAmostras + 1, AMOSTRAS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Resumo para o endpoint administrativo; a profundidade atual vem do FilaPreparoService
+    public Map<String, Object> resumo(int profundidade, int emPreparo) {
+        long[] amostras;
+        lock.lock();
+        try {
+            amostras = Arrays.copyOf(temposAtePronto, totalAmostras);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(amostras);
+
+        Map<String, Object> tempoAtePronto = new LinkedHashMap<>();
+        tempoAtePronto.put("amostras", amostras.length);
+        if (amostras.length > 0) {
+            tempoAtePronto.put("p50Ms", percentil(amostras, 50));
+            tempoAtePronto.put("p90Ms", percentil(amostras, 90));
+            tempoAtePronto.put("p99Ms", percentil(amostras, 99));
+            tempoAtePronto.put("maximoMs", amostras[amostras.length - 1]);
+        }
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("profundidade", profundidade);
+        resumo.put("profundidadeMaxima", profundidadeMaxima.get());
+        resumo.put("emPreparo", emPreparo);
+        resumo.put("enfileirados", enfileirados.sum());
+        resumo.put("atribuidos", atribuidos.sum());
+        resumo.put("descartados", descartados.sum());
+        resumo.put("prontos", prontos.sum());
+        resumo.put("tempoAtePronto", tempoAtePronto);
+        return resumo;
+    }
+
+    // Percentil pelo método do posto mais próximo sobre amostras ordenadas
+    private static long percentil(long[] ordenadas, int percentil) {
+        int posicao = (int) Math.ceil(percentil / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(0, posicao - 1)];
+    }
+}
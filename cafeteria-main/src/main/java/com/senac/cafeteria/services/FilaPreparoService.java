@@ -0,0 +1,298 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.AtribuicaoPreparo;
+import com.senac.cafeteria.dtos.FilaPreparoItem;
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.dtos.PedidoPreparo;
+import com.senac.cafeteria.dtos.TransicaoStatusResultado;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Fila de preparo da cozinha: mantém em memória os pedidos abertos ordenados por prioridade
+ * (tipo de entrega, tempo de espera e custo de preparo) e entrega o próximo pedido a cada
+ * estação de barista.
+ * - Na inicialização a fila é montada a partir do banco (pedidos PENDENTE, CONFIRMADO e PREPARANDO).
+ * - Depois acompanha o PedidoEventoBus: pedidos criados entram na fila; mudanças de status feitas
+ *   em qualquer tela (PREPARANDO, PRONTO, ENTREGUE, CANCELADO) tiram o pedido da fila ou da estação.
+ * - Se o consumidor de eventos ficar para trás e a assinatura transbordar, a fila é reconstruída.
+ */
+@Service
+public class FilaPreparoService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(FilaPreparoService.class);
+
+    private static final Set<StatusPedido> ABERTOS = EnumSet.of(StatusPedido.PENDENTE, StatusPedido.CONFIRMADO,
+            StatusPedido.PREPARANDO);
+    // Espera máxima por evento antes de conferir se a thread foi interrompida
+    private static final Duration ESPERA_EVENTO = Duration.ofSeconds(30);
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoService pedidoService;
+    private final PedidoEventoBus pedidoEventoBus;
+    private final FilaPreparoMetricas metricas;
+    private final int tempoPadraoSegundos;
+
+    private final FilaPreparo fila;
+    // Sem synchronized: a fila é acessada por virtual threads (requisições e consumidor de eventos)
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Thread consumidor;
+
+    public FilaPreparoService(PedidoRepository pedidoRepository,
+                              PedidoService pedidoService,
+                              PedidoEventoBus pedidoEventoBus,
+                              FilaPreparoMetricas metricas,
+                              @Value("${cafeteria.preparo.estacoes:2}") int estacoes,
+                              @Value("${cafeteria.preparo.pedidos-por-estacao:2}") int pedidosPorEstacao,
+                              @Value("${cafeteria.preparo.tempo-padrao-segundos:90}") int tempoPadraoSegundos,
+                              @Value("${cafeteria.preparo.credito-retirada-segundos:180}") long creditoRetirada,
+                              @Value("${cafeteria.preparo.credito-entrega-segundos:0}") long creditoEntrega,
+                              @Value("${cafeteria.preparo.peso-custo:0.5}") double pesoCusto) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoService = pedidoService;
+        this.pedidoEventoBus = pedidoEventoBus;
+        this.metricas = metricas;
+        this.tempoPadraoSegundos = tempoPadraoSegundos;
+        this.fila = new FilaPreparo(estacoes, pedidosPorEstacao, Map.of(
+                TipoEntrega.RETIRADA_LOJA, Duration.ofSeconds(creditoRetirada),
+                TipoEntrega.ENTREGA, Duration.ofSeconds(creditoEntrega)), pesoCusto);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        consumidor = Thread.ofVirtual().name("fila-preparo").start(this::acompanharEventos);
+    }
+
+    @PreDestroy
+    public void parar() {
+        Thread thread = consumidor;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /*
+     * Entrega o próximo pedido da fila a uma estação (ou à menos carregada, se estacao for null)
+     * e muda o pedido para PREPARANDO. Se o pedido mudou de status nesse meio tempo (ex.: cancelado),
+     * ele é descartado e o seguinte é tentado. Retorna null quando não há pedido ou estação livre.
+     * Se a mudança de status falhar (erro no banco, timeout), o pedido sai da estação e volta para a
+     * espera antes de a exceção seguir.
+     */
+    public AtribuicaoPreparo atribuirProximo(Integer estacao) {
+        while (true) {
+            FilaPreparo.EmPreparo atribuido;
+            int restantes;
+            lock.lock();
+            try {
+                atribuido = fila.atribuir(estacao);
+                restantes = fila.tamanho();
+            } finally {
+                lock.unlock();
+            }
+            if (atribuido == null) {
+                return null;
+            }
+
+            FilaPreparo.Entrada entrada = atribuido.entrada();
+            TransicaoStatusResultado resultado;
+            try {
+                resultado = pedidoService.transicionarStatus(entrada.pedidoId(), StatusPedido.PREPARANDO, null, null);
+            } catch (RuntimeException e) {
+                devolver(entrada);
+                throw e;
+            }
+            if (resultado.aplicada()) {
+                metricas.registrarAtribuido();
+                return new AtribuicaoPreparo(entrada.pedidoId(), atribuido.estacao(), entrada.tipoEntrega(),
+                        entrada.dataCriacao(), entrada.custoSegundos(), restantes);
+            }
+
+            comLock(() -> fila.remover(entrada.pedidoId()));
+            metricas.registrarDescartado();
+            log.debug("Pedido {} descartado da fila de preparo: {}", entrada.pedidoId(), resultado.resultado());
+        }
+    }
+
+    // Os primeiros pedidos da fila, na ordem em que serão atribuídos
+    public List<FilaPreparoItem> listar(int limite) {
+        List<FilaPreparo.Entrada> primeiros;
+        lock.lock();
+        try {
+            primeiros = fila.primeiros(limite);
+        } finally {
+            lock.unlock();
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<FilaPreparoItem> itens = new ArrayList<>(primeiros.size());
+        for (FilaPreparo.Entrada entrada : primeiros) {
+            itens.add(new FilaPreparoItem(itens.size() + 1, entrada.pedidoId(), entrada.tipoEntrega(),
+                    entrada.dataCriacao(), entrada.custoSegundos(),
+                    Duration.between(entrada.dataCriacao(), agora).toSeconds()));
+        }
+        return itens;
+    }
+
+    // Profundidade atual da fila e pedidos em preparo, lidos na coleta das métricas
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cafeteria.preparo.fila", this, servico -> servico.contarSobLock(false))
+                .description("Pedidos na fila de preparo por estado")
+                .tag("estado", "aguardando")
+                .register(registry);
+        Gauge.builder("cafeteria.preparo.fila", this, servico -> servico.contarSobLock(true))
+                .tag("estado", "em_preparo")
+                .register(registry);
+    }
+
+    private int contarSobLock(boolean emPreparo) {
+        lock.lock();
+        try {
+            return emPreparo ? fila.quantidadeEmPreparo() : fila.tamanho();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Métricas da fila mais a situação de cada estação
+    public Map<String, Object> resumo() {
+        int profundidade;
+        int emPreparo;
+        List<FilaPreparo.SituacaoEstacao> estacoes;
+        lock.lock();
+        try {
+            profundidade = fila.tamanho();
+            emPreparo = fila.quantidadeEmPreparo();
+            estacoes = fila.situacaoEstacoes();
+        } finally {
+            lock.unlock();
+        }
+
+        Map<String, Object> resumo = new LinkedHashMap<>(metricas.resumo(profundidade, emPreparo));
+        resumo.put("estacoes", estacoes.stream().map(e -> Map.of(
+                "estacao", e.numero(),
+                "pedidos", e.pedidos(),
+                "segundosEmPreparo", e.segundosEmPreparo(),
+                "atribuidos", e.atribuidos())).toList());
+        return resumo;
+    }
+
+    // Remonta a fila a partir do banco (pedidos em preparo mantêm a estação)
+    public void reconstruir() {
+        List<PedidoPreparo> abertos = pedidoRepository.listarParaPreparo(ABERTOS, tempoPadraoSegundos);
+        comLock(() -> fila.reconstruir(abertos));
+        log.info("Fila de preparo reconstruída: {} pedido(s) abertos", abertos.size());
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /*
+     * Loop do consumidor: o id do último evento é lido antes da leitura do banco, então eventos
+     * publicados durante a reconstrução são reaplicados pela assinatura (as operações são idempotentes).
+     */
+    private void acompanharEventos() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long ultimoEventoId = pedidoEventoBus.ultimoEventoId();
+            try {
+                reconstruir();
+            } catch (RuntimeException e) {
+                log.error("Falha ao reconstruir a fila de preparo", e);
+            }
+
+            try (PedidoEventoBus.Assinatura assinatura = pedidoEventoBus.assinar(ultimoEventoId, evento -> true)) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    PedidoEvento evento = assinatura.transbordou() ? assinatura.proximo() : assinatura.proximo(ESPERA_EVENTO);
+                    if (evento != null) {
+                        aplicar(evento);
+                    } else if (assinatura.transbordou()) {
+                        log.warn("Fila de preparo perdeu eventos de pedido; reconstruindo a partir do banco");
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void aplicar(PedidoEvento evento) {
+        try {
+            switch (evento.tipo()) {
+                case CRIADO -> pedidoRepository.buscarParaPreparo(evento.pedidoId(), tempoPadraoSegundos)
+                        .filter(pedido -> ABERTOS.contains(pedido.status()))
+                        .ifPresent(this::enfileirar);
+                case STATUS_ALTERADO -> aplicarStatus(evento);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar evento {} do pedido {} na fila de preparo", evento.id(), evento.pedidoId(), e);
+        }
+    }
+
+    private void aplicarStatus(PedidoEvento evento) {
+        switch (evento.status()) {
+            case PREPARANDO -> comLock(() -> fila.marcarEmPreparo(evento.pedidoId()));
+            case PRONTO -> {
+                comLock(() -> fila.remover(evento.pedidoId()));
+                if (evento.dataCriacao() != null) {
+                    metricas.registrarPronto(Duration.between(
+                            evento.dataCriacao().atZone(ZoneId.systemDefault()).toInstant(), evento.momento()));
+                }
+            }
+            case ENTREGUE, CANCELADO -> comLock(() -> fila.remover(evento.pedidoId()));
+            // PENDENTE -> CONFIRMADO não muda a prioridade
+            default -> {
+            }
+        }
+    }
+
+    // Desfaz uma atribuição que não chegou ao banco: libera a vaga na estação e recoloca o pedido na espera
+    private void devolver(FilaPreparo.Entrada entrada) {
+        comLock(() -> {
+            fila.remover(entrada.pedidoId());
+            fila.adicionar(new PedidoPreparo(entrada.pedidoId(), entrada.dataCriacao(), entrada.tipoEntrega(),
+                    StatusPedido.PENDENTE, entrada.custoSegundos()));
+        });
+    }
+
+    private void enfileirar(PedidoPreparo pedido) {
+        lock.lock();
+        try {
+            if (fila.adicionar(pedido)) {
+                metricas.registrarEnfileirado(fila.tamanho());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void comLock(Runnable acao) {
+        lock.lock();
+        try {
+            acao.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
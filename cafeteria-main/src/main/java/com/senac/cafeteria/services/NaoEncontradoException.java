@@ -0,0 +1,12 @@
+package com.senac.cafeteria.services;
+
+/*
+ * Registro pedido pelo cliente (produto, pedido, gravação...) que não existe.
+ * A API responde 404 (ApiExceptionHandler); as páginas tratam como qualquer outro erro de negócio.
+ */
+public class NaoEncontradoException extends RuntimeException {
+
+    public NaoEncontradoException(String mensagem) {
+        super(mensagem);
+    }
+}
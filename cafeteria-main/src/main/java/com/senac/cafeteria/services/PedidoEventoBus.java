@@ -0,0 +1,233 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.PedidoEvento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/*
+ * Barramento em memória (fan-out) dos eventos de pedido: criação e mudança de status.
+ * - Cada evento recebe um id sequencial e fica num histórico circular dos últimos N eventos,
+ *   usado para retomar uma transmissão a partir do Last-Event-ID.
+ * - Cada assinante tem uma fila limitada; quem não consome a tempo (fila cheia) é desligado
+ *   em vez de segurar memória ou atrasar os demais, e retoma pelo histórico ao reconectar.
+ * - Publicações feitas dentro de uma transação só são distribuídas após o commit.
+ * - Assinaturas de um único cliente ficam indexadas pelo id do usuário, então cada evento
+ *   só é oferecido ao painel e às conexões do dono do pedido, mesmo com dezenas de milhares
+ *   de clientes conectados.
+ */
+@Service
+public class PedidoEventoBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoEventoBus.class);
+
+    private final int tamanhoHistorico;
+    private final int tamanhoBuffer;
+
+    private final ArrayDeque<PedidoEvento> historico;
+    // Assinaturas que recebem eventos de todos os pedidos (painel dos baristas)
+    private final Set<Assinatura> assinaturas = ConcurrentHashMap.newKeySet();
+    // usuarioId -> assinaturas que recebem só os eventos dos pedidos desse usuário
+    private final Map<Long, Set<Assinatura>> assinaturasPorUsuario = new ConcurrentHashMap<>();
+    private long sequencia;
+
+    // Serializa publicação e assinatura: a ordem dos ids é a ordem de entrega (sem synchronized por causa das virtual threads)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PedidoEventoBus(@Value("${cafeteria.eventos.historico:1000}") int tamanhoHistorico,
+                           @Value("${cafeteria.eventos.buffer-assinante:256}") int tamanhoBuffer) {
+        this.tamanhoHistorico = tamanhoHistorico;
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.historico = new ArrayDeque<>(tamanhoHistorico);
+    }
+
+    public void publicar(PedidoEvento evento) {
+        publicar(List.of(evento));
+    }
+
+    // Publica um lote de eventos com ids consecutivos, após o commit da transação corrente (se houver)
+    public void publicar(List<PedidoEvento> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    distribuir(eventos);
+                }
+            });
+        } else {
+            distribuir(eventos);
+        }
+    }
+
+    /*
+     * Cria uma assinatura. Se ultimoEventoId for informado, a fila já começa com os eventos
+     * posteriores a ele que ainda estão no histórico; se parte deles já saiu do histórico,
+     * a assinatura é marcada como incompleta e o cliente deve recarregar o estado completo.
+     */
+    public Assinatura assinar(Long ultimoEventoId, Predicate<PedidoEvento> filtro) {
+        return registrar(new Assinatura(null, filtro, tamanhoBuffer), ultimoEventoId);
+    }
+
+    // Assinatura dos eventos dos pedidos de um usuário (acompanhamento pelo cliente)
+    public Assinatura assinarUsuario(Long usuarioId, Long ultimoEventoId) {
+        return registrar(new Assinatura(usuarioId, evento -> true, tamanhoBuffer), ultimoEventoId);
+    }
+
+    // Id do último evento publicado (a página renderizada usa como ponto de partida da transmissão)
+    public long ultimoEventoId() {
+        lock.lock();
+        try {
+            return sequencia;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int totalAssinantes() {
+        return assinaturas.size() + assinaturasPorUsuario.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    private Assinatura registrar(Assinatura assinatura, Long ultimoEventoId) {
+        lock.lock();
+        try {
+            if (ultimoEventoId != null && ultimoEventoId > sequencia) {
+                // Id de antes de um reinício da aplicação: a sequência recomeçou
+                assinatura.historicoIncompleto = true;
+            } else if (ultimoEventoId != null && ultimoEventoId < sequencia) {
+                long primeiroDisponivel = historico.isEmpty() ? sequencia + 1 : historico.peekFirst().id();
+                assinatura.historicoIncompleto = ultimoEventoId < primeiroDisponivel - 1;
+                for (PedidoEvento evento : historico) {
+                    if (evento.id() > ultimoEventoId) {
+                        assinatura.entregar(evento);
+                    }
+                }
+            }
+            if (assinatura.usuarioId == null) {
+                assinaturas.add(assinatura);
+            } else {
+                assinaturasPorUsuario.computeIfAbsent(assinatura.usuarioId, id -> ConcurrentHashMap.newKeySet()).add(assinatura);
+            }
+            return assinatura;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void distribuir(List<PedidoEvento> eventos) {
+        lock.lock();
+        try {
+            for (PedidoEvento evento : eventos) {
+                PedidoEvento numerado = evento.comId(++sequencia);
+                if (historico.size() == tamanhoHistorico) {
+                    historico.pollFirst();
+                }
+                historico.addLast(numerado);
+
+                entregar(assinaturas, numerado);
+                Set<Assinatura> doUsuario = numerado.usuarioId() != null ? assinaturasPorUsuario.get(numerado.usuarioId()) : null;
+                if (doUsuario != null) {
+                    entregar(doUsuario, numerado);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void entregar(Set<Assinatura> destino, PedidoEvento evento) {
+        for (Assinatura assinatura : destino) {
+            if (!assinatura.entregar(evento)) {
+                assinatura.close();
+                log.warn("Assinante de eventos de pedido desligado: fila cheia ({} eventos)", tamanhoBuffer);
+            }
+        }
+    }
+
+    /*
+     * Assinatura de um consumidor. A entrega (feita pelo barramento) nunca bloqueia: se a
+     * fila estiver cheia a assinatura é marcada como transbordada e para de receber eventos.
+     */
+    public final class Assinatura implements AutoCloseable {
+
+        private final Long usuarioId;
+        private final Predicate<PedidoEvento> filtro;
+        // Fila encadeada: só ocupa memória com eventos pendentes (conexão ociosa fica barata)
+        private final BlockingQueue<PedidoEvento> fila;
+        private volatile boolean transbordou;
+        private boolean historicoIncompleto;
+
+        private Assinatura(Long usuarioId, Predicate<PedidoEvento> filtro, int capacidade) {
+            this.usuarioId = usuarioId;
+            this.filtro = filtro;
+            this.fila = new LinkedBlockingQueue<>(capacidade);
+        }
+
+        // Retorna false quando a fila estourou e a assinatura deve ser descartada
+        private boolean entregar(PedidoEvento evento) {
+            if (transbordou) {
+                return false;
+            }
+            if (usuarioId != null && !usuarioId.equals(evento.usuarioId())) {
+                return true;
+            }
+            if (filtro.test(evento) && !fila.offer(evento)) {
+                transbordou = true;
+                return false;
+            }
+            return true;
+        }
+
+        // Próximo evento da fila, esperando até 'espera'; null se nada chegou no período
+        public PedidoEvento proximo(Duration espera) throws InterruptedException {
+            return fila.poll(espera.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        // Próximo evento sem esperar; null se a fila está vazia
+        public PedidoEvento proximo() {
+            return fila.poll();
+        }
+
+        // Fila estourou: depois de consumir o que restou, o cliente deve reconectar
+        public boolean transbordou() {
+            return transbordou;
+        }
+
+        public boolean historicoIncompleto() {
+            return historicoIncompleto;
+        }
+
+        @Override
+        public void close() {
+            if (usuarioId == null) {
+                assinaturas.remove(this);
+                return;
+            }
+            // Remove o conjunto do usuário quando a última conexão dele fecha
+            assinaturasPorUsuario.computeIfPresent(usuarioId, (id, conjunto) -> {
+                conjunto.remove(this);
+                return conjunto.isEmpty() ? null : conjunto;
+            });
+        }
+    }
+}
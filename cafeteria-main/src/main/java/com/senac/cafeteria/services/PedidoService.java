@@ -1,19 +1,62 @@
 package com.senac.cafeteria.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.ItemPedidoResponse;
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.dtos.PedidoResponse;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.dtos.TransicaoStatusLoteResultado;
+import com.senac.cafeteria.dtos.TransicaoStatusResultado;
 import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.PedidoArquivado;
 import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.ResultadoTransicao;
 import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.repositories.ItemPedidoRepository;
+import com.senac.cafeteria.repositories.PedidoArquivadoRepository;
 import com.senac.cafeteria.repositories.PedidoRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "cafeteria.servico")
 @RequiredArgsConstructor
 public class PedidoService {
 
+    // Quantidade de pedidos lidos do banco por lote na exportação
+    private static final int LOTE_EXPORTACAO = 500;
+    // Máximo de pedidos numa alteração de status em lote (tamanho da lista do IN)
+    private static final int LIMITE_LOTE_STATUS = 200;
+
     private final PedidoRepository pedidoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final PedidoArquivadoRepository pedidoArquivadoRepository;
+    private final ObjectMapper objectMapper;
+    private final PedidoEventoBus pedidoEventoBus;
+    private final TransactionTemplate transactionTemplate;
+    private final TransicaoStatusMetricas transicaoStatusMetricas;
 
     public List<Pedido> listarPedidosPorUsuario(Usuario usuario) {
         return pedidoRepository.findByUsuarioOrderByDataCriacaoDesc(usuario);
@@ -27,19 +70,276 @@ public class PedidoService {
         return pedidoRepository.findByStatusOrderByDataCriacaoDesc(status);
     }
 
+    /*
+     * Histórico arquivado do usuário (pedidos finalizados movidos pelo ArquivamentoPedidoService).
+     * Lido só quando o cliente pede: duas consultas, pedidos e itens, sem tocar nas tabelas quentes.
+     */
+    public List<PedidoResponse> listarArquivadosPorUsuario(Long usuarioId) {
+        List<PedidoArquivado> pedidos = pedidoArquivadoRepository.findByUsuarioIdOrderByDataCriacaoDesc(usuarioId);
+        if (pedidos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ItemPedidoResponse>> itensPorPedido = pedidoArquivadoRepository
+                .listarItensPorPedidos(pedidos.stream().map(PedidoArquivado::getId).toList()).stream()
+                .collect(Collectors.groupingBy(ItemPedidoResponse::pedidoId));
+        return pedidos.stream()
+                .map(p -> new PedidoResponse(p.getId(), p.getDataCriacao(), p.getStatus(), p.getVersao(), p.getTipoEntrega(),
+                        p.getTotal(), itensPorPedido.getOrDefault(p.getId(), List.of())))
+                .toList();
+    }
+
+    public long contarArquivados() {
+        return pedidoArquivadoRepository.count();
+    }
+
+    // Faturamento dos pedidos arquivados criados a partir de 'inicio' (null = todos)
+    public BigDecimal faturamentoArquivado(LocalDateTime inicio) {
+        return inicio == null ? pedidoArquivadoRepository.somarTotal() : pedidoArquivadoRepository.somarTotalDesde(inicio);
+    }
+
     public Pedido buscarPorId(Long id) {
         return pedidoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+                .orElseThrow(() -> new NaoEncontradoException("Pedido não encontrado"));
     }
 
- public void atualizarStatus(Long id, StatusPedido status) {
-    Pedido pedido = buscarPorId(id);
-    pedido.setStatus(status);
-    pedidoRepository.save(pedido);
-}
+    // Muda o status respeitando a tabela de transições; lança exceção se não foi possível
+    public void atualizarStatus(Long id, StatusPedido status) {
+        TransicaoStatusResultado resultado = transicionarStatus(id, status, null, null);
+        if (!resultado.aplicada()) {
+            throw resultado.resultado() == ResultadoTransicao.NAO_ENCONTRADO
+                    ? new NaoEncontradoException(mensagemFalha(resultado, status))
+                    : new RegraNegocioException(mensagemFalha(resultado, status));
+        }
+    }
+
+    /*
+     * Muda o status com um UPDATE condicional, sem carregar a entidade: só a projeção do pedido é lida antes.
+     * Com statusEsperado e versao, só altera se o pedido não mudou desde que foi lido;
+     * sem eles, vale a tabela de transições a partir do status atual no banco.
+     * A latência (até o commit) e o resultado vão para TransicaoStatusMetricas.
+     */
+    public TransicaoStatusResultado transicionarStatus(Long id, StatusPedido novo, StatusPedido statusEsperado, Long versao) {
+        long inicio = System.nanoTime();
+        TransicaoStatusResultado resultado = transactionTemplate.execute(tx -> aplicarTransicao(id, novo, statusEsperado, versao));
+        transicaoStatusMetricas.registrar(novo, resultado.resultado(), System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /*
+     * Aplica o mesmo status a vários pedidos numa única transação, com um UPDATE por status de origem.
+     * Cada id recebe seu próprio resultado (APLICADA, TRANSICAO_INVALIDA, CONFLITO ou NAO_ENCONTRADO)
+     * e os eventos dos pedidos alterados são publicados juntos, após o commit.
+     */
+    public TransicaoStatusLoteResultado transicionarStatusEmLote(List<Long> ids, StatusPedido novo) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RegraNegocioException("Informe ao menos um pedido");
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > LIMITE_LOTE_STATUS) {
+            throw new RegraNegocioException("Máximo de " + LIMITE_LOTE_STATUS + " pedidos por alteração em lote");
+        }
+
+        long inicio = System.nanoTime();
+        List<TransicaoStatusResultado> resultados = transactionTemplate.execute(tx -> aplicarTransicaoEmLote(distintos, novo));
+        transicaoStatusMetricas.registrarLote(novo, resultados.stream().map(TransicaoStatusResultado::resultado).toList(),
+                System.nanoTime() - inicio);
+
+        int aplicadas = (int) resultados.stream().filter(TransicaoStatusResultado::aplicada).count();
+        return new TransicaoStatusLoteResultado(novo, aplicadas, resultados.size() - aplicadas, resultados);
+    }
+
+    public static String mensagemFalha(TransicaoStatusResultado resultado, StatusPedido novo) {
+        return switch (resultado.resultado()) {
+            case NAO_ENCONTRADO -> "Pedido #" + resultado.pedidoId() + " não encontrado";
+            case TRANSICAO_INVALIDA -> "Pedido #" + resultado.pedidoId() + " está " + resultado.statusAtual()
+                    + " e não pode mudar para " + novo;
+            case CONFLITO -> "Pedido #" + resultado.pedidoId() + " foi alterado por outra pessoa (status atual: "
+                    + resultado.statusAtual() + ")";
+            case APLICADA -> "Status alterado para " + novo;
+        };
+    }
 
    public void excluirPedido(Long id) {
     Pedido pedido = buscarPorId(id);
     pedidoRepository.delete(pedido);
 }
-}
\ No newline at end of file
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    /*
+     * Executa dentro da transação: lê a projeção do pedido e roda o UPDATE condicional tendo o status lido
+     * como única origem. Se o UPDATE alterar a linha, o pedido saiu exatamente desse status, que vai no
+     * evento como statusAnterior (inclusive para destinos com várias origens, como PREPARANDO e CANCELADO).
+     * Se não alterar, alguém mudou o pedido entre a leitura e o UPDATE (ou a versão é antiga): relê e classifica.
+     */
+    private TransicaoStatusResultado aplicarTransicao(Long id, StatusPedido novo, StatusPedido statusEsperado, Long versao) {
+        Optional<PedidoResumoResponse> lido = pedidoRepository.buscarResumo(id);
+        if (lido.isEmpty()) {
+            return new TransicaoStatusResultado(id, ResultadoTransicao.NAO_ENCONTRADO, null);
+        }
+        PedidoResumoResponse antes = lido.get();
+        StatusPedido anterior = antes.status();
+
+        if (anterior.podeMudarPara(novo) && (statusEsperado == null || statusEsperado == anterior)) {
+            int alterados = versao != null && statusEsperado != null
+                    ? pedidoRepository.transicionarStatusComVersao(id, novo, anterior, versao)
+                    : pedidoRepository.transicionarStatus(id, novo, EnumSet.of(anterior));
+            if (alterados == 1) {
+                PedidoResumoResponse alterado = new PedidoResumoResponse(antes.id(), antes.usuarioId(),
+                        antes.dataCriacao(), novo, antes.total());
+                pedidoEventoBus.publicar(PedidoEvento.statusAlterado(alterado, anterior));
+                return new TransicaoStatusResultado(id, ResultadoTransicao.APLICADA, novo);
+            }
+            lido = pedidoRepository.buscarResumo(id);
+            if (lido.isEmpty()) {
+                return new TransicaoStatusResultado(id, ResultadoTransicao.NAO_ENCONTRADO, null);
+            }
+        }
+
+        StatusPedido atual = lido.get().status();
+        ResultadoTransicao resultado;
+        if (statusEsperado != null && atual != statusEsperado) {
+            resultado = ResultadoTransicao.CONFLITO;
+        } else if (!atual.podeMudarPara(novo)) {
+            resultado = ResultadoTransicao.TRANSICAO_INVALIDA;
+        } else {
+            // Status permitia a mudança, mas a versão lida já não é a atual (ou o pedido mudou durante o UPDATE)
+            resultado = ResultadoTransicao.CONFLITO;
+        }
+        return new TransicaoStatusResultado(id, resultado, atual);
+    }
+
+    /*
+     * Executa dentro da transação: lê e trava a projeção dos pedidos, agrupa os que a tabela de transições
+     * permite alterar pelo status lido e roda um UPDATE condicional por grupo, tendo esse status como
+     * única origem (no máximo um comando por status, qualquer que seja o tamanho do lote). Assim cada
+     * pedido aplicado saiu exatamente do status que vai no evento como statusAnterior.
+     * Com as linhas travadas, cada grupo é alterado por inteiro; se mesmo assim o UPDATE alterar menos
+     * linhas que o grupo, o grupo é relido e só contam como aplicados os pedidos com o novo status quando
+     * eles são exatamente os alterados. Os demais (inclusive os levados ao novo status por outra pessoa)
+     * são reportados como CONFLITO, sem evento.
+     */
+    private List<TransicaoStatusResultado> aplicarTransicaoEmLote(Set<Long> ids, StatusPedido novo) {
+        Map<Long, PedidoResumoResponse> antes = pedidoRepository.travarResumos(ids).stream()
+                .collect(Collectors.toMap(PedidoResumoResponse::id, Function.identity()));
+        Map<StatusPedido, List<Long>> candidatosPorOrigem = antes.values().stream()
+                .filter(pedido -> pedido.status().podeMudarPara(novo))
+                .collect(Collectors.groupingBy(PedidoResumoResponse::status, () -> new EnumMap<>(StatusPedido.class),
+                        Collectors.mapping(PedidoResumoResponse::id, Collectors.toList())));
+
+        Set<Long> aplicados = new HashSet<>();
+        Map<Long, PedidoResumoResponse> relidos = new HashMap<>();
+        candidatosPorOrigem.forEach((origem, grupo) -> {
+            int alterados = pedidoRepository.transicionarStatusEmLote(grupo, novo, EnumSet.of(origem));
+            if (alterados == grupo.size()) {
+                aplicados.addAll(grupo);
+                return;
+            }
+            List<PedidoResumoResponse> atuais = pedidoRepository.listarResumos(grupo);
+            atuais.forEach(pedido -> relidos.put(pedido.id(), pedido));
+            List<Long> comNovoStatus = atuais.stream()
+                    .filter(pedido -> pedido.status() == novo)
+                    .map(PedidoResumoResponse::id)
+                    .toList();
+            if (comNovoStatus.size() == alterados) {
+                aplicados.addAll(comNovoStatus);
+            }
+        });
+
+        List<TransicaoStatusResultado> resultados = new ArrayList<>(ids.size());
+        List<PedidoEvento> eventos = new ArrayList<>();
+        for (Long id : ids) {
+            PedidoResumoResponse anterior = antes.get(id);
+            if (anterior == null) {
+                resultados.add(new TransicaoStatusResultado(id, ResultadoTransicao.NAO_ENCONTRADO, null));
+            } else if (!anterior.status().podeMudarPara(novo)) {
+                resultados.add(new TransicaoStatusResultado(id, ResultadoTransicao.TRANSICAO_INVALIDA, anterior.status()));
+            } else if (aplicados.contains(id)) {
+                PedidoResumoResponse alterado = new PedidoResumoResponse(anterior.id(), anterior.usuarioId(),
+                        anterior.dataCriacao(), novo, anterior.total());
+                eventos.add(PedidoEvento.statusAlterado(alterado, anterior.status()));
+                resultados.add(new TransicaoStatusResultado(id, ResultadoTransicao.APLICADA, novo));
+            } else {
+                PedidoResumoResponse atual = relidos.get(id);
+                resultados.add(new TransicaoStatusResultado(id,
+                        atual == null ? ResultadoTransicao.NAO_ENCONTRADO : ResultadoTransicao.CONFLITO,
+                        atual == null ? null : atual.status()));
+            }
+        }
+        pedidoEventoBus.publicar(eventos);
+        return resultados;
+    }
+
+    /*
+     * Exporta todos os pedidos com seus itens como um array JSON escrito direto no stream, em ordem de id,
+     * incluindo os já movidos para o arquivo. Lê em lotes por chave (id > último id) das duas tabelas
+     * usando projeções, então nenhuma entidade fica presa no contexto de persistência e a memória usada
+     * não cresce com o número de pedidos. Quando uma das páginas vem cheia, o lote para no último id
+     * dela, para não pular ids da outra tabela que ainda não foram lidos.
+     */
+    public void exportarPedidosJson(OutputStream saida) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(saida)) {
+            json.writeStartArray();
+
+            long ultimoId = 0;
+            while (true) {
+                List<PedidoResumoResponse> quentes = pedidoRepository.listarResumosApos(ultimoId, Limit.of(LOTE_EXPORTACAO));
+                List<PedidoResumoResponse> arquivados = pedidoArquivadoRepository.listarResumosApos(ultimoId,
+                        Limit.of(LOTE_EXPORTACAO));
+                if (quentes.isEmpty() && arquivados.isEmpty()) {
+                    break;
+                }
+
+                long limite = Long.MAX_VALUE;
+                if (quentes.size() == LOTE_EXPORTACAO) {
+                    limite = quentes.get(quentes.size() - 1).id();
+                }
+                if (arquivados.size() == LOTE_EXPORTACAO) {
+                    limite = Math.min(limite, arquivados.get(arquivados.size() - 1).id());
+                }
+                // Pedido arquivado entre as duas consultas aparece nas duas: fica a versão da tabela quente
+                Map<Long, PedidoResumoResponse> lote = new TreeMap<>();
+                for (PedidoResumoResponse pedido : quentes) {
+                    if (pedido.id() <= limite) {
+                        lote.put(pedido.id(), pedido);
+                    }
+                }
+                Set<Long> idsArquivados = new HashSet<>();
+                for (PedidoResumoResponse pedido : arquivados) {
+                    if (pedido.id() <= limite && lote.putIfAbsent(pedido.id(), pedido) == null) {
+                        idsArquivados.add(pedido.id());
+                    }
+                }
+
+                List<Long> idsQuentes = lote.keySet().stream().filter(id -> !idsArquivados.contains(id)).toList();
+                Map<Long, List<ItemPedidoResponse>> itensPorPedido = new HashMap<>();
+                if (!idsQuentes.isEmpty()) {
+                    itensPorPedido.putAll(itemPedidoRepository.listarPorPedidos(idsQuentes).stream()
+                            .collect(Collectors.groupingBy(ItemPedidoResponse::pedidoId)));
+                }
+                if (!idsArquivados.isEmpty()) {
+                    itensPorPedido.putAll(pedidoArquivadoRepository.listarItensPorPedidos(idsArquivados).stream()
+                            .collect(Collectors.groupingBy(ItemPedidoResponse::pedidoId)));
+                }
+
+                for (PedidoResumoResponse pedido : lote.values()) {
+                    json.writeStartObject();
+                    json.writeNumberField("id", pedido.id());
+                    json.writePOJOField("usuarioId", pedido.usuarioId());
+                    json.writePOJOField("dataCriacao", pedido.dataCriacao());
+                    json.writePOJOField("status", pedido.status());
+                    json.writePOJOField("total", pedido.total());
+                    json.writePOJOField("itens", itensPorPedido.getOrDefault(pedido.id(), List.of()));
+                    json.writeEndObject();
+                }
+                json.flush();
+                if (limite == Long.MAX_VALUE) {
+                    break;
+                }
+                ultimoId = limite;
+            }
+
+            json.writeEndArray();
+        }
+    }
+}
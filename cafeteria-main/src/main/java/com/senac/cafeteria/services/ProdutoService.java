@@ -2,30 +2,56 @@ package com.senac.cafeteria.services;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.senac.cafeteria.dtos.ProdutoResumo;
 import com.senac.cafeteria.models.Produto;
 import com.senac.cafeteria.repositories.ProdutoRepository;
 
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "cafeteria.servico")
 @RequiredArgsConstructor
 public class ProdutoService {
     private final ProdutoRepository produtoRepository;
+    // Índice de busca em memória, mantido em dia a cada escrita
+    private final BuscaProdutoService buscaProdutoService;
+    // Trie do autocomplete, também atualizada a cada escrita
+    private final SugestaoProdutoService sugestaoProdutoService;
+    // Estoque em memória dos produtos com controle
+    private final EstoqueService estoqueService;
+
+    // Versão do catálogo: muda a cada escrita e compõe o ETag das respostas da API
+    private final long inicioCatalogo = System.currentTimeMillis();
+    private final AtomicLong versaoCatalogo = new AtomicLong();
 
     public Produto salvarProduto(Produto produto, MultipartFile imagem) throws IOException {
     if(imagem != null && !imagem.isEmpty()) {
         produto.setImagem(imagem.getBytes());
     }
-    return produtoRepository.save(produto);
+    Produto salvo = produtoRepository.save(produto);
+    if (salvo.getEstoque() != null && estoqueService.situacao(salvo.getId()) == null) {
+        estoqueService.registrar(salvo.getId(), salvo.getEstoque());
+    }
+    registrarAlteracoes(List.of(salvo));
+    return salvo;
 }
     
     public void excluirProduto(Long id) {
         produtoRepository.deleteById(id);
+        buscaProdutoService.remover(id);
+        sugestaoProdutoService.remover(id);
+        estoqueService.remover(id);
+        versaoCatalogo.incrementAndGet();
     }
 
     // Método para listar todos os produtos
@@ -33,10 +59,32 @@ public class ProdutoService {
         return produtoRepository.findAll();
     }
 
+    /*
+     * Propaga produtos criados/alterados para os índices em memória e muda a versão do catálogo.
+     * Chamado após cada escrita, inclusive pelos lotes da importação em massa.
+     */
+    public void registrarAlteracoes(List<Produto> produtos) {
+        for (Produto produto : produtos) {
+            buscaProdutoService.indexar(produto);
+            sugestaoProdutoService.indexar(produto);
+        }
+        versaoCatalogo.incrementAndGet();
+    }
+
+    // Lista o catálogo sem carregar as imagens (usado pela API)
+    public List<ProdutoResumo> listarResumos() {
+        return produtoRepository.listarResumos();
+    }
+
+    // ETag do catálogo; muda sempre que um produto é criado, alterado ou excluído
+    public String etagCatalogo() {
+        return "\"catalogo-" + inicioCatalogo + "-" + versaoCatalogo.get() + "\"";
+    }
+
     // Método para buscar produto por ID
     public Produto buscarPorId(Long id) {
         Optional<Produto> produto = produtoRepository.findById(id);
-        return produto.orElseThrow(() -> new RuntimeException("Produto não encontrado com ID: " + id));
+        return produto.orElseThrow(() -> new NaoEncontradoException("Produto não encontrado com ID: " + id));
     }
 
     // Método para atualizar produto
@@ -51,12 +99,18 @@ public class ProdutoService {
             produtoExistente.setImagem(imagem.getBytes());
         }
         
-        return produtoRepository.save(produtoExistente);
+        Produto salvo = produtoRepository.save(produtoExistente);
+        registrarAlteracoes(List.of(salvo));
+        return salvo;
     }
 
-    // Método para buscar produtos por nome (opcional)
+    // Método para buscar produtos por nome/descrição usando o índice em memória (sem LIKE no banco)
     public List<Produto> buscarPorNome(String nome) {
-        return produtoRepository.findByNomeContainingIgnoreCase(nome);
+        List<Long> ids = buscaProdutoService.buscarIds(nome, Integer.MAX_VALUE);
+        Map<Long, Produto> produtos = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        // Mantém a ordem de relevância retornada pelo índice
+        return ids.stream().map(produtos::get).filter(p -> p != null).toList();
     }
 
     // Método para verificar se produto existe
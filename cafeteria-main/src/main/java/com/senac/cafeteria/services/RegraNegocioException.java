@@ -0,0 +1,12 @@
+package com.senac.cafeteria.services;
+
+/*
+ * Operação recusada por uma regra de negócio ou por um dado inválido (carrinho vazio, estoque
+ * insuficiente, período invertido...). A mensagem é para o usuário: a API devolve 400 com ela.
+ */
+public class RegraNegocioException extends RuntimeException {
+
+    public RegraNegocioException(String mensagem) {
+        super(mensagem);
+    }
+}
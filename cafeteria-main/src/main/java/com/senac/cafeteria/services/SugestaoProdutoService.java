@@ -0,0 +1,236 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.dtos.ProdutoSugestao;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Autocomplete do campo de busca do cardápio.
+ * Mantém uma trie (árvore de prefixos) com os nomes normalizados dos produtos, a partir de cada
+ * palavra do nome ("Bolo de Chocolate" entra como "bolo de chocolate" e "chocolate").
+ * A busca percorre a trie calculando a distância de edição entre o texto digitado e o prefixo
+ * de cada nó, podando ramos que já passaram do limite — assim "capu" ainda sugere "Cappuccino".
+ */
+@Service
+public class SugestaoProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+
+    private final No raiz = new No();
+    // produtoId -> nome original (exibido na sugestão)
+    private final Map<Long, String> nomes = new HashMap<>();
+    // produtoId -> chaves inseridas na trie (para remoção incremental)
+    private final Map<Long, List<String>> chavesPorProduto = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SugestaoProdutoService(ProdutoRepository produtoRepository) {
+        this.produtoRepository = produtoRepository;
+    }
+
+    // Nó da trie: filhos por caractere e produtos cujo nome termina neste nó
+    private static final class No {
+        final TreeMap<Character, No> filhos = new TreeMap<>();
+        final Set<Long> produtos = new HashSet<>();
+    }
+
+    // Candidato encontrado durante a busca (melhor distância por produto)
+    private record Candidato(Long produtoId, int distancia) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        List<ProdutoResumo> produtos = produtoRepository.listarResumos();
+        lock.writeLock().lock();
+        try {
+            raiz.filhos.clear();
+            raiz.produtos.clear();
+            nomes.clear();
+            chavesPorProduto.clear();
+            produtos.forEach(p -> indexarSemLock(p.id(), p.nome()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Produto produto) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(produto.getId());
+            indexarSemLock(produto.getId(), produto.getNome());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long produtoId) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(produtoId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Retorna até 'limite' sugestões para o texto digitado, ordenadas pela distância de edição
+     * (0 = prefixo exato) e depois pelo nome mais curto.
+     */
+    public List<ProdutoSugestao> sugerir(String texto, int limite) {
+        String consulta = BuscaProdutoService.normalizar(texto).strip();
+        if (consulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        int distanciaMaxima = distanciaMaxima(consulta.length());
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> melhores = new HashMap<>();
+
+            // Linha inicial da matriz de Levenshtein: distância do texto vazio a cada prefixo da consulta
+            int[] linha = new int[consulta.length() + 1];
+            for (int i = 0; i < linha.length; i++) {
+                linha[i] = i;
+            }
+            for (Map.Entry<Character, No> filho : raiz.filhos.entrySet()) {
+                percorrer(filho.getValue(), filho.getKey(), consulta, linha, distanciaMaxima, Integer.MAX_VALUE, melhores);
+            }
+
+            List<Candidato> candidatos = new ArrayList<>(melhores.size());
+            melhores.forEach((id, distancia) -> candidatos.add(new Candidato(id, distancia)));
+            candidatos.sort(Comparator.comparingInt(Candidato::distancia)
+                    .thenComparingInt(c -> nomes.get(c.produtoId()).length())
+                    .thenComparing(c -> nomes.get(c.produtoId())));
+
+            return candidatos.stream()
+                    .limit(limite)
+                    .map(c -> new ProdutoSugestao(c.produtoId(), nomes.get(c.produtoId())))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== MÉTODOS AUXILIARES ==========
+
+    // Tolerância a erros de digitação de acordo com o tamanho do texto
+    private static int distanciaMaxima(int tamanho) {
+        if (tamanho <= 2) {
+            return 0;
+        }
+        return tamanho <= 5 ? 1 : 2;
+    }
+
+    /*
+     * Desce na trie calculando uma nova linha da matriz de edição por caractere.
+     * A última posição da linha é a distância da consulta inteira ao prefixo do nó; quando ela
+     * fica dentro do limite, os nomes abaixo do nó passam a ser candidatos com a menor distância
+     * vista no caminho. Se o menor valor da linha passa do limite, nenhum descendente melhora e
+     * o restante da subárvore é coletado (ou podado, se o caminho nunca entrou no limite).
+     */
+    private void percorrer(No no, char caractere, String consulta, int[] linhaAnterior,
+                           int distanciaMaxima, int melhorNoCaminho, Map<Long, Integer> melhores) {
+        int[] linha = new int[linhaAnterior.length];
+        linha[0] = linhaAnterior[0] + 1;
+        int menor = linha[0];
+
+        for (int i = 1; i < linha.length; i++) {
+            int custo = consulta.charAt(i - 1) == caractere ? 0 : 1;
+            linha[i] = Math.min(Math.min(linha[i - 1] + 1, linhaAnterior[i] + 1), linhaAnterior[i - 1] + custo);
+            menor = Math.min(menor, linha[i]);
+        }
+
+        int melhor = Math.min(melhorNoCaminho, linha[linha.length - 1]);
+        if (menor > distanciaMaxima) {
+            if (melhor <= distanciaMaxima) {
+                coletar(no, melhor, melhores);
+            }
+            return;
+        }
+        if (melhor <= distanciaMaxima) {
+            for (Long id : no.produtos) {
+                melhores.merge(id, melhor, Math::min);
+            }
+        }
+        for (Map.Entry<Character, No> filho : no.filhos.entrySet()) {
+            percorrer(filho.getValue(), filho.getKey(), consulta, linha, distanciaMaxima, melhor, melhores);
+        }
+    }
+
+    // Adiciona todos os produtos da subárvore mantendo a menor distância encontrada
+    private void coletar(No no, int distancia, Map<Long, Integer> melhores) {
+        for (Long id : no.produtos) {
+            melhores.merge(id, distancia, Math::min);
+        }
+        for (No filho : no.filhos.values()) {
+            coletar(filho, distancia, melhores);
+        }
+    }
+
+    private void indexarSemLock(Long produtoId, String nome) {
+        if (nome == null || nome.isBlank()) {
+            return;
+        }
+        List<String> chaves = chaves(nome);
+        for (String chave : chaves) {
+            No atual = raiz;
+            for (char c : chave.toCharArray()) {
+                atual = atual.filhos.computeIfAbsent(c, k -> new No());
+            }
+            atual.produtos.add(produtoId);
+        }
+        nomes.put(produtoId, nome);
+        chavesPorProduto.put(produtoId, chaves);
+    }
+
+    private void removerSemLock(Long produtoId) {
+        List<String> chaves = chavesPorProduto.remove(produtoId);
+        nomes.remove(produtoId);
+        if (chaves == null) {
+            return;
+        }
+        for (String chave : chaves) {
+            remover(raiz, chave, 0, produtoId);
+        }
+    }
+
+    // Remove o produto do nó final da chave e apaga nós que ficaram vazios
+    private boolean remover(No no, String chave, int posicao, Long produtoId) {
+        if (posicao == chave.length()) {
+            no.produtos.remove(produtoId);
+        } else {
+            No filho = no.filhos.get(chave.charAt(posicao));
+            if (filho != null && remover(filho, chave, posicao + 1, produtoId)) {
+                no.filhos.remove(chave.charAt(posicao));
+            }
+        }
+        return no.produtos.isEmpty() && no.filhos.isEmpty();
+    }
+
+    // Nome completo normalizado e cada sufixo que começa em uma palavra
+    private static List<String> chaves(String nome) {
+        String normalizado = BuscaProdutoService.normalizar(nome).strip().replaceAll("\\s+", " ");
+        List<String> chaves = new ArrayList<>();
+        chaves.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            chaves.add(normalizado.substring(i + 1));
+        }
+        return chaves;
+    }
+}
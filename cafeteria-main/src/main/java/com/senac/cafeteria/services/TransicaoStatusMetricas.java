@@ -0,0 +1,109 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.models.enums.ResultadoTransicao;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Métricas das mudanças de status de pedido: quantidade por resultado e latência
+ * (do início da tentativa ao commit) por status de destino.
+ * Contadores sem lock (LongAdder), no mesmo estilo do PoolMetricsTracker.
+ * No Micrometer os mesmos acumuladores são lidos só na coleta (FunctionCounter/FunctionTimer).
+ */
+@Component
+public class TransicaoStatusMetricas implements MeterBinder {
+
+    private final Map<ResultadoTransicao, LongAdder> porResultado = new EnumMap<>(ResultadoTransicao.class);
+    private final Map<StatusPedido, Latencia> latenciaPorDestino = new EnumMap<>(StatusPedido.class);
+
+    public TransicaoStatusMetricas() {
+        for (ResultadoTransicao resultado : ResultadoTransicao.values()) {
+            porResultado.put(resultado, new LongAdder());
+        }
+        for (StatusPedido status : StatusPedido.values()) {
+            latenciaPorDestino.put(status, new Latencia());
+        }
+    }
+
+    private static final class Latencia {
+        final LongAdder quantidade = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maximaNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    public void registrar(StatusPedido destino, ResultadoTransicao resultado, long duracaoNanos) {
+        porResultado.get(resultado).increment();
+        registrarLatencia(destino, duracaoNanos);
+    }
+
+    // Alteração em lote: um resultado por pedido, mas uma única amostra de latência (a do lote inteiro)
+    public void registrarLote(StatusPedido destino, List<ResultadoTransicao> resultados, long duracaoNanos) {
+        resultados.forEach(resultado -> porResultado.get(resultado).increment());
+        registrarLatencia(destino, duracaoNanos);
+    }
+
+    private void registrarLatencia(StatusPedido destino, long duracaoNanos) {
+        Latencia latencia = latenciaPorDestino.get(destino);
+        latencia.quantidade.increment();
+        latencia.totalNanos.add(duracaoNanos);
+        latencia.maximaNanos.accumulate(duracaoNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        porResultado.forEach((resultado, contador) -> FunctionCounter.builder("cafeteria.pedido.transicoes", contador, LongAdder::sum)
+                .description("Tentativas de mudança de status de pedido por resultado")
+                .tag("resultado", resultado.name().toLowerCase())
+                .register(registry));
+        latenciaPorDestino.forEach((destino, latencia) -> {
+            FunctionTimer.builder("cafeteria.pedido.transicao.latencia", latencia,
+                            l -> l.quantidade.sum(), l -> l.totalNanos.sum(), TimeUnit.NANOSECONDS)
+                    .description("Mudança de status do início da tentativa ao commit, por status de destino")
+                    .tag("destino", destino.name().toLowerCase())
+                    .register(registry);
+            TimeGauge.builder("cafeteria.pedido.transicao.latencia.maxima", latencia, TimeUnit.NANOSECONDS,
+                            l -> l.maximaNanos.get())
+                    .tag("destino", destino.name().toLowerCase())
+                    .register(registry);
+        });
+    }
+
+    public long getQuantidade(ResultadoTransicao resultado) {
+        return porResultado.get(resultado).sum();
+    }
+
+    // Resumo para o endpoint administrativo: contagens por resultado e latência média/máxima (ms) por destino
+    public Map<String, Object> resumo() {
+        Map<String, Long> resultados = new LinkedHashMap<>();
+        porResultado.forEach((resultado, contador) -> resultados.put(resultado.name(), contador.sum()));
+
+        Map<String, Map<String, Number>> latencias = new LinkedHashMap<>();
+        latenciaPorDestino.forEach((destino, latencia) -> {
+            long quantidade = latencia.quantidade.sum();
+            if (quantidade > 0) {
+                latencias.put(destino.name(), Map.of(
+                        "quantidade", quantidade,
+                        "mediaMs", latencia.totalNanos.sum() / (double) quantidade / TimeUnit.MILLISECONDS.toNanos(1),
+                        "maximaMs", latencia.maximaNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        });
+
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("resultados", resultados);
+        resumo.put("latenciaPorDestino", latencias);
+        return resumo;
+    }
+}
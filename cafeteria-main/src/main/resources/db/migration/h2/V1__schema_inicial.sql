@@ -0,0 +1,48 @@
+-- Schema inicial equivalente ao gerado pelo Hibernate (ddl-auto=update) até esta versão
+create table usuario (
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    endereco varchar(255),
+    nome varchar(255),
+    senha varchar(255),
+    role enum ('CLIENTE','FUNCIONARIO'),
+    primary key (id)
+);
+
+create table produto (
+    preco numeric(38,2),
+    id bigint generated by default as identity,
+    descricao varchar(255),
+    nome varchar(255),
+    imagem blob,
+    primary key (id)
+);
+
+create table pedido (
+    total numeric(38,2),
+    data_criacao timestamp(6),
+    id bigint generated by default as identity,
+    usuario_id bigint,
+    status enum ('CANCELADO','CONFIRMADO','ENTREGUE','PENDENTE','PREPARANDO','PRONTO'),
+    primary key (id)
+);
+
+create table item_pedido (
+    preco_unitario numeric(38,2),
+    quantidade integer,
+    id bigint generated by default as identity,
+    pedido_id bigint not null,
+    produto_id bigint not null,
+    primary key (id)
+);
+
+create table pedido_produto_relacionado (
+    pedido_id bigint not null,
+    produto_id bigint not null
+);
+
+alter table item_pedido add constraint FK60ym08cfoysa17wrn1swyiuda foreign key (pedido_id) references pedido;
+alter table item_pedido add constraint FKtk55mn6d6bvl5h0no5uagi3sf foreign key (produto_id) references produto;
+alter table pedido add constraint FK6uxomgomm93vg965o8brugt00 foreign key (usuario_id) references usuario;
+alter table pedido_produto_relacionado add constraint FKmyrisqk55pmww6v88ua4v8kpv foreign key (produto_id) references produto;
+alter table pedido_produto_relacionado add constraint FKl53qm7h7y7ll5lnn6vy04rvog foreign key (pedido_id) references pedido;
@@ -0,0 +1,14 @@
+-- Índices para as consultas do PedidoRepository (filtro + ordenação por data_criacao desc)
+
+-- findByUsuarioOrderByDataCriacaoDesc
+create index idx_pedido_usuario_data on pedido (usuario_id, data_criacao desc);
+
+-- findByStatusOrderByDataCriacaoDesc
+create index idx_pedido_status_data on pedido (status, data_criacao desc);
+
+-- findAllByOrderByDataCriacaoDesc
+create index idx_pedido_data_criacao on pedido (data_criacao desc);
+
+-- Carregamento de pedido.itens e junções item -> produto
+create index idx_item_pedido_pedido on item_pedido (pedido_id);
+create index idx_item_pedido_produto on item_pedido (produto_id);
@@ -0,0 +1,5 @@
+-- Fila de preparo da cozinha: tipo de entrega do pedido e tempo de preparo estimado por produto.
+-- Pedidos existentes ficam como retirada na loja; produtos sem tempo usam o padrão da configuração.
+alter table pedido add column tipo_entrega enum ('ENTREGA','RETIRADA_LOJA') default 'RETIRADA_LOJA' not null;
+alter table produto add column tempo_preparo_segundos integer;
+
@@ -0,0 +1,38 @@
+-- Arquivo de pedidos finalizados (ENTREGUE/CANCELADO) antigos, movidos em lotes pelo ArquivamentoPedidoService.
+-- Sem chaves estrangeiras: o arquivo só recebe inserções e não deve impedir exclusões no catálogo.
+
+create table pedido_arquivo (
+    id bigint not null,
+    usuario_id bigint,
+    data_criacao timestamp(6),
+    total numeric(38,2),
+    status enum ('CANCELADO','CONFIRMADO','ENTREGUE','PENDENTE','PREPARANDO','PRONTO'),
+    tipo_entrega enum ('ENTREGA','RETIRADA_LOJA') not null,
+    versao bigint not null,
+    data_arquivamento timestamp(6) not null,
+    primary key (id)
+);
+
+-- Histórico do cliente
+create index idx_pedido_arquivo_usuario_data on pedido_arquivo (usuario_id, data_criacao desc);
+-- Faturamento do dashboard por período
+create index idx_pedido_arquivo_data on pedido_arquivo (data_criacao);
+
+create table item_pedido_arquivo (
+    id bigint not null,
+    pedido_id bigint not null,
+    produto_id bigint not null,
+    quantidade integer,
+    preco_unitario numeric(38,2),
+    primary key (id)
+);
+
+create index idx_item_pedido_arquivo_pedido on item_pedido_arquivo (pedido_id);
+
+-- Marca d'água de cada processo em lotes: último id já examinado na passada atual
+create table controle_arquivamento (
+    processo varchar(50) not null,
+    ultimo_id bigint not null,
+    atualizado_em timestamp(6),
+    primary key (processo)
+);
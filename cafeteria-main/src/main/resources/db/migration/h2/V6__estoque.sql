@@ -0,0 +1,3 @@
+-- Estoque por produto, atualizado em lotes pelo EstoqueService (reservas ficam só em memória).
+-- Nulo = produto sem controle de estoque (comportamento anterior: venda sem limite).
+alter table produto add column estoque integer;
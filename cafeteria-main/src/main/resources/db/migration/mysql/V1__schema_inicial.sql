@@ -0,0 +1,50 @@
+-- Schema inicial equivalente ao gerado pelo Hibernate (ddl-auto=update) até esta versão.
+-- Bancos já criados pelo Hibernate entram com baseline nesta versão (spring.flyway.baseline-on-migrate).
+create table usuario (
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    endereco varchar(255),
+    nome varchar(255),
+    senha varchar(255),
+    role enum ('CLIENTE','FUNCIONARIO'),
+    primary key (id)
+) engine=InnoDB;
+
+create table produto (
+    preco decimal(38,2),
+    id bigint not null auto_increment,
+    descricao varchar(255),
+    nome varchar(255),
+    imagem longblob,
+    primary key (id)
+) engine=InnoDB;
+
+create table pedido (
+    total decimal(38,2),
+    data_criacao datetime(6),
+    id bigint not null auto_increment,
+    usuario_id bigint,
+    status enum ('CANCELADO','CONFIRMADO','ENTREGUE','PENDENTE','PREPARANDO','PRONTO'),
+    primary key (id)
+) engine=InnoDB;
+
+create table item_pedido (
+    preco_unitario decimal(38,2),
+    quantidade integer,
+    id bigint not null auto_increment,
+    pedido_id bigint not null,
+    produto_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table pedido_produto_relacionado (
+    pedido_id bigint not null,
+    produto_id bigint not null
+) engine=InnoDB;
+
+alter table usuario add constraint UK5171l57faosmj8myawaucatdw unique (email);
+alter table item_pedido add constraint FK60ym08cfoysa17wrn1swyiuda foreign key (pedido_id) references pedido (id);
+alter table item_pedido add constraint FKtk55mn6d6bvl5h0no5uagi3sf foreign key (produto_id) references produto (id);
+alter table pedido add constraint FK6uxomgomm93vg965o8brugt00 foreign key (usuario_id) references usuario (id);
+alter table pedido_produto_relacionado add constraint FKmyrisqk55pmww6v88ua4v8kpv foreign key (produto_id) references produto (id);
+alter table pedido_produto_relacionado add constraint FKl53qm7h7y7ll5lnn6vy04rvog foreign key (pedido_id) references pedido (id);
@@ -0,0 +1,19 @@
+-- Índices para as consultas do PedidoRepository (filtro + ordenação por data_criacao desc)
+
+-- findByUsuarioOrderByDataCriacaoDesc
+create index idx_pedido_usuario_data on pedido (usuario_id, data_criacao desc);
+
+-- findByStatusOrderByDataCriacaoDesc
+create index idx_pedido_status_data on pedido (status, data_criacao desc);
+
+-- findAllByOrderByDataCriacaoDesc
+create index idx_pedido_data_criacao on pedido (data_criacao desc);
+
+-- Carregamento de pedido.itens e junções item -> produto
+create index idx_item_pedido_pedido on item_pedido (pedido_id);
+create index idx_item_pedido_produto on item_pedido (produto_id);
+
+-- O InnoDB cria um índice implícito para cada FK; com os índices acima eles ficam redundantes
+alter table pedido drop index FK6uxomgomm93vg965o8brugt00;
+alter table item_pedido drop index FK60ym08cfoysa17wrn1swyiuda;
+alter table item_pedido drop index FKtk55mn6d6bvl5h0no5uagi3sf;
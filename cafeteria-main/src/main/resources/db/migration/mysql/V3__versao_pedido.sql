@@ -0,0 +1,3 @@
+-- Controle de concorrência otimista do pedido (@Version em Pedido.versao).
+-- Pedidos existentes começam na versão 0.
+alter table pedido add column versao bigint not null default 0;
@@ -0,0 +1,75 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Gera as variantes .gz dos recursos estáticos de texto no empacotamento (fase prepare-package do pom),
+ * rodado pelo próprio java como programa de um arquivo só: java src/scripts/PrecomprimirRecursos.java <diretório>.
+ * Compressão máxima, já que é feita uma vez; em tempo de requisição o EncodedResourceResolver só escolhe o arquivo.
+ * Imagens PNG/JPG já são comprimidas e ficam de fora; variantes que não economizam ao menos 10% não são gravadas.
+ */
+public class PrecomprimirRecursos {
+
+    private static final Set<String> EXTENSOES = Set.of("css", "js", "svg", "html", "json", "txt", "map");
+    private static final long TAMANHO_MINIMO = 1024;
+
+    public static void main(String[] args) throws IOException {
+        Path raiz = Path.of(args.length > 0 ? args[0] : "target/classes/static");
+        if (!Files.isDirectory(raiz)) {
+            System.out.println("[precompressao] " + raiz + " não existe; nada a fazer");
+            return;
+        }
+        List<Path> arquivos;
+        try (Stream<Path> caminhos = Files.walk(raiz)) {
+            arquivos = caminhos.filter(Files::isRegularFile).filter(PrecomprimirRecursos::comprimivel).toList();
+        }
+        long antes = 0;
+        long depois = 0;
+        int gerados = 0;
+        for (Path arquivo : arquivos) {
+            byte[] original = Files.readAllBytes(arquivo);
+            byte[] comprimido = gzip(original);
+            Path destino = arquivo.resolveSibling(arquivo.getFileName() + ".gz");
+            if (comprimido.length > original.length * 0.9) {
+                Files.deleteIfExists(destino);
+                continue;
+            }
+            Files.write(destino, comprimido);
+            Files.setLastModifiedTime(destino, Files.getLastModifiedTime(arquivo));
+            antes += original.length;
+            depois += comprimido.length;
+            gerados++;
+        }
+        System.out.printf("[precompressao] %d variantes .gz em %s (%d -> %d bytes)%n", gerados, raiz, antes, depois);
+    }
+
+    private static boolean comprimivel(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        int ponto = nome.lastIndexOf('.');
+        try {
+            return ponto > 0 && EXTENSOES.contains(nome.substring(ponto + 1).toLowerCase())
+                    && Files.size(arquivo) >= TAMANHO_MINIMO;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] gzip(byte[] conteudo) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(conteudo.length / 2);
+        try (OutputStream gzip = new GZIPOutputStream(saida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(conteudo);
+        }
+        return saida.toByteArray();
+    }
+}
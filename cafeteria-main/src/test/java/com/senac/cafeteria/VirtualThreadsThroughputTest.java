@@ -0,0 +1,91 @@
+package com.senac.cafeteria;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Teste de carga simples comparando o modo padrão (pool de threads de plataforma do Tomcat)
+ * com o perfil "virtual". Dispara requisições concorrentes ao /menu, que consulta o banco,
+ * registra a vazão de cada modo no log e falha se as virtual threads ficarem bem abaixo do pool.
+ * Sobe a aplicação duas vezes, então fica no grupo "carga":
+ * ./mvnw -Pcarga test -Dtest=VirtualThreadsThroughputTest
+ */
+@Tag("carga")
+class VirtualThreadsThroughputTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsThroughputTest.class);
+
+    private static final int CLIENTES = 50;
+    private static final int REQUISICOES = 400;
+    // Virtual threads não devem perder vazão para o pool de plataforma; a folga cobre o ruído da medição
+    private static final double RAZAO_MINIMA = 0.7;
+
+    @Test
+    void comparaVazaoPlataformaEVirtual() throws Exception {
+        double plataforma = medirVazao();
+        double virtual = medirVazao("virtual");
+
+        log.info("Vazão /menu - threads de plataforma: {} req/s | virtual threads: {} req/s",
+                Math.round(plataforma), Math.round(virtual));
+
+        assertThat(virtual / plataforma).as("vazão virtual / plataforma").isGreaterThanOrEqualTo(RAZAO_MINIMA);
+    }
+
+    // Sobe a aplicação em porta aleatória com os perfis informados e mede requisições por segundo
+    private double medirVazao(String... perfis) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CafeteriaApplication.class)
+                .profiles(perfis)
+                .properties("server.port=0")
+                .run()) {
+            int porta = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + porta + "/menu");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicInteger falhas = new AtomicInteger();
+
+            // Aquecimento
+            for (int i = 0; i < 20; i++) {
+                client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+            }
+
+            long inicio = System.nanoTime();
+            try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTES)) {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int i = 0; i < REQUISICOES; i++) {
+                    tarefas.add(executor.submit(() -> {
+                        var resposta = client.send(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() != 200) {
+                            falhas.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+            assertThat(falhas.get()).isZero();
+            return REQUISICOES / segundos;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.senac.cafeteria.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.CafeteriaApplication;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Teste de carga ponta a ponta: sobe a aplicação com H2 em memória, popula cardápio, clientes e
+ * histórico de pedidos, aplica tráfego misto na taxa configurada e compara p99, vazão e erros
+ * de cada operação com a linha base gravada em src/test/resources/carga/linha-base.json.
+ *
+ * Executar: ./mvnw -Pcarga test [-Dcarga.taxa=100 -Dcarga.duracao-s=30 ...]
+ * Gravar nova linha base: ./mvnw -Pcarga test -Dcarga.gravar-linha-base=true
+ */
+@Tag("carga")
+class CargaMistaTest {
+
+    private static final File LINHA_BASE = new File("src/test/resources/carga/linha-base.json");
+    private static final File RELATORIO = new File("target/carga/resultado.json");
+
+    @Test
+    void trafegoMistoNaoRegrideEmRelacaoALinhaBase() throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.doSistema();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CafeteriaApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                        "cafeteria.agendamento.enabled=false",
+                        "spring.devtools.restart.enabled=false")
+                .run()) {
+            int porta = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<String> clientes = new GeradorDadosCarga(context).popular(configuracao);
+            // Produtos sem controle de estoque: esgotar o estoque não é o que se quer medir aqui
+            List<Long> produtos = context.getBean(JdbcTemplate.class)
+                    .queryForList("select id from produto where estoque is null", Long.class);
+
+            SimuladorCarga simulador = new SimuladorCarga(porta, produtos);
+            simulador.preparar(clientes);
+            if (!configuracao.aquecimento().isZero()) {
+                simulador.executar(configuracao.taxa(), configuracao.aquecimento());
+            }
+            ResultadoCarga resultado = simulador.executar(configuracao.taxa(), configuracao.duracao());
+
+            System.out.print(resultado.relatorio());
+            resultado.gravar(RELATORIO);
+            assertThat(resultado.requisicoes()).isPositive();
+
+            if (configuracao.gravarLinhaBase()) {
+                resultado.gravar(LINHA_BASE);
+                System.out.println("Linha base gravada em " + LINHA_BASE);
+                return;
+            }
+            if (!LINHA_BASE.exists()) {
+                System.out.println("Sem linha base para comparar; grave com -Dcarga.gravar-linha-base=true");
+                return;
+            }
+            var linhaBase = new ObjectMapper().readTree(Files.readString(LINHA_BASE.toPath()));
+            // Com outra taxa os números não são comparáveis
+            if (linhaBase.path("taxa").asInt() != resultado.taxa()) {
+                System.out.printf("Linha base medida a %d req/s; comparação ignorada%n", linhaBase.path("taxa").asInt());
+                return;
+            }
+            assertThat(resultado.regressoes(linhaBase, configuracao.limiteRegressao(), configuracao.folgaMs()))
+                    .as("Regressões em relação à linha base")
+                    .isEmpty();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.senac.cafeteria.carga;
+
+import java.time.Duration;
+
+/*
+ * Parâmetros do teste de carga, lidos das propriedades de sistema (-Dcarga.taxa=200 ...).
+ * taxa: requisições por segundo disparadas em ritmo constante, sem esperar as respostas anteriores.
+ * limiteRegressao: fração tolerada de piora em relação à linha base (0.25 = 25%);
+ * folgaMs: margem absoluta somada ao p99, para latências de poucos milissegundos não oscilarem entre execuções.
+ */
+record ConfiguracaoCarga(int taxa, Duration duracao, Duration aquecimento, int clientes, int produtos,
+                         int pedidosHistorico, double limiteRegressao, double folgaMs, boolean gravarLinhaBase) {
+
+    static ConfiguracaoCarga doSistema() {
+        return new ConfiguracaoCarga(
+                Integer.getInteger("carga.taxa", 10),
+                Duration.ofSeconds(Integer.getInteger("carga.duracao-s", 30)),
+                Duration.ofSeconds(Integer.getInteger("carga.aquecimento-s", 10)),
+                Integer.getInteger("carga.clientes", 100),
+                Integer.getInteger("carga.produtos", 60),
+                Integer.getInteger("carga.pedidos-historico", 300),
+                Double.parseDouble(System.getProperty("carga.limite-regressao", "0.25")),
+                Double.parseDouble(System.getProperty("carga.folga-ms", "20")),
+                Boolean.getBoolean("carga.gravar-linha-base"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.senac.cafeteria.carga;
+
+import com.senac.cafeteria.services.CatalogoImportacaoService;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ * Popula o banco da aplicação em teste no estilo do DataInitializer, mas em volume:
+ * cardápio ampliado (pela importação em massa, que também atualiza os índices em memória),
+ * clientes de carga e histórico de pedidos finalizados espalhado pelos últimos 90 dias.
+ * Usuários e pedidos entram por JDBC em lote; a semente fixa deixa as execuções comparáveis.
+ */
+final class GeradorDadosCarga {
+
+    static final String SENHA = "123456";
+    private static final int TAMANHO_LOTE = 500;
+
+    private final ApplicationContext context;
+    private final JdbcTemplate jdbc;
+    private final Random aleatorio = new Random(42);
+
+    GeradorDadosCarga(ApplicationContext context) {
+        this.context = context;
+        this.jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    // Cria tudo e devolve os e-mails dos clientes de carga (senha SENHA)
+    List<String> popular(ConfiguracaoCarga configuracao) throws IOException {
+        criarProdutos(configuracao.produtos());
+        List<String> emails = criarClientes(configuracao.clientes());
+        criarHistorico(configuracao.pedidosHistorico());
+        return emails;
+    }
+
+    private void criarProdutos(int quantidade) throws IOException {
+        StringBuilder csv = new StringBuilder("nome,descricao,preco\n");
+        for (int i = 1; i <= quantidade; i++) {
+            csv.append("Produto de carga ").append(i).append(",Item ").append(i).append(" do cardápio de carga,")
+                    .append(String.format(Locale.ROOT, "%.2f", 4 + aleatorio.nextInt(2600) / 100.0)).append('\n');
+        }
+        context.getBean(CatalogoImportacaoService.class)
+                .importarCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<String> criarClientes(int quantidade) {
+        // Um único hash: o BCrypt de cada cadastro dominaria a preparação
+        String senha = context.getBean(PasswordEncoder.class).encode(SENHA);
+        List<String> emails = new ArrayList<>();
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 1; i <= quantidade; i++) {
+            String email = "carga-" + i + "@teste.com";
+            emails.add(email);
+            linhas.add(new Object[]{"Cliente de carga " + i, email, senha});
+        }
+        jdbc.batchUpdate("insert into usuario (nome, email, senha, role) values (?, ?, ?, 'CLIENTE')", linhas);
+        return emails;
+    }
+
+    /*
+     * Pedidos ENTREGUE (90%) e CANCELADO com 1 a 4 itens. Os ids são atribuídos aqui para os itens
+     * referenciarem o pedido no mesmo lote; no fim a identidade da tabela é reposicionada.
+     */
+    private void criarHistorico(int quantidade) {
+        List<Long> clientes = jdbc.queryForList("select id from usuario where role = 'CLIENTE'", Long.class);
+        List<Object[]> produtos = jdbc.query("select id, preco from produto",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getBigDecimal(2)});
+        long proximoId = jdbc.queryForObject("select coalesce(max(id), 0) + 1 from pedido", Long.class);
+        LocalDateTime agora = LocalDateTime.now();
+
+        List<Object[]> pedidos = new ArrayList<>();
+        List<Object[]> itens = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            long pedidoId = proximoId++;
+            BigDecimal total = BigDecimal.ZERO;
+            int quantidadeItens = 1 + aleatorio.nextInt(4);
+            for (int j = 0; j < quantidadeItens; j++) {
+                Object[] produto = produtos.get(aleatorio.nextInt(produtos.size()));
+                int unidades = 1 + aleatorio.nextInt(3);
+                BigDecimal preco = (BigDecimal) produto[1];
+                total = total.add(preco.multiply(BigDecimal.valueOf(unidades)));
+                itens.add(new Object[]{pedidoId, produto[0], unidades, preco});
+            }
+            LocalDateTime data = agora.minusMinutes(aleatorio.nextInt(90 * 24 * 60));
+            pedidos.add(new Object[]{pedidoId, clientes.get(aleatorio.nextInt(clientes.size())), Timestamp.valueOf(data), total,
+                    aleatorio.nextInt(10) == 0 ? "CANCELADO" : "ENTREGUE", aleatorio.nextBoolean() ? "ENTREGA" : "RETIRADA_LOJA"});
+
+            if (pedidos.size() == TAMANHO_LOTE || i == quantidade - 1) {
+                jdbc.batchUpdate("insert into pedido (id, usuario_id, data_criacao, total, status, tipo_entrega, versao) "
+                        + "values (?, ?, ?, ?, ?, ?, 1)", pedidos);
+                jdbc.batchUpdate("insert into item_pedido (pedido_id, produto_id, quantidade, preco_unitario) values (?, ?, ?, ?)",
+                        itens);
+                pedidos.clear();
+                itens.clear();
+            }
+        }
+        // Pedidos criados durante a carga continuam a numeração (H2)
+        jdbc.execute("alter table pedido alter column id restart with " + proximoId);
+    }
+}
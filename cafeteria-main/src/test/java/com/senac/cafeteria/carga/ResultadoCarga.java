@@ -0,0 +1,149 @@
+package com.senac.cafeteria.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latências por operação em histogramas HdrHistogram (nanossegundos, 3 dígitos significativos).
+ * Gera o relatório em texto, o JSON gravado como linha base e a comparação com uma linha base anterior.
+ */
+final class ResultadoCarga {
+
+    private static final long LATENCIA_MAXIMA = TimeUnit.MINUTES.toNanos(1);
+    private static final double NS_POR_MS = 1_000_000.0;
+
+    private final Map<String, Operacao> operacoes = new ConcurrentHashMap<>();
+    private final int taxa;
+    private final Duration duracao;
+
+    ResultadoCarga(int taxa, Duration duracao) {
+        this.taxa = taxa;
+        this.duracao = duracao;
+    }
+
+    void registrar(String operacao, long latenciaNanos, boolean sucesso) {
+        Operacao estatistica = operacoes.computeIfAbsent(operacao, o -> new Operacao());
+        estatistica.latencias.recordValue(Math.min(latenciaNanos, LATENCIA_MAXIMA));
+        if (!sucesso) {
+            estatistica.erros.increment();
+        }
+    }
+
+    String relatorio() {
+        StringBuilder texto = new StringBuilder(String.format(Locale.ROOT,
+                "Carga: %d req/s por %ds%n%-28s %8s %7s %9s %9s %9s %9s %9s %9s%n", taxa, duracao.toSeconds(),
+                "Operação", "Total", "Erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms"));
+        for (Map.Entry<String, Map<String, Number>> entrada : resumo().entrySet()) {
+            Map<String, Number> r = entrada.getValue();
+            texto.append(String.format(Locale.ROOT, "%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entrada.getKey(), r.get("requisicoes"), r.get("erros"), r.get("vazao"), r.get("p50Ms"),
+                    r.get("p90Ms"), r.get("p99Ms"), r.get("p999Ms"), r.get("maximoMs")));
+        }
+        return texto.toString();
+    }
+
+    void gravar(File arquivo) throws IOException {
+        arquivo.getParentFile().mkdirs();
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("taxa", taxa);
+        json.put("duracaoSegundos", duracao.toSeconds());
+        json.put("operacoes", resumo());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo, json);
+    }
+
+    /*
+     * Lista as operações que pioraram em relação à linha base:
+     * p99 acima de base * (1 + limite) + folga, vazão abaixo de base * (1 - limite)
+     * ou taxa de erros mais de 1 ponto percentual acima. Operações novas não são comparadas.
+     */
+    List<String> regressoes(JsonNode linhaBase, double limite, double folgaMs) {
+        List<String> regressoes = new ArrayList<>();
+        JsonNode base = linhaBase.path("operacoes");
+        for (Map.Entry<String, Map<String, Number>> entrada : resumo().entrySet()) {
+            JsonNode anterior = base.get(entrada.getKey());
+            if (anterior == null) {
+                continue;
+            }
+            Map<String, Number> atual = entrada.getValue();
+            String nome = entrada.getKey();
+
+            double p99 = atual.get("p99Ms").doubleValue();
+            double p99Base = anterior.path("p99Ms").asDouble();
+            if (p99 > p99Base * (1 + limite) + folgaMs) {
+                regressoes.add(String.format(Locale.ROOT, "%s: p99 %.2f ms (linha base %.2f ms)", nome, p99, p99Base));
+            }
+            double vazao = atual.get("vazao").doubleValue();
+            double vazaoBase = anterior.path("vazao").asDouble();
+            if (vazao < vazaoBase * (1 - limite)) {
+                regressoes.add(String.format(Locale.ROOT, "%s: vazão %.1f req/s (linha base %.1f req/s)", nome, vazao, vazaoBase));
+            }
+            double erros = taxaErros(atual.get("erros").longValue(), atual.get("requisicoes").longValue());
+            double errosBase = taxaErros(anterior.path("erros").asLong(), anterior.path("requisicoes").asLong());
+            if (erros > errosBase + 0.01) {
+                regressoes.add(String.format(Locale.ROOT, "%s: %.1f%% de erros (linha base %.1f%%)", nome, erros * 100,
+                        errosBase * 100));
+            }
+        }
+        return regressoes;
+    }
+
+    int taxa() {
+        return taxa;
+    }
+
+    long erros() {
+        return operacoes.values().stream().mapToLong(o -> o.erros.sum()).sum();
+    }
+
+    long requisicoes() {
+        return operacoes.values().stream().mapToLong(o -> o.latencias.getTotalCount()).sum();
+    }
+
+    // Ordenado pelo nome para relatórios e linhas base estáveis entre execuções
+    private Map<String, Map<String, Number>> resumo() {
+        Map<String, Map<String, Number>> resumo = new LinkedHashMap<>();
+        operacoes.keySet().stream().sorted().forEach(nome -> {
+            Histogram h = operacoes.get(nome).latencias.copy();
+            Map<String, Number> r = new LinkedHashMap<>();
+            r.put("requisicoes", h.getTotalCount());
+            r.put("erros", operacoes.get(nome).erros.sum());
+            r.put("vazao", arredondar(h.getTotalCount() / (double) duracao.toSeconds()));
+            r.put("p50Ms", arredondar(h.getValueAtPercentile(50) / NS_POR_MS));
+            r.put("p90Ms", arredondar(h.getValueAtPercentile(90) / NS_POR_MS));
+            r.put("p99Ms", arredondar(h.getValueAtPercentile(99) / NS_POR_MS));
+            r.put("p999Ms", arredondar(h.getValueAtPercentile(99.9) / NS_POR_MS));
+            r.put("maximoMs", arredondar(h.getMaxValue() / NS_POR_MS));
+            resumo.put(nome, r);
+        });
+        return resumo;
+    }
+
+    private static double taxaErros(long erros, long requisicoes) {
+        return requisicoes == 0 ? 0 : erros / (double) requisicoes;
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+
+    private static final class Operacao {
+        private final ConcurrentHistogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA, 3);
+        private final LongAdder erros = new LongAdder();
+    }
+}
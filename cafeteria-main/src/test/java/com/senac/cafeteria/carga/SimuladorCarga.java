@@ -0,0 +1,293 @@
+package com.senac.cafeteria.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Gera tráfego misto em taxa constante (modelo aberto): cada requisição parte no instante previsto
+ * em uma virtual thread, sem esperar as anteriores. A latência é medida a partir do instante previsto,
+ * então atrasos do próprio servidor em aceitar as requisições entram na conta (coordinated omission).
+ *
+ * Clientes usam sessão web (cookie JSESSIONID) para menu/carrinho e JWT para a API;
+ * o funcionário acessa a lista de pedidos e o dashboard. Cada sessão de cliente atende
+ * uma requisição por vez, como um navegador.
+ */
+final class SimuladorCarga {
+
+    private static final String FUNCIONARIO = "funcionario@cafe.com";
+    private static final int MAXIMO_EM_ANDAMENTO = 1024;
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private final String base;
+    private final List<Long> produtos;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Operacao> operacoes = List.of(
+            new Operacao("GET /menu", 30, this::verMenu),
+            new Operacao("GET /api/produtos", 15, this::listarProdutosApi),
+            new Operacao("GET /api/pedidos", 10, this::listarPedidosApi),
+            new Operacao("POST /carrinho/adicionar", 20, this::adicionarAoCarrinho),
+            new Operacao("POST /carrinho/finalizar", 8, this::finalizarPedido),
+            new Operacao("GET /admin/pedidos", 4, this::listarPedidosAdmin),
+            new Operacao("GET /admin/dashboard", 3, this::verDashboard));
+    private final int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+
+    private BlockingQueue<Sessao> sessoes;
+    private List<Sessao> todasSessoes;
+    private Sessao funcionario;
+
+    SimuladorCarga(int porta, List<Long> produtos) {
+        this.base = "http://localhost:" + porta;
+        this.produtos = produtos;
+    }
+
+    // Faz login web e na API de cada cliente (em paralelo: cada login custa um BCrypt)
+    void preparar(List<String> emails) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Sessao>> logins = new ArrayList<>();
+            for (String email : emails) {
+                logins.add(executor.submit(() -> new Sessao(loginWeb(email), loginApi(email))));
+            }
+            Future<Sessao> admin = executor.submit(() -> new Sessao(loginWeb(FUNCIONARIO), null));
+            todasSessoes = new ArrayList<>();
+            for (Future<Sessao> login : logins) {
+                todasSessoes.add(login.get());
+            }
+            funcionario = admin.get();
+        }
+        sessoes = new ArrayBlockingQueue<>(todasSessoes.size(), false, todasSessoes);
+    }
+
+    ResultadoCarga executar(int taxa, Duration duracao) throws InterruptedException {
+        ResultadoCarga resultado = new ResultadoCarga(taxa, duracao);
+        Random sorteio = new Random(7);
+        Semaphore emAndamento = new Semaphore(MAXIMO_EM_ANDAMENTO);
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long total = taxa * duracao.toSeconds();
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long previsto = inicio + i * intervalo;
+                for (long espera = previsto - System.nanoTime(); espera > 0; espera = previsto - System.nanoTime()) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacao operacao = sortear(sorteio);
+                emAndamento.acquire();
+                executor.submit(() -> {
+                    try {
+                        medir(operacao, previsto, resultado);
+                    } finally {
+                        emAndamento.release();
+                    }
+                });
+            }
+        }
+        return resultado;
+    }
+
+    private void medir(Operacao operacao, long previsto, ResultadoCarga resultado) {
+        boolean sucesso;
+        long descontar = 0;
+        try {
+            Execucao execucao = operacao.acao().executar();
+            sucesso = execucao.sucesso();
+            descontar = execucao.naoMedidoNanos();
+        } catch (IOException | RuntimeException e) {
+            sucesso = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sucesso = false;
+        }
+        resultado.registrar(operacao.nome(), System.nanoTime() - previsto - descontar, sucesso);
+    }
+
+    private Operacao sortear(Random sorteio) {
+        int valor = sorteio.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            valor -= operacao.peso();
+            if (valor < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Peso fora do intervalo");
+    }
+
+    private Execucao verMenu() throws IOException, InterruptedException {
+        return Execucao.de(enviar(requisicao("/menu").GET()).statusCode() == 200);
+    }
+
+    private Execucao listarProdutosApi() throws IOException, InterruptedException {
+        return Execucao.de(enviar(comToken(requisicao("/api/produtos")).GET()).statusCode() == 200);
+    }
+
+    private Execucao listarPedidosApi() throws IOException, InterruptedException {
+        return Execucao.de(enviar(comToken(requisicao("/api/pedidos")).GET()).statusCode() == 200);
+    }
+
+    private Execucao listarPedidosAdmin() throws IOException, InterruptedException {
+        return Execucao.de(enviar(requisicao("/admin/pedidos").header("Cookie", funcionario.cookie()).GET()).statusCode() == 200);
+    }
+
+    private Execucao verDashboard() throws IOException, InterruptedException {
+        return Execucao.de(enviar(requisicao("/admin/dashboard").header("Cookie", funcionario.cookie()).GET()).statusCode() == 200);
+    }
+
+    private Execucao adicionarAoCarrinho() throws IOException, InterruptedException {
+        Sessao sessao = ocuparSessao();
+        if (sessao == null) {
+            return Execucao.de(false);
+        }
+        try {
+            return Execucao.de(adicionar(sessao));
+        } finally {
+            sessoes.add(sessao);
+        }
+    }
+
+    // Com o carrinho vazio, adiciona um item antes; esse tempo não entra na latência do checkout
+    private Execucao finalizarPedido() throws IOException, InterruptedException {
+        Sessao sessao = ocuparSessao();
+        if (sessao == null) {
+            return Execucao.de(false);
+        }
+        try {
+            long naoMedido = 0;
+            if (!sessao.carrinhoComItens) {
+                long inicio = System.nanoTime();
+                boolean adicionado = adicionar(sessao);
+                naoMedido = System.nanoTime() - inicio;
+                if (!adicionado) {
+                    return new Execucao(false, naoMedido);
+                }
+            }
+            HttpResponse<Void> resposta = enviar(formulario(requisicao("/carrinho/finalizar"), "tipoEntrega=RETIRADA_LOJA")
+                    .header("Cookie", sessao.cookie()));
+            boolean sucesso = resposta.statusCode() == 302 && destino(resposta).endsWith("/pedidos");
+            sessao.carrinhoComItens = !sucesso;
+            return new Execucao(sucesso, naoMedido);
+        } finally {
+            sessoes.add(sessao);
+        }
+    }
+
+    private boolean adicionar(Sessao sessao) throws IOException, InterruptedException {
+        Long produtoId = produtos.get(ThreadLocalRandom.current().nextInt(produtos.size()));
+        HttpResponse<Void> resposta = enviar(formulario(requisicao("/carrinho/adicionar/" + produtoId), "quantidade=1")
+                .header("Cookie", sessao.cookie()));
+        boolean sucesso = resposta.statusCode() == 302 && destino(resposta).endsWith("/menu");
+        sessao.carrinhoComItens |= sucesso;
+        return sucesso;
+    }
+
+    // Sessões esgotadas indicam que o servidor não está dando conta da taxa
+    private Sessao ocuparSessao() throws InterruptedException {
+        return sessoes.poll(TEMPO_LIMITE.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    private String loginWeb(String email) throws IOException, InterruptedException {
+        HttpResponse<Void> resposta = enviar(formulario(requisicao("/login"),
+                "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password=" + GeradorDadosCarga.SENHA));
+        if (destino(resposta).contains("error")) {
+            throw new IllegalStateException("Login web recusado para " + email);
+        }
+        return resposta.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login web sem sessão para " + email));
+    }
+
+    private String loginApi(String email) throws IOException, InterruptedException {
+        String corpo = mapper.writeValueAsString(Map.of("username", email, "password", GeradorDadosCarga.SENHA));
+        HttpResponse<String> resposta = http.send(requisicao("/api/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Login na API recusado para " + email);
+        }
+        return mapper.readTree(resposta.body()).get("token").asText();
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(TEMPO_LIMITE);
+    }
+
+    // Qualquer cliente serve para leitura pela API; o token não é exclusivo como a sessão web
+    private HttpRequest.Builder comToken(HttpRequest.Builder requisicao) {
+        Sessao sessao = todasSessoes.get(ThreadLocalRandom.current().nextInt(todasSessoes.size()));
+        return requisicao.header("Authorization", "Bearer " + sessao.token());
+    }
+
+    private static HttpRequest.Builder formulario(HttpRequest.Builder requisicao, String corpo) {
+        return requisicao.header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private HttpResponse<Void> enviar(HttpRequest.Builder requisicao) throws IOException, InterruptedException {
+        return http.send(requisicao.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static String destino(HttpResponse<?> resposta) {
+        return resposta.headers().firstValue("Location").orElse("");
+    }
+
+    private record Operacao(String nome, int peso, Acao acao) {
+    }
+
+    @FunctionalInterface
+    private interface Acao {
+        Execucao executar() throws IOException, InterruptedException;
+    }
+
+    private record Execucao(boolean sucesso, long naoMedidoNanos) {
+        static Execucao de(boolean sucesso) {
+            return new Execucao(sucesso, 0);
+        }
+    }
+
+    private static final class Sessao {
+        private final String cookie;
+        private final String token;
+        private volatile boolean carrinhoComItens;
+
+        private Sessao(String cookie, String token) {
+            this.cookie = cookie;
+            this.token = token;
+        }
+
+        String cookie() {
+            return cookie;
+        }
+
+        String token() {
+            return token;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.senac.cafeteria.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmostradorAdaptativoTest {
+
+    @Test
+    void amostraAteOOrcamentoDoSegundoERenovaNoSeguinte() {
+        AmostradorAdaptativo amostrador = new AmostradorAdaptativo(3);
+
+        assertThat(amostrador.tentarAmostrar(10)).isTrue();
+        assertThat(amostrador.tentarAmostrar(10)).isTrue();
+        assertThat(amostrador.tentarAmostrar(10)).isTrue();
+        assertThat(amostrador.tentarAmostrar(10)).isFalse();
+
+        assertThat(amostrador.tentarAmostrar(11)).isTrue();
+    }
+
+    @Test
+    void threadAtrasadaNaViradaDoSegundoNaoZeraOOrcamentoCorrente() {
+        AmostradorAdaptativo amostrador = new AmostradorAdaptativo(2);
+        assertThat(amostrador.tentarAmostrar(11)).isTrue();
+        assertThat(amostrador.tentarAmostrar(11)).isTrue();
+
+        // Leu o relógio ainda no segundo 10, antes de outra thread virar para o 11
+        assertThat(amostrador.tentarAmostrar(10)).isFalse();
+        assertThat(amostrador.tentarAmostrar(11)).isFalse();
+    }
+
+    @Test
+    void orcamentoZeroDesligaAAmostragem() {
+        AmostradorAdaptativo amostrador = new AmostradorAdaptativo(0);
+
+        assertThat(amostrador.tentarAmostrar(1)).isFalse();
+    }
+}
@@ -0,0 +1,75 @@
+package com.senac.cafeteria.config;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConsultasSqlFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConsultasSqlListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void cardapioFazUmaConsultaIndependenteDoNumeroDeProdutos() throws Exception {
+        mockMvc.perform(get("/menu"))
+                .andExpect(status().isOk())
+                .andExpect(ConsultasSqlMatchers.exatamente(1));
+    }
+
+    @Test
+    void contaSoDentroDaContagemAberta() {
+        jdbc.queryForObject("select count(*) from produto", Long.class);
+
+        ConsultasSqlListener.Contagem contagem = new ConsultasSqlListener.Contagem();
+        ConsultasSqlListener.Contagem anterior = listener.iniciarContagem(contagem);
+        try {
+            jdbc.queryForObject("select count(*) from produto", Long.class);
+            jdbc.queryForObject("select count(*) from usuario", Long.class);
+        } finally {
+            listener.encerrarContagem(anterior);
+        }
+        jdbc.queryForObject("select count(*) from produto", Long.class);
+
+        assertThat(contagem.getConsultas()).isEqualTo(2);
+        assertThat(contagem.getNanos()).isPositive();
+    }
+
+    @Test
+    void logDeConsultaLentaResumeParametrosGrandes() throws Exception {
+        QueryInfo query = new QueryInfo("update produto set imagem = ?, nome = ? where id = ?");
+        query.getParametersList().add(List.of(
+                parametro("setBytes", 1, new byte[40_000]),
+                parametro("setString", 2, "x".repeat(500)),
+                parametro("setLong", 3, 7L)));
+
+        String texto = ConsultasSqlListener.descrever(List.of(query));
+
+        assertThat(texto).contains("<40000 bytes>", "x".repeat(100) + "...", ", 7]");
+        assertThat(texto.length()).isLessThan(300);
+    }
+
+    private static ParameterSetOperation parametro(String metodo, int indice, Object valor) throws Exception {
+        Class<?> tipo = valor instanceof byte[] ? byte[].class : valor instanceof Long ? long.class : String.class;
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(metodo, int.class, tipo), new Object[]{indice, valor});
+    }
+}
@@ -0,0 +1,33 @@
+package com.senac.cafeteria.config;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Verificações de quantidade de SQL por requisição para testes com MockMvc
+ * (lê o cabeçalho X-Sql-Consultas escrito pelo ConsultasSqlFilter).
+ * Ex.: mockMvc.perform(get("/menu")).andExpect(ConsultasSqlMatchers.noMaximo(1));
+ */
+public final class ConsultasSqlMatchers {
+
+    private ConsultasSqlMatchers() {
+    }
+
+    public static ResultMatcher noMaximo(int maximo) {
+        return resultado -> assertThat(consultas(resultado.getResponse().getHeader(ConsultasSqlFilter.HEADER_CONSULTAS)))
+                .as("consultas SQL de %s", resultado.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(maximo);
+    }
+
+    public static ResultMatcher exatamente(int quantidade) {
+        return resultado -> assertThat(consultas(resultado.getResponse().getHeader(ConsultasSqlFilter.HEADER_CONSULTAS)))
+                .as("consultas SQL de %s", resultado.getRequest().getRequestURI())
+                .isEqualTo(quantidade);
+    }
+
+    private static int consultas(String cabecalho) {
+        assertThat(cabecalho).as("cabeçalho " + ConsultasSqlFilter.HEADER_CONSULTAS + " (cafeteria.sql.cabecalhos=true)").isNotNull();
+        return Integer.parseInt(cabecalho);
+    }
+}
@@ -0,0 +1,58 @@
+package com.senac.cafeteria.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {"spring.thymeleaf.cache=true", "cafeteria.fragmentos.cache=true"})
+@AutoConfigureMockMvc
+class FragmentosEmCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void cabecalhoRenderizadoUmaVezPorPapelComONomeDeCadaUsuario() throws Exception {
+        double antes = renderizacoes();
+
+        String ana = cardapio(user("ana@teste.com").roles("CLIENTE"));
+        String bruno = cardapio(user("<b>bruno</b>").roles("CLIENTE"));
+
+        assertThat(renderizacoes() - antes).as("cabeçalho e rodapé renderizados só para o primeiro cliente").isEqualTo(2);
+        assertThat(ana).contains("ana@teste.com").contains("bi-cart3").doesNotContain("bruno");
+        assertThat(bruno).contains("&lt;b&gt;bruno&lt;/b&gt;").doesNotContain("ana@teste.com");
+    }
+
+    @Test
+    void papelEIdiomaSeparamAsEntradas() throws Exception {
+        String anonimo = mockMvc.perform(get("/menu")).andReturn().getResponse().getContentAsString();
+        String funcionario = cardapio(user("func@teste.com").roles("FUNCIONARIO"));
+        double antes = renderizacoes();
+        mockMvc.perform(get("/menu").locale(Locale.forLanguageTag("pt-BR")));
+
+        assertThat(anonimo).contains("/login").doesNotContain("/admin/dashboard").doesNotContain("bi-cart3");
+        assertThat(funcionario).contains("/admin/dashboard").contains("func@teste.com");
+        assertThat(renderizacoes() - antes).as("outro idioma renderiza de novo").isEqualTo(2);
+    }
+
+    private String cardapio(RequestPostProcessor usuario) throws Exception {
+        return mockMvc.perform(get("/menu").with(usuario)).andReturn().getResponse().getContentAsString();
+    }
+
+    private double renderizacoes() {
+        return registry.get("cafeteria.fragmentos.renderizacoes").functionCounter().count();
+    }
+}
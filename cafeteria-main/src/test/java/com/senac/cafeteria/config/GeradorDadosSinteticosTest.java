@@ -0,0 +1,102 @@
+package com.senac.cafeteria.config;
+
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import com.senac.cafeteria.repositories.UsuarioRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Geração em volume pequeno: 450 pedidos em 5 faixas de 100 (a última incompleta) gravadas por 8 threads,
+ * com lotes de 70 que não dividem a faixa, para exercitar a gravação paralela e o último lote parcial.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:gerador",
+        "cafeteria.gerador.enabled=true",
+        "cafeteria.gerador.usuarios=50",
+        "cafeteria.gerador.produtos=12",
+        "cafeteria.gerador.pedidos=450",
+        "cafeteria.gerador.threads=8",
+        "cafeteria.gerador.pedidos-por-faixa=100",
+        "cafeteria.gerador.itens-maximo=4",
+        "cafeteria.gerador.imagem-px=32",
+        "cafeteria.gerador.meses=3",
+        "cafeteria.gerador.tamanho-lote=70"
+})
+class GeradorDadosSinteticosTest {
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void geraPedidosConsistentesComItensETotais() {
+        assertThat(jdbc.queryForObject("select count(*) from usuario where email like '%" + GeradorDadosSinteticos.DOMINIO + "'",
+                Integer.class)).isEqualTo(50);
+        assertThat(jdbc.queryForObject("select count(*) from produto where imagem is not null and descricao like 'Produto gerado %'",
+                Integer.class)).isEqualTo(12);
+        assertThat(jdbc.queryForObject("select count(*) from pedido", Long.class)).isEqualTo(450);
+        // Faixas sem sobreposição nem buraco na numeração
+        assertThat(jdbc.queryForObject("select max(id) - min(id) + 1 from pedido", Long.class)).isEqualTo(450);
+
+        // Nenhum pedido sem item, nenhum acima do máximo, e total igual à soma dos itens
+        assertThat(jdbc.queryForObject("""
+                select count(*) from pedido p
+                where (select count(*) from item_pedido i where i.pedido_id = p.id) not between 1 and 4
+                   or p.total <> (select sum(i.preco_unitario * i.quantidade) from item_pedido i where i.pedido_id = p.id)
+                """, Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from pedido where status not in ('ENTREGUE', 'CANCELADO')",
+                Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select min(data_criacao) from pedido", LocalDateTime.class))
+                .isAfter(LocalDateTime.now().minusMonths(3).minusDays(1));
+    }
+
+    // Transacional: o pedido criado é desfeito e não interfere na contagem do outro teste
+    @Test
+    @Transactional
+    void pedidoNovoContinuaANumeracaoDepoisDosGerados() {
+        long maiorGerado = jdbc.queryForObject("select max(id) from pedido", Long.class);
+        Usuario cliente = usuarioRepository.findByEmail("cliente1" + GeradorDadosSinteticos.DOMINIO).orElseThrow();
+
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(cliente);
+        pedido.setDataCriacao(LocalDateTime.now());
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setTotal(BigDecimal.TEN);
+
+        assertThat(pedidoRepository.save(pedido).getId()).isGreaterThan(maiorGerado);
+    }
+
+    @Test
+    void amostradorZipfConcentraNosPrimeirosENuncaSorteiaPesoZero() {
+        GeradorDadosSinteticos.Amostrador zipf = new GeradorDadosSinteticos.Amostrador(100, 1.0);
+        GeradorDadosSinteticos.Amostrador comZeros = new GeradorDadosSinteticos.Amostrador(new int[]{0, 3, 0, 1, 0});
+        SplittableRandom aleatorio = new SplittableRandom(1);
+        int[] contagem = new int[100];
+        for (int i = 0; i < 100_000; i++) {
+            contagem[zipf.sortear(aleatorio)]++;
+            assertThat(comZeros.sortear(aleatorio)).isIn(1, 3);
+        }
+
+        // Com s = 1, o primeiro recebe 1/H(100) ~ 19% e o décimo ~ 1,9%
+        assertThat(contagem[0]).isBetween(18_000, 21_000);
+        assertThat(contagem[9]).isBetween(1_600, 2_300);
+    }
+}
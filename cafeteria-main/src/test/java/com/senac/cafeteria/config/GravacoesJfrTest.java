@@ -0,0 +1,70 @@
+package com.senac.cafeteria.config;
+
+import com.senac.cafeteria.dtos.GravacaoJfr;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GravacoesJfrTest {
+
+    @TempDir
+    Path diretorio;
+
+    private GravacoesJfr gravacoes;
+
+    @BeforeEach
+    void criar() {
+        gravacoes = new GravacoesJfr(diretorio.toString(), 1, 5);
+    }
+
+    @AfterEach
+    void encerrar() {
+        gravacoes.encerrar();
+    }
+
+    @Test
+    void gravaEventosDaAplicacaoAteADuracaoMaxima() throws Exception {
+        GravacaoJfr iniciada = gravacoes.iniciar(60);
+        assertThat(iniciada.estado()).isEqualTo("gravando");
+        assertThat(iniciada.fim()).isEqualTo(iniciada.inicio().plusSeconds(1));
+        assertThatThrownBy(() -> gravacoes.iniciar(1)).hasMessageContaining("em andamento");
+
+        EventosJfr.Checkout checkout = new EventosJfr.Checkout(7);
+        checkout.itens = 2;
+        checkout.commit();
+
+        Path arquivo = aguardarArquivo(iniciada.nome());
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(arquivo);
+        assertThat(eventos).anySatisfy(evento -> {
+            assertThat(evento.getEventType().getName()).isEqualTo("cafeteria.Checkout");
+            assertThat(evento.getLong("usuarioId")).isEqualTo(7);
+        });
+        assertThat(gravacoes.listar()).extracting(GravacaoJfr::estado).containsExactly("concluida");
+    }
+
+    @Test
+    void recusaNomeForaDoPadrao() {
+        assertThatThrownBy(() -> gravacoes.arquivo("../application"))
+                .hasMessageContaining("não encontrada");
+    }
+
+    private Path aguardarArquivo(String nome) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            try {
+                return gravacoes.arquivo(nome);
+            } catch (RuntimeException e) {
+                Thread.sleep(100);
+            }
+        }
+        return gravacoes.arquivo(nome);
+    }
+}
@@ -0,0 +1,44 @@
+package com.senac.cafeteria.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecursosEstaticosConfigTest {
+
+    private static final Pattern LINK_CSS = Pattern.compile("href=\"(/css/style-[0-9a-f]{32}\\.css)\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void linkComHashTemCacheLongoEImutavel() throws Exception {
+        String pagina = mockMvc.perform(get("/login")).andReturn().getResponse().getContentAsString();
+        Matcher link = LINK_CSS.matcher(pagina);
+        assertThat(link.find()).as("link versionado do style.css em /login").isTrue();
+
+        mockMvc.perform(get(link.group(1)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void urlSemHashRevalidaACadaUso() throws Exception {
+        mockMvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+}
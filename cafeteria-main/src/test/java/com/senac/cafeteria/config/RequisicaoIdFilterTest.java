@@ -0,0 +1,40 @@
+package com.senac.cafeteria.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequisicaoIdFilterTest {
+
+    private final RequisicaoIdFilter filtro = new RequisicaoIdFilter();
+
+    @Test
+    void reaproveitaIdDoProxyEDisponibilizaNoMdc() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequisicaoIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> noMdc = new AtomicReference<>();
+
+        filtro.doFilter(request, response, (req, res) -> noMdc.set(MDC.get(RequisicaoIdFilter.CHAVE_MDC)));
+
+        assertThat(noMdc.get()).isEqualTo("abc-123");
+        assertThat(response.getHeader(RequisicaoIdFilter.HEADER)).isEqualTo("abc-123");
+        assertThat(MDC.get(RequisicaoIdFilter.CHAVE_MDC)).isNull();
+    }
+
+    @Test
+    void geraNovoIdQuandoHeaderEhInseguro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequisicaoIdFilter.HEADER, "x\n2026-01-01 ERROR falso");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getHeader(RequisicaoIdFilter.HEADER)).matches("[0-9a-f]{16}");
+    }
+}
@@ -0,0 +1,94 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.services.MyUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * Erros do carrinho e do estoque pela API: corpo inválido é 400 com as mensagens da validação,
+ * produto inexistente é 404, e nenhum dos dois altera o carrinho.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiCarrinhoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @AfterEach
+    void limparCarrinho() throws Exception {
+        mockMvc.perform(delete("/api/carrinho").with(cliente()));
+    }
+
+    @Test
+    void corpoInvalidoResponde400ComAsMensagensDosCampos() throws Exception {
+        mockMvc.perform(json(post("/api/carrinho/itens"), "{\"quantidade\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("A quantidade deve ser positiva; Informe o produto"));
+        mockMvc.perform(json(put("/api/carrinho/itens/1"), "{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Informe a quantidade"));
+        mockMvc.perform(json(post("/api/carrinho/itens"), "{\"produtoId\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Corpo da requisição inválido"));
+
+        mockMvc.perform(get("/api/carrinho").with(cliente()))
+                .andExpect(jsonPath("$.itens").isEmpty());
+    }
+
+    @Test
+    void produtoInexistenteResponde404ENaoEntraNoCarrinho() throws Exception {
+        mockMvc.perform(json(post("/api/carrinho/itens"), "{\"produtoId\": 999999}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Produto não encontrado com ID: 999999"));
+
+        mockMvc.perform(json(post("/api/carrinho/itens"), "{\"produtoId\": 1, \"quantidade\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidadeItens").value(2));
+    }
+
+    @Test
+    void finalizarCarrinhoVazioResponde400() throws Exception {
+        mockMvc.perform(post("/api/carrinho/finalizar").with(cliente()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Carrinho vazio"));
+    }
+
+    @Test
+    void estoqueNegativoOuDeProdutoInexistente() throws Exception {
+        RequestPostProcessor funcionario = user(userDetailsService.loadUserByUsername("funcionario@cafe.com"));
+        mockMvc.perform(put("/api/admin/estoque/1").with(funcionario)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"quantidade\": -1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Estoque não pode ser negativo"));
+        mockMvc.perform(put("/api/admin/estoque/999999").with(funcionario)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"quantidade\": 5}"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder requisicao, String corpo) {
+        return requisicao.with(cliente()).contentType(MediaType.APPLICATION_JSON).content(corpo);
+    }
+
+    private RequestPostProcessor cliente() {
+        return user(userDetailsService.loadUserByUsername("cliente@teste.com"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.senac.cafeteria.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.Role;
+import com.senac.cafeteria.repositories.UsuarioRepository;
+import com.senac.cafeteria.services.MyUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiPedidoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void detalhesSoParaODonoOuFuncionario() throws Exception {
+        long pedidoId = criarPedido(cliente());
+
+        mockMvc.perform(get("/api/pedidos/" + pedidoId).with(cliente()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].produtoId").value(1));
+        mockMvc.perform(get("/api/pedidos/" + pedidoId).with(funcionario()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/pedidos/" + pedidoId).with(outroCliente()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/pedidos/999999").with(cliente()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Pedido não encontrado"));
+    }
+
+    @Test
+    void mudancaDeStatusRespondeConformeOResultado() throws Exception {
+        long pedidoId = criarPedido(cliente());
+
+        mudarStatus(pedidoId, "{\"status\": \"CONFIRMADO\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultado").value("APLICADA"));
+        mudarStatus(pedidoId, "{\"status\": \"PREPARANDO\", \"statusEsperado\": \"PENDENTE\", \"versao\": 0}")
+                .andExpect(status().isConflict());
+        mudarStatus(pedidoId, "{\"status\": \"PENDENTE\"}")
+                .andExpect(status().isUnprocessableEntity());
+        mudarStatus(999999, "{\"status\": \"CONFIRMADO\"}")
+                .andExpect(status().isNotFound());
+        mudarStatus(pedidoId, "{}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Informe o novo status"));
+        mudarStatus(pedidoId, "{\"status\": \"ESQUECIDO\"}")
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportacaoTrazTodosOsPedidosEArquivadosEmOrdemAtravessandoOsLotes() throws Exception {
+        long comItens = criarPedido(cliente());
+        // Mais de dois lotes de 500 pedidos, para a leitura continuar a partir do último id de cada lote
+        Long usuarioId = ((Usuario) userDetailsService.loadUserByUsername("cliente@teste.com")).getId();
+        List<Object[]> pedidos = new ArrayList<>(Collections.nCopies(1100,
+                new Object[]{usuarioId, Timestamp.valueOf(LocalDateTime.now())}));
+        jdbc.batchUpdate("insert into pedido (usuario_id, data_criacao, total, status) values (?, ?, 0, 'PENDENTE')", pedidos);
+        // Metade deles (ids pares) e o pedido com itens vão para o arquivo: os ids das duas tabelas se intercalam
+        jdbc.update("insert into pedido_arquivo (id, usuario_id, data_criacao, total, status, tipo_entrega, versao, data_arquivamento) "
+                + "select id, usuario_id, data_criacao, total, 'ENTREGUE', tipo_entrega, versao, current_timestamp from pedido "
+                + "where (id > ? and mod(id, 2) = 0) or id = ?", comItens, comItens);
+        jdbc.update("insert into item_pedido_arquivo (id, pedido_id, produto_id, quantidade, preco_unitario) "
+                + "select id, pedido_id, produto_id, quantidade, preco_unitario from item_pedido where pedido_id = ?", comItens);
+        jdbc.update("delete from pedido_produto_relacionado where pedido_id = ?", comItens);
+        jdbc.update("delete from item_pedido where pedido_id = ?", comItens);
+        jdbc.update("delete from pedido where id in (select id from pedido_arquivo)");
+
+        MvcResult inicio = mockMvc.perform(get("/api/admin/pedidos/exportar").with(funcionario()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String corpo = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode exportados = objectMapper.readTree(corpo);
+        List<Long> ids = new ArrayList<>();
+        exportados.forEach(pedido -> ids.add(pedido.get("id").asLong()));
+        assertThat(ids).hasSize(jdbc.queryForObject(
+                        "select (select count(*) from pedido) + (select count(*) from pedido_arquivo)", Integer.class))
+                .isSorted()
+                .doesNotHaveDuplicates()
+                .contains(comItens);
+        JsonNode exportado = exportados.get(ids.indexOf(comItens));
+        assertThat(exportado.get("itens")).hasSize(1);
+        assertThat(exportado.get("itens").get(0).get("produtoId").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void exportacaoPorPeriodoRecusaPeriodoInvertidoEFormatoDesconhecido() throws Exception {
+        mockMvc.perform(get("/api/admin/pedidos/exportar-periodo?inicio=2025-02-01&fim=2025-01-01").with(funcionario()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Data final anterior à data inicial"));
+        mockMvc.perform(get("/api/admin/pedidos/exportar-periodo?inicio=2025-01-01&fim=2025-01-31&formato=xls").with(funcionario()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Formato não suportado: xls"));
+    }
+
+    private ResultActions mudarStatus(long pedidoId, String corpo) throws Exception {
+        return mockMvc.perform(patch("/api/admin/pedidos/" + pedidoId + "/status").with(funcionario())
+                .contentType(MediaType.APPLICATION_JSON).content(corpo));
+    }
+
+    // Pedido de verdade, pelo carrinho: um item do produto 1
+    private long criarPedido(RequestPostProcessor usuario) throws Exception {
+        mockMvc.perform(post("/api/carrinho/itens").with(usuario)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"produtoId\": 1}"))
+                .andExpect(status().isOk());
+        String pedido = mockMvc.perform(post("/api/carrinho/finalizar").with(usuario))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(pedido).get("id").asLong();
+    }
+
+    private RequestPostProcessor cliente() {
+        return user(userDetailsService.loadUserByUsername("cliente@teste.com"));
+    }
+
+    private RequestPostProcessor funcionario() {
+        return user(userDetailsService.loadUserByUsername("funcionario@cafe.com"));
+    }
+
+    private RequestPostProcessor outroCliente() {
+        Usuario outro = usuarioRepository.findByEmail("outro.api@teste.com").orElseGet(() -> {
+            Usuario novo = new Usuario();
+            novo.setNome("Outro Cliente");
+            novo.setEmail("outro.api@teste.com");
+            novo.setRole(Role.CLIENTE);
+            return usuarioRepository.save(novo);
+        });
+        return user(outro);
+    }
+}
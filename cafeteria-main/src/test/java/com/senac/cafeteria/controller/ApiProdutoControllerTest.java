@@ -0,0 +1,89 @@
+package com.senac.cafeteria.controller;
+
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+import com.senac.cafeteria.services.MyUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiProdutoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    void mesmaVersaoDoCatalogoResponde304SemCorpo() throws Exception {
+        String etag = mockMvc.perform(get("/api/produtos").with(cliente()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/produtos").with(cliente()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/produtos").with(cliente()).header(HttpHeaders.IF_NONE_MATCH, "\"outra-versao\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void produtoInexistenteResponde404() throws Exception {
+        mockMvc.perform(get("/api/produtos/999999").with(cliente()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Produto não encontrado com ID: 999999"));
+        mockMvc.perform(get("/api/produtos/abc").with(cliente()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Valor inválido para id: abc"));
+    }
+
+    @Test
+    void imagemSaiComOTipoDoArquivoGravado() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10};
+
+        mockMvc.perform(get("/api/produtos/" + produtoComImagem("Imagem PNG", png) + "/imagem").with(cliente()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(content().bytes(png));
+        mockMvc.perform(get("/api/produtos/" + produtoComImagem("Imagem JPEG", jpeg) + "/imagem").with(cliente()))
+                .andExpect(content().contentType(MediaType.IMAGE_JPEG));
+        mockMvc.perform(get("/api/produtos/" + produtoComImagem("Imagem desconhecida", new byte[]{1, 2, 3}) + "/imagem")
+                        .with(cliente()))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    private Long produtoComImagem(String nome, byte[] imagem) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(BigDecimal.ONE);
+        produto.setImagem(imagem);
+        return produtoRepository.save(produto).getId();
+    }
+
+    private RequestPostProcessor cliente() {
+        return user(userDetailsService.loadUserByUsername("cliente@teste.com"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.senac.cafeteria.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.services.MyUserDetailsService;
+import com.senac.cafeteria.services.PedidoEventoBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/*
+ * Acompanhamento do cliente por SSE (GET /api/pedidos/eventos), com a janela de agrupamento padrão de 500 ms.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransmissorSseTest {
+
+    private static final long PEDIDO = 900_001L;
+    private static final long PEDIDO_DE_OUTRO = 900_002L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MyUserDetailsService userDetailsService;
+
+    @Autowired
+    private PedidoEventoBus pedidoEventoBus;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mudancasRapidasDoMesmoPedidoChegamComoUmEventoSoDoCliente() throws Exception {
+        Usuario cliente = (Usuario) userDetailsService.loadUserByUsername("cliente@teste.com");
+        MvcResult conexao = mockMvc.perform(get("/api/pedidos/eventos").with(user(cliente)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            aguardar(conexao, ":conectado");
+
+            pedidoEventoBus.publicar(List.of(
+                    statusAlterado(PEDIDO, cliente.getId(), StatusPedido.PENDENTE, StatusPedido.CONFIRMADO),
+                    statusAlterado(PEDIDO_DE_OUTRO, cliente.getId() + 1000, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO),
+                    statusAlterado(PEDIDO, cliente.getId(), StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO),
+                    statusAlterado(PEDIDO, cliente.getId(), StatusPedido.PREPARANDO, StatusPedido.PRONTO)));
+            long ultimoId = pedidoEventoBus.ultimoEventoId();
+            aguardar(conexao, "PRONTO");
+
+            List<JsonNode> eventos = eventos(conexao);
+            assertThat(eventos).hasSize(1);
+            assertThat(eventos.get(0).get("pedidoId").asLong()).isEqualTo(PEDIDO);
+            assertThat(eventos.get(0).get("statusAnterior").asText()).isEqualTo("PENDENTE");
+            assertThat(eventos.get(0).get("status").asText()).isEqualTo("PRONTO");
+            // O id enviado é o do último evento agrupado: uma reconexão com ele não repete nem pula nada
+            assertThat(conexao.getResponse().getContentAsString()).contains("id:" + ultimoId + "\n");
+        } finally {
+            // Encerra a conexão como o navegador faria; libera a assinatura e a virtual thread
+            conexao.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    private List<JsonNode> eventos(MvcResult conexao) throws Exception {
+        List<JsonNode> eventos = new ArrayList<>();
+        for (String linha : conexao.getResponse().getContentAsString().split("\n")) {
+            if (linha.startsWith("data:")) {
+                eventos.add(objectMapper.readTree(linha.substring("data:".length())));
+            }
+        }
+        return eventos;
+    }
+
+    private static void aguardar(MvcResult conexao, String trecho) throws Exception {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (!conexao.getResponse().getContentAsString().contains(trecho)) {
+            assertThat(System.nanoTime()).as("esperando '%s' na transmissão", trecho).isLessThan(limite);
+            Thread.sleep(20);
+        }
+    }
+
+    private static PedidoEvento statusAlterado(long pedidoId, long usuarioId, StatusPedido de, StatusPedido para) {
+        return PedidoEvento.statusAlterado(
+                new PedidoResumoResponse(pedidoId, usuarioId, LocalDateTime.now(), para, BigDecimal.TEN), de);
+    }
+}
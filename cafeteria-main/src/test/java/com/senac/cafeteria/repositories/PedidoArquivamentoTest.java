@@ -0,0 +1,115 @@
+package com.senac.cafeteria.repositories;
+
+import com.senac.cafeteria.dtos.ItemPedidoResponse;
+import com.senac.cafeteria.models.ItemPedido;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.Role;
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/*
+ * Cópia para as tabelas de arquivo e exclusão do original, feitas em massa sem carregar entidades.
+ */
+@DataJpaTest
+class PedidoArquivamentoTest {
+
+    private static final Set<StatusPedido> FINAIS = EnumSet.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PedidoArquivadoRepository pedidoArquivadoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long usuarioId;
+    private Long entregueId;
+    private Long pendenteId;
+
+    @BeforeEach
+    void criarPedidos() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Cliente Arquivo");
+        usuario.setEmail("arquivo@teste.com");
+        usuario.setRole(Role.CLIENTE);
+        usuarioId = entityManager.persist(usuario).getId();
+
+        Produto produto = new Produto();
+        produto.setNome("Café Arquivado");
+        produto.setPreco(new BigDecimal("4.50"));
+        entityManager.persist(produto);
+
+        entregueId = criarPedido(usuario, produto, StatusPedido.ENTREGUE);
+        pendenteId = criarPedido(usuario, produto, StatusPedido.PENDENTE);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listaSoPedidosFinalizadosAntesDoCorte() {
+        List<Long> ids = pedidoRepository.listarIdsParaArquivar(0L, LocalDateTime.now().plusMinutes(1), FINAIS, Limit.of(10));
+        assertThat(ids).containsExactly(entregueId);
+
+        // Marca d'água: ids já examinados não voltam
+        assertThat(pedidoRepository.listarIdsParaArquivar(entregueId, LocalDateTime.now().plusMinutes(1), FINAIS, Limit.of(10)))
+                .isEmpty();
+    }
+
+    @Test
+    void moveOPedidoEOsItensParaOArquivo() {
+        List<Long> ids = List.of(entregueId, pendenteId);
+
+        assertThat(pedidoArquivadoRepository.copiarPedidos(List.of(entregueId), LocalDateTime.now())).isEqualTo(1);
+        assertThat(pedidoArquivadoRepository.copiarItens(List.of(entregueId))).isEqualTo(1);
+        assertThat(itemPedidoRepository.excluirPorPedidos(List.of(entregueId))).isEqualTo(1);
+        // O filtro de status protege o pedido ainda em andamento
+        assertThat(pedidoRepository.excluirArquivados(ids, FINAIS)).isEqualTo(1);
+
+        assertThat(pedidoRepository.findById(entregueId)).isEmpty();
+        assertThat(pedidoRepository.findById(pendenteId)).isPresent();
+        assertThat(pedidoArquivadoRepository.findByUsuarioIdOrderByDataCriacaoDesc(usuarioId))
+                .singleElement()
+                .satisfies(p -> assertThat(p.getStatus()).isEqualTo(StatusPedido.ENTREGUE));
+        assertThat(pedidoArquivadoRepository.listarItensPorPedidos(List.of(entregueId)))
+                .extracting(ItemPedidoResponse::nome, ItemPedidoResponse::quantidade)
+                .containsExactly(tuple("Café Arquivado", 2));
+    }
+
+    private Long criarPedido(Usuario usuario, Produto produto, StatusPedido status) {
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuario);
+        pedido.setStatus(status);
+        pedido.setTotal(new BigDecimal("9.00"));
+        entityManager.persist(pedido);
+
+        ItemPedido item = new ItemPedido();
+        item.setPedido(pedido);
+        item.setProduto(produto);
+        item.setQuantidade(2);
+        item.setPrecoUnitario(produto.getPreco());
+        entityManager.persist(item);
+        return pedido.getId();
+    }
+}
@@ -0,0 +1,126 @@
+package com.senac.cafeteria.repositories;
+
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.Role;
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Executa EXPLAIN (H2 em modo MySQL) sobre cada SQL emitido pelas consultas do PedidoRepository
+ * e falha se algum plano fizer varredura completa da tabela (tableScan).
+ * O schema vem das migrações Flyway, então o teste também garante que os índices existem.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:explain;MODE=MySQL",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.senac.cafeteria.repositories.PedidoRepositoryExplainTest$CapturaSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PedidoRepositoryExplainTest {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void popularDados() {
+        usuario = new Usuario();
+        usuario.setNome("Cliente Explain");
+        usuario.setEmail("explain@teste.com");
+        usuario.setRole(Role.CLIENTE);
+        entityManager.persist(usuario);
+
+        for (int i = 0; i < 20; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setUsuario(usuario);
+            pedido.setStatus(i % 2 == 0 ? StatusPedido.PENDENTE : StatusPedido.ENTREGUE);
+            pedido.setDataCriacao(LocalDateTime.now().minusHours(i));
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturaSql.SQLS.clear();
+    }
+
+    @Test
+    void findByUsuarioOrderByDataCriacaoDescUsaIndice() {
+        pedidoRepository.findByUsuarioOrderByDataCriacaoDesc(usuario);
+        assertSemTableScan(usuario.getId());
+    }
+
+    @Test
+    void findByStatusOrderByDataCriacaoDescUsaIndice() {
+        pedidoRepository.findByStatusOrderByDataCriacaoDesc(StatusPedido.PENDENTE);
+        assertSemTableScan(StatusPedido.PENDENTE.name());
+    }
+
+    @Test
+    void findAllByOrderByDataCriacaoDescUsaIndice() {
+        pedidoRepository.findAllByOrderByDataCriacaoDesc();
+        assertSemTableScan();
+    }
+
+    @Test
+    void findByEmailUsaIndice() {
+        usuarioRepository.findByEmail("explain@teste.com");
+        assertSemTableScan("explain@teste.com");
+    }
+
+    /*
+     * Roda EXPLAIN em todas as SQLs capturadas. A primeira recebe os parâmetros informados
+     * (a consulta do método); as seguintes são buscas secundárias por id (ex.: usuario eager).
+     */
+    private void assertSemTableScan(Object... parametros) {
+        List<String> sqls = List.copyOf(CapturaSql.SQLS);
+        assertThat(sqls).isNotEmpty();
+
+        for (int i = 0; i < sqls.size(); i++) {
+            String sql = sqls.get(i);
+            Object[] args = i == 0 ? parametros : idsPara(sql);
+            String plano = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+            assertThat(plano).as("plano de: %s", sql).doesNotContainIgnoringCase("tableScan");
+        }
+    }
+
+    private Object[] idsPara(String sql) {
+        return sql.chars().filter(c -> c == '?').mapToObj(c -> (Object) 1L).toArray();
+    }
+
+    // Inspector do Hibernate que apenas registra as SQLs de consulta emitidas
+    public static class CapturaSql implements StatementInspector {
+
+        static final List<String> SQLS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                SQLS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
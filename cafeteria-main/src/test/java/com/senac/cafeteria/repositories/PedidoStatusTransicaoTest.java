@@ -0,0 +1,105 @@
+package com.senac.cafeteria.repositories;
+
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.Role;
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/*
+ * UPDATE condicional de status: respeita a tabela de transições e a versão otimista
+ * sem carregar o pedido antes.
+ */
+@DataJpaTest
+class PedidoStatusTransicaoTest {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long pedidoId;
+
+    @BeforeEach
+    void criarPedido() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Cliente Status");
+        usuario.setEmail("status@teste.com");
+        usuario.setRole(Role.CLIENTE);
+        entityManager.persist(usuario);
+
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuario);
+        pedidoId = entityManager.persistAndFlush(pedido).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    void aplicaTransicaoPermitidaEIncrementaVersao() {
+        int alterados = pedidoRepository.transicionarStatus(pedidoId, StatusPedido.CONFIRMADO,
+                StatusPedido.CONFIRMADO.origensPermitidas());
+
+        assertThat(alterados).isEqualTo(1);
+        Pedido pedido = entityManager.find(Pedido.class, pedidoId);
+        assertThat(pedido.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+        assertThat(pedido.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    void naoAlteraQuandoStatusAtualNaoPermiteATransicao() {
+        int alterados = pedidoRepository.transicionarStatus(pedidoId, StatusPedido.ENTREGUE,
+                StatusPedido.ENTREGUE.origensPermitidas());
+
+        assertThat(alterados).isZero();
+        assertThat(entityManager.find(Pedido.class, pedidoId).getStatus()).isEqualTo(StatusPedido.PENDENTE);
+    }
+
+    @Test
+    void segundaAlteracaoComVersaoAntigaFalha() {
+        // Dois baristas leram o pedido na versão 0; só o primeiro consegue alterar
+        int primeiro = pedidoRepository.transicionarStatusComVersao(pedidoId, StatusPedido.PREPARANDO, StatusPedido.PENDENTE, 0L);
+        int segundo = pedidoRepository.transicionarStatusComVersao(pedidoId, StatusPedido.CANCELADO, StatusPedido.PENDENTE, 0L);
+
+        assertThat(primeiro).isEqualTo(1);
+        assertThat(segundo).isZero();
+        assertThat(entityManager.find(Pedido.class, pedidoId).getStatus()).isEqualTo(StatusPedido.PREPARANDO);
+    }
+
+    @Test
+    void loteAlteraSoOsPedidosComTransicaoPermitida() {
+        Pedido pronto = new Pedido();
+        pronto.setUsuario(entityManager.find(Pedido.class, pedidoId).getUsuario());
+        pronto.setStatus(StatusPedido.PRONTO);
+        Long prontoId = entityManager.persistAndFlush(pronto).getId();
+        entityManager.clear();
+
+        // PENDENTE -> CANCELADO é permitido; PRONTO -> CANCELADO não
+        int alterados = pedidoRepository.transicionarStatusEmLote(List.of(pedidoId, prontoId), StatusPedido.CANCELADO,
+                StatusPedido.CANCELADO.origensPermitidas());
+
+        assertThat(alterados).isEqualTo(1);
+        assertThat(pedidoRepository.listarResumos(List.of(pedidoId, prontoId)))
+                .extracting(PedidoResumoResponse::id, PedidoResumoResponse::status)
+                .containsExactlyInAnyOrder(tuple(pedidoId, StatusPedido.CANCELADO), tuple(prontoId, StatusPedido.PRONTO));
+    }
+
+    @Test
+    void tabelaDeTransicoesTemEstadosFinais() {
+        assertThat(StatusPedido.ENTREGUE.isFinal()).isTrue();
+        assertThat(StatusPedido.CANCELADO.isFinal()).isTrue();
+        assertThat(StatusPedido.PRONTO.podeMudarPara(StatusPedido.CANCELADO)).isFalse();
+        assertThat(StatusPedido.PRONTO.origensPermitidas()).containsExactly(StatusPedido.PREPARANDO);
+    }
+}
@@ -0,0 +1,57 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ProdutoBuscaResultado;
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuscaProdutoServiceTest {
+
+    private BuscaProdutoService busca;
+
+    @BeforeEach
+    void setUp() {
+        ProdutoRepository repository = mock(ProdutoRepository.class);
+        when(repository.listarResumos()).thenReturn(List.of(
+                new ProdutoResumo(1L, "Café Expresso", "Café forte e aromático", new BigDecimal("5.90")),
+                new ProdutoResumo(2L, "Cappuccino", "Café com leite vaporizado", new BigDecimal("8.50")),
+                new ProdutoResumo(3L, "Sanduíche Natural", "Pão integral com peito de peru", new BigDecimal("15.00"))));
+        busca = new BuscaProdutoService(repository);
+        busca.reconstruir();
+    }
+
+    @Test
+    void ignoraAcentosEMaiusculas() {
+        assertThat(ids(busca.buscar("CAFE", 10))).containsExactly(1L, 2L);
+        assertThat(ids(busca.buscar("pao", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void casaPorPrefixoEExigeTodosOsTermos() {
+        assertThat(ids(busca.buscar("capp", 10))).containsExactly(2L);
+        assertThat(ids(busca.buscar("cafe leite", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void atualizaIncrementalmente() {
+        busca.indexar(new ProdutoResumo(2L, "Chá Gelado", "Chá preto com limão", new BigDecimal("7.00")));
+        busca.remover(3L);
+
+        assertThat(ids(busca.buscar("capp", 10))).isEmpty();
+        assertThat(ids(busca.buscar("cha", 10))).containsExactly(2L);
+        assertThat(ids(busca.buscar("pao", 10))).isEmpty();
+    }
+
+    private List<Long> ids(List<ProdutoBuscaResultado> resultados) {
+        return resultados.stream().map(ProdutoBuscaResultado::id).toList();
+    }
+}
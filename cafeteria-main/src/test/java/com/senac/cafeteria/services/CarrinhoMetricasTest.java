@@ -0,0 +1,54 @@
+package com.senac.cafeteria.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarrinhoMetricasTest {
+
+    private SimpleMeterRegistry registry;
+    private CarrinhoMetricas metricas;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricas = new CarrinhoMetricas(registry);
+    }
+
+    @AfterEach
+    void limparSincronizacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void checkoutSoEhRegistradoAoFimDaTransacao() {
+        TransactionSynchronizationManager.initSynchronization();
+        metricas.registrarCheckoutAoConcluir(System.nanoTime());
+        assertThat(checkouts("confirmado")).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(checkouts("confirmado")).isZero();
+        assertThat(checkouts("desfeito")).isEqualTo(1);
+    }
+
+    @Test
+    void semTransacaoRegistraNaHora() {
+        metricas.registrarCheckoutAoConcluir(System.nanoTime());
+
+        assertThat(checkouts("confirmado")).isEqualTo(1);
+    }
+
+    private long checkouts(String resultado) {
+        return registry.get("cafeteria.checkout").tag("resultado", resultado).timer().count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CarrinhoServiceTest {
+
+    @Test
+    void checkoutUsaOCarrinhoLidoMesmoSeOutraAbaLimparNoMeioTempo() {
+        PedidoRepository pedidoRepository = mock(PedidoRepository.class);
+        ProdutoService produtoService = mock(ProdutoService.class);
+        EstoqueService estoqueService = mock(EstoqueService.class);
+        when(pedidoRepository.save(any())).thenAnswer(inv -> {
+            Pedido pedido = inv.getArgument(0);
+            pedido.setId(100L);
+            return pedido;
+        });
+        CarrinhoService carrinho = new CarrinhoService(pedidoRepository, produtoService, new PedidoEventoBus(10, 10),
+                estoqueService, new CarrinhoMetricas(new SimpleMeterRegistry()));
+
+        Produto cafe = new Produto();
+        cafe.setId(1L);
+        cafe.setPreco(new BigDecimal("4.00"));
+        carrinho.adicionarAoCarrinho(7L, 1L, 2);
+        // O carrinho é limpo em outra aba enquanto o checkout ainda lê os produtos
+        when(produtoService.buscarPorId(1L)).thenAnswer(inv -> {
+            carrinho.limparCarrinho(7L);
+            return cafe;
+        });
+
+        Usuario cliente = new Usuario();
+        cliente.setId(7L);
+        Pedido pedido = carrinho.finalizarPedido(cliente, null);
+
+        assertThat(pedido.getTotal()).isEqualByComparingTo("8.00");
+        verify(estoqueService).confirmar(7L, Map.of(1L, 2));
+    }
+}
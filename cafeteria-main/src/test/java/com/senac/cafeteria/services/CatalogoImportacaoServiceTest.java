@@ -0,0 +1,121 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ImportacaoResultado;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Importação com lotes de 2 linhas, para o upsert passar por vários lotes em poucas linhas.
+ */
+@SpringBootTest(properties = "cafeteria.catalogo.importacao.tamanho-lote=2")
+class CatalogoImportacaoServiceTest {
+
+    @Autowired
+    private CatalogoImportacaoService importacao;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    void csvInsereNomesNovosEAtualizaExistentesSemApagarAImagem() throws IOException {
+        importacao.importarCsv(corpo("nome,descricao,preco\nImportado Bolo,Fatia,7.00\n"));
+        Produto bolo = porNome("Importado Bolo");
+        bolo.setImagem(new byte[]{1, 2, 3});
+        produtoRepository.save(bolo);
+
+        ImportacaoResultado resultado = importacao.importarCsv(corpo("""
+                \uFEFFnome,descricao,preco
+                Importado Torta,"Limão, merengue",9.50
+                Importado Bolo,"Fatia \"\"grande\"\"",8.00
+                Importado Pudim,,6.00
+                Importado Torta,Limão siciliano,9.90
+                Importado Sem Preco,Nada,
+                """));
+
+        assertThat(resultado.processadas()).isEqualTo(5);
+        assertThat(resultado.criadas()).isEqualTo(2);
+        assertThat(resultado.atualizadas()).isEqualTo(2);
+        assertThat(resultado.erros()).containsExactly(new ImportacaoResultado.Erro(6, "preco é obrigatório"));
+
+        Produto atualizado = porNome("Importado Bolo");
+        assertThat(atualizado.getId()).isEqualTo(bolo.getId());
+        assertThat(atualizado.getDescricao()).isEqualTo("Fatia \"grande\"");
+        assertThat(atualizado.getPreco()).isEqualByComparingTo("8.00");
+        assertThat(atualizado.getImagem()).containsExactly(1, 2, 3);
+        // Em outro lote, o mesmo nome atualiza a torta criada no primeiro
+        assertThat(porNome("Importado Torta").getPreco()).isEqualByComparingTo("9.90");
+    }
+
+    @Test
+    void jsonAtualizaPorIdEReportaObjetosInvalidos() throws IOException {
+        importacao.importarJson(corpo("[{\"nome\": \"Importado Suco\", \"preco\": 6.5}]"));
+        Long suco = porNome("Importado Suco").getId();
+
+        ImportacaoResultado resultado = importacao.importarJson(corpo("""
+                [
+                  {"id": %d, "nome": "Importado Suco de Laranja", "descricao": "Natural", "preco": 7.5},
+                  {"nome": "Importado Chá", "preco": "caro"},
+                  {"id": 999999, "nome": "Importado Fantasma", "preco": 1},
+                  {"nome": "Importado Chá Gelado", "preco": 5}
+                ]
+                """.formatted(suco)));
+
+        assertThat(resultado.processadas()).isEqualTo(4);
+        assertThat(resultado.criadas()).isEqualTo(1);
+        assertThat(resultado.atualizadas()).isEqualTo(1);
+        assertThat(resultado.erros()).extracting(ImportacaoResultado.Erro::linha).containsExactlyInAnyOrder(2, 3);
+
+        Produto renomeado = produtoRepository.findById(suco).orElseThrow();
+        assertThat(renomeado.getNome()).isEqualTo("Importado Suco de Laranja");
+        assertThat(renomeado.getPreco()).isEqualByComparingTo(new BigDecimal("7.5"));
+        assertThat(produtoRepository.findByNomeContainingIgnoreCase("Importado Fantasma")).isEmpty();
+    }
+
+    @Test
+    void jsonPulaElementosQueNaoSaoObjetosEReportaJsonMalformadoPelaPosicao() throws IOException {
+        ImportacaoResultado resultado = importacao.importarJson(corpo("""
+                [
+                  {"nome": "Importado Pão", "preco": 3},
+                  null, 42, [{"nome": "Importado Aninhado", "preco": 1}],
+                  {"nome": "Importado Pão de Queijo", "preco": 4}
+                ]
+                """));
+
+        assertThat(resultado.processadas()).isEqualTo(5);
+        assertThat(resultado.criadas()).isEqualTo(2);
+        assertThat(resultado.erros()).extracting(ImportacaoResultado.Erro::linha).containsExactly(2, 3, 4);
+        assertThat(porNome("Importado Pão de Queijo").getPreco()).isEqualByComparingTo("4");
+        assertThat(produtoRepository.findByNomeContainingIgnoreCase("Importado Aninhado")).isEmpty();
+
+        // Vírgula faltando antes do terceiro elemento: os dois primeiros são gravados
+        ImportacaoResultado malformado = importacao.importarJson(corpo("""
+                [{"nome": "Importado Broa", "preco": 2}, {"nome": "Importado Rosca", "preco": 2} {"nome": "Importado Sonho", "preco": 2}]
+                """));
+
+        assertThat(malformado.criadas()).isEqualTo(2);
+        assertThat(malformado.erros()).singleElement()
+                .satisfies(erro -> assertThat(erro.linha()).isEqualTo(3))
+                .satisfies(erro -> assertThat(erro.mensagem()).startsWith("JSON malformado"));
+    }
+
+    private Produto porNome(String nome) {
+        return produtoRepository.findByNomeContainingIgnoreCase(nome).stream()
+                .filter(p -> p.getNome().equals(nome))
+                .findFirst().orElseThrow();
+    }
+
+    private static InputStream corpo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,106 @@
+package com.senac.cafeteria.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Contador em faixas sob disputa de 64 threads: nenhuma unidade sai duas vezes.
+ * A vazão com uma e várias faixas é medida no ContadorEstoqueBenchmark (src/jmh).
+ */
+class ContadorEstoqueTest {
+
+    private static final int THREADS = 64;
+
+    @Test
+    void ultimaUnidadeVaiParaUmaSoReserva() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int rodada = 0; rodada < 100; rodada++) {
+                ContadorEstoque contador = new ContadorEstoque(8, 1);
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<Boolean>> tentativas = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    tentativas.add(executor.submit(() -> {
+                        largada.await();
+                        return contador.retirar(1);
+                    }));
+                }
+                largada.countDown();
+
+                int vencedores = 0;
+                for (Future<Boolean> tentativa : tentativas) {
+                    vencedores += tentativa.get() ? 1 : 0;
+                }
+                assertThat(vencedores).isEqualTo(1);
+                assertThat(contador.disponivel()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void nuncaRetiraMaisQueOEstoque() throws Exception {
+        ContadorEstoque contador = new ContadorEstoque(8, 10_000);
+        AtomicInteger retiradas = new AtomicInteger();
+        AtomicInteger devolvidas = new AtomicInteger();
+
+        executar(THREADS, () -> {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            // Quantidades variadas forçam o caminho lento quando as faixas ficam baixas
+            while (true) {
+                int quantidade = 1 + aleatorio.nextInt(5);
+                if (!contador.retirar(quantidade)) {
+                    if (contador.retirar(1)) {
+                        retiradas.addAndGet(1);
+                        continue;
+                    }
+                    break;
+                }
+                retiradas.addAndGet(quantidade);
+                if (aleatorio.nextInt(10) == 0) {
+                    contador.devolver(quantidade);
+                    devolvidas.addAndGet(quantidade);
+                }
+            }
+        });
+
+        assertThat(retiradas.get() - devolvidas.get()).isEqualTo(10_000);
+        assertThat(contador.disponivel()).isZero();
+    }
+
+    @Test
+    void retirarAteLevaSoOQueHa() {
+        ContadorEstoque contador = new ContadorEstoque(4, 3);
+
+        assertThat(contador.retirarAte(5)).isEqualTo(3);
+        assertThat(contador.retirar(1)).isFalse();
+        contador.devolver(2);
+        assertThat(contador.retirar(2)).isTrue();
+    }
+
+    private static void executar(int threads, Runnable tarefa) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    tarefa.run();
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : tarefas) {
+                futuro.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.senac.cafeteria.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvLeitorTest {
+
+    @Test
+    void campoEntreAspasComVirgulaEAspasDuplicadas() throws IOException {
+        assertThat(ler("nome,descricao\nMocha,\"Café, chocolate e \"\"chantilly\"\"\"\n")).containsExactly(
+                List.of("nome", "descricao"),
+                List.of("Mocha", "Café, chocolate e \"chantilly\""));
+    }
+
+    @Test
+    void quebraDeLinhaDentroDasAspasContinuaNoMesmoRegistro() throws IOException {
+        CatalogoImportacaoService.CsvLeitor csv = leitor("nome,descricao\nLatte,\"primeira\nsegunda\"\nMocha,doce\n");
+
+        csv.proximoRegistro();
+        assertThat(csv.proximoRegistro()).containsExactly("Latte", "primeira\nsegunda");
+        assertThat(csv.linhaInicioRegistro()).isEqualTo(2);
+        assertThat(csv.proximoRegistro()).containsExactly("Mocha", "doce");
+        // O registro anterior ocupou as linhas 2 e 3
+        assertThat(csv.linhaInicioRegistro()).isEqualTo(4);
+        assertThat(csv.proximoRegistro()).isNull();
+    }
+
+    @Test
+    void finaisDeLinhaCrlfESemQuebraNoFim() throws IOException {
+        assertThat(ler("nome,preco\r\nLatte,9.00\r\nMocha,\"12,00\"")).containsExactly(
+                List.of("nome", "preco"),
+                List.of("Latte", "9.00"),
+                List.of("Mocha", "12,00"));
+    }
+
+    @Test
+    void ignoraBomNoInicioDoArquivo() throws IOException {
+        assertThat(ler("\uFEFFnome,preco\nLatte,9.00\n").get(0)).containsExactly("nome", "preco");
+        // Só no início: no meio do arquivo é conteúdo
+        assertThat(ler("nome\n\uFEFFLatte\n").get(1)).containsExactly("\uFEFFLatte");
+    }
+
+    private static List<List<String>> ler(String conteudo) throws IOException {
+        CatalogoImportacaoService.CsvLeitor csv = leitor(conteudo);
+        List<List<String>> registros = new ArrayList<>();
+        List<String> registro;
+        while ((registro = csv.proximoRegistro()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    private static CatalogoImportacaoService.CsvLeitor leitor(String conteudo) {
+        return new CatalogoImportacaoService.CsvLeitor(new BufferedReader(new StringReader(conteudo)));
+    }
+}
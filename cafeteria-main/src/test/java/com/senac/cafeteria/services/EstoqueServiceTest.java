@@ -0,0 +1,75 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.EstoqueSituacao;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class EstoqueServiceTest {
+
+    private static final Long CROISSANT = 10L;
+
+    private EstoqueService criar(long validadeReservaMinutos) {
+        EstoqueService estoque = new EstoqueService(mock(ProdutoRepository.class), mock(TransactionTemplate.class),
+                4, validadeReservaMinutos);
+        estoque.registrar(CROISSANT, 3);
+        return estoque;
+    }
+
+    @Test
+    void reservaAcompanhaAQuantidadeNoCarrinho() {
+        EstoqueService estoque = criar(15);
+
+        estoque.reservar(1L, CROISSANT, 2);
+        assertThatThrownBy(() -> estoque.reservar(2L, CROISSANT, 2)).hasMessageContaining("Estoque insuficiente");
+        // Cliente 1 diminui para 1 unidade: a sobra volta e o cliente 2 consegue
+        estoque.reservar(1L, CROISSANT, 1);
+        estoque.reservar(2L, CROISSANT, 2);
+
+        assertThat(estoque.situacao(CROISSANT)).isEqualTo(new EstoqueSituacao(CROISSANT, 0, 3, 0));
+        assertThat(estoque.esgotados()).containsExactly(CROISSANT);
+
+        estoque.liberarTodas(2L);
+        assertThat(estoque.situacao(CROISSANT)).isEqualTo(new EstoqueSituacao(CROISSANT, 2, 1, 0));
+    }
+
+    @Test
+    void reservaVencidaDevolveAsUnidades() {
+        EstoqueService estoque = criar(0);
+
+        estoque.reservar(1L, CROISSANT, 3);
+        estoque.expirarReservas();
+
+        assertThat(estoque.situacao(CROISSANT)).isEqualTo(new EstoqueSituacao(CROISSANT, 3, 0, 0));
+    }
+
+    @Test
+    void confirmacaoTransformaReservaEmVendaPendente() {
+        EstoqueService estoque = criar(15);
+
+        estoque.reservar(1L, CROISSANT, 2);
+        // Sem transação ativa a venda é registrada na hora
+        estoque.confirmar(1L, Map.of(CROISSANT, 2, 99L, 1));
+
+        assertThat(estoque.situacao(CROISSANT)).isEqualTo(new EstoqueSituacao(CROISSANT, 1, 0, 2));
+    }
+
+    @Test
+    void confirmacaoSemEstoqueFalhaSemVender() {
+        EstoqueService estoque = criar(0);
+
+        estoque.reservar(1L, CROISSANT, 2);
+        estoque.expirarReservas();
+        estoque.reservar(2L, CROISSANT, 3);
+
+        assertThatThrownBy(() -> estoque.confirmar(1L, Map.of(CROISSANT, 2))).hasMessageContaining("Estoque insuficiente");
+        assertThat(estoque.situacao(CROISSANT)).isEqualTo(new EstoqueSituacao(CROISSANT, 0, 3, 0));
+    }
+}
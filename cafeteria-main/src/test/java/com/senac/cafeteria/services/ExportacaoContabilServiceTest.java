@@ -0,0 +1,157 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ArquivamentoResultado;
+import com.senac.cafeteria.models.ItemPedido;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.models.Usuario;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+import com.senac.cafeteria.repositories.UsuarioRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Pedidos de março de 2020, fora do período de qualquer outro teste:
+ * dois no dia 1 (gravados fora de ordem), um sem itens no fim do dia 2 e um no dia 3, fora do período.
+ * Os finalizados podem já estar no arquivo (periodoArquivadoSaiIgualNaExportacao): a saída é a mesma.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportacaoContabilServiceTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2020, 3, 1);
+    private static final LocalDate FIM = LocalDate.of(2020, 3, 2);
+
+    @Autowired
+    private ExportacaoContabilService exportacao;
+
+    @Autowired
+    private ArquivamentoPedidoService arquivamentoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario cliente;
+    private Produto bolo;
+    private Produto cafe;
+    private long tarde;
+    private long manha;
+    private long semItens;
+
+    @BeforeAll
+    void criarPedidos() {
+        cliente = usuarioRepository.findByEmail("cliente@teste.com").orElseThrow();
+        bolo = produtoRepository.save(produto("Bolo, fatia \"grande\"", "7.50"));
+        cafe = produtoRepository.save(produto("Café Contábil", "4.00"));
+
+        tarde = pedido(LocalDateTime.of(2020, 3, 1, 15, 0), StatusPedido.ENTREGUE, item(bolo, 2), item(cafe, 1)).getId();
+        manha = pedido(LocalDateTime.of(2020, 3, 1, 8, 30), StatusPedido.CANCELADO, item(cafe, 3)).getId();
+        semItens = pedido(LocalDateTime.of(2020, 3, 2, 23, 59, 59), StatusPedido.PENDENTE).getId();
+        pedido(LocalDateTime.of(2020, 3, 3, 0, 0), StatusPedido.ENTREGUE, item(cafe, 1));
+    }
+
+    @Test
+    void csvTemUmaLinhaPorItemEmOrdemDeData() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacao.exportarCsv(INICIO, FIM, saida);
+
+        String u = String.valueOf(cliente.getId());
+        assertThat(saida.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "pedido_id,data_criacao,status,total_pedido,usuario_id,produto_id,produto_nome,quantidade,preco_unitario,subtotal",
+                manha + ",2020-03-01T08:30,CANCELADO,12.00," + u + "," + cafe.getId() + ",Café Contábil,3,4.00,12.00",
+                tarde + ",2020-03-01T15:00,ENTREGUE,19.00," + u + "," + bolo.getId() + ",\"Bolo, fatia \"\"grande\"\"\",2,7.50,15.00",
+                tarde + ",2020-03-01T15:00,ENTREGUE,19.00," + u + "," + cafe.getId() + ",Café Contábil,1,4.00,4.00",
+                semItens + ",2020-03-02T23:59:59,PENDENTE,0.00," + u + ",,,,,");
+    }
+
+    @Test
+    void jsonLinesTemUmPedidoPorLinhaComOsItensAninhados() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacao.exportarJsonLines(INICIO, FIM, saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas[0]).startsWith("{\"id\":" + manha + ",").contains("\"status\":\"CANCELADO\"")
+                .contains("\"itens\":[{\"produtoId\":" + cafe.getId() + ",\"nome\":\"Café Contábil\",\"quantidade\":3,"
+                        + "\"precoUnitario\":4.00,\"subtotal\":12.00}]");
+        assertThat(linhas[1]).startsWith("{\"id\":" + tarde + ",")
+                .contains("\"nome\":\"Bolo, fatia \\\"grande\\\"\"")
+                .containsSubsequence("\"produtoId\":" + bolo.getId(), "\"produtoId\":" + cafe.getId());
+        assertThat(linhas[2]).startsWith("{\"id\":" + semItens + ",").endsWith("\"itens\":[]}");
+    }
+
+    @Test
+    void periodoArquivadoSaiIgualNaExportacao() throws IOException {
+        String csvAntes = exportar(false);
+        String jsonAntes = exportar(true);
+
+        // Os pedidos finalizados de 2020 vão para o arquivo; o PENDENTE fica na tabela quente
+        ArquivamentoResultado arquivamento = arquivamentoService.arquivar();
+        assertThat(arquivamento.interrupcao()).isNull();
+        assertThat(pedidoRepository.findAllById(List.of(tarde, manha, semItens))).extracting(Pedido::getId)
+                .containsExactly(semItens);
+
+        assertThat(exportar(false)).isEqualTo(csvAntes);
+        assertThat(exportar(true)).isEqualTo(jsonAntes);
+    }
+
+    @Test
+    void periodoInvertidoEhRecusado() {
+        assertThatThrownBy(() -> exportacao.exportarCsv(FIM, INICIO, new ByteArrayOutputStream()))
+                .isInstanceOf(RegraNegocioException.class);
+    }
+
+    private String exportar(boolean jsonLines) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        if (jsonLines) {
+            exportacao.exportarJsonLines(INICIO, FIM, saida);
+        } else {
+            exportacao.exportarCsv(INICIO, FIM, saida);
+        }
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private Pedido pedido(LocalDateTime data, StatusPedido status, ItemPedido... itens) {
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(cliente);
+        for (ItemPedido item : itens) {
+            pedido.adicionarItem(item);
+        }
+        pedido.setDataCriacao(data);
+        pedido.setStatus(status);
+        return pedidoRepository.save(pedido);
+    }
+
+    private static ItemPedido item(Produto produto, int quantidade) {
+        return new ItemPedido(produto, quantidade);
+    }
+
+    private static Produto produto(String nome, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setPreco(new BigDecimal(preco));
+        return produto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.FilaPreparoItem;
+import com.senac.cafeteria.dtos.PedidoPreparo;
+import com.senac.cafeteria.dtos.TransicaoStatusResultado;
+import com.senac.cafeteria.models.enums.ResultadoTransicao;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.models.enums.TipoEntrega;
+import com.senac.cafeteria.repositories.PedidoRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FilaPreparoTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private final FilaPreparo fila = new FilaPreparo(2, 1,
+            Map.of(TipoEntrega.RETIRADA_LOJA, Duration.ofSeconds(180)), 0.5);
+
+    @Test
+    void retiradaNaLojaPassaNaFrenteDeEntregaRecente() {
+        fila.adicionar(pedido(1L, 0, TipoEntrega.ENTREGA, 60));
+        fila.adicionar(pedido(2L, 60, TipoEntrega.RETIRADA_LOJA, 60));
+        // Entrega criada 5 minutos antes ainda vence o crédito de 3 minutos da retirada
+        fila.adicionar(pedido(3L, -300, TipoEntrega.ENTREGA, 60));
+
+        assertThat(fila.primeiros(10)).extracting(FilaPreparo.Entrada::pedidoId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void pedidoRapidoSobeSobreDemoradoCriadoQuaseJunto() {
+        fila.adicionar(pedido(1L, 0, TipoEntrega.ENTREGA, 600));
+        fila.adicionar(pedido(2L, 30, TipoEntrega.ENTREGA, 60));
+
+        assertThat(fila.primeiros(10)).extracting(FilaPreparo.Entrada::pedidoId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void distribuiEntreEstacoesPelaCargaERespeitaCapacidade() {
+        fila.adicionar(pedido(1L, 0, TipoEntrega.ENTREGA, 300));
+        fila.adicionar(pedido(2L, 1, TipoEntrega.ENTREGA, 300));
+        fila.adicionar(pedido(3L, 2, TipoEntrega.ENTREGA, 300));
+
+        assertThat(fila.atribuir(null).estacao()).isEqualTo(1);
+        assertThat(fila.atribuir(null).estacao()).isEqualTo(2);
+        // As duas estações estão com a capacidade (1 pedido) ocupada
+        assertThat(fila.atribuir(null)).isNull();
+        assertThatThrownBy(() -> fila.atribuir(1)).hasMessageContaining("Estação 1");
+
+        fila.remover(2L);
+        assertThat(fila.atribuir(null).estacao()).isEqualTo(2);
+        assertThat(fila.tamanho()).isZero();
+    }
+
+    @Test
+    void reconstrucaoMantemEstacaoDosPedidosEmPreparo() {
+        fila.adicionar(pedido(1L, 0, TipoEntrega.ENTREGA, 60));
+        fila.adicionar(pedido(2L, 1, TipoEntrega.ENTREGA, 60));
+        fila.atribuir(2);
+
+        fila.reconstruir(List.of(
+                new PedidoPreparo(1L, BASE, TipoEntrega.ENTREGA, StatusPedido.PREPARANDO, 60L),
+                pedido(2L, 1, TipoEntrega.ENTREGA, 60)));
+
+        assertThat(fila.situacaoEstacoes().get(1).pedidos()).containsExactly(1L);
+        assertThat(fila.primeiros(10)).extracting(FilaPreparo.Entrada::pedidoId).containsExactly(2L);
+        assertThat(fila.adicionar(pedido(2L, 1, TipoEntrega.ENTREGA, 60))).isFalse();
+    }
+
+    @Test
+    void atribuicaoQueFalhaNoBancoDevolveOPedidoParaAEspera() {
+        PedidoRepository repositorio = mock(PedidoRepository.class);
+        PedidoService pedidoService = mock(PedidoService.class);
+        FilaPreparoService servico = new FilaPreparoService(repositorio, pedidoService, new PedidoEventoBus(10, 10),
+                new FilaPreparoMetricas(), 1, 1, 90, 180, 0, 0.5);
+        when(repositorio.listarParaPreparo(any(), any())).thenReturn(List.of(pedido(1L, 0, TipoEntrega.ENTREGA, 60)));
+        servico.reconstruir();
+
+        when(pedidoService.transicionarStatus(1L, StatusPedido.PREPARANDO, null, null))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new TransicaoStatusResultado(1L, ResultadoTransicao.APLICADA, StatusPedido.PREPARANDO));
+
+        assertThatThrownBy(() -> servico.atribuirProximo(null)).isInstanceOf(QueryTimeoutException.class);
+        assertThat(servico.listar(10)).extracting(FilaPreparoItem::pedidoId).containsExactly(1L);
+        // A única vaga (1 estação, 1 pedido) foi liberada
+        assertThat(servico.atribuirProximo(null).estacao()).isEqualTo(1);
+    }
+
+    private static PedidoPreparo pedido(Long id, int segundosAposBase, TipoEntrega tipo, long custo) {
+        return new PedidoPreparo(id, BASE.plusSeconds(segundosAposBase), tipo, StatusPedido.PENDENTE, custo);
+    }
+}
@@ -0,0 +1,94 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.models.enums.StatusPedido;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidoEventoBusTest {
+
+    @Test
+    void retomaAPartirDoUltimoEventoRecebido() {
+        PedidoEventoBus bus = new PedidoEventoBus(10, 10);
+        for (long id = 1; id <= 5; id++) {
+            bus.publicar(evento(id));
+        }
+
+        PedidoEventoBus.Assinatura assinatura = bus.assinar(3L, e -> true);
+        bus.publicar(evento(6L));
+
+        assertThat(assinatura.historicoIncompleto()).isFalse();
+        assertThat(drenar(assinatura)).extracting(PedidoEvento::id).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void marcaHistoricoIncompletoQuandoEventosJaSairam() {
+        PedidoEventoBus bus = new PedidoEventoBus(3, 10);
+        for (long id = 1; id <= 6; id++) {
+            bus.publicar(evento(id));
+        }
+
+        PedidoEventoBus.Assinatura assinatura = bus.assinar(1L, e -> true);
+
+        assertThat(assinatura.historicoIncompleto()).isTrue();
+        assertThat(drenar(assinatura)).extracting(PedidoEvento::id).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void desligaAssinanteComFilaCheiaSemAfetarOsDemais() {
+        PedidoEventoBus bus = new PedidoEventoBus(100, 2);
+        PedidoEventoBus.Assinatura lenta = bus.assinar(null, e -> true);
+        PedidoEventoBus.Assinatura filtrada = bus.assinar(null, e -> e.pedidoId() == 3L);
+
+        for (long id = 1; id <= 4; id++) {
+            bus.publicar(evento(id));
+        }
+
+        assertThat(lenta.transbordou()).isTrue();
+        assertThat(drenar(lenta)).hasSize(2);
+        assertThat(filtrada.transbordou()).isFalse();
+        assertThat(drenar(filtrada)).extracting(PedidoEvento::pedidoId).containsExactly(3L);
+        assertThat(bus.totalAssinantes()).isEqualTo(1);
+    }
+
+    @Test
+    void assinaturaDoUsuarioNuncaRecebeEventosDeOutroCliente() {
+        PedidoEventoBus bus = new PedidoEventoBus(100, 10);
+        bus.publicar(List.of(evento(1L, 7L), evento(2L, 8L)));
+
+        // Retomada pelo histórico e eventos novos passam pelo mesmo filtro
+        PedidoEventoBus.Assinatura cliente7 = bus.assinarUsuario(7L, 0L);
+        PedidoEventoBus.Assinatura cliente8 = bus.assinarUsuario(8L, null);
+        PedidoEventoBus.Assinatura painel = bus.assinar(null, e -> true);
+        bus.publicar(List.of(evento(3L, 8L), evento(4L, 7L), evento(5L, null)));
+
+        assertThat(drenar(cliente7)).extracting(PedidoEvento::pedidoId).containsExactly(1L, 4L);
+        assertThat(drenar(cliente8)).extracting(PedidoEvento::pedidoId).containsExactly(3L);
+        assertThat(drenar(painel)).extracting(PedidoEvento::pedidoId).containsExactly(3L, 4L, 5L);
+    }
+
+    private static PedidoEvento evento(Long pedidoId) {
+        return evento(pedidoId, 1L);
+    }
+
+    private static PedidoEvento evento(Long pedidoId, Long usuarioId) {
+        PedidoResumoResponse pedido = new PedidoResumoResponse(pedidoId, usuarioId, LocalDateTime.now(), StatusPedido.CONFIRMADO, BigDecimal.TEN);
+        return PedidoEvento.statusAlterado(pedido, StatusPedido.PENDENTE);
+    }
+
+    private static List<PedidoEvento> drenar(PedidoEventoBus.Assinatura assinatura) {
+        List<PedidoEvento> eventos = new ArrayList<>();
+        for (PedidoEvento e = assinatura.proximo(); e != null; e = assinatura.proximo()) {
+            eventos.add(e);
+        }
+        return eventos;
+    }
+}
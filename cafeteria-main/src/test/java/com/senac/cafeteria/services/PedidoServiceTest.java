@@ -0,0 +1,189 @@
+package com.senac.cafeteria.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senac.cafeteria.dtos.PedidoEvento;
+import com.senac.cafeteria.dtos.PedidoResumoResponse;
+import com.senac.cafeteria.dtos.TransicaoStatusLoteResultado;
+import com.senac.cafeteria.dtos.TransicaoStatusResultado;
+import com.senac.cafeteria.models.Pedido;
+import com.senac.cafeteria.models.enums.ResultadoTransicao;
+import com.senac.cafeteria.models.enums.StatusPedido;
+import com.senac.cafeteria.repositories.ItemPedidoRepository;
+import com.senac.cafeteria.repositories.PedidoArquivadoRepository;
+import com.senac.cafeteria.repositories.PedidoRepository;
+import com.senac.cafeteria.repositories.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * Mudança de status pelo serviço (um pedido e em lote): resultado de cada caso e o evento publicado após o commit.
+ */
+@SpringBootTest
+class PedidoServiceTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoEventoBus pedidoEventoBus;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Long pedidoId;
+    private PedidoEventoBus.Assinatura eventos;
+
+    @BeforeEach
+    void criarPedido() {
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuarioRepository.findByEmail("cliente@teste.com").orElseThrow());
+        pedidoId = pedidoRepository.save(pedido).getId();
+        eventos = pedidoEventoBus.assinar(null, e -> e.pedidoId().equals(pedidoId));
+    }
+
+    @AfterEach
+    void encerrarAssinatura() {
+        eventos.close();
+    }
+
+    @Test
+    void eventoLevaOStatusDeOrigemMesmoComVariasOrigensPossiveis() {
+        // PREPARANDO e CANCELADO aceitam várias origens; o evento precisa dizer de qual o pedido saiu
+        assertThat(transicionar(StatusPedido.CONFIRMADO, null, null).resultado()).isEqualTo(ResultadoTransicao.APLICADA);
+        assertThat(transicionar(StatusPedido.PREPARANDO, null, null).resultado()).isEqualTo(ResultadoTransicao.APLICADA);
+        assertThat(transicionar(StatusPedido.CANCELADO, null, null).resultado()).isEqualTo(ResultadoTransicao.APLICADA);
+
+        Long clienteId = pedidoRepository.buscarResumo(pedidoId).orElseThrow().usuarioId();
+        assertThat(drenar()).extracting(PedidoEvento::statusAnterior, PedidoEvento::status, PedidoEvento::usuarioId)
+                .containsExactly(
+                        tuple(StatusPedido.PENDENTE, StatusPedido.CONFIRMADO, clienteId),
+                        tuple(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, clienteId),
+                        tuple(StatusPedido.PREPARANDO, StatusPedido.CANCELADO, clienteId));
+    }
+
+    @Test
+    void statusEsperadoEVersaoConferemOPedidoLido() {
+        TransicaoStatusResultado aplicada = transicionar(StatusPedido.PREPARANDO, StatusPedido.PENDENTE, 0L);
+        // Segundo barista com a mesma leitura (PENDENTE, versão 0)
+        TransicaoStatusResultado outroStatus = transicionar(StatusPedido.CANCELADO, StatusPedido.PENDENTE, 0L);
+        // Status confere, versão não
+        TransicaoStatusResultado versaoAntiga = transicionar(StatusPedido.PRONTO, StatusPedido.PREPARANDO, 0L);
+
+        assertThat(aplicada.resultado()).isEqualTo(ResultadoTransicao.APLICADA);
+        assertThat(outroStatus).isEqualTo(new TransicaoStatusResultado(pedidoId, ResultadoTransicao.CONFLITO, StatusPedido.PREPARANDO));
+        assertThat(versaoAntiga).isEqualTo(new TransicaoStatusResultado(pedidoId, ResultadoTransicao.CONFLITO, StatusPedido.PREPARANDO));
+        assertThat(drenar()).extracting(PedidoEvento::statusAnterior, PedidoEvento::status)
+                .containsExactly(tuple(StatusPedido.PENDENTE, StatusPedido.PREPARANDO));
+    }
+
+    @Test
+    void transicaoForaDaTabelaOuPedidoInexistenteNaoPublicaEvento() {
+        assertThat(transicionar(StatusPedido.ENTREGUE, null, null))
+                .isEqualTo(new TransicaoStatusResultado(pedidoId, ResultadoTransicao.TRANSICAO_INVALIDA, StatusPedido.PENDENTE));
+        assertThat(pedidoService.transicionarStatus(-1L, StatusPedido.CONFIRMADO, null, null))
+                .isEqualTo(new TransicaoStatusResultado(-1L, ResultadoTransicao.NAO_ENCONTRADO, null));
+
+        assertThat(drenar()).isEmpty();
+        assertThat(pedidoRepository.buscarResumo(pedidoId).orElseThrow().status()).isEqualTo(StatusPedido.PENDENTE);
+    }
+
+    @Test
+    void loteUsaOStatusLidoDeCadaPedidoComoOrigem() {
+        Long confirmadoId = criarPedidoEm(StatusPedido.CONFIRMADO);
+        Long preparandoId = criarPedidoEm(StatusPedido.PREPARANDO);
+        List<Long> ids = List.of(pedidoId, confirmadoId, preparandoId);
+
+        List<PedidoEvento> recebidos = new ArrayList<>();
+        try (PedidoEventoBus.Assinatura lote = pedidoEventoBus.assinar(null, e -> ids.contains(e.pedidoId()))) {
+            TransicaoStatusLoteResultado resultado = pedidoService.transicionarStatusEmLote(ids, StatusPedido.CANCELADO);
+            assertThat(resultado.aplicadas()).isEqualTo(3);
+            for (PedidoEvento e = lote.proximo(); e != null; e = lote.proximo()) {
+                recebidos.add(e);
+            }
+        }
+
+        assertThat(recebidos).extracting(PedidoEvento::pedidoId, PedidoEvento::statusAnterior, PedidoEvento::status)
+                .containsExactly(
+                        tuple(pedidoId, StatusPedido.PENDENTE, StatusPedido.CANCELADO),
+                        tuple(confirmadoId, StatusPedido.CONFIRMADO, StatusPedido.CANCELADO),
+                        tuple(preparandoId, StatusPedido.PREPARANDO, StatusPedido.CANCELADO));
+    }
+
+    @Test
+    void loteSoDaComoAplicadosOsPedidosQueOUpdateAlterou() {
+        // Repositório simulado: entre a leitura e o UPDATE, outra pessoa mexeu em parte dos pedidos
+        PedidoRepository repositorio = mock(PedidoRepository.class);
+        TransactionTemplate transacao = mock(TransactionTemplate.class);
+        when(transacao.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        PedidoEventoBus bus = new PedidoEventoBus(10, 10);
+        PedidoService servico = new PedidoService(repositorio, mock(ItemPedidoRepository.class),
+                mock(PedidoArquivadoRepository.class), new ObjectMapper(), bus, transacao, new TransicaoStatusMetricas());
+
+        // 1 e 2 lidos PENDENTE: 2 foi para PREPARANDO antes do UPDATE, que só altera o 1
+        when(repositorio.travarResumos(any())).thenReturn(List.of(resumo(1L, StatusPedido.PENDENTE), resumo(2L, StatusPedido.PENDENTE)));
+        when(repositorio.transicionarStatusEmLote(List.of(1L, 2L), StatusPedido.CANCELADO, EnumSet.of(StatusPedido.PENDENTE)))
+                .thenReturn(1);
+        when(repositorio.listarResumos(List.of(1L, 2L)))
+                .thenReturn(List.of(resumo(1L, StatusPedido.CANCELADO), resumo(2L, StatusPedido.PREPARANDO)));
+
+        try (PedidoEventoBus.Assinatura assinatura = bus.assinar(null, e -> true)) {
+            assertThat(servico.transicionarStatusEmLote(List.of(1L, 2L), StatusPedido.CANCELADO).resultados()).containsExactly(
+                    new TransicaoStatusResultado(1L, ResultadoTransicao.APLICADA, StatusPedido.CANCELADO),
+                    new TransicaoStatusResultado(2L, ResultadoTransicao.CONFLITO, StatusPedido.PREPARANDO));
+            assertThat(assinatura.proximo()).extracting(PedidoEvento::pedidoId, PedidoEvento::statusAnterior)
+                    .containsExactly(1L, StatusPedido.PENDENTE);
+            assertThat(assinatura.proximo()).isNull();
+
+            // Agora o 2 foi cancelado por outra pessoa: os dois estão CANCELADO, mas o UPDATE alterou só um
+            when(repositorio.listarResumos(List.of(1L, 2L)))
+                    .thenReturn(List.of(resumo(1L, StatusPedido.CANCELADO), resumo(2L, StatusPedido.CANCELADO)));
+            assertThat(servico.transicionarStatusEmLote(List.of(1L, 2L), StatusPedido.CANCELADO).resultados())
+                    .extracting(TransicaoStatusResultado::resultado)
+                    .containsOnly(ResultadoTransicao.CONFLITO);
+            assertThat(assinatura.proximo()).isNull();
+        }
+    }
+
+    private Long criarPedidoEm(StatusPedido status) {
+        Pedido pedido = new Pedido();
+        pedido.setUsuario(usuarioRepository.findByEmail("cliente@teste.com").orElseThrow());
+        pedido.setStatus(status);
+        return pedidoRepository.save(pedido).getId();
+    }
+
+    private static PedidoResumoResponse resumo(Long id, StatusPedido status) {
+        return new PedidoResumoResponse(id, 7L, LocalDateTime.of(2024, 5, 1, 9, 0), status, BigDecimal.TEN);
+    }
+
+    private TransicaoStatusResultado transicionar(StatusPedido novo, StatusPedido statusEsperado, Long versao) {
+        return pedidoService.transicionarStatus(pedidoId, novo, statusEsperado, versao);
+    }
+
+    private List<PedidoEvento> drenar() {
+        List<PedidoEvento> recebidos = new ArrayList<>();
+        for (PedidoEvento e = eventos.proximo(); e != null; e = eventos.proximo()) {
+            recebidos.add(e);
+        }
+        return recebidos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.senac.cafeteria.services;
+
+import com.senac.cafeteria.dtos.ProdutoResumo;
+import com.senac.cafeteria.dtos.ProdutoSugestao;
+import com.senac.cafeteria.models.Produto;
+import com.senac.cafeteria.repositories.ProdutoRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SugestaoProdutoServiceTest {
+
+    private SugestaoProdutoService sugestoes;
+
+    @BeforeEach
+    void setUp() {
+        ProdutoRepository repository = mock(ProdutoRepository.class);
+        when(repository.listarResumos()).thenReturn(List.of(
+                new ProdutoResumo(1L, "Café Expresso", null, BigDecimal.ONE),
+                new ProdutoResumo(2L, "Cappuccino", null, BigDecimal.ONE),
+                new ProdutoResumo(3L, "Bolo de Chocolate", null, BigDecimal.ONE)));
+        sugestoes = new SugestaoProdutoService(repository);
+        sugestoes.reconstruir();
+    }
+
+    @Test
+    void sugerePorPrefixoDeQualquerPalavra() {
+        assertThat(ids(sugestoes.sugerir("choc", 5))).containsExactly(3L);
+        assertThat(ids(sugestoes.sugerir("Café", 5))).containsExactly(1L);
+    }
+
+    @Test
+    void toleraErrosDeDigitacao() {
+        assertThat(ids(sugestoes.sugerir("capu", 5))).containsExactly(2L);
+        assertThat(ids(sugestoes.sugerir("expreso", 5))).containsExactly(1L);
+    }
+
+    @Test
+    void prefixoExatoVemAntesDoAproximado() {
+        assertThat(ids(sugestoes.sugerir("caf", 5))).startsWith(1L);
+    }
+
+    @Test
+    void atualizaIncrementalmente() {
+        Produto produto = new Produto();
+        produto.setId(2L);
+        produto.setNome("Chá Gelado");
+        sugestoes.indexar(produto);
+
+        assertThat(ids(sugestoes.sugerir("capp", 5))).isEmpty();
+        assertThat(ids(sugestoes.sugerir("cha", 5))).startsWith(2L);
+    }
+
+    private List<Long> ids(List<ProdutoSugestao> lista) {
+        return lista.stream().map(ProdutoSugestao::id).toList();
+    }
+}